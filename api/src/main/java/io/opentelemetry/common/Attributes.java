@@ -146,6 +146,14 @@ public abstract class Attributes extends ImmutableKeyValuePairs<AttributeValue>
     return builder;
   }
 
+  @Override
+  public void visit(AttributeVisitor visitor) {
+    List<Object> data = data();
+    for (int i = 0; i < data.size(); i += 2) {
+      visitor.visitAttributeValue((String) data.get(i), (AttributeValue) data.get(i + 1));
+    }
+  }
+
   /** Returns a new {@link Builder} instance populated with the data of this {@link Attributes}. */
   public abstract Builder toBuilder();
 
@@ -18,7 +18,7 @@ package io.opentelemetry.common;
 
 import static io.opentelemetry.internal.Utils.checkArgument;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -72,6 +72,14 @@ abstract class ImmutableKeyValuePairs<V> implements ReadableKeyValuePairs<V> {
   }
 
   static List<Object> sortAndFilter(Object[] data) {
+    return Arrays.asList(sortAndFilterToArray(data));
+  }
+
+  /**
+   * Sorts the key-value pairs of {@code data} by key and drops the invalid and duplicate keys. The
+   * pairs are sorted in place, and {@code data} itself is returned when no pair was dropped.
+   */
+  static Object[] sortAndFilterToArray(Object[] data) {
     checkArgument(
         data.length % 2 == 0, "You must provide an even number of key/value pair arguments.");
 
@@ -99,9 +107,9 @@ abstract class ImmutableKeyValuePairs<V> implements ReadableKeyValuePairs<V> {
     quickSort(data, counter, rightIndex);
   }
 
-  private static List<Object> dedupe(Object[] data) {
-    List<Object> result = new ArrayList<>(data.length);
+  private static Object[] dedupe(Object[] data) {
     Object previousKey = null;
+    int size = 0;
 
     for (int i = 0; i < data.length; i += 2) {
       Object key = data[i];
@@ -113,10 +121,11 @@ abstract class ImmutableKeyValuePairs<V> implements ReadableKeyValuePairs<V> {
         continue;
       }
       previousKey = key;
-      result.add(key);
-      result.add(value);
+      // Never overwrites a pair that was not read yet, size is at most i.
+      data[size++] = key;
+      data[size++] = value;
     }
-    return result;
+    return size == data.length ? data : Arrays.copyOf(data, size);
   }
 
   private static void swap(Object[] data, int a, int b) {
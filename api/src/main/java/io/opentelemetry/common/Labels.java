@@ -16,9 +16,11 @@
 
 package io.opentelemetry.common;
 
-import com.google.auto.value.AutoValue;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 /** An immutable container for labels, which are pairs of {@link String}. */
@@ -27,13 +29,69 @@ public abstract class Labels extends ImmutableKeyValuePairs<String> {
 
   private static final Labels EMPTY = Labels.newBuilder().build();
 
-  @AutoValue
+  /**
+   * The sorted key-value pairs are held in a single array, and the hash code is computed once since
+   * the labels are mostly used as map keys.
+   */
   @Immutable
-  abstract static class ArrayBackedLabels extends Labels {
-    ArrayBackedLabels() {}
+  static final class ArrayBackedLabels extends Labels {
+    private final Object[] data;
+    private final int hashCode;
+
+    ArrayBackedLabels(Object[] data) {
+      this.data = data;
+      this.hashCode = Arrays.hashCode(data);
+    }
+
+    @Override
+    List<Object> data() {
+      return Collections.unmodifiableList(Arrays.asList(data));
+    }
+
+    @Override
+    public int size() {
+      return data.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return data.length == 0;
+    }
 
     @Override
-    abstract List<Object> data();
+    public void forEach(KeyValueConsumer<String> consumer) {
+      for (int i = 0; i < data.length; i += 2) {
+        consumer.consume((String) data[i], (String) data[i + 1]);
+      }
+    }
+
+    @Override
+    @Nullable
+    public String get(String key) {
+      for (int i = 0; i < data.length; i += 2) {
+        if (key.equals(data[i])) {
+          return (String) data[i + 1];
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o == this) {
+        return true;
+      }
+      if (!(o instanceof ArrayBackedLabels)) {
+        return false;
+      }
+      ArrayBackedLabels that = (ArrayBackedLabels) o;
+      return hashCode == that.hashCode && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
   }
 
   /** Returns a {@link Labels} instance with no attributes. */
@@ -43,7 +101,10 @@ public abstract class Labels extends ImmutableKeyValuePairs<String> {
 
   /** Returns a {@link Labels} instance with a single key-value pair. */
   public static Labels of(String key, String value) {
-    return sortAndFilterToLabels(key, value);
+    if (key == null || key.isEmpty()) {
+      return EMPTY;
+    }
+    return new ArrayBackedLabels(new Object[] {key, value});
   }
 
   /**
@@ -103,11 +164,13 @@ public abstract class Labels extends ImmutableKeyValuePairs<String> {
   }
 
   public static Labels of(String[] keyValueLabelPairs) {
-    return sortAndFilterToLabels((Object[]) keyValueLabelPairs);
+    // Copied since the pairs are sorted in place and the array is kept.
+    return sortAndFilterToLabels(
+        Arrays.copyOf(keyValueLabelPairs, keyValueLabelPairs.length, Object[].class));
   }
 
   private static Labels sortAndFilterToLabels(Object... data) {
-    return new AutoValue_Labels_ArrayBackedLabels(sortAndFilter(data));
+    return new ArrayBackedLabels(sortAndFilterToArray(data));
   }
 
   /** Create a {@link Builder} pre-populated with the contents of this Labels instance. */
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.common;
+
+import static io.opentelemetry.internal.Utils.checkArgument;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of canonical {@link Labels} instances, for the call sites that record measurements with
+ * labels created on each call:
+ *
+ * <pre>{@code
+ * private static final LabelsCache LABELS = LabelsCache.create();
+ *
+ * void onRequest(String method) {
+ *   requestCounter.add(1, LABELS.of("method", method));
+ * }
+ * }</pre>
+ *
+ * <p>When the label set was created before, the same {@link Labels} instance is returned, so the
+ * call does not allocate and the SDK finds the bound instrument by identity.
+ *
+ * <p>The cache has a fixed number of slots and each label set replaces the one in its slot. It
+ * never grows, label values with a high cardinality only make it miss more often.
+ */
+@ThreadSafe
+public final class LabelsCache {
+  private static final int DEFAULT_MAX_ENTRIES = 256;
+  private static final int MAX_ENTRIES = 1 << 30;
+
+  private final AtomicReferenceArray<Labels> entries;
+  private final int mask;
+
+  /** Returns a new {@link LabelsCache} with a default number of entries. */
+  public static LabelsCache create() {
+    return create(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Returns a new {@link LabelsCache} that holds at most {@code maxEntries} label sets, rounded up
+   * to a power of two.
+   *
+   * @param maxEntries the maximum number of label sets to keep.
+   * @return a new {@link LabelsCache}.
+   * @throws IllegalArgumentException if {@code maxEntries} is not positive or too large.
+   */
+  public static LabelsCache create(int maxEntries) {
+    checkArgument(maxEntries > 0 && maxEntries <= MAX_ENTRIES, "maxEntries must be in (0, 2^30]");
+    int capacity = Integer.highestOneBit(maxEntries);
+    if (capacity < maxEntries) {
+      capacity <<= 1;
+    }
+    return new LabelsCache(capacity);
+  }
+
+  private LabelsCache(int capacity) {
+    this.entries = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Returns the {@link Labels} with a single key-value pair, as created by {@link
+   * Labels#of(String, String)}.
+   */
+  public Labels of(String key, String value) {
+    int slot = slot(hash(key, value));
+    Labels labels = entries.get(slot);
+    if (labels != null && labels.size() == 1 && contains(labels, key, value)) {
+      return labels;
+    }
+    labels = Labels.of(key, value);
+    entries.lazySet(slot, labels);
+    return labels;
+  }
+
+  /**
+   * Returns the {@link Labels} with two key-value pairs, as created by {@link Labels#of(String,
+   * String, String, String)}. The order of the pairs does not matter.
+   */
+  public Labels of(String key1, String value1, String key2, String value2) {
+    int slot = slot(hash(key1, value1) + hash(key2, value2));
+    Labels labels = entries.get(slot);
+    if (labels != null
+        && labels.size() == 2
+        && contains(labels, key1, value1)
+        && contains(labels, key2, value2)
+        && !key1.equals(key2)) {
+      return labels;
+    }
+    labels = Labels.of(key1, value1, key2, value2);
+    entries.lazySet(slot, labels);
+    return labels;
+  }
+
+  /**
+   * Returns the {@link Labels} with three key-value pairs, as created by {@link Labels#of(String,
+   * String, String, String, String, String)}. The order of the pairs does not matter.
+   */
+  public Labels of(
+      String key1, String value1, String key2, String value2, String key3, String value3) {
+    int slot = slot(hash(key1, value1) + hash(key2, value2) + hash(key3, value3));
+    Labels labels = entries.get(slot);
+    if (labels != null
+        && labels.size() == 3
+        && contains(labels, key1, value1)
+        && contains(labels, key2, value2)
+        && contains(labels, key3, value3)
+        && !key1.equals(key2)
+        && !key1.equals(key3)
+        && !key2.equals(key3)) {
+      return labels;
+    }
+    labels = Labels.of(key1, value1, key2, value2, key3, value3);
+    entries.lazySet(slot, labels);
+    return labels;
+  }
+
+  // Cached labels are returned only when equal to the ones that would be created: they have as
+  // many pairs as the arguments, contain each of them and the keys of the arguments are distinct.
+  private static boolean contains(Labels labels, String key, String value) {
+    return key != null && value != null && value.equals(labels.get(key));
+  }
+
+  // The hash of a label set is the sum of the hashes of its pairs to not depend on their order.
+  private static int hash(String key, String value) {
+    return 31 * (key == null ? 0 : key.hashCode()) + (value == null ? 0 : value.hashCode());
+  }
+
+  private int slot(int hash) {
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
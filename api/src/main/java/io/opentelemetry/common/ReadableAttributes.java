@@ -21,4 +21,55 @@ package io.opentelemetry.common;
  *
  * <p>See {@link Attributes} for the public API implementation.
  */
-public interface ReadableAttributes extends ReadableKeyValuePairs<AttributeValue> {}
+public interface ReadableAttributes extends ReadableKeyValuePairs<AttributeValue> {
+
+  /**
+   * Iterates over all the attributes contained by this instance, passing the {@code STRING}, {@code
+   * BOOLEAN}, {@code LONG} and {@code DOUBLE} values to the typed methods of the visitor.
+   *
+   * <p>Implementations that store primitive values unwrapped pass them without creating an {@link
+   * AttributeValue}, which makes this cheaper than {@link #forEach(KeyValueConsumer)}.
+   */
+  void visit(AttributeVisitor visitor);
+
+  /**
+   * Receives the attributes of a {@link ReadableAttributes} with their values already unwrapped.
+   * The array types are passed as {@link AttributeValue}s to {@link #visitArray(String,
+   * AttributeValue)}.
+   */
+  abstract class AttributeVisitor {
+    public abstract void visitString(String key, String value);
+
+    public abstract void visitBoolean(String key, boolean value);
+
+    public abstract void visitLong(String key, long value);
+
+    public abstract void visitDouble(String key, double value);
+
+    public abstract void visitArray(String key, AttributeValue value);
+
+    /** Dispatches the value to the typed method that matches its {@link AttributeValue.Type}. */
+    public final void visitAttributeValue(String key, AttributeValue value) {
+      switch (value.getType()) {
+        case STRING:
+          visitString(key, value.getStringValue());
+          return;
+        case BOOLEAN:
+          visitBoolean(key, value.getBooleanValue());
+          return;
+        case LONG:
+          visitLong(key, value.getLongValue());
+          return;
+        case DOUBLE:
+          visitDouble(key, value.getDoubleValue());
+          return;
+        case STRING_ARRAY:
+        case BOOLEAN_ARRAY:
+        case LONG_ARRAY:
+        case DOUBLE_ARRAY:
+          visitArray(key, value);
+          return;
+      }
+    }
+  }
+}
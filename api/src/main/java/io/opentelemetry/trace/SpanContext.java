@@ -16,8 +16,8 @@
 
 package io.opentelemetry.trace;
 
-import com.google.auto.value.AutoValue;
-import com.google.auto.value.extension.memoized.Memoized;
+import io.opentelemetry.internal.Utils;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -27,11 +27,14 @@ import javax.annotation.concurrent.Immutable;
  * TraceFlags options}, as well as the {@link TraceState traceState} and the {@link boolean remote}
  * flag.
  *
+ * <p>The identifiers are stored as {@code long}s, their base16 (hex) representations are only
+ * created when they are requested, so that creating a {@code SpanContext} from {@code long}s does
+ * not allocate any {@code String}.
+ *
  * @since 0.1.0
  */
 @Immutable
-@AutoValue
-public abstract class SpanContext {
+public final class SpanContext {
 
   private static final SpanContext INVALID =
       create(
@@ -40,6 +43,20 @@ public abstract class SpanContext {
           TraceFlags.getDefault(),
           TraceState.getDefault());
 
+  private final long traceIdHigh;
+  private final long traceIdLow;
+  private final long spanId;
+  private final TraceFlags traceFlags;
+  private final TraceState traceState;
+  private final boolean remote;
+  // Only false if the context was created from hex strings which are not valid identifiers, in
+  // that case the strings are kept as they are and the long values are all 0.
+  private final boolean validHex;
+
+  // Lazily created, racy single-check is fine because String is immutable.
+  @Nullable private String traceIdHex;
+  @Nullable private String spanIdHex;
+
   /**
    * Returns the invalid {@code SpanContext} that can be used for no-op operations.
    *
@@ -64,14 +81,146 @@ public abstract class SpanContext {
     return create(traceIdHex, spanIdHex, traceFlags, traceState, /* remote=*/ false);
   }
 
+  /**
+   * Creates a new {@code SpanContext} with the given identifiers and options. The trace identifier
+   * is given as two {@code long}s holding its higher and lower 8 bytes, the span identifier as one
+   * {@code long}, see {@link TraceId#fromLongs(long, long)} and {@link SpanId#fromLong(long)}.
+   *
+   * @param traceIdHigh the higher part of the trace identifier of the span context.
+   * @param traceIdLow the lower part of the trace identifier of the span context.
+   * @param spanId the span identifier of the span context.
+   * @param traceFlags the trace options for the span context.
+   * @param traceState the trace state for the span context.
+   * @return a new {@code SpanContext} with the given identifiers and options.
+   * @since 0.9.0
+   */
+  public static SpanContext create(
+      long traceIdHigh,
+      long traceIdLow,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState) {
+    return new SpanContext(
+        traceIdHigh,
+        traceIdLow,
+        spanId,
+        null,
+        null,
+        traceFlags,
+        traceState,
+        /* remote=*/ false,
+        /* validHex=*/ true);
+  }
+
+  /**
+   * Creates a new {@code SpanContext} with the given identifiers and options, like {@link
+   * #create(long, long, long, TraceFlags, TraceState)}, reusing the base16 representation of the
+   * trace identifier that the caller already created. The representation must be the one returned
+   * by {@link TraceId#fromLongs(long, long)} for the given {@code long}s.
+   *
+   * @param traceIdHigh the higher part of the trace identifier of the span context.
+   * @param traceIdLow the lower part of the trace identifier of the span context.
+   * @param traceIdHex the base16 representation of the trace identifier.
+   * @param spanId the span identifier of the span context.
+   * @param traceFlags the trace options for the span context.
+   * @param traceState the trace state for the span context.
+   * @return a new {@code SpanContext} with the given identifiers and options.
+   * @throws IllegalArgumentException if {@code traceIdHex} does not represent the given {@code
+   *     long}s.
+   * @since 0.9.0
+   */
+  public static SpanContext create(
+      long traceIdHigh,
+      long traceIdLow,
+      String traceIdHex,
+      long spanId,
+      TraceFlags traceFlags,
+      TraceState traceState) {
+    return new SpanContext(
+        traceIdHigh,
+        traceIdLow,
+        spanId,
+        checkTraceIdHex(traceIdHigh, traceIdLow, traceIdHex),
+        null,
+        traceFlags,
+        traceState,
+        /* remote=*/ false,
+        /* validHex=*/ true);
+  }
+
+  // Decoding is cheaper than encoding the identifier again, which the caller wanted to avoid.
+  private static String checkTraceIdHex(long traceIdHigh, long traceIdLow, String traceIdHex) {
+    Utils.checkNotNull(traceIdHex, "traceIdHex");
+    Utils.checkArgument(
+        traceIdHex.length() == TraceId.getHexLength()
+            && BigendianEncoding.isValidBase16String(traceIdHex)
+            && BigendianEncoding.longFromBase16String(traceIdHex, 0) == traceIdHigh
+            && BigendianEncoding.longFromBase16String(traceIdHex, BigendianEncoding.LONG_BASE16)
+                == traceIdLow,
+        "traceIdHex does not match the trace identifier");
+    return traceIdHex;
+  }
+
+  /**
+   * Creates a new {@code SpanContext} in the same trace as the given {@code SpanContext}, with the
+   * given span identifier and options. The trace identifier, including its base16 representation
+   * if it was already created, is shared with the given {@code SpanContext}.
+   *
+   * @param traceContext the span context to take the trace identifier from.
+   * @param spanId the span identifier of the span context.
+   * @param traceFlags the trace options for the span context.
+   * @param traceState the trace state for the span context.
+   * @return a new {@code SpanContext} with the given identifiers and options.
+   * @since 0.9.0
+   */
+  public static SpanContext createInSameTrace(
+      SpanContext traceContext, long spanId, TraceFlags traceFlags, TraceState traceState) {
+    if (!traceContext.validHex) {
+      return create(
+          traceContext.getTraceIdAsHexString(), SpanId.fromLong(spanId), traceFlags, traceState);
+    }
+    return new SpanContext(
+        traceContext.traceIdHigh,
+        traceContext.traceIdLow,
+        spanId,
+        traceContext.traceIdHex,
+        null,
+        traceFlags,
+        traceState,
+        /* remote=*/ false,
+        /* validHex=*/ true);
+  }
+
   private static SpanContext create(
       String traceIdHex,
       String spanIdHex,
       TraceFlags traceFlags,
       TraceState traceState,
       boolean remote) {
-    return new AutoValue_SpanContext(
-        traceIdHex, spanIdHex, traceFlags, traceState, /* remote$=*/ remote);
+    Utils.checkNotNull(traceIdHex, "traceIdHex");
+    Utils.checkNotNull(spanIdHex, "spanIdHex");
+    if (!isValidHex(traceIdHex, spanIdHex)) {
+      return new SpanContext(
+          0, 0, 0, traceIdHex, spanIdHex, traceFlags, traceState, remote, /* validHex=*/ false);
+    }
+    return new SpanContext(
+        BigendianEncoding.longFromBase16String(traceIdHex, 0),
+        BigendianEncoding.longFromBase16String(traceIdHex, BigendianEncoding.LONG_BASE16),
+        BigendianEncoding.longFromBase16String(spanIdHex, 0),
+        traceIdHex,
+        spanIdHex,
+        traceFlags,
+        traceState,
+        remote,
+        /* validHex=*/ true);
+  }
+
+  // The all zero identifiers are well-formed, so they are still stored as longs.
+  private static boolean isValidHex(String traceIdHex, String spanIdHex) {
+    return traceIdHex.length() == TraceId.getHexLength()
+        && spanIdHex.length() == SpanId.getHexLength()
+        && BigendianEncoding.isValidBase16String(traceIdHex)
+        && BigendianEncoding.isValidBase16String(spanIdHex);
   }
 
   /**
@@ -90,9 +239,26 @@ public abstract class SpanContext {
     return create(traceIdHex, spanIdHex, traceFlags, traceState, /* remote=*/ true);
   }
 
-  abstract String getTraceIdHex();
-
-  abstract String getSpanIdHex();
+  private SpanContext(
+      long traceIdHigh,
+      long traceIdLow,
+      long spanId,
+      @Nullable String traceIdHex,
+      @Nullable String spanIdHex,
+      TraceFlags traceFlags,
+      TraceState traceState,
+      boolean remote,
+      boolean validHex) {
+    this.traceIdHigh = traceIdHigh;
+    this.traceIdLow = traceIdLow;
+    this.spanId = spanId;
+    this.traceIdHex = traceIdHex;
+    this.spanIdHex = spanIdHex;
+    this.traceFlags = Utils.checkNotNull(traceFlags, "traceFlags");
+    this.traceState = Utils.checkNotNull(traceState, "traceState");
+    this.remote = remote;
+    this.validHex = validHex;
+  }
 
   /**
    * Returns the trace identifier associated with this {@code SpanContext}.
@@ -101,7 +267,34 @@ public abstract class SpanContext {
    * @since 0.1.0
    */
   public String getTraceIdAsHexString() {
-    return getTraceIdHex();
+    String result = traceIdHex;
+    if (result == null) {
+      result = TraceId.fromLongs(traceIdHigh, traceIdLow);
+      traceIdHex = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the higher 8 bytes of the trace identifier associated with this {@code SpanContext}.
+   *
+   * @return the higher 8 bytes of the trace identifier, or {@code 0} if this context was created
+   *     from malformed base16 identifiers.
+   * @since 0.9.0
+   */
+  public long getTraceIdHigh() {
+    return traceIdHigh;
+  }
+
+  /**
+   * Returns the lower 8 bytes of the trace identifier associated with this {@code SpanContext}.
+   *
+   * @return the lower 8 bytes of the trace identifier, or {@code 0} if this context was created
+   *     from malformed base16 identifiers.
+   * @since 0.9.0
+   */
+  public long getTraceIdLow() {
+    return traceIdLow;
   }
 
   /**
@@ -110,9 +303,14 @@ public abstract class SpanContext {
    *
    * @since 0.8.0
    */
-  @Memoized
   public byte[] getTraceIdBytes() {
-    return TraceId.bytesFromHex(getTraceIdHex(), 0);
+    if (!validHex) {
+      return TraceId.bytesFromHex(getTraceIdAsHexString(), 0);
+    }
+    byte[] bytes = new byte[TraceId.getSize()];
+    BigendianEncoding.longToByteArray(traceIdHigh, bytes, 0);
+    BigendianEncoding.longToByteArray(traceIdLow, bytes, BigendianEncoding.LONG_BYTES);
+    return bytes;
   }
 
   /**
@@ -122,7 +320,23 @@ public abstract class SpanContext {
    * @since 0.1.0
    */
   public String getSpanIdAsHexString() {
-    return getSpanIdHex();
+    String result = spanIdHex;
+    if (result == null) {
+      result = SpanId.fromLong(spanId);
+      spanIdHex = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the span identifier associated with this {@code SpanContext} as a {@code long}.
+   *
+   * @return the span identifier, or {@code 0} if this context was created from malformed base16
+   *     identifiers.
+   * @since 0.9.0
+   */
+  public long getSpanIdAsLong() {
+    return spanId;
   }
 
   /**
@@ -131,9 +345,13 @@ public abstract class SpanContext {
    *
    * @since 0.8.0
    */
-  @Memoized
   public byte[] getSpanIdBytes() {
-    return SpanId.bytesFromHex(getSpanIdHex(), 0);
+    if (!validHex) {
+      return SpanId.bytesFromHex(getSpanIdAsHexString(), 0);
+    }
+    byte[] bytes = new byte[SpanId.getSize()];
+    BigendianEncoding.longToByteArray(spanId, bytes, 0);
+    return bytes;
   }
 
   /**
@@ -142,7 +360,9 @@ public abstract class SpanContext {
    * @return the {@code TraceFlags} associated with this {@code SpanContext}.
    * @since 0.1.0
    */
-  public abstract TraceFlags getTraceFlags();
+  public TraceFlags getTraceFlags() {
+    return traceFlags;
+  }
 
   /**
    * Returns the {@code TraceState} associated with this {@code SpanContext}.
@@ -150,7 +370,9 @@ public abstract class SpanContext {
    * @return the {@code TraceState} associated with this {@code SpanContext}.
    * @since 0.1.0
    */
-  public abstract TraceState getTraceState();
+  public TraceState getTraceState() {
+    return traceState;
+  }
 
   /**
    * Returns {@code true} if this {@code SpanContext} is valid.
@@ -158,9 +380,8 @@ public abstract class SpanContext {
    * @return {@code true} if this {@code SpanContext} is valid.
    * @since 0.1.0
    */
-  @Memoized
   public boolean isValid() {
-    return TraceId.isValid(getTraceIdHex()) && SpanId.isValid(getSpanIdHex());
+    return validHex && (traceIdHigh != 0 || traceIdLow != 0) && spanId != 0;
   }
 
   /**
@@ -169,5 +390,61 @@ public abstract class SpanContext {
    * @return {@code true} if the {@code SpanContext} was propagated from a remote parent.
    * @since 0.1.0
    */
-  public abstract boolean isRemote();
+  public boolean isRemote() {
+    return remote;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof SpanContext)) {
+      return false;
+    }
+    SpanContext that = (SpanContext) o;
+    if (validHex && that.validHex) {
+      if (traceIdHigh != that.traceIdHigh
+          || traceIdLow != that.traceIdLow
+          || spanId != that.spanId) {
+        return false;
+      }
+    } else if (!getTraceIdAsHexString().equals(that.getTraceIdAsHexString())
+        || !getSpanIdAsHexString().equals(that.getSpanIdAsHexString())) {
+      return false;
+    }
+    return traceFlags.equals(that.traceFlags)
+        && traceState.equals(that.traceState)
+        && remote == that.remote;
+  }
+
+  @Override
+  public int hashCode() {
+    // Contexts with invalid hex identifiers hash like the invalid context, equals() still tells
+    // them apart.
+    int h = 1;
+    h = 1000003 * h + (int) (traceIdHigh ^ (traceIdHigh >>> 32));
+    h = 1000003 * h + (int) (traceIdLow ^ (traceIdLow >>> 32));
+    h = 1000003 * h + (int) (spanId ^ (spanId >>> 32));
+    h = 1000003 * h + traceFlags.hashCode();
+    h = 1000003 * h + traceState.hashCode();
+    h = 1000003 * h + (remote ? 1231 : 1237);
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return "SpanContext{"
+        + "traceIdHex="
+        + getTraceIdAsHexString()
+        + ", spanIdHex="
+        + getSpanIdAsHexString()
+        + ", traceFlags="
+        + traceFlags
+        + ", traceState="
+        + traceState
+        + ", remote="
+        + remote
+        + "}";
+  }
 }
@@ -65,6 +65,55 @@ class AttributesTest {
     assertThat(sawSomething.get()).isFalse();
   }
 
+  @Test
+  void visit() {
+    final Map<String, Object> entriesSeen = new HashMap<>();
+
+    Attributes attributes =
+        Attributes.of(
+            "string", stringAttributeValue("value"),
+            "boolean", booleanAttributeValue(true),
+            "long", longAttributeValue(333),
+            "double", doubleAttributeValue(1.5),
+            "array", arrayAttributeValue("one", "two"));
+
+    attributes.visit(
+        new ReadableAttributes.AttributeVisitor() {
+          @Override
+          public void visitString(String key, String value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitBoolean(String key, boolean value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitLong(String key, long value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitDouble(String key, double value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitArray(String key, AttributeValue value) {
+            entriesSeen.put(key, value);
+          }
+        });
+
+    assertThat(entriesSeen)
+        .containsOnly(
+            entry("string", "value"),
+            entry("boolean", true),
+            entry("long", 333L),
+            entry("double", 1.5),
+            entry("array", arrayAttributeValue("one", "two")));
+  }
+
   @Test
   void orderIndependentEquality() {
     Attributes one =
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class LabelsCacheTest {
+
+  @Test
+  void invalidMaxEntries() {
+    assertThatThrownBy(() -> LabelsCache.create(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> LabelsCache.create(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void returnsTheSameInstance() {
+    LabelsCache cache = LabelsCache.create();
+    Labels labels = cache.of("key", "value");
+    assertThat(labels).isEqualTo(Labels.of("key", "value"));
+    assertThat(cache.of("key", "value")).isSameAs(labels);
+    assertThat(cache.of("key", "other")).isEqualTo(Labels.of("key", "other"));
+  }
+
+  @Test
+  void orderIndependent() {
+    LabelsCache cache = LabelsCache.create();
+    Labels two = cache.of("key1", "value1", "key2", "value2");
+    assertThat(two).isEqualTo(Labels.of("key1", "value1", "key2", "value2"));
+    assertThat(cache.of("key2", "value2", "key1", "value1")).isSameAs(two);
+
+    Labels three = cache.of("key1", "value1", "key2", "value2", "key3", "value3");
+    assertThat(three).isEqualTo(Labels.of("key1", "value1", "key2", "value2", "key3", "value3"));
+    assertThat(cache.of("key3", "value3", "key1", "value1", "key2", "value2")).isSameAs(three);
+  }
+
+  @Test
+  void collisions() {
+    // A single slot, every label set replaces the previous one.
+    LabelsCache cache = LabelsCache.create(1);
+    Labels one = cache.of("key", "value1");
+    assertThat(cache.of("key", "value2")).isEqualTo(Labels.of("key", "value2"));
+    assertThat(cache.of("key", "value1")).isNotSameAs(one).isEqualTo(one);
+    assertThat(cache.of("key", "value1", "other", "value").size()).isEqualTo(2);
+    assertThat(cache.of("key", "value1")).isEqualTo(one);
+  }
+
+  @Test
+  void duplicateAndInvalidKeys() {
+    LabelsCache cache = LabelsCache.create(1);
+    cache.of("key1", "value1", "key2", "value2");
+    // Same pairs, but a duplicate key, which must not match the cached labels.
+    assertThat(cache.of("key1", "value1", "key1", "value1")).isEqualTo(Labels.of("key1", "value1"));
+
+    assertThat(cache.of("", "value")).isEqualTo(Labels.empty());
+    assertThat(cache.of(null, "value")).isEqualTo(Labels.empty());
+    assertThat(cache.of("key", null)).isEqualTo(Labels.of("key", null));
+    assertThat(cache.of("key", null)).isEqualTo(Labels.of("key", null));
+  }
+}
@@ -131,4 +131,46 @@ class LabelsTest {
     assertThat(initial).isEqualTo(Labels.of("one", "a"));
     assertThat(second).isEqualTo(Labels.of("one", "a", "two", "b"));
   }
+
+  @Test
+  void emptyKeysAreDropped() {
+    assertThat(Labels.of("", "value")).isSameAs(Labels.empty());
+    assertThat(Labels.of(null, "value")).isSameAs(Labels.empty());
+    assertThat(Labels.of("key", "value", "", "other")).isEqualTo(Labels.of("key", "value"));
+  }
+
+  @Test
+  void get() {
+    Labels labels = Labels.of("key1", "value1", "key2", "value2");
+    assertThat(labels.get("key1")).isEqualTo("value1");
+    assertThat(labels.get("key2")).isEqualTo("value2");
+    assertThat(labels.get("key3")).isNull();
+    assertThat(labels.size()).isEqualTo(2);
+    assertThat(Labels.empty().isEmpty()).isTrue();
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    Labels one = Labels.of("key1", "value1", "key2", "value2");
+    Labels two = Labels.newBuilder().setLabel("key2", "value2").setLabel("key1", "value1").build();
+    assertThat(one).isEqualTo(two);
+    assertThat(one.hashCode()).isEqualTo(two.hashCode());
+    assertThat(one).isNotEqualTo(Labels.of("key1", "value1", "key2", "other"));
+    assertThat(one).isNotEqualTo(Labels.of("key1", "value1"));
+  }
+
+  @Test
+  void ofArray_doesNotShareTheArray() {
+    String[] pairs = {"key2", "value2", "key1", "value1"};
+    Labels labels = Labels.of(pairs);
+    pairs[1] = "changed";
+    assertThat(pairs).containsExactly("key2", "changed", "key1", "value1");
+    assertThat(labels).isEqualTo(Labels.of("key1", "value1", "key2", "value2"));
+  }
+
+  @Test
+  void toStringIsCorrect() {
+    assertThat(Labels.of("key2", "value2", "key1", "value1").toString())
+        .isEqualTo("{key1=value1, key2=value2}");
+  }
 }
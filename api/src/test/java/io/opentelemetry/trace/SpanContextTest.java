@@ -17,6 +17,7 @@
 package io.opentelemetry.trace;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -101,6 +102,102 @@ class SpanContextTest {
     assertThat(second.getTraceState()).isEqualTo(SECOND_TRACE_STATE);
   }
 
+  @Test
+  void createFromLongs() {
+    SpanContext fromLongs =
+        SpanContext.create(0, 0x61, 0x61, TraceFlags.getDefault(), FIRST_TRACE_STATE);
+    assertThat(fromLongs.isValid()).isTrue();
+    assertThat(fromLongs.getTraceIdAsHexString()).isEqualTo(FIRST_TRACE_ID);
+    assertThat(fromLongs.getSpanIdAsHexString()).isEqualTo(FIRST_SPAN_ID);
+    assertThat(fromLongs.getTraceIdBytes()).isEqualTo(firstTraceIdBytes);
+    assertThat(fromLongs.getSpanIdBytes()).isEqualTo(firstSpanIdBytes);
+    assertThat(fromLongs).isEqualTo(first);
+    assertThat(fromLongs.hashCode()).isEqualTo(first.hashCode());
+  }
+
+  @Test
+  void createFromLongs_withTraceIdHex() {
+    String traceIdHex = TraceId.fromLongs(0, 0x61);
+    SpanContext fromLongs =
+        SpanContext.create(0, 0x61, traceIdHex, 0x61, TraceFlags.getDefault(), FIRST_TRACE_STATE);
+    assertThat(fromLongs.getTraceIdAsHexString()).isSameAs(traceIdHex);
+    assertThat(fromLongs.getSpanIdAsHexString()).isEqualTo(FIRST_SPAN_ID);
+    assertThat(fromLongs).isEqualTo(first);
+  }
+
+  @Test
+  void createFromLongs_withMismatchedTraceIdHex() {
+    assertThatThrownBy(
+            () ->
+                SpanContext.create(
+                    0, 0x62, FIRST_TRACE_ID, 0x61, TraceFlags.getDefault(), FIRST_TRACE_STATE))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                SpanContext.create(
+                    0, 0x61, "abc", 0x61, TraceFlags.getDefault(), FIRST_TRACE_STATE))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                SpanContext.create(
+                    0,
+                    0xab,
+                    "000000000000000000000000000000AB",
+                    0x61,
+                    TraceFlags.getDefault(),
+                    FIRST_TRACE_STATE))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void getLongs() {
+    assertThat(second.getTraceIdHigh()).isEqualTo(0x30L);
+    assertThat(second.getTraceIdLow()).isEqualTo(0);
+    assertThat(second.getSpanIdAsLong()).isEqualTo(0x3000000000000000L);
+    assertThat(SpanContext.getInvalid().getTraceIdHigh()).isEqualTo(0);
+    assertThat(SpanContext.getInvalid().getTraceIdLow()).isEqualTo(0);
+    assertThat(SpanContext.getInvalid().getSpanIdAsLong()).isEqualTo(0);
+  }
+
+  @Test
+  void createFromLongs_invalid() {
+    assertThat(
+            SpanContext.create(0, 0, 0x61, TraceFlags.getDefault(), EMPTY_TRACE_STATE).isValid())
+        .isFalse();
+    assertThat(
+            SpanContext.create(0, 0x61, 0, TraceFlags.getDefault(), EMPTY_TRACE_STATE).isValid())
+        .isFalse();
+  }
+
+  @Test
+  void malformedHex() {
+    SpanContext malformed =
+        SpanContext.create("abc", FIRST_SPAN_ID, TraceFlags.getDefault(), EMPTY_TRACE_STATE);
+    assertThat(malformed.isValid()).isFalse();
+    assertThat(malformed.getTraceIdAsHexString()).isEqualTo("abc");
+    assertThat(malformed.getSpanIdAsHexString()).isEqualTo(FIRST_SPAN_ID);
+    assertThat(malformed)
+        .isNotEqualTo(
+            SpanContext.create(
+                TraceId.getInvalid(),
+                SpanId.getInvalid(),
+                TraceFlags.getDefault(),
+                EMPTY_TRACE_STATE));
+  }
+
+  @Test
+  void createInSameTrace() {
+    SpanContext child =
+        SpanContext.createInSameTrace(
+            first, 0x62, TraceFlags.builder().setIsSampled(true).build(), SECOND_TRACE_STATE);
+    assertThat(child.getTraceIdAsHexString()).isSameAs(first.getTraceIdAsHexString());
+    assertThat(child.getSpanIdAsHexString()).isEqualTo("0000000000000062");
+    assertThat(child.getTraceFlags().isSampled()).isTrue();
+    assertThat(child.getTraceState()).isEqualTo(SECOND_TRACE_STATE);
+    assertThat(child.isRemote()).isFalse();
+    assertThat(child.isValid()).isTrue();
+  }
+
   @Test
   void isRemote() {
     assertThat(first.isRemote()).isFalse();
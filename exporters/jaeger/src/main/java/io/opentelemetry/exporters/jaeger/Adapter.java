@@ -22,7 +22,7 @@ import com.google.protobuf.Timestamp;
 import com.google.protobuf.util.Timestamps;
 import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.ReadableAttributes;
-import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
+import io.opentelemetry.common.ReadableAttributes.AttributeVisitor;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Model;
 import io.opentelemetry.sdk.extensions.otproto.TraceProtoUtils;
 import io.opentelemetry.sdk.trace.data.SpanData;
@@ -198,10 +198,50 @@ final class Adapter {
   @VisibleForTesting
   static Collection<Model.KeyValue> toKeyValues(ReadableAttributes attributes) {
     final List<Model.KeyValue> tags = new ArrayList<>(attributes.size());
-    attributes.forEach(
-        new KeyValueConsumer<AttributeValue>() {
+    attributes.visit(
+        new AttributeVisitor() {
           @Override
-          public void consume(String key, AttributeValue value) {
+          public void visitString(String key, String value) {
+            tags.add(
+                Model.KeyValue.newBuilder()
+                    .setKey(key)
+                    .setVStr(value)
+                    .setVType(Model.ValueType.STRING)
+                    .build());
+          }
+
+          @Override
+          public void visitBoolean(String key, boolean value) {
+            tags.add(
+                Model.KeyValue.newBuilder()
+                    .setKey(key)
+                    .setVBool(value)
+                    .setVType(Model.ValueType.BOOL)
+                    .build());
+          }
+
+          @Override
+          public void visitLong(String key, long value) {
+            tags.add(
+                Model.KeyValue.newBuilder()
+                    .setKey(key)
+                    .setVInt64(value)
+                    .setVType(Model.ValueType.INT64)
+                    .build());
+          }
+
+          @Override
+          public void visitDouble(String key, double value) {
+            tags.add(
+                Model.KeyValue.newBuilder()
+                    .setKey(key)
+                    .setVFloat64(value)
+                    .setVType(Model.ValueType.FLOAT64)
+                    .build());
+          }
+
+          @Override
+          public void visitArray(String key, AttributeValue value) {
             tags.add(toKeyValue(key, value));
           }
         });
@@ -281,8 +321,8 @@ final class Adapter {
   @VisibleForTesting
   static Model.SpanRef toSpanRef(Link link) {
     Model.SpanRef.Builder builder = Model.SpanRef.newBuilder();
-    builder.setTraceId(TraceProtoUtils.toProtoTraceId(link.getContext().getTraceIdAsHexString()));
-    builder.setSpanId(TraceProtoUtils.toProtoSpanId(link.getContext().getSpanIdAsHexString()));
+    builder.setTraceId(TraceProtoUtils.toProtoTraceId(link.getContext()));
+    builder.setSpanId(TraceProtoUtils.toProtoSpanId(link.getContext()));
 
     // we can assume that all links are *follows from*
     // https://github.com/open-telemetry/opentelemetry-java/issues/475
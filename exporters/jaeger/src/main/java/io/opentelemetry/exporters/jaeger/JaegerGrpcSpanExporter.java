@@ -22,12 +22,15 @@ import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Collector;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Collector.PostSpansResponse;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.CollectorServiceGrpc;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Model;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.common.export.RetryBuffer;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import java.net.InetAddress;
@@ -35,12 +38,17 @@ import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
-/** Exports spans to Jaeger via gRPC, using Jaeger's protobuf model. */
+/**
+ * Exports spans to Jaeger via gRPC, using Jaeger's protobuf model.
+ *
+ * <p>The requests failing with {@code UNAVAILABLE} or {@code RESOURCE_EXHAUSTED} are retried as
+ * configured by {@link Builder#setRetryPolicy(RetryPolicy)}. The result of an export completes
+ * after the last attempt of its request, so a {@code BatchSpanProcessor} with a single concurrent
+ * export waits for all the retries before exporting the next batch.
+ */
 @ThreadSafe
 public final class JaegerGrpcSpanExporter implements SpanExporter {
   public static final String DEFAULT_HOST_NAME = "unknown";
@@ -48,7 +56,6 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
   public static final String DEFAULT_SERVICE_NAME = DEFAULT_HOST_NAME;
   public static final long DEFAULT_DEADLINE_MS = TimeUnit.SECONDS.toMillis(1);
 
-  private static final Logger logger = Logger.getLogger(JaegerGrpcSpanExporter.class.getName());
   private static final String CLIENT_VERSION_KEY = "jaeger.version";
   private static final String CLIENT_VERSION_VALUE = "opentelemetry-java";
   private static final String HOSTNAME_KEY = "hostname";
@@ -58,6 +65,7 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
   private final Model.Process process;
   private final ManagedChannel managedChannel;
   private final long deadlineMs;
+  private final RetryBuffer<Collector.PostSpansRequest> retryBuffer;
 
   /**
    * Creates a new Jaeger gRPC Span Reporter with the given name, using the given channel.
@@ -66,8 +74,10 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
    * @param channel the channel to use when communicating with the Jaeger Collector.
    * @param deadlineMs max waiting time for the collector to process each span batch. When set to 0
    *     or to a negative value, the exporter will wait indefinitely.
+   * @param retryPolicy the retry policy of the failed requests.
    */
-  private JaegerGrpcSpanExporter(String serviceName, ManagedChannel channel, long deadlineMs) {
+  private JaegerGrpcSpanExporter(
+      String serviceName, ManagedChannel channel, long deadlineMs, RetryPolicy retryPolicy) {
     String hostname;
     String ipv4;
 
@@ -105,10 +115,21 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
     this.managedChannel = channel;
     this.stub = CollectorServiceGrpc.newFutureStub(channel);
     this.deadlineMs = deadlineMs;
+    this.retryBuffer =
+        RetryBuffer.create(
+            JaegerGrpcSpanExporter.class.getSimpleName(),
+            retryPolicy,
+            new RetryBuffer.Sender<Collector.PostSpansRequest>() {
+              @Override
+              public void send(Collector.PostSpansRequest request, RetryBuffer.Callback callback) {
+                JaegerGrpcSpanExporter.this.send(request, callback);
+              }
+            });
   }
 
   /**
-   * Submits all the given spans in a single batch to the Jaeger collector.
+   * Submits all the given spans in a single batch to the Jaeger collector. The result completes
+   * once the batch is accepted, or dropped after its retries.
    *
    * @param spans the list of sampled Spans to be exported.
    * @return the result of the operation
@@ -123,29 +144,35 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
                     .setProcess(this.process)
                     .build())
             .build();
+    return retryBuffer.send(request, request.getSerializedSize());
+  }
 
+  // Sends one attempt of the request, each attempt has its own deadline.
+  private void send(Collector.PostSpansRequest request, final RetryBuffer.Callback callback) {
     CollectorServiceGrpc.CollectorServiceFutureStub stub = this.stub;
     if (deadlineMs > 0) {
       stub = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
     }
 
-    final CompletableResultCode result = new CompletableResultCode();
     Futures.addCallback(
         stub.postSpans(request),
         new FutureCallback<PostSpansResponse>() {
           @Override
           public void onSuccess(@Nullable Collector.PostSpansResponse response) {
-            result.succeed();
+            callback.onSuccess();
           }
 
           @Override
           public void onFailure(Throwable t) {
-            logger.log(Level.WARNING, "Failed to export spans", t);
-            result.fail();
+            callback.onFailure(t, isRetryable(t));
           }
         },
         MoreExecutors.directExecutor());
-    return result;
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    Status.Code code = Status.fromThrowable(t).getCode();
+    return code == Status.Code.UNAVAILABLE || code == Status.Code.RESOURCE_EXHAUSTED;
   }
 
   /**
@@ -169,10 +196,11 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
 
   /**
    * Initiates an orderly shutdown in which preexisting calls continue but new calls are immediately
-   * cancelled.
+   * cancelled. The requests waiting to be retried are dropped.
    */
   @Override
   public CompletableResultCode shutdown() {
+    retryBuffer.shutdown();
     final CompletableResultCode result = new CompletableResultCode();
     managedChannel.notifyWhenStateChanged(
         ConnectivityState.SHUTDOWN,
@@ -195,6 +223,7 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
     private String endpoint = DEFAULT_ENDPOINT;
     private ManagedChannel channel;
     private long deadlineMs = DEFAULT_DEADLINE_MS; // 1 second
+    private RetryPolicy retryPolicy = RetryPolicy.getDefault();
 
     /**
      * Sets the service name to be used by this exporter. Required.
@@ -242,6 +271,19 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
       return this;
     }
 
+    /**
+     * Sets the retry policy of the requests failing with {@code UNAVAILABLE} or {@code
+     * RESOURCE_EXHAUSTED}. Optional, defaults to {@link RetryPolicy#getDefault()}, use {@link
+     * RetryPolicy#noRetry()} to disable the retries.
+     *
+     * @param retryPolicy the retry policy.
+     * @return this.
+     */
+    public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
     /**
      * Sets the configuration values from the given configuration map for only the available keys.
      *
@@ -273,7 +315,7 @@ public final class JaegerGrpcSpanExporter implements SpanExporter {
       if (channel == null) {
         channel = ManagedChannelBuilder.forTarget(endpoint).usePlaintext().build();
       }
-      return new JaegerGrpcSpanExporter(serviceName, channel, deadlineMs);
+      return new JaegerGrpcSpanExporter(serviceName, channel, deadlineMs, retryPolicy);
     }
 
     private Builder() {}
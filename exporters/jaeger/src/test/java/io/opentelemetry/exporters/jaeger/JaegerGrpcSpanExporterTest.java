@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.io.Closer;
@@ -34,8 +35,10 @@ import io.opentelemetry.exporters.jaeger.proto.api_v2.CollectorServiceGrpc;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Model;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Model.KeyValue;
 import io.opentelemetry.exporters.jaeger.proto.api_v2.Model.Span;
+import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.extensions.otproto.TraceProtoUtils;
 import io.opentelemetry.sdk.trace.TestSpanData;
 import io.opentelemetry.sdk.trace.data.SpanData;
@@ -158,6 +161,55 @@ class JaegerGrpcSpanExporterTest {
     assertTrue("a hostname tag should have been present", foundHostname);
   }
 
+  @Test
+  void testExport_RetriesUnavailable() throws Exception {
+    MockCollectorService collector = new MockCollectorService();
+    collector.failuresLeft = 1;
+    CollectorServiceGrpc.CollectorServiceImplBase failingService =
+        mock(CollectorServiceGrpc.CollectorServiceImplBase.class, delegatesTo(collector));
+    String serverName = InProcessServerBuilder.generateName();
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(failingService)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+
+    SpanData span =
+        TestSpanData.newBuilder()
+            .setHasEnded(true)
+            .setTraceId(TRACE_ID)
+            .setSpanId(SPAN_ID)
+            .setName("GET /api/endpoint")
+            .setStartEpochNanos(1000)
+            .setEndEpochNanos(2000)
+            .setStatus(Status.OK)
+            .setKind(Kind.CONSUMER)
+            .build();
+
+    JaegerGrpcSpanExporter exporter =
+        JaegerGrpcSpanExporter.newBuilder()
+            .setServiceName("test")
+            .setChannel(channel)
+            .setRetryPolicy(
+                RetryPolicy.newBuilder()
+                    .setMaxAttempts(3)
+                    .setInitialBackoffMillis(1)
+                    .setMaxBackoffMillis(1)
+                    .build())
+            .build();
+    closer.register(exporter::shutdown);
+    CompletableResultCode result =
+        exporter.export(Collections.singletonList(span)).join(10, TimeUnit.SECONDS);
+
+    assertTrue(result.isSuccess());
+    verify(failingService, times(2)).postSpans(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
   private static Optional<KeyValue> getSpanTagValue(Span span, String tagKey) {
     return span.getTagsList().stream().filter(kv -> kv.getKey().equals(tagKey)).findFirst();
   }
@@ -183,10 +235,17 @@ class JaegerGrpcSpanExporterTest {
   }
 
   static class MockCollectorService extends CollectorServiceGrpc.CollectorServiceImplBase {
+    private int failuresLeft;
+
     @Override
     public void postSpans(
         Collector.PostSpansRequest request,
         StreamObserver<Collector.PostSpansResponse> responseObserver) {
+      if (failuresLeft > 0) {
+        failuresLeft--;
+        responseObserver.onError(io.grpc.Status.UNAVAILABLE.asRuntimeException());
+        return;
+      }
       responseObserver.onNext(Collector.PostSpansResponse.newBuilder().build());
       responseObserver.onCompleted();
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static io.opentelemetry.common.AttributeValue.longAttributeValue;
+import static io.opentelemetry.common.AttributeValue.stringAttributeValue;
+
+import io.grpc.Drainable;
+import io.opentelemetry.common.Attributes;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventImpl;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.Span.Kind;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.Status;
+import io.opentelemetry.trace.TraceId;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares serializing a batch of spans by building the {@link ExportTraceServiceRequest} with the
+ * {@link SpanAdapter} to serializing it with the {@link TraceRequestMarshaler}. Both write to an
+ * in-memory stream, like gRPC does when it frames the request. Run with {@code -prof gc} to see
+ * the allocation per batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TraceRequestMarshalerBenchmark {
+
+  @Param({"16", "512"})
+  public int numSpans;
+
+  // Resources detected in the cloud, like the AWS ones, have a few dozen attributes.
+  @Param({"2", "32"})
+  public int numResourceAttributes;
+
+  private List<SpanData> spans;
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  @Setup
+  public final void setup() {
+    Random random = new Random(42);
+    Attributes.Builder resourceAttributes = Attributes.newBuilder();
+    for (int i = 0; i < numResourceAttributes; i++) {
+      resourceAttributes.setAttribute("resource.key" + i, stringAttributeValue("value" + i));
+    }
+    Resource resource = Resource.create(resourceAttributes.build());
+    InstrumentationLibraryInfo library = InstrumentationLibraryInfo.create("benchmark", "1.0");
+    spans = new ArrayList<>(numSpans);
+    for (int i = 0; i < numSpans; i++) {
+      spans.add(
+          TestSpanData.newBuilder()
+              .setHasEnded(true)
+              .setTraceId(TraceId.fromLongs(random.nextLong(), random.nextLong()))
+              .setSpanId(SpanId.fromLong(random.nextLong()))
+              .setParentSpanId(SpanId.fromLong(random.nextLong()))
+              .setResource(resource)
+              .setInstrumentationLibraryInfo(library)
+              .setName("GET /api/endpoint")
+              .setKind(Kind.SERVER)
+              .setStartEpochNanos(1_600_000_000_000_000_000L + i)
+              .setEndEpochNanos(1_600_000_000_000_900_000L + i)
+              .setAttributes(
+                  Attributes.of(
+                      "http.method", stringAttributeValue("GET"),
+                      "http.url", stringAttributeValue("http://localhost:8080/api/endpoint"),
+                      "http.status_code", longAttributeValue(200)))
+              .setTotalAttributeCount(3)
+              .setEvents(
+                  Collections.<SpanData.Event>singletonList(
+                      EventImpl.create(
+                          1_600_000_000_000_500_000L + i,
+                          "event",
+                          Attributes.of("key", stringAttributeValue("value")))))
+              .setTotalRecordedEvents(1)
+              .setStatus(Status.OK)
+              .build());
+    }
+  }
+
+  /** Builds the protobuf messages of the request, then serializes them. */
+  @Benchmark
+  @Threads(1)
+  public int adapter() throws IOException {
+    output.reset();
+    ExportTraceServiceRequest request =
+        ExportTraceServiceRequest.newBuilder()
+            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
+            .build();
+    request.writeTo(output);
+    return output.size();
+  }
+
+  /** Writes the request straight from the spans, the way the exporter's gRPC call drains it. */
+  @Benchmark
+  @Threads(1)
+  public int marshaler() throws IOException {
+    output.reset();
+    InputStream stream =
+        TraceRequestMarshaler.MARSHALLER.stream(TraceRequestMarshaler.create(spans));
+    return ((Drainable) stream).drainTo(output);
+  }
+
+  /** Only computes the size of the request, the first of the marshaler's two passes. */
+  @Benchmark
+  @Threads(1)
+  public int marshalerSize() {
+    return TraceRequestMarshaler.create(spans).getSerializedSize();
+  }
+}
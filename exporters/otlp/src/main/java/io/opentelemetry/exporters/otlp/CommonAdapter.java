@@ -16,7 +16,11 @@
 
 package io.opentelemetry.exporters.otlp;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.common.ReadableAttributes.AttributeVisitor;
 import io.opentelemetry.proto.common.v1.AnyValue;
 import io.opentelemetry.proto.common.v1.ArrayValue;
 import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
@@ -24,6 +28,57 @@ import io.opentelemetry.proto.common.v1.KeyValue;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 
 final class CommonAdapter {
+  // Libraries live as long as their Tracer or Meter, so their proto is kept for as long as they are
+  // reachable. Weak keys are compared by identity.
+  private static final LoadingCache<InstrumentationLibraryInfo, InstrumentationLibrary>
+      INSTRUMENTATION_LIBRARY_CACHE =
+          CacheBuilder.newBuilder()
+              .weakKeys()
+              .build(
+                  new CacheLoader<InstrumentationLibraryInfo, InstrumentationLibrary>() {
+                    @Override
+                    public InstrumentationLibrary load(InstrumentationLibraryInfo library) {
+                      return convertInstrumentationLibrary(library);
+                    }
+                  });
+
+  /**
+   * Converts the visited attributes to {@link KeyValue}s, reading the primitive values without
+   * unwrapping an {@link AttributeValue} when the attributes store them unwrapped.
+   */
+  abstract static class ProtoAttributeVisitor extends AttributeVisitor {
+    abstract void addAttribute(KeyValue attribute);
+
+    @Override
+    public final void visitString(String key, String value) {
+      addAttribute(toProtoAttribute(key, AnyValue.newBuilder().setStringValue(value)));
+    }
+
+    @Override
+    public final void visitBoolean(String key, boolean value) {
+      addAttribute(toProtoAttribute(key, AnyValue.newBuilder().setBoolValue(value)));
+    }
+
+    @Override
+    public final void visitLong(String key, long value) {
+      addAttribute(toProtoAttribute(key, AnyValue.newBuilder().setIntValue(value)));
+    }
+
+    @Override
+    public final void visitDouble(String key, double value) {
+      addAttribute(toProtoAttribute(key, AnyValue.newBuilder().setDoubleValue(value)));
+    }
+
+    @Override
+    public final void visitArray(String key, AttributeValue value) {
+      addAttribute(toProtoAttribute(key, value));
+    }
+  }
+
+  private static KeyValue toProtoAttribute(String key, AnyValue.Builder value) {
+    return KeyValue.newBuilder().setKey(key).setValue(value.build()).build();
+  }
+
   static KeyValue toProtoAttribute(String key, AttributeValue attributeValue) {
     KeyValue.Builder builder = KeyValue.newBuilder().setKey(key);
     switch (attributeValue.getType()) {
@@ -105,8 +160,14 @@ final class CommonAdapter {
     return builder.build();
   }
 
+  /** Returns the proto of the library, converted the first time the instance is exported. */
   static InstrumentationLibrary toProtoInstrumentationLibrary(
       InstrumentationLibraryInfo instrumentationLibraryInfo) {
+    return INSTRUMENTATION_LIBRARY_CACHE.getUnchecked(instrumentationLibraryInfo);
+  }
+
+  private static InstrumentationLibrary convertInstrumentationLibrary(
+      InstrumentationLibraryInfo instrumentationLibraryInfo) {
     return InstrumentationLibrary.newBuilder()
         .setName(instrumentationLibraryInfo.getName())
         .setVersion(
@@ -37,6 +37,7 @@ import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData.DoublePoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.HistogramPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.Point;
 import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
@@ -44,7 +45,6 @@ import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -77,23 +77,14 @@ final class MetricAdapter {
 
   private static Map<Resource, Map<InstrumentationLibraryInfo, List<Metric>>>
       groupByResourceAndLibrary(Collection<MetricData> metricDataList) {
-    Map<Resource, Map<InstrumentationLibraryInfo, List<Metric>>> result = new HashMap<>();
+    ResourceAndLibraryGrouper<Metric> grouper = new ResourceAndLibraryGrouper<>();
     for (MetricData metricData : metricDataList) {
-      Resource resource = metricData.getResource();
-      Map<InstrumentationLibraryInfo, List<Metric>> libraryInfoListMap =
-          result.get(metricData.getResource());
-      if (libraryInfoListMap == null) {
-        libraryInfoListMap = new HashMap<>();
-        result.put(resource, libraryInfoListMap);
-      }
-      List<Metric> metricList = libraryInfoListMap.get(metricData.getInstrumentationLibraryInfo());
-      if (metricList == null) {
-        metricList = new ArrayList<>();
-        libraryInfoListMap.put(metricData.getInstrumentationLibraryInfo(), metricList);
-      }
-      metricList.add(toProtoMetric(metricData));
+      grouper.add(
+          metricData.getResource(),
+          metricData.getInstrumentationLibraryInfo(),
+          toProtoMetric(metricData));
     }
-    return result;
+    return grouper.getGroups();
   }
 
   // fall through comment isn't working for some reason.
@@ -146,6 +137,14 @@ final class MetricAdapter {
                     toSummaryDataPoints(metricData.getPoints(), metricData.getDescriptor()))
                 .build());
         break;
+      case HISTOGRAM:
+        builder.setDoubleHistogram(
+            DoubleHistogram.newBuilder()
+                .setAggregationTemporality(mapToTemporality(descriptor))
+                .addAllDataPoints(
+                    toHistogramDataPoints(metricData.getPoints(), metricData.getDescriptor()))
+                .build());
+        break;
     }
     return builder.build();
   }
@@ -158,6 +157,7 @@ final class MetricAdapter {
       case MONOTONIC_DOUBLE:
         return AGGREGATION_TEMPORALITY_CUMULATIVE;
       case SUMMARY:
+      case HISTOGRAM:
         return AGGREGATION_TEMPORALITY_DELTA;
     }
     return AGGREGATION_TEMPORALITY_UNSPECIFIED;
@@ -237,6 +237,32 @@ final class MetricAdapter {
     return result;
   }
 
+  static List<DoubleHistogramDataPoint> toHistogramDataPoints(
+      Collection<Point> points, Descriptor descriptor) {
+    List<DoubleHistogramDataPoint> result = new ArrayList<>(points.size());
+    for (Point point : points) {
+      HistogramPoint histogramPoint = (HistogramPoint) point;
+      DoubleHistogramDataPoint.Builder builder =
+          DoubleHistogramDataPoint.newBuilder()
+              .setStartTimeUnixNano(histogramPoint.getStartEpochNanos())
+              .setTimeUnixNano(histogramPoint.getEpochNanos())
+              .setCount(histogramPoint.getCount())
+              .setSum(histogramPoint.getSum())
+              .addAllBucketCounts(histogramPoint.getCounts())
+              .addAllExplicitBounds(histogramPoint.getBoundaries());
+      // Avoid calling addAllLabels when not needed to save a couple allocations.
+      if (descriptor.getConstantLabels() != null && !descriptor.getConstantLabels().isEmpty()) {
+        builder.addAllLabels(toProtoLabels(descriptor.getConstantLabels()));
+      }
+      List<StringKeyValue> labels = toProtoLabels(histogramPoint.getLabels());
+      if (!labels.isEmpty()) {
+        builder.addAllLabels(labels);
+      }
+      result.add(builder.build());
+    }
+    return result;
+  }
+
   // TODO: Consider to pass the Builder and directly add values.
   @SuppressWarnings("MixedMutabilityReturnType")
   static void addBucketValues(
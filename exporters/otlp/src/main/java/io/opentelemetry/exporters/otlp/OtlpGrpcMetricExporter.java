@@ -22,9 +22,11 @@ import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.CompressorRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
+import io.grpc.Status;
 import io.grpc.stub.MetadataUtils;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
@@ -32,8 +34,11 @@ import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
 import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc.MetricsServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.common.export.RetryBuffer;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +51,9 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * Exports metrics using OTLP via gRPC, using OpenTelemetry's protobuf model.
  *
+ * <p>The requests failing with {@code UNAVAILABLE} or {@code RESOURCE_EXHAUSTED} are retried as
+ * configured by {@link Builder#setRetryPolicy(RetryPolicy)}.
+ *
  * <p>Configuration options for {@link OtlpGrpcMetricExporter} can be read from system properties,
  * environment variables, or {@link java.util.Properties} objects.
  *
@@ -55,6 +63,8 @@ import javax.annotation.concurrent.ThreadSafe;
  * <ul>
  *   <li>{@code otel.otlp.metric.timeout}: to set the max waiting time allowed to send each metric
  *       batch.
+ *   <li>{@code otel.otlp.compression}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code otel.otlp.max.request.size}: to set the max size in bytes of each request.
  * </ul>
  *
  * <p>For environment variables, {@link OtlpGrpcMetricExporter} will look for the following names:
@@ -62,6 +72,8 @@ import javax.annotation.concurrent.ThreadSafe;
  * <ul>
  *   <li>{@code OTEL_OTLP_METRIC_TIMEOUT}: to set the max waiting time allowed to send each metric
  *       batch.
+ *   <li>{@code OTEL_OTLP_COMPRESSION}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code OTEL_OTLP_MAX_REQUEST_SIZE}: to set the max size in bytes of each request.
  * </ul>
  */
 @ThreadSafe
@@ -71,9 +83,26 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
 
   private static final Logger logger = Logger.getLogger(OtlpGrpcMetricExporter.class.getName());
 
+  private static final RequestSplitter<MetricData, ExportMetricsServiceRequest> SPLITTER =
+      new RequestSplitter<MetricData, ExportMetricsServiceRequest>() {
+        @Override
+        ExportMetricsServiceRequest createRequest(List<MetricData> metrics) {
+          return ExportMetricsServiceRequest.newBuilder()
+              .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
+              .build();
+        }
+
+        @Override
+        int getSerializedSize(ExportMetricsServiceRequest request) {
+          return request.getSerializedSize();
+        }
+      };
+
   private final MetricsServiceFutureStub metricsService;
   private final ManagedChannel managedChannel;
   private final long deadlineMs;
+  private final int maxRequestSize;
+  private final RetryBuffer<ExportMetricsServiceRequest> retryBuffer;
 
   /**
    * Creates a new OTLP gRPC Metric Reporter with the given name, using the given channel.
@@ -81,27 +110,60 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param deadlineMs max waiting time for the collector to process each metric batch. When set to
    *     0 or to a negative value, the exporter will wait indefinitely.
+   * @param compression the name of the compressor of the requests, or {@code null} to send them
+   *     uncompressed.
+   * @param maxRequestSize the max serialized size of each request. When set to 0 or to a negative
+   *     value, each batch is sent in a single request.
+   * @param retryPolicy the retry policy of the failed requests.
    */
-  private OtlpGrpcMetricExporter(ManagedChannel channel, long deadlineMs) {
+  private OtlpGrpcMetricExporter(
+      ManagedChannel channel,
+      long deadlineMs,
+      @Nullable String compression,
+      int maxRequestSize,
+      RetryPolicy retryPolicy) {
     this.managedChannel = channel;
     this.deadlineMs = deadlineMs;
-    metricsService = MetricsServiceGrpc.newFutureStub(channel);
+    this.maxRequestSize = maxRequestSize;
+    MetricsServiceFutureStub stub = MetricsServiceGrpc.newFutureStub(channel);
+    metricsService = compression != null ? stub.withCompression(compression) : stub;
+    this.retryBuffer =
+        RetryBuffer.create(
+            OtlpGrpcMetricExporter.class.getSimpleName(),
+            retryPolicy,
+            new RetryBuffer.Sender<ExportMetricsServiceRequest>() {
+              @Override
+              public void send(ExportMetricsServiceRequest request, RetryBuffer.Callback callback) {
+                OtlpGrpcMetricExporter.this.send(request, callback);
+              }
+            });
   }
 
   /**
-   * Submits all the given metrics in a single batch to the OpenTelemetry collector.
+   * Submits all the given metrics to the OpenTelemetry collector, in a single batch unless it is
+   * over the max request size. The requests of a split batch are sent concurrently. The result
+   * completes once all the requests are accepted, or one of them is dropped after its retries.
    *
    * @param metrics the list of Metrics to be exported.
    * @return the result of the operation
    */
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
-    ExportMetricsServiceRequest exportMetricsServiceRequest =
-        ExportMetricsServiceRequest.newBuilder()
-            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
-            .build();
+    List<ExportMetricsServiceRequest> requests = SPLITTER.split(metrics, maxRequestSize);
+    if (requests.size() == 1) {
+      return retryBuffer.send(requests.get(0), requests.get(0).getSerializedSize());
+    }
+    List<CompletableResultCode> results = new ArrayList<>(requests.size());
+    for (ExportMetricsServiceRequest request : requests) {
+      results.add(retryBuffer.send(request, request.getSerializedSize()));
+    }
+    return CompletableResultCode.ofAll(results);
+  }
 
-    final CompletableResultCode result = new CompletableResultCode();
+  // Sends one attempt of the request, each attempt has its own deadline.
+  private void send(
+      ExportMetricsServiceRequest exportMetricsServiceRequest,
+      final RetryBuffer.Callback callback) {
     MetricsServiceFutureStub exporter;
     if (deadlineMs > 0) {
       exporter = metricsService.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
@@ -114,17 +176,20 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
         new FutureCallback<ExportMetricsServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportMetricsServiceResponse response) {
-            result.succeed();
+            callback.onSuccess();
           }
 
           @Override
           public void onFailure(Throwable t) {
-            logger.log(Level.WARNING, "Failed to export metrics", t);
-            result.fail();
+            callback.onFailure(t, isRetryable(t));
           }
         },
         MoreExecutors.directExecutor());
-    return result;
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    Status.Code code = Status.fromThrowable(t).getCode();
+    return code == Status.Code.UNAVAILABLE || code == Status.Code.RESOURCE_EXHAUSTED;
   }
 
   /**
@@ -160,10 +225,12 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
 
   /**
    * Initiates an orderly shutdown in which preexisting calls continue but new calls are immediately
-   * cancelled. The channel is forcefully closed after a timeout.
+   * cancelled. The channel is forcefully closed after a timeout. The requests waiting to be retried
+   * are dropped.
    */
   @Override
   public void shutdown() {
+    retryBuffer.shutdown();
     try {
       managedChannel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
@@ -177,11 +244,16 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
     private static final String KEY_ENDPOINT = "otel.otlp.endpoint";
     private static final String KEY_USE_TLS = "otel.otlp.use.tls";
     private static final String KEY_METADATA = "otel.otlp.metadata";
+    private static final String KEY_COMPRESSION = "otel.otlp.compression";
+    private static final String KEY_MAX_REQUEST_SIZE = "otel.otlp.max.request.size";
     private ManagedChannel channel;
     private long deadlineMs = DEFAULT_DEADLINE_MS; // 1 second
     private String endpoint = DEFAULT_ENDPOINT;
     private boolean useTls;
     @Nullable private Metadata metadata;
+    @Nullable private String compression;
+    private int maxRequestSize;
+    private RetryPolicy retryPolicy = RetryPolicy.getDefault();
 
     /**
      * Sets the managed chanel to use when communicating with the backend. Takes precedence over
@@ -245,12 +317,52 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
       return this;
     }
 
+    /**
+     * Sets the compression of the requests, the name of a compressor registered in the default
+     * {@link CompressorRegistry}, e.g. "gzip". Optional, defaults to no compression.
+     *
+     * @param compression the name of the compressor, or {@code null} for no compression
+     * @return this builder's instance
+     */
+    public Builder setCompression(@Nullable String compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    /**
+     * Sets the max size in bytes of each serialized request, the batches over it are split into
+     * several requests sent concurrently. A single metric over the limit is still sent alone.
+     * Optional, defaults to 0 which never splits the batches.
+     *
+     * @param maxRequestSize the max size of each request
+     * @return this builder's instance
+     */
+    public Builder setMaxRequestSize(int maxRequestSize) {
+      this.maxRequestSize = maxRequestSize;
+      return this;
+    }
+
+    /**
+     * Sets the retry policy of the requests failing with {@code UNAVAILABLE} or {@code
+     * RESOURCE_EXHAUSTED}. Optional, defaults to {@link RetryPolicy#getDefault()}, use {@link
+     * RetryPolicy#noRetry()} to disable the retries.
+     *
+     * @param retryPolicy the retry policy
+     * @return this builder's instance
+     */
+    public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
     /**
      * Constructs a new instance of the exporter based on the builder's values.
      *
      * @return a new exporter's instance
+     * @throws IllegalArgumentException if the compression is not registered.
      */
     public OtlpGrpcMetricExporter build() {
+      checkCompression(compression);
       if (channel == null) {
         final ManagedChannelBuilder<?> managedChannelBuilder =
             ManagedChannelBuilder.forTarget(endpoint);
@@ -267,11 +379,19 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
 
         channel = managedChannelBuilder.build();
       }
-      return new OtlpGrpcMetricExporter(channel, deadlineMs);
+      return new OtlpGrpcMetricExporter(
+          channel, deadlineMs, compression, maxRequestSize, retryPolicy);
     }
 
     private Builder() {}
 
+    private static void checkCompression(@Nullable String compression) {
+      if (compression != null
+          && CompressorRegistry.getDefaultInstance().lookupCompressor(compression) == null) {
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+      }
+    }
+
     /**
      * Sets the configuration values from the given configuration map for only the available keys.
      *
@@ -296,6 +416,16 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
         this.setUseTls(useTlsValue);
       }
 
+      String compressionValue = getStringProperty(KEY_COMPRESSION, configMap);
+      if (compressionValue != null) {
+        this.setCompression(compressionValue);
+      }
+
+      Integer maxRequestSizeValue = getIntProperty(KEY_MAX_REQUEST_SIZE, configMap);
+      if (maxRequestSizeValue != null) {
+        this.setMaxRequestSize(maxRequestSizeValue);
+      }
+
       String metadataValue = getStringProperty(KEY_METADATA, configMap);
       if (metadataValue != null) {
         for (String keyValueString : Splitter.on(';').split(metadataValue)) {
@@ -22,31 +22,40 @@ import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.CallOptions;
+import io.grpc.CompressorRegistry;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.stub.ClientCalls;
 import io.grpc.stub.MetadataUtils;
-import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
 import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
-import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc.TraceServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.common.export.RetryBuffer;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Exports spans using OTLP via gRPC, using OpenTelemetry's protobuf model.
  *
+ * <p>The requests failing with {@code UNAVAILABLE} or {@code RESOURCE_EXHAUSTED} are retried as
+ * configured by {@link Builder#setRetryPolicy(RetryPolicy)}. The result of an export completes
+ * after the last attempt of its request, so a {@code BatchSpanProcessor} with a single concurrent
+ * export waits for all the retries before exporting the next batch.
+ *
  * <p>Configuration options for {@link OtlpGrpcSpanExporter} can be read from system properties,
  * environment variables, or {@link java.util.Properties} objects.
  *
@@ -60,6 +69,8 @@ import javax.annotation.concurrent.ThreadSafe;
  *   <li>{@code otel.otlp.use.tls}: to set use or not TLS.
  *   <li>{@code otel.otlp.metadata} to set key-value pairs separated by semicolon to pass as request
  *       metadata.
+ *   <li>{@code otel.otlp.compression}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code otel.otlp.max.request.size}: to set the max size in bytes of each request.
  * </ul>
  *
  * <p>For environment variables, {@link OtlpGrpcSpanExporter} will look for the following names:
@@ -71,6 +82,8 @@ import javax.annotation.concurrent.ThreadSafe;
  *   <li>{@code OTEL_OTLP_USE_TLS}: to set use or not TLS.
  *   <li>{@code OTEL_OTLP_METADATA}: to set key-value pairs separated by semicolon to pass as
  *       request metadata.
+ *   <li>{@code OTEL_OTLP_COMPRESSION}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code OTEL_OTLP_MAX_REQUEST_SIZE}: to set the max size in bytes of each request.
  * </ul>
  */
 @ThreadSafe
@@ -78,11 +91,34 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   public static final String DEFAULT_ENDPOINT = "localhost:55680";
   public static final long DEFAULT_DEADLINE_MS = TimeUnit.SECONDS.toMillis(1);
 
-  private static final Logger logger = Logger.getLogger(OtlpGrpcSpanExporter.class.getName());
+  // The export method of the trace service, with the request serialized by TraceRequestMarshaler
+  // straight from the SpanData instead of going through the generated protobuf classes.
+  private static final MethodDescriptor<TraceRequestMarshaler, ExportTraceServiceResponse>
+      EXPORT_METHOD =
+          TraceServiceGrpc.getExportMethod()
+              .toBuilder(
+                  TraceRequestMarshaler.MARSHALLER,
+                  TraceServiceGrpc.getExportMethod().getResponseMarshaller())
+              .build();
+
+  private static final RequestSplitter<SpanData, TraceRequestMarshaler> SPLITTER =
+      new RequestSplitter<SpanData, TraceRequestMarshaler>() {
+        @Override
+        TraceRequestMarshaler createRequest(List<SpanData> spans) {
+          return TraceRequestMarshaler.create(spans);
+        }
+
+        @Override
+        int getSerializedSize(TraceRequestMarshaler request) {
+          return request.getSerializedSize();
+        }
+      };
 
-  private final TraceServiceFutureStub traceService;
   private final ManagedChannel managedChannel;
   private final long deadlineMs;
+  @Nullable private final String compression;
+  private final int maxRequestSize;
+  private final RetryBuffer<TraceRequestMarshaler> retryBuffer;
 
   /**
    * Creates a new OTLP gRPC Span Reporter with the given name, using the given channel.
@@ -90,51 +126,84 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param deadlineMs max waiting time for the collector to process each span batch. When set to 0
    *     or to a negative value, the exporter will wait indefinitely.
+   * @param compression the name of the compressor of the requests, or {@code null} to send them
+   *     uncompressed.
+   * @param maxRequestSize the max serialized size of each request. When set to 0 or to a negative
+   *     value, each batch is sent in a single request.
+   * @param retryPolicy the retry policy of the failed requests.
    */
-  private OtlpGrpcSpanExporter(ManagedChannel channel, long deadlineMs) {
+  private OtlpGrpcSpanExporter(
+      ManagedChannel channel,
+      long deadlineMs,
+      @Nullable String compression,
+      int maxRequestSize,
+      RetryPolicy retryPolicy) {
     this.managedChannel = channel;
     this.deadlineMs = deadlineMs;
-    this.traceService = TraceServiceGrpc.newFutureStub(channel);
+    this.compression = compression;
+    this.maxRequestSize = maxRequestSize;
+    this.retryBuffer =
+        RetryBuffer.create(
+            OtlpGrpcSpanExporter.class.getSimpleName(),
+            retryPolicy,
+            new RetryBuffer.Sender<TraceRequestMarshaler>() {
+              @Override
+              public void send(TraceRequestMarshaler request, RetryBuffer.Callback callback) {
+                OtlpGrpcSpanExporter.this.send(request, callback);
+              }
+            });
   }
 
   /**
-   * Submits all the given spans in a single batch to the OpenTelemetry collector.
+   * Submits all the given spans to the OpenTelemetry collector, in a single batch unless it is over
+   * the max request size. The requests of a split batch are sent concurrently. The result completes
+   * once all the requests are accepted, or one of them is dropped after its retries.
    *
    * @param spans the list of sampled Spans to be exported.
    * @return the result of the operation
    */
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
-    ExportTraceServiceRequest exportTraceServiceRequest =
-        ExportTraceServiceRequest.newBuilder()
-            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
-            .build();
-
-    final CompletableResultCode result = new CompletableResultCode();
+    List<TraceRequestMarshaler> requests = SPLITTER.split(spans, maxRequestSize);
+    if (requests.size() == 1) {
+      return retryBuffer.send(requests.get(0), requests.get(0).getSerializedSize());
+    }
+    List<CompletableResultCode> results = new ArrayList<>(requests.size());
+    for (TraceRequestMarshaler request : requests) {
+      results.add(retryBuffer.send(request, request.getSerializedSize()));
+    }
+    return CompletableResultCode.ofAll(results);
+  }
 
-    TraceServiceFutureStub exporter;
+  // Sends one attempt of the request, each attempt has its own deadline.
+  private void send(TraceRequestMarshaler request, final RetryBuffer.Callback callback) {
+    CallOptions callOptions = CallOptions.DEFAULT;
     if (deadlineMs > 0) {
-      exporter = traceService.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
-    } else {
-      exporter = traceService;
+      callOptions = callOptions.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+    if (compression != null) {
+      callOptions = callOptions.withCompression(compression);
     }
 
     Futures.addCallback(
-        exporter.export(exportTraceServiceRequest),
+        ClientCalls.futureUnaryCall(managedChannel.newCall(EXPORT_METHOD, callOptions), request),
         new FutureCallback<ExportTraceServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportTraceServiceResponse response) {
-            result.succeed();
+            callback.onSuccess();
           }
 
           @Override
           public void onFailure(Throwable t) {
-            logger.log(Level.WARNING, "Failed to export spans", t);
-            result.fail();
+            callback.onFailure(t, isRetryable(t));
           }
         },
         MoreExecutors.directExecutor());
-    return result;
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    Status.Code code = Status.fromThrowable(t).getCode();
+    return code == Status.Code.UNAVAILABLE || code == Status.Code.RESOURCE_EXHAUSTED;
   }
 
   /**
@@ -170,10 +239,11 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
 
   /**
    * Initiates an orderly shutdown in which preexisting calls continue but new calls are immediately
-   * cancelled.
+   * cancelled. The requests waiting to be retried are dropped.
    */
   @Override
   public CompletableResultCode shutdown() {
+    retryBuffer.shutdown();
     final CompletableResultCode result = new CompletableResultCode();
     managedChannel.notifyWhenStateChanged(
         ConnectivityState.SHUTDOWN,
@@ -193,11 +263,16 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     private static final String KEY_ENDPOINT = "otel.otlp.endpoint";
     private static final String KEY_USE_TLS = "otel.otlp.use.tls";
     private static final String KEY_METADATA = "otel.otlp.metadata";
+    private static final String KEY_COMPRESSION = "otel.otlp.compression";
+    private static final String KEY_MAX_REQUEST_SIZE = "otel.otlp.max.request.size";
     private ManagedChannel channel;
     private long deadlineMs = DEFAULT_DEADLINE_MS; // 1 second
     private String endpoint = DEFAULT_ENDPOINT;
     private boolean useTls;
     @Nullable private Metadata metadata;
+    @Nullable private String compression;
+    private int maxRequestSize;
+    private RetryPolicy retryPolicy = RetryPolicy.getDefault();
 
     /**
      * Sets the managed chanel to use when communicating with the backend. Takes precedence over
@@ -261,12 +336,52 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
       return this;
     }
 
+    /**
+     * Sets the compression of the requests, the name of a compressor registered in the default
+     * {@link CompressorRegistry}, e.g. "gzip". Optional, defaults to no compression.
+     *
+     * @param compression the name of the compressor, or {@code null} for no compression
+     * @return this builder's instance
+     */
+    public Builder setCompression(@Nullable String compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    /**
+     * Sets the max size in bytes of each serialized request, the batches over it are split into
+     * several requests sent concurrently. A single span over the limit is still sent alone.
+     * Optional, defaults to 0 which never splits the batches.
+     *
+     * @param maxRequestSize the max size of each request
+     * @return this builder's instance
+     */
+    public Builder setMaxRequestSize(int maxRequestSize) {
+      this.maxRequestSize = maxRequestSize;
+      return this;
+    }
+
+    /**
+     * Sets the retry policy of the requests failing with {@code UNAVAILABLE} or {@code
+     * RESOURCE_EXHAUSTED}. Optional, defaults to {@link RetryPolicy#getDefault()}, use {@link
+     * RetryPolicy#noRetry()} to disable the retries.
+     *
+     * @param retryPolicy the retry policy
+     * @return this builder's instance
+     */
+    public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
     /**
      * Constructs a new instance of the exporter based on the builder's values.
      *
      * @return a new exporter's instance
+     * @throws IllegalArgumentException if the compression is not registered.
      */
     public OtlpGrpcSpanExporter build() {
+      checkCompression(compression);
       if (channel == null) {
         final ManagedChannelBuilder<?> managedChannelBuilder =
             ManagedChannelBuilder.forTarget(endpoint);
@@ -283,11 +398,19 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
 
         channel = managedChannelBuilder.build();
       }
-      return new OtlpGrpcSpanExporter(channel, deadlineMs);
+      return new OtlpGrpcSpanExporter(
+          channel, deadlineMs, compression, maxRequestSize, retryPolicy);
     }
 
     private Builder() {}
 
+    private static void checkCompression(@Nullable String compression) {
+      if (compression != null
+          && CompressorRegistry.getDefaultInstance().lookupCompressor(compression) == null) {
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+      }
+    }
+
     /**
      * Sets the configuration values from the given configuration map for only the available keys.
      *
@@ -312,6 +435,16 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
         this.setUseTls(useTlsValue);
       }
 
+      String compressionValue = getStringProperty(KEY_COMPRESSION, configMap);
+      if (compressionValue != null) {
+        this.setCompression(compressionValue);
+      }
+
+      Integer maxRequestSizeValue = getIntProperty(KEY_MAX_REQUEST_SIZE, configMap);
+      if (maxRequestSizeValue != null) {
+        this.setMaxRequestSize(maxRequestSizeValue);
+      }
+
       String metadataValue = getStringProperty(KEY_METADATA, configMap);
       if (metadataValue != null) {
         for (String keyValueString : Splitter.on(';').split(metadataValue)) {
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import com.google.common.base.Splitter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports metrics using OTLP via HTTP, posting the protobuf encoded requests with the JDK's HTTP
+ * client. Unlike {@link OtlpGrpcMetricExporter}, it doesn't start a gRPC channel and its transport.
+ *
+ * <p>Configuration options for {@link OtlpHttpMetricExporter} can be read from system properties,
+ * environment variables, or {@link java.util.Properties} objects.
+ *
+ * <p>For system properties and {@link java.util.Properties} objects, {@link OtlpHttpMetricExporter}
+ * will look for the following names:
+ *
+ * <ul>
+ *   <li>{@code otel.otlp.metric.timeout}: to set the max waiting time allowed to send each metric
+ *       batch.
+ *   <li>{@code otel.otlp.http.metric.endpoint}: to set the URL to post the metrics to.
+ *   <li>{@code otel.otlp.http.gzip}: to set use or not gzip compression.
+ *   <li>{@code otel.otlp.metadata} to set key-value pairs separated by semicolon to pass as request
+ *       headers.
+ * </ul>
+ *
+ * <p>For environment variables, {@link OtlpHttpMetricExporter} will look for the following names:
+ *
+ * <ul>
+ *   <li>{@code OTEL_OTLP_METRIC_TIMEOUT}: to set the max waiting time allowed to send each metric
+ *       batch.
+ *   <li>{@code OTEL_OTLP_HTTP_METRIC_ENDPOINT}: to set the URL to post the metrics to.
+ *   <li>{@code OTEL_OTLP_HTTP_GZIP}: to set use or not gzip compression.
+ *   <li>{@code OTEL_OTLP_METADATA}: to set key-value pairs separated by semicolon to pass as
+ *       request headers.
+ * </ul>
+ */
+@ThreadSafe
+public final class OtlpHttpMetricExporter implements MetricExporter {
+  public static final String DEFAULT_ENDPOINT = "http://localhost:55681/v1/metrics";
+  public static final long DEFAULT_DEADLINE_MS = TimeUnit.SECONDS.toMillis(1);
+
+  private final OtlpHttpSender sender;
+  private volatile boolean isShutdown;
+
+  private OtlpHttpMetricExporter(OtlpHttpSender sender) {
+    this.sender = sender;
+  }
+
+  /**
+   * Submits all the given metrics in a single request to the OpenTelemetry collector. The request
+   * is built on the calling thread, then serialized and sent in the background. The returned
+   * result completes once the collector responded or the request failed, and fails immediately
+   * when too many requests are waiting to be sent.
+   *
+   * @param metrics the list of Metrics to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    if (isShutdown) {
+      return CompletableResultCode.ofFailure();
+    }
+    ExportMetricsServiceRequest exportMetricsServiceRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
+            .build();
+    return sender.send(exportMetricsServiceRequest, "metrics");
+  }
+
+  /**
+   * The OTLP exporter does not batch metrics, so this method will immediately return with success.
+   *
+   * @return always Success
+   */
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns a new {@link OtlpHttpMetricExporter} reading the configuration values from the
+   * environment and from system properties. System properties override values defined in the
+   * environment. If a configuration value is missing, it uses the default value.
+   *
+   * @return a new {@link OtlpHttpMetricExporter} instance.
+   */
+  public static OtlpHttpMetricExporter getDefault() {
+    return newBuilder().readEnvironmentVariables().readSystemProperties().build();
+  }
+
+  /**
+   * Fails the exports called after this one. The requests of the previous exports are still sent
+   * in the background.
+   */
+  @Override
+  public void shutdown() {
+    isShutdown = true;
+    sender.shutdown();
+  }
+
+  /** Builder utility for this exporter. */
+  public static class Builder extends ConfigBuilder<Builder> {
+    private static final String KEY_METRIC_TIMEOUT = "otel.otlp.metric.timeout";
+    private static final String KEY_ENDPOINT = "otel.otlp.http.metric.endpoint";
+    private static final String KEY_USE_GZIP = "otel.otlp.http.gzip";
+    private static final String KEY_METADATA = "otel.otlp.metadata";
+    private long deadlineMs = DEFAULT_DEADLINE_MS; // 1 second
+    private String endpoint = DEFAULT_ENDPOINT;
+    private boolean useGzip;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    /**
+     * Sets the max waiting time for the collector to process each metric batch. Optional.
+     *
+     * @param deadlineMs the max waiting time
+     * @return this builder's instance
+     */
+    public Builder setDeadlineMs(long deadlineMs) {
+      this.deadlineMs = deadlineMs;
+      return this;
+    }
+
+    /**
+     * Sets the URL to post the metrics to. Optional, defaults to
+     * "http://localhost:55681/v1/metrics".
+     *
+     * @param endpoint URL of the endpoint
+     * @return this builder's instance
+     */
+    public Builder setEndpoint(String endpoint) {
+      this.endpoint = endpoint;
+      return this;
+    }
+
+    /**
+     * Sets use or not gzip compression of the request bodies, default is false. Optional.
+     *
+     * @param useGzip use gzip or not
+     * @return this builder's instance
+     */
+    public Builder setUseGzip(boolean useGzip) {
+      this.useGzip = useGzip;
+      return this;
+    }
+
+    /**
+     * Add header to request. Optional.
+     *
+     * @param key header key
+     * @param value header value
+     * @return this builder's instance
+     */
+    public Builder addHeader(String key, String value) {
+      headers.put(key, value);
+      return this;
+    }
+
+    /**
+     * Constructs a new instance of the exporter based on the builder's values.
+     *
+     * @return a new exporter's instance
+     * @throws IllegalArgumentException if the endpoint is not a valid URL.
+     */
+    public OtlpHttpMetricExporter build() {
+      return new OtlpHttpMetricExporter(new OtlpHttpSender(endpoint, deadlineMs, useGzip, headers));
+    }
+
+    private Builder() {}
+
+    /**
+     * Sets the configuration values from the given configuration map for only the available keys.
+     *
+     * @param configMap {@link Map} holding the configuration values.
+     * @return this.
+     */
+    @Override
+    protected Builder fromConfigMap(
+        Map<String, String> configMap, NamingConvention namingConvention) {
+      configMap = namingConvention.normalize(configMap);
+      Long value = getLongProperty(KEY_METRIC_TIMEOUT, configMap);
+      if (value != null) {
+        this.setDeadlineMs(value);
+      }
+      String endpointValue = getStringProperty(KEY_ENDPOINT, configMap);
+      if (endpointValue != null) {
+        this.setEndpoint(endpointValue);
+      }
+
+      Boolean useGzipValue = getBooleanProperty(KEY_USE_GZIP, configMap);
+      if (useGzipValue != null) {
+        this.setUseGzip(useGzipValue);
+      }
+
+      String metadataValue = getStringProperty(KEY_METADATA, configMap);
+      if (metadataValue != null) {
+        for (String keyValueString : Splitter.on(';').split(metadataValue)) {
+          final List<String> keyValue =
+              Splitter.on('=')
+                  .limit(2)
+                  .trimResults()
+                  .omitEmptyStrings()
+                  .splitToList(keyValueString);
+          if (keyValue.size() == 2) {
+            addHeader(keyValue.get(0), keyValue.get(1));
+          }
+        }
+      }
+
+      return this;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.DaemonThreadFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Posts the protobuf encoded export requests to an OTLP/HTTP endpoint with the JDK's {@link
+ * HttpURLConnection}.
+ *
+ * <p>The connections are kept alive and reused by the JDK between requests, which only happens
+ * when the response is read fully and closed without disconnecting, as done here.
+ *
+ * <p>The requests are sent by a small pool of daemon threads, so that the exporters don't block
+ * their callers while waiting for the endpoint. The requests are serialized by these threads too,
+ * just before being written to the connection. Up to {@code MAX_CONCURRENT_REQUESTS} requests are
+ * sent at the same time and up to {@code MAX_QUEUED_REQUESTS} others wait in line, the results of
+ * the requests beyond that fail immediately.
+ */
+@ThreadSafe
+final class OtlpHttpSender {
+  private static final Logger logger = Logger.getLogger(OtlpHttpSender.class.getName());
+
+  private static final String CONTENT_TYPE = "application/x-protobuf";
+  private static final String SENDER_THREAD_NAME = "OtlpHttpSender";
+  static final int MAX_CONCURRENT_REQUESTS = 4;
+  static final int MAX_QUEUED_REQUESTS = 32;
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final URL url;
+  private final int timeoutMs;
+  private final boolean useGzip;
+  private final Map<String, String> headers;
+  private final CompletableResultCode shutdownResult = new CompletableResultCode();
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates a new sender posting to the given endpoint.
+   *
+   * @param endpoint the URL of the endpoint.
+   * @param timeoutMs the connect and read timeout. When set to 0 or to a negative value, the
+   *     sender will wait indefinitely, keeping one of its threads busy for as long as the endpoint
+   *     does not respond.
+   * @param useGzip whether the request bodies are compressed with gzip.
+   * @param headers additional headers of the requests.
+   * @throws IllegalArgumentException if the endpoint is not a valid URL.
+   */
+  OtlpHttpSender(String endpoint, long timeoutMs, boolean useGzip, Map<String, String> headers) {
+    try {
+      this.url = new URL(endpoint);
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException("Invalid endpoint: " + endpoint, e);
+    }
+    this.timeoutMs = timeoutMs > 0 ? (int) Math.min(timeoutMs, Integer.MAX_VALUE) : 0;
+    this.useGzip = useGzip;
+    this.headers = new LinkedHashMap<>(headers);
+    this.executor =
+        new ThreadPoolExecutor(
+            MAX_CONCURRENT_REQUESTS,
+            MAX_CONCURRENT_REQUESTS,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(MAX_QUEUED_REQUESTS),
+            new DaemonThreadFactory(SENDER_THREAD_NAME)) {
+          @Override
+          protected void terminated() {
+            shutdownResult.succeed();
+          }
+        };
+    // The threads only live while there are requests to send.
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Sends the request in the background. The returned result succeeds if the endpoint accepted the
+   * request, and fails otherwise or if the sender was shut down.
+   *
+   * @param request the export request.
+   * @param signal the exported signal, for the log messages.
+   */
+  CompletableResultCode send(final TraceRequestMarshaler request, String signal) {
+    return sendAsync(
+        request.getSerializedSize(),
+        new Body() {
+          @Override
+          public void writeTo(CodedOutputStream output) throws IOException {
+            request.writeTo(output);
+          }
+        },
+        signal);
+  }
+
+  /**
+   * Sends the request in the background. The returned result succeeds if the endpoint accepted the
+   * request, and fails otherwise or if the sender was shut down.
+   *
+   * @param request the export request.
+   * @param signal the exported signal, for the log messages.
+   */
+  CompletableResultCode send(final MessageLite request, String signal) {
+    return sendAsync(
+        request.getSerializedSize(),
+        new Body() {
+          @Override
+          public void writeTo(CodedOutputStream output) throws IOException {
+            request.writeTo(output);
+          }
+        },
+        signal);
+  }
+
+  /**
+   * Stops accepting new requests. The returned result completes once the requests already accepted
+   * were sent.
+   */
+  CompletableResultCode shutdown() {
+    executor.shutdown();
+    return shutdownResult;
+  }
+
+  private interface Body {
+    void writeTo(CodedOutputStream output) throws IOException;
+  }
+
+  private CompletableResultCode sendAsync(final int size, final Body body, final String signal) {
+    final CompletableResultCode result = new CompletableResultCode();
+    try {
+      executor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              boolean success = false;
+              try {
+                success = send(size, body, signal);
+              } finally {
+                if (success) {
+                  result.succeed();
+                } else {
+                  result.fail();
+                }
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      if (!executor.isShutdown()) {
+        logger.log(
+            Level.WARNING,
+            "Failed to export " + signal + ", too many requests are waiting to be sent");
+      }
+      result.fail();
+    }
+    return result;
+  }
+
+  private boolean send(int size, Body body, String signal) {
+    try {
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setConnectTimeout(timeoutMs);
+      connection.setReadTimeout(timeoutMs);
+      connection.setRequestProperty("Content-Type", CONTENT_TYPE);
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        connection.setRequestProperty(header.getKey(), header.getValue());
+      }
+
+      if (useGzip) {
+        // The compressed size must be known up front, otherwise the body is sent chunked.
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(size / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+          writeBody(gzip, size, body);
+        }
+        connection.setRequestProperty("Content-Encoding", "gzip");
+        connection.setFixedLengthStreamingMode(compressed.size());
+        try (OutputStream output = connection.getOutputStream()) {
+          compressed.writeTo(output);
+        }
+      } else {
+        // Without a fixed length the connection buffers the whole body before sending it.
+        connection.setFixedLengthStreamingMode(size);
+        try (OutputStream output = connection.getOutputStream()) {
+          writeBody(output, size, body);
+        }
+      }
+
+      int responseCode = connection.getResponseCode();
+      discardResponse(connection, responseCode);
+      if (responseCode / 100 != 2) {
+        logger.log(
+            Level.WARNING,
+            "Failed to export " + signal + ", the endpoint responded with code " + responseCode);
+        return false;
+      }
+      return true;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to export " + signal, e);
+      return false;
+    }
+  }
+
+  private static void writeBody(OutputStream output, int size, Body body) throws IOException {
+    int bufferSize = Math.min(size, CodedOutputStream.DEFAULT_BUFFER_SIZE);
+    CodedOutputStream codedOutput = CodedOutputStream.newInstance(output, bufferSize);
+    body.writeTo(codedOutput);
+    codedOutput.flush();
+  }
+
+  /** Reads the response fully, so that the connection can be reused by the next request. */
+  private static void discardResponse(HttpURLConnection connection, int responseCode) {
+    try (InputStream response =
+        responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+      if (response != null) {
+        ByteStreams.exhaust(response);
+      }
+    } catch (IOException e) {
+      // The connection is not reused.
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits the exported items in as many requests as needed for each serialized request to fit in a
+ * maximum size.
+ *
+ * <p>The items are first spread evenly over the number of requests the size of the whole batch
+ * calls for, and only the requests still over the limit are split again, so a batch is usually
+ * sized twice at most. An item which doesn't fit alone is sent in its own request.
+ */
+abstract class RequestSplitter<T, R> {
+
+  /** Creates the request exporting the given items. */
+  abstract R createRequest(List<T> items);
+
+  /** Returns the number of bytes of the serialized request. */
+  abstract int getSerializedSize(R request);
+
+  /**
+   * Returns the requests exporting the given items, each of them no larger than {@code
+   * maxRequestSize} unless it holds a single item. When {@code maxRequestSize} is 0 or negative,
+   * all the items are exported in a single request.
+   */
+  final List<R> split(Collection<T> items, int maxRequestSize) {
+    List<T> itemList = items instanceof List ? (List<T>) items : new ArrayList<>(items);
+    R request = createRequest(itemList);
+    if (maxRequestSize <= 0) {
+      return Collections.singletonList(request);
+    }
+    List<R> requests = new ArrayList<>();
+    addRequests(itemList, request, maxRequestSize, requests);
+    return requests;
+  }
+
+  private void addRequests(List<T> items, R request, int maxRequestSize, List<R> requests) {
+    int size = getSerializedSize(request);
+    if (size <= maxRequestSize || items.size() <= 1) {
+      requests.add(request);
+      return;
+    }
+    // The per-resource and per-library overhead is repeated in each request, rounding up the
+    // number of requests leaves some room for it.
+    int numRequests =
+        (int) Math.min(items.size(), ((long) size + maxRequestSize - 1) / maxRequestSize);
+    int start = 0;
+    for (int i = 0; i < numRequests; i++) {
+      int end = (int) ((long) items.size() * (i + 1) / numRequests);
+      List<T> part = items.subList(start, end);
+      addRequests(part, createRequest(part), maxRequestSize, requests);
+      start = end;
+    }
+  }
+}
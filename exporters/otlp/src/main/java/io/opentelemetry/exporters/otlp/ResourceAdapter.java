@@ -16,12 +16,33 @@
 
 package io.opentelemetry.exporters.otlp;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
 import io.opentelemetry.proto.resource.v1.Resource;
 
 final class ResourceAdapter {
+  // Resources are usually created once and shared by all the spans and metrics of the process, so
+  // their proto is kept for as long as they are reachable. Weak keys are compared by identity.
+  private static final LoadingCache<io.opentelemetry.sdk.resources.Resource, Resource> CACHE =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(
+              new CacheLoader<io.opentelemetry.sdk.resources.Resource, Resource>() {
+                @Override
+                public Resource load(io.opentelemetry.sdk.resources.Resource resource) {
+                  return convert(resource);
+                }
+              });
+
+  /** Returns the proto of the resource, converted the first time the instance is exported. */
   static Resource toProtoResource(io.opentelemetry.sdk.resources.Resource resource) {
+    return CACHE.getUnchecked(resource);
+  }
+
+  private static Resource convert(io.opentelemetry.sdk.resources.Resource resource) {
     final Resource.Builder builder = Resource.newBuilder();
     resource
         .getAttributes()
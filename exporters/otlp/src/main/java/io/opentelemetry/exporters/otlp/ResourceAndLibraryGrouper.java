@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Groups the exported items by {@link Resource} and then by {@link InstrumentationLibraryInfo}, in
+ * the order in which they are first seen.
+ *
+ * <p>The resource and the library of an item are usually the same few instances for the whole life
+ * of the process, so they are looked up by identity first, and a {@link Resource}, which hashes all
+ * its attributes, is only hashed the first time an instance is seen in the batch. Equal instances
+ * still end up in the same group.
+ */
+final class ResourceAndLibraryGrouper<T> {
+  private final Map<Resource, Map<InstrumentationLibraryInfo, List<T>>> groups =
+      new LinkedHashMap<>();
+  private final Map<Resource, Group<T>> resourcesByIdentity = new IdentityHashMap<>();
+  private final Map<Resource, Group<T>> resourcesByValue = new HashMap<>();
+
+  @Nullable private Resource lastResource;
+  @Nullable private InstrumentationLibraryInfo lastLibrary;
+  @Nullable private List<T> lastItems;
+
+  /** Adds the item to the group of its resource and library. */
+  void add(Resource resource, InstrumentationLibraryInfo library, T item) {
+    List<T> items = lastItems;
+    if (items == null || resource != lastResource || library != lastLibrary) {
+      items = getGroup(resource).getItems(library);
+      lastResource = resource;
+      lastLibrary = library;
+      lastItems = items;
+    }
+    items.add(item);
+  }
+
+  /** Returns the items grouped by resource and library. */
+  Map<Resource, Map<InstrumentationLibraryInfo, List<T>>> getGroups() {
+    return groups;
+  }
+
+  private Group<T> getGroup(Resource resource) {
+    Group<T> group = resourcesByIdentity.get(resource);
+    if (group == null) {
+      group = resourcesByValue.get(resource);
+      if (group == null) {
+        group = new Group<>();
+        resourcesByValue.put(resource, group);
+        groups.put(resource, group.itemsByLibrary);
+      }
+      resourcesByIdentity.put(resource, group);
+    }
+    return group;
+  }
+
+  private static final class Group<T> {
+    private final Map<InstrumentationLibraryInfo, List<T>> itemsByLibrary = new LinkedHashMap<>();
+    private final Map<InstrumentationLibraryInfo, List<T>> librariesByIdentity =
+        new IdentityHashMap<>();
+
+    private List<T> getItems(InstrumentationLibraryInfo library) {
+      List<T> items = librariesByIdentity.get(library);
+      if (items == null) {
+        items = itemsByLibrary.get(library);
+        if (items == null) {
+          items = new ArrayList<>();
+          itemsByLibrary.put(library, items);
+        }
+        librariesByIdentity.put(library, items);
+      }
+      return items;
+    }
+  }
+}
@@ -22,9 +22,9 @@ import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_INTERNAL;
 import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_PRODUCER;
 import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_SERVER;
 
-import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.Attributes;
-import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
+import io.opentelemetry.exporters.otlp.CommonAdapter.ProtoAttributeVisitor;
+import io.opentelemetry.proto.common.v1.KeyValue;
 import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.proto.trace.v1.Span;
@@ -41,7 +41,6 @@ import io.opentelemetry.trace.Span.Kind;
 import io.opentelemetry.trace.SpanId;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -74,23 +73,12 @@ final class SpanAdapter {
 
   private static Map<Resource, Map<InstrumentationLibraryInfo, List<Span>>>
       groupByResourceAndLibrary(Collection<SpanData> spanDataList) {
-    Map<Resource, Map<InstrumentationLibraryInfo, List<Span>>> result = new HashMap<>();
+    ResourceAndLibraryGrouper<Span> grouper = new ResourceAndLibraryGrouper<>();
     for (SpanData spanData : spanDataList) {
-      Resource resource = spanData.getResource();
-      Map<InstrumentationLibraryInfo, List<Span>> libraryInfoListMap =
-          result.get(spanData.getResource());
-      if (libraryInfoListMap == null) {
-        libraryInfoListMap = new HashMap<>();
-        result.put(resource, libraryInfoListMap);
-      }
-      List<Span> spanList = libraryInfoListMap.get(spanData.getInstrumentationLibraryInfo());
-      if (spanList == null) {
-        spanList = new ArrayList<>();
-        libraryInfoListMap.put(spanData.getInstrumentationLibraryInfo(), spanList);
-      }
-      spanList.add(toProtoSpan(spanData));
+      grouper.add(
+          spanData.getResource(), spanData.getInstrumentationLibraryInfo(), toProtoSpan(spanData));
     }
-    return result;
+    return grouper.getGroups();
   }
 
   static Span toProtoSpan(SpanData spanData) {
@@ -107,11 +95,11 @@ final class SpanAdapter {
     builder.setEndTimeUnixNano(spanData.getEndEpochNanos());
     spanData
         .getAttributes()
-        .forEach(
-            new KeyValueConsumer<AttributeValue>() {
+        .visit(
+            new ProtoAttributeVisitor() {
               @Override
-              public void consume(String key, AttributeValue value) {
-                builder.addAttributes(CommonAdapter.toProtoAttribute(key, value));
+              void addAttribute(KeyValue attribute) {
+                builder.addAttributes(attribute);
               }
             });
     builder.setDroppedAttributesCount(
@@ -150,11 +138,11 @@ final class SpanAdapter {
     builder.setTimeUnixNano(event.getEpochNanos());
     event
         .getAttributes()
-        .forEach(
-            new KeyValueConsumer<AttributeValue>() {
+        .visit(
+            new ProtoAttributeVisitor() {
               @Override
-              public void consume(String key, AttributeValue value) {
-                builder.addAttributes(CommonAdapter.toProtoAttribute(key, value));
+              void addAttribute(KeyValue attribute) {
+                builder.addAttributes(attribute);
               }
             });
     builder.setDroppedAttributesCount(
@@ -164,15 +152,15 @@ final class SpanAdapter {
 
   static Span.Link toProtoSpanLink(Link link) {
     final Span.Link.Builder builder = Span.Link.newBuilder();
-    builder.setTraceId(TraceProtoUtils.toProtoTraceId(link.getContext().getTraceIdAsHexString()));
-    builder.setSpanId(TraceProtoUtils.toProtoSpanId(link.getContext().getSpanIdAsHexString()));
+    builder.setTraceId(TraceProtoUtils.toProtoTraceId(link.getContext()));
+    builder.setSpanId(TraceProtoUtils.toProtoSpanId(link.getContext()));
     // TODO: Set TraceState;
     Attributes attributes = link.getAttributes();
-    attributes.forEach(
-        new KeyValueConsumer<AttributeValue>() {
+    attributes.visit(
+        new ProtoAttributeVisitor() {
           @Override
-          public void consume(String key, AttributeValue value) {
-            builder.addAttributes(CommonAdapter.toProtoAttribute(key, value));
+          void addAttribute(KeyValue attribute) {
+            builder.addAttributes(attribute);
           }
         });
     builder.setDroppedAttributesCount(link.getTotalAttributeCount() - attributes.size());
@@ -0,0 +1,720 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.common.ReadableAttributes;
+import io.opentelemetry.common.ReadableAttributes.AttributeVisitor;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.proto.trace.v1.Status;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.SpanData.Event;
+import io.opentelemetry.sdk.trace.data.SpanData.Link;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.SpanId;
+import io.opentelemetry.trace.TraceId;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Serializes an {@link ExportTraceServiceRequest} straight from the {@link SpanData}, without
+ * building the intermediate protobuf messages.
+ *
+ * <p>The sizes of all the nested messages are computed once when the marshaler is created and kept
+ * in an {@code int[]}, in the order the messages are written, so that writing the request only
+ * walks the spans a second time to encode their fields. The resources and the instrumentation
+ * libraries are written from the protos cached by {@link ResourceAdapter} and {@link
+ * CommonAdapter}. The output matches the one of {@link SpanAdapter}.
+ */
+final class TraceRequestMarshaler {
+  /**
+   * Marshaller of the export request for the gRPC method. Requests are never parsed, they are only
+   * sent by the exporter.
+   */
+  static final MethodDescriptor.Marshaller<TraceRequestMarshaler> MARSHALLER =
+      new MethodDescriptor.Marshaller<TraceRequestMarshaler>() {
+        @Override
+        public InputStream stream(TraceRequestMarshaler value) {
+          return new MarshalerInputStream(value);
+        }
+
+        @Override
+        public TraceRequestMarshaler parse(InputStream stream) {
+          throw new UnsupportedOperationException("Only for serializing the export requests");
+        }
+      };
+
+  private static final int LENGTH_DELIMITED = WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int BOOL_VALUE_SIZE =
+      CodedOutputStream.computeBoolSize(AnyValue.BOOL_VALUE_FIELD_NUMBER, false);
+  private static final int DOUBLE_VALUE_SIZE =
+      CodedOutputStream.computeDoubleSize(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, 0);
+
+  private final Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> spansByResource;
+  private final SizeVisitor sizeVisitor = new SizeVisitor();
+  // Sizes of the nested messages, in the order they are written.
+  private int[] sizes = new int[64];
+  private int sizeCount;
+  private final int serializedSize;
+
+  /**
+   * Creates the marshaler of the request exporting the given spans. The spans are copied, the
+   * collection can be reused once this returns.
+   */
+  static TraceRequestMarshaler create(Collection<SpanData> spans) {
+    return new TraceRequestMarshaler(spans);
+  }
+
+  private TraceRequestMarshaler(Collection<SpanData> spans) {
+    spansByResource = groupByResourceAndLibrary(spans);
+    int size = 0;
+    for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> entry :
+        spansByResource.entrySet()) {
+      size +=
+          messageFieldSize(
+              ExportTraceServiceRequest.RESOURCE_SPANS_FIELD_NUMBER,
+              sizeResourceSpans(entry.getKey(), entry.getValue()));
+    }
+    serializedSize = size;
+  }
+
+  /** Returns the number of bytes of the serialized request. */
+  int getSerializedSize() {
+    return serializedSize;
+  }
+
+  /** Serializes the request to the given output. */
+  void writeTo(CodedOutputStream output) throws IOException {
+    Writer writer = new Writer(output);
+    for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> entry :
+        spansByResource.entrySet()) {
+      writer.writeResourceSpans(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Serializes the request to a new byte array. */
+  byte[] toByteArray() {
+    byte[] result = new byte[serializedSize];
+    CodedOutputStream output = CodedOutputStream.newInstance(result);
+    try {
+      writeTo(output);
+    } catch (IOException e) {
+      // Only thrown when the computed size is wrong.
+      throw new IllegalStateException("Serializing to a byte array threw an IOException", e);
+    }
+    output.checkNoSpaceLeft();
+    return result;
+  }
+
+  private static Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>>
+      groupByResourceAndLibrary(Collection<SpanData> spans) {
+    ResourceAndLibraryGrouper<SpanData> grouper = new ResourceAndLibraryGrouper<>();
+    for (SpanData span : spans) {
+      grouper.add(span.getResource(), span.getInstrumentationLibraryInfo(), span);
+    }
+    return grouper.getGroups();
+  }
+
+  private int sizeResourceSpans(
+      Resource resource, Map<InstrumentationLibraryInfo, List<SpanData>> spansByLibrary) {
+    int slot = reserveSizes(1);
+    int size =
+        messageFieldSize(
+            ResourceSpans.RESOURCE_FIELD_NUMBER,
+            ResourceAdapter.toProtoResource(resource).getSerializedSize());
+    for (Map.Entry<InstrumentationLibraryInfo, List<SpanData>> entry : spansByLibrary.entrySet()) {
+      size +=
+          messageFieldSize(
+              ResourceSpans.INSTRUMENTATION_LIBRARY_SPANS_FIELD_NUMBER,
+              sizeInstrumentationLibrarySpans(entry.getKey(), entry.getValue()));
+    }
+    return setSize(slot, size);
+  }
+
+  private int sizeInstrumentationLibrarySpans(
+      InstrumentationLibraryInfo library, List<SpanData> spans) {
+    int slot = reserveSizes(1);
+    int size =
+        messageFieldSize(
+            InstrumentationLibrarySpans.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+            CommonAdapter.toProtoInstrumentationLibrary(library).getSerializedSize());
+    for (SpanData span : spans) {
+      size += messageFieldSize(InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, sizeSpan(span));
+    }
+    return setSize(slot, size);
+  }
+
+  private int sizeSpan(SpanData span) {
+    int slot = reserveSizes(1);
+    int size =
+        idFieldSize(Span.TRACE_ID_FIELD_NUMBER, TraceId.getSize())
+            + idFieldSize(Span.SPAN_ID_FIELD_NUMBER, SpanId.getSize());
+    if (SpanId.isValid(span.getParentSpanId())) {
+      size += idFieldSize(Span.PARENT_SPAN_ID_FIELD_NUMBER, SpanId.getSize());
+    }
+    size += stringFieldSize(Span.NAME_FIELD_NUMBER, span.getName());
+    size += enumFieldSize(Span.KIND_FIELD_NUMBER, toProtoSpanKind(span));
+    size += fixed64FieldSize(Span.START_TIME_UNIX_NANO_FIELD_NUMBER, span.getStartEpochNanos());
+    size += fixed64FieldSize(Span.END_TIME_UNIX_NANO_FIELD_NUMBER, span.getEndEpochNanos());
+    ReadableAttributes attributes = span.getAttributes();
+    size += sizeAttributes(Span.ATTRIBUTES_FIELD_NUMBER, attributes);
+    size +=
+        uint32FieldSize(
+            Span.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+            span.getTotalAttributeCount() - attributes.size());
+    List<Event> events = span.getEvents();
+    for (Event event : events) {
+      size += messageFieldSize(Span.EVENTS_FIELD_NUMBER, sizeEvent(event));
+    }
+    size +=
+        uint32FieldSize(
+            Span.DROPPED_EVENTS_COUNT_FIELD_NUMBER, span.getTotalRecordedEvents() - events.size());
+    List<Link> links = span.getLinks();
+    for (Link link : links) {
+      size += messageFieldSize(Span.LINKS_FIELD_NUMBER, sizeLink(link));
+    }
+    size +=
+        uint32FieldSize(
+            Span.DROPPED_LINKS_COUNT_FIELD_NUMBER, span.getTotalRecordedLinks() - links.size());
+    size += messageFieldSize(Span.STATUS_FIELD_NUMBER, sizeStatus(span.getStatus()));
+    return setSize(slot, size);
+  }
+
+  private int sizeEvent(Event event) {
+    int slot = reserveSizes(1);
+    ReadableAttributes attributes = event.getAttributes();
+    int size =
+        fixed64FieldSize(Span.Event.TIME_UNIX_NANO_FIELD_NUMBER, event.getEpochNanos())
+            + stringFieldSize(Span.Event.NAME_FIELD_NUMBER, event.getName())
+            + sizeAttributes(Span.Event.ATTRIBUTES_FIELD_NUMBER, attributes)
+            + uint32FieldSize(
+                Span.Event.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+                event.getTotalAttributeCount() - attributes.size());
+    return setSize(slot, size);
+  }
+
+  private int sizeLink(Link link) {
+    int slot = reserveSizes(1);
+    ReadableAttributes attributes = link.getAttributes();
+    int size =
+        idFieldSize(Span.Link.TRACE_ID_FIELD_NUMBER, TraceId.getSize())
+            + idFieldSize(Span.Link.SPAN_ID_FIELD_NUMBER, SpanId.getSize())
+            + sizeAttributes(Span.Link.ATTRIBUTES_FIELD_NUMBER, attributes)
+            + uint32FieldSize(
+                Span.Link.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+                link.getTotalAttributeCount() - attributes.size());
+    return setSize(slot, size);
+  }
+
+  private int sizeStatus(io.opentelemetry.trace.Status status) {
+    int slot = reserveSizes(1);
+    int size =
+        enumFieldSize(Status.CODE_FIELD_NUMBER, status.getCanonicalCode().value())
+            + stringFieldSize(Status.MESSAGE_FIELD_NUMBER, status.getDescription());
+    return setSize(slot, size);
+  }
+
+  private int sizeAttributes(int fieldNumber, ReadableAttributes attributes) {
+    sizeVisitor.fieldNumber = fieldNumber;
+    sizeVisitor.size = 0;
+    attributes.visit(sizeVisitor);
+    return sizeVisitor.size;
+  }
+
+  /**
+   * Sums the sizes of the visited attributes, keeping the sizes of their {@link KeyValue} and
+   * {@link AnyValue}, and of the {@link ArrayValue} for arrays.
+   */
+  private final class SizeVisitor extends AttributeVisitor {
+    private int fieldNumber;
+    private int size;
+
+    @Override
+    public void visitString(String key, String value) {
+      addKeyValue(
+          reserveSizes(2),
+          key,
+          CodedOutputStream.computeStringSize(AnyValue.STRING_VALUE_FIELD_NUMBER, value));
+    }
+
+    @Override
+    public void visitBoolean(String key, boolean value) {
+      addKeyValue(
+          reserveSizes(2),
+          key,
+          CodedOutputStream.computeBoolSize(AnyValue.BOOL_VALUE_FIELD_NUMBER, value));
+    }
+
+    @Override
+    public void visitLong(String key, long value) {
+      addKeyValue(
+          reserveSizes(2),
+          key,
+          CodedOutputStream.computeInt64Size(AnyValue.INT_VALUE_FIELD_NUMBER, value));
+    }
+
+    @Override
+    public void visitDouble(String key, double value) {
+      addKeyValue(
+          reserveSizes(2),
+          key,
+          CodedOutputStream.computeDoubleSize(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, value));
+    }
+
+    @Override
+    public void visitArray(String key, AttributeValue value) {
+      int slot = reserveSizes(3);
+      int arraySize = setSize(slot + 2, sizeArrayValue(value));
+      addKeyValue(slot, key, messageFieldSize(AnyValue.ARRAY_VALUE_FIELD_NUMBER, arraySize));
+    }
+
+    private void addKeyValue(int slot, String key, int valueSize) {
+      setSize(slot + 1, valueSize);
+      int keyValueSize =
+          stringFieldSize(KeyValue.KEY_FIELD_NUMBER, key)
+              + messageFieldSize(KeyValue.VALUE_FIELD_NUMBER, valueSize);
+      size += messageFieldSize(fieldNumber, setSize(slot, keyValueSize));
+    }
+  }
+
+  private static int sizeArrayValue(AttributeValue value) {
+    int size = 0;
+    switch (value.getType()) {
+      case STRING_ARRAY:
+        for (String element : value.getStringArrayValue()) {
+          size += arrayElementSize(stringValueSize(element));
+        }
+        break;
+      case BOOLEAN_ARRAY:
+        size = value.getBooleanArrayValue().size() * arrayElementSize(BOOL_VALUE_SIZE);
+        break;
+      case LONG_ARRAY:
+        for (Long element : value.getLongArrayValue()) {
+          size += arrayElementSize(longValueSize(element));
+        }
+        break;
+      case DOUBLE_ARRAY:
+        size = value.getDoubleArrayValue().size() * arrayElementSize(DOUBLE_VALUE_SIZE);
+        break;
+      default:
+        break;
+    }
+    return size;
+  }
+
+  private static int stringValueSize(String value) {
+    return CodedOutputStream.computeStringSize(AnyValue.STRING_VALUE_FIELD_NUMBER, value);
+  }
+
+  private static int longValueSize(long value) {
+    return CodedOutputStream.computeInt64Size(AnyValue.INT_VALUE_FIELD_NUMBER, value);
+  }
+
+  private static int arrayElementSize(int anyValueSize) {
+    return messageFieldSize(ArrayValue.VALUES_FIELD_NUMBER, anyValueSize);
+  }
+
+  /** Reserves the given number of consecutive entries of the size cache. */
+  private int reserveSizes(int count) {
+    int slot = sizeCount;
+    sizeCount += count;
+    if (sizeCount > sizes.length) {
+      sizes = Arrays.copyOf(sizes, Math.max(sizes.length * 2, sizeCount));
+    }
+    return slot;
+  }
+
+  private int setSize(int slot, int size) {
+    sizes[slot] = size;
+    return size;
+  }
+
+  private static int toProtoSpanKind(SpanData span) {
+    return SpanAdapter.toProtoSpanKind(span.getKind()).getNumber();
+  }
+
+  private static int messageFieldSize(int fieldNumber, int messageSize) {
+    return CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(messageSize)
+        + messageSize;
+  }
+
+  private static int idFieldSize(int fieldNumber, int length) {
+    return messageFieldSize(fieldNumber, length);
+  }
+
+  private static int stringFieldSize(int fieldNumber, @Nullable String value) {
+    return value == null || value.isEmpty()
+        ? 0
+        : CodedOutputStream.computeStringSize(fieldNumber, value);
+  }
+
+  private static int enumFieldSize(int fieldNumber, int value) {
+    return value == 0 ? 0 : CodedOutputStream.computeEnumSize(fieldNumber, value);
+  }
+
+  private static int uint32FieldSize(int fieldNumber, int value) {
+    return value == 0 ? 0 : CodedOutputStream.computeUInt32Size(fieldNumber, value);
+  }
+
+  private static int fixed64FieldSize(int fieldNumber, long value) {
+    return value == 0 ? 0 : CodedOutputStream.computeFixed64Size(fieldNumber, value);
+  }
+
+  /**
+   * Writes the request, reading the sizes of the nested messages from the size cache in the order
+   * they were computed.
+   */
+  private final class Writer extends AttributeVisitor {
+    private final CodedOutputStream output;
+    private int nextSize;
+    private int fieldNumber;
+
+    private Writer(CodedOutputStream output) {
+      this.output = output;
+    }
+
+    private void writeResourceSpans(
+        Resource resource, Map<InstrumentationLibraryInfo, List<SpanData>> spansByLibrary)
+        throws IOException {
+      writeMessageHeader(ExportTraceServiceRequest.RESOURCE_SPANS_FIELD_NUMBER);
+      output.writeMessage(
+          ResourceSpans.RESOURCE_FIELD_NUMBER, ResourceAdapter.toProtoResource(resource));
+      for (Map.Entry<InstrumentationLibraryInfo, List<SpanData>> entry :
+          spansByLibrary.entrySet()) {
+        writeMessageHeader(ResourceSpans.INSTRUMENTATION_LIBRARY_SPANS_FIELD_NUMBER);
+        output.writeMessage(
+            InstrumentationLibrarySpans.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+            CommonAdapter.toProtoInstrumentationLibrary(entry.getKey()));
+        for (SpanData span : entry.getValue()) {
+          writeSpan(span);
+        }
+      }
+    }
+
+    private void writeSpan(SpanData span) throws IOException {
+      writeMessageHeader(InstrumentationLibrarySpans.SPANS_FIELD_NUMBER);
+      writeHexId(Span.TRACE_ID_FIELD_NUMBER, span.getTraceId(), TraceId.getSize());
+      writeHexId(Span.SPAN_ID_FIELD_NUMBER, span.getSpanId(), SpanId.getSize());
+      String parentSpanId = span.getParentSpanId();
+      if (SpanId.isValid(parentSpanId)) {
+        writeHexId(Span.PARENT_SPAN_ID_FIELD_NUMBER, parentSpanId, SpanId.getSize());
+      }
+      writeString(Span.NAME_FIELD_NUMBER, span.getName());
+      writeEnum(Span.KIND_FIELD_NUMBER, toProtoSpanKind(span));
+      writeFixed64(Span.START_TIME_UNIX_NANO_FIELD_NUMBER, span.getStartEpochNanos());
+      writeFixed64(Span.END_TIME_UNIX_NANO_FIELD_NUMBER, span.getEndEpochNanos());
+      ReadableAttributes attributes = span.getAttributes();
+      writeAttributes(Span.ATTRIBUTES_FIELD_NUMBER, attributes);
+      writeUInt32(
+          Span.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+          span.getTotalAttributeCount() - attributes.size());
+      List<Event> events = span.getEvents();
+      for (Event event : events) {
+        writeEvent(event);
+      }
+      writeUInt32(
+          Span.DROPPED_EVENTS_COUNT_FIELD_NUMBER, span.getTotalRecordedEvents() - events.size());
+      List<Link> links = span.getLinks();
+      for (Link link : links) {
+        writeLink(link);
+      }
+      writeUInt32(
+          Span.DROPPED_LINKS_COUNT_FIELD_NUMBER, span.getTotalRecordedLinks() - links.size());
+      io.opentelemetry.trace.Status status = span.getStatus();
+      writeMessageHeader(Span.STATUS_FIELD_NUMBER);
+      writeEnum(Status.CODE_FIELD_NUMBER, status.getCanonicalCode().value());
+      writeString(Status.MESSAGE_FIELD_NUMBER, status.getDescription());
+    }
+
+    private void writeEvent(Event event) throws IOException {
+      writeMessageHeader(Span.EVENTS_FIELD_NUMBER);
+      writeFixed64(Span.Event.TIME_UNIX_NANO_FIELD_NUMBER, event.getEpochNanos());
+      writeString(Span.Event.NAME_FIELD_NUMBER, event.getName());
+      ReadableAttributes attributes = event.getAttributes();
+      writeAttributes(Span.Event.ATTRIBUTES_FIELD_NUMBER, attributes);
+      writeUInt32(
+          Span.Event.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+          event.getTotalAttributeCount() - attributes.size());
+    }
+
+    private void writeLink(Link link) throws IOException {
+      writeMessageHeader(Span.LINKS_FIELD_NUMBER);
+      SpanContext context = link.getContext();
+      output.writeTag(Span.Link.TRACE_ID_FIELD_NUMBER, LENGTH_DELIMITED);
+      output.writeUInt32NoTag(TraceId.getSize());
+      writeBigEndian(context.getTraceIdHigh());
+      writeBigEndian(context.getTraceIdLow());
+      output.writeTag(Span.Link.SPAN_ID_FIELD_NUMBER, LENGTH_DELIMITED);
+      output.writeUInt32NoTag(SpanId.getSize());
+      writeBigEndian(context.getSpanIdAsLong());
+      ReadableAttributes attributes = link.getAttributes();
+      writeAttributes(Span.Link.ATTRIBUTES_FIELD_NUMBER, attributes);
+      writeUInt32(
+          Span.Link.DROPPED_ATTRIBUTES_COUNT_FIELD_NUMBER,
+          link.getTotalAttributeCount() - attributes.size());
+    }
+
+    private void writeAttributes(int fieldNumber, ReadableAttributes attributes)
+        throws IOException {
+      this.fieldNumber = fieldNumber;
+      try {
+        attributes.visit(this);
+      } catch (WriteException e) {
+        throw e.getCause();
+      }
+    }
+
+    @Override
+    public void visitString(String key, String value) {
+      try {
+        writeKeyValueHeader(key);
+        output.writeString(AnyValue.STRING_VALUE_FIELD_NUMBER, value);
+      } catch (IOException e) {
+        throw new WriteException(e);
+      }
+    }
+
+    @Override
+    public void visitBoolean(String key, boolean value) {
+      try {
+        writeKeyValueHeader(key);
+        output.writeBool(AnyValue.BOOL_VALUE_FIELD_NUMBER, value);
+      } catch (IOException e) {
+        throw new WriteException(e);
+      }
+    }
+
+    @Override
+    public void visitLong(String key, long value) {
+      try {
+        writeKeyValueHeader(key);
+        output.writeInt64(AnyValue.INT_VALUE_FIELD_NUMBER, value);
+      } catch (IOException e) {
+        throw new WriteException(e);
+      }
+    }
+
+    @Override
+    public void visitDouble(String key, double value) {
+      try {
+        writeKeyValueHeader(key);
+        output.writeDouble(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, value);
+      } catch (IOException e) {
+        throw new WriteException(e);
+      }
+    }
+
+    @Override
+    public void visitArray(String key, AttributeValue value) {
+      try {
+        writeKeyValueHeader(key);
+        writeMessageHeader(AnyValue.ARRAY_VALUE_FIELD_NUMBER);
+        writeArrayValue(value);
+      } catch (IOException e) {
+        throw new WriteException(e);
+      }
+    }
+
+    private void writeKeyValueHeader(String key) throws IOException {
+      writeMessageHeader(fieldNumber);
+      writeString(KeyValue.KEY_FIELD_NUMBER, key);
+      writeMessageHeader(KeyValue.VALUE_FIELD_NUMBER);
+    }
+
+    private void writeArrayValue(AttributeValue value) throws IOException {
+      switch (value.getType()) {
+        case STRING_ARRAY:
+          for (String element : value.getStringArrayValue()) {
+            writeArrayElementHeader(stringValueSize(element));
+            output.writeString(AnyValue.STRING_VALUE_FIELD_NUMBER, element);
+          }
+          break;
+        case BOOLEAN_ARRAY:
+          for (Boolean element : value.getBooleanArrayValue()) {
+            writeArrayElementHeader(BOOL_VALUE_SIZE);
+            output.writeBool(AnyValue.BOOL_VALUE_FIELD_NUMBER, element);
+          }
+          break;
+        case LONG_ARRAY:
+          for (Long element : value.getLongArrayValue()) {
+            writeArrayElementHeader(longValueSize(element));
+            output.writeInt64(AnyValue.INT_VALUE_FIELD_NUMBER, element);
+          }
+          break;
+        case DOUBLE_ARRAY:
+          for (Double element : value.getDoubleArrayValue()) {
+            writeArrayElementHeader(DOUBLE_VALUE_SIZE);
+            output.writeDouble(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, element);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void writeArrayElementHeader(int anyValueSize) throws IOException {
+      output.writeTag(ArrayValue.VALUES_FIELD_NUMBER, LENGTH_DELIMITED);
+      output.writeUInt32NoTag(anyValueSize);
+    }
+
+    private void writeMessageHeader(int fieldNumber) throws IOException {
+      output.writeTag(fieldNumber, LENGTH_DELIMITED);
+      output.writeUInt32NoTag(sizes[nextSize++]);
+    }
+
+    /** Writes the id encoded in the given hex string, without going through a byte array. */
+    private void writeHexId(int fieldNumber, String hex, int length) throws IOException {
+      output.writeTag(fieldNumber, LENGTH_DELIMITED);
+      output.writeUInt32NoTag(length);
+      for (int i = 0; i < length; i++) {
+        int high = Character.digit(hex.charAt(2 * i), 16);
+        int low = Character.digit(hex.charAt(2 * i + 1), 16);
+        output.writeRawByte((byte) ((high << 4) | low));
+      }
+    }
+
+    private void writeBigEndian(long value) throws IOException {
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        output.writeRawByte((byte) (value >>> shift));
+      }
+    }
+
+    private void writeString(int fieldNumber, @Nullable String value) throws IOException {
+      if (value != null && !value.isEmpty()) {
+        output.writeString(fieldNumber, value);
+      }
+    }
+
+    private void writeEnum(int fieldNumber, int value) throws IOException {
+      if (value != 0) {
+        output.writeEnum(fieldNumber, value);
+      }
+    }
+
+    private void writeUInt32(int fieldNumber, int value) throws IOException {
+      if (value != 0) {
+        output.writeUInt32(fieldNumber, value);
+      }
+    }
+
+    private void writeFixed64(int fieldNumber, long value) throws IOException {
+      if (value != 0) {
+        output.writeFixed64(fieldNumber, value);
+      }
+    }
+  }
+
+  /** Carries the {@link IOException} of the output out of the attribute visitor. */
+  private static final class WriteException extends RuntimeException {
+    private static final long serialVersionUID = 0L;
+
+    private WriteException(IOException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+  /**
+   * Stream of the serialized request given to gRPC. The request is written straight into the
+   * transport's buffers when the stream is drained, and only serialized to a byte array when the
+   * stream is read instead.
+   */
+  private static final class MarshalerInputStream extends InputStream
+      implements Drainable, KnownLength {
+    @Nullable private TraceRequestMarshaler message;
+    @Nullable private ByteArrayInputStream partial;
+
+    private MarshalerInputStream(TraceRequestMarshaler message) {
+      this.message = message;
+    }
+
+    @Override
+    public int drainTo(OutputStream target) throws IOException {
+      int written;
+      if (message != null) {
+        written = message.getSerializedSize();
+        CodedOutputStream output =
+            CodedOutputStream.newInstance(
+                target, Math.min(written, CodedOutputStream.DEFAULT_BUFFER_SIZE));
+        message.writeTo(output);
+        output.flush();
+        message = null;
+      } else if (partial != null) {
+        written = (int) ByteStreams.copy(partial, target);
+        partial = null;
+      } else {
+        written = 0;
+      }
+      return written;
+    }
+
+    @Override
+    public int read() throws IOException {
+      ByteArrayInputStream stream = toStream();
+      return stream == null ? -1 : stream.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      ByteArrayInputStream stream = toStream();
+      return stream == null ? -1 : stream.read(b, off, len);
+    }
+
+    @Override
+    public int available() {
+      if (message != null) {
+        return message.getSerializedSize();
+      }
+      return partial == null ? 0 : partial.available();
+    }
+
+    @Nullable
+    private ByteArrayInputStream toStream() {
+      if (message != null) {
+        partial = new ByteArrayInputStream(message.toByteArray());
+        message = null;
+      }
+      return partial;
+    }
+  }
+}
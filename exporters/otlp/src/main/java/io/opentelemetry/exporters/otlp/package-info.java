@@ -15,7 +15,8 @@
  */
 
 /**
- * OpenTelemetry exporter which sends span and metric data to OpenTelemetry collector via gRPC.
+ * OpenTelemetry exporter which sends span and metric data to OpenTelemetry collector via gRPC, or
+ * via protobuf encoded HTTP requests.
  *
  * <h2>Contents</h2>
  *
@@ -24,6 +25,8 @@
  *   <li>{@link io.opentelemetry.exporters.otlp.MetricAdapter}
  *   <li>{@link io.opentelemetry.exporters.otlp.OtlpGrpcMetricExporter}
  *   <li>{@link io.opentelemetry.exporters.otlp.OtlpGrpcSpanExporter}
+ *   <li>{@link io.opentelemetry.exporters.otlp.OtlpHttpMetricExporter}
+ *   <li>{@link io.opentelemetry.exporters.otlp.OtlpHttpSpanExporter}
  *   <li>{@link io.opentelemetry.exporters.otlp.ResourceAdapter}
  *   <li>{@link io.opentelemetry.exporters.otlp.SpanAdapter}
  * </ul>
@@ -44,6 +47,8 @@
  *   <li>{@code otel.otlp.use.tls}: to set use or not TLS.
  *   <li>{@code otel.otlp.metadata} to set key-value pairs separated by semicolon to pass as request
  *       metadata.
+ *   <li>{@code otel.otlp.compression}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code otel.otlp.max.request.size}: to set the max size in bytes of each request.
  * </ul>
  *
  * <p>For environment variables, {@link io.opentelemetry.exporters.otlp.OtlpGrpcMetricExporter} will
@@ -56,6 +61,8 @@
  *   <li>{@code OTEL_OTLP_USE_TLS}: to set use or not TLS.
  *   <li>{@code OTEL_OTLP_METADATA}: to set key-value pairs separated by semicolon to pass as
  *       request metadata.
+ *   <li>{@code OTEL_OTLP_COMPRESSION}: to set the compression of the requests, e.g. gzip.
+ *   <li>{@code OTEL_OTLP_MAX_REQUEST_SIZE}: to set the max size in bytes of each request.
  * </ul>
  *
  * <h2>{@link io.opentelemetry.exporters.otlp.OtlpGrpcSpanExporter}</h2>
@@ -75,5 +82,20 @@
  *   <li>{@code OTEL_OTLP_SPAN_TIMEOUT}: to set the max waiting time allowed to send each span
  *       batch.
  * </ul>
+ *
+ * <h2>{@link io.opentelemetry.exporters.otlp.OtlpHttpMetricExporter} and {@link
+ * io.opentelemetry.exporters.otlp.OtlpHttpSpanExporter}</h2>
+ *
+ * <p>The HTTP exporters read the same timeout and metadata options as the gRPC ones, the metadata
+ * being sent as request headers, and the following names:
+ *
+ * <ul>
+ *   <li>{@code otel.otlp.http.metric.endpoint} or {@code OTEL_OTLP_HTTP_METRIC_ENDPOINT}: to set
+ *       the URL to post the metrics to.
+ *   <li>{@code otel.otlp.http.span.endpoint} or {@code OTEL_OTLP_HTTP_SPAN_ENDPOINT}: to set the
+ *       URL to post the spans to.
+ *   <li>{@code otel.otlp.http.gzip} or {@code OTEL_OTLP_HTTP_GZIP}: to set use or not gzip
+ *       compression.
+ * </ul>
  */
 package io.opentelemetry.exporters.otlp;
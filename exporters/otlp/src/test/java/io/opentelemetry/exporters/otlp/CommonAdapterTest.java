@@ -158,4 +158,19 @@ class CommonAdapterTest {
     assertThat(instrumentationLibrary.getName()).isEqualTo("name");
     assertThat(instrumentationLibrary.getVersion()).isEmpty();
   }
+
+  @Test
+  void toProtoInstrumentationLibrary_Cached() {
+    InstrumentationLibraryInfo library = InstrumentationLibraryInfo.create("name", "version");
+    InstrumentationLibrary instrumentationLibrary =
+        CommonAdapter.toProtoInstrumentationLibrary(library);
+    assertThat(CommonAdapter.toProtoInstrumentationLibrary(library))
+        .isSameAs(instrumentationLibrary);
+    // Equal instances are cached separately.
+    assertThat(
+            CommonAdapter.toProtoInstrumentationLibrary(
+                InstrumentationLibraryInfo.create("name", "version")))
+        .isEqualTo(instrumentationLibrary)
+        .isNotSameAs(instrumentationLibrary);
+  }
 }
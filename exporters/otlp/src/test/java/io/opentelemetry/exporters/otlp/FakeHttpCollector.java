@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPInputStream;
+
+/** An in-process OTLP/HTTP endpoint recording the requests it receives. */
+final class FakeHttpCollector {
+
+  /** A request received by the collector, with its body decompressed. */
+  static final class ReceivedRequest {
+    final String path;
+    final String contentType;
+    final String contentEncoding;
+    final String header;
+    final int remotePort;
+    final byte[] body;
+
+    private ReceivedRequest(HttpExchange exchange, byte[] body) {
+      this.path = exchange.getRequestURI().getPath();
+      this.contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+      this.contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+      this.header = exchange.getRequestHeaders().getFirst("X-Test-Header");
+      this.remotePort = exchange.getRemoteAddress().getPort();
+      this.body = body;
+    }
+  }
+
+  private final HttpServer server;
+  private final List<ReceivedRequest> requests = new CopyOnWriteArrayList<>();
+  private volatile int responseCode = 200;
+  private volatile CountDownLatch responsesHeld = new CountDownLatch(0);
+
+  FakeHttpCollector() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          try (InputStream input = exchange.getRequestBody()) {
+            byte[] body = ByteStreams.toByteArray(input);
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+              body = ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(body)));
+            }
+            requests.add(new ReceivedRequest(exchange, body));
+          }
+          try {
+            responsesHeld.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.sendResponseHeaders(responseCode, -1);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  String getEndpoint(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  List<ReceivedRequest> getRequests() {
+    return new ArrayList<>(requests);
+  }
+
+  void setResponseCode(int responseCode) {
+    this.responseCode = responseCode;
+  }
+
+  /** Holds the responses until the returned latch is counted down. */
+  CountDownLatch holdResponses() {
+    CountDownLatch latch = new CountDownLatch(1);
+    responsesHeld = latch;
+    return latch;
+  }
+
+  void stop() {
+    server.stop(0);
+  }
+}
@@ -249,6 +249,41 @@ class MetricAdapterTest {
                 .build());
   }
 
+  @Test
+  void toHistogramDataPoints() {
+    Descriptor descriptor =
+        Descriptor.create(
+            "test", "testDescription", "unit", Descriptor.Type.HISTOGRAM, Labels.of("ck", "cv"));
+    assertThat(
+            MetricAdapter.toHistogramDataPoints(
+                singletonList(
+                    MetricData.HistogramPoint.create(
+                        123,
+                        456,
+                        Labels.of("k", "v"),
+                        5,
+                        14.2,
+                        ImmutableList.of(1.0, 10.0),
+                        ImmutableList.of(2L, 3L, 0L))),
+                descriptor))
+        .containsExactly(
+            DoubleHistogramDataPoint.newBuilder()
+                .setStartTimeUnixNano(123)
+                .setTimeUnixNano(456)
+                .addAllLabels(
+                    Arrays.asList(
+                        StringKeyValue.newBuilder().setKey("ck").setValue("cv").build(),
+                        StringKeyValue.newBuilder().setKey("k").setValue("v").build()))
+                .setCount(5)
+                .setSum(14.2)
+                .addBucketCounts(2)
+                .addBucketCounts(3)
+                .addBucketCounts(0)
+                .addExplicitBounds(1.0)
+                .addExplicitBounds(10.0)
+                .build());
+  }
+
   @Test
   void toProtoMetric() {
     assertThat(
@@ -376,7 +411,7 @@ class MetricAdapterTest {
                         Resource.getEmpty(),
                         InstrumentationLibraryInfo.getEmpty(),
                         Collections.emptyList()))))
-        .containsExactlyInAnyOrder(
+        .containsExactly(
             ResourceMetrics.newBuilder()
                 .setResource(resourceProto)
                 .addAllInstrumentationLibraryMetrics(
@@ -391,11 +426,11 @@ class MetricAdapterTest {
                 .addAllInstrumentationLibraryMetrics(
                     ImmutableList.of(
                         InstrumentationLibraryMetrics.newBuilder()
-                            .setInstrumentationLibrary(emptyInstrumentationLibraryProto)
+                            .setInstrumentationLibrary(instrumentationLibraryProto)
                             .addAllMetrics(singletonList(metricNoPoints))
                             .build(),
                         InstrumentationLibraryMetrics.newBuilder()
-                            .setInstrumentationLibrary(instrumentationLibraryProto)
+                            .setInstrumentationLibrary(emptyInstrumentationLibraryProto)
                             .addAllMetrics(singletonList(metricNoPoints))
                             .build()))
                 .build());
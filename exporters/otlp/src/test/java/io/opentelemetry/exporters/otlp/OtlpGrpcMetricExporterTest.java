@@ -31,8 +31,10 @@ import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
 import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
 import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
@@ -44,6 +46,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +67,13 @@ class OtlpGrpcMetricExporterTest {
 
   private final Closer closer = Closer.create();
 
+  private static final RetryPolicy FAST_RETRIES =
+      RetryPolicy.newBuilder()
+          .setMaxAttempts(3)
+          .setInitialBackoffMillis(1)
+          .setMaxBackoffMillis(1)
+          .build();
+
   @BeforeEach
   public void setup() throws IOException {
     Server server =
@@ -85,10 +95,14 @@ class OtlpGrpcMetricExporterTest {
   void configTest() {
     Map<String, String> options = new HashMap<>();
     options.put("otel.otlp.metric.timeout", "12");
+    options.put("otel.otlp.compression", "gzip");
+    options.put("otel.otlp.max.request.size", "4096");
     OtlpGrpcMetricExporter.Builder config = OtlpGrpcMetricExporter.newBuilder();
     OtlpGrpcMetricExporter.Builder spy = Mockito.spy(config);
     spy.fromConfigMap(options, ConfigBuilderTest.getNaming());
     Mockito.verify(spy).setDeadlineMs(12);
+    Mockito.verify(spy).setCompression("gzip");
+    Mockito.verify(spy).setMaxRequestSize(4096);
   }
 
   @Test
@@ -122,6 +136,87 @@ class OtlpGrpcMetricExporterTest {
     }
   }
 
+  @Test
+  void testExport_SplitsLargeBatch() {
+    List<MetricData> metrics = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      metrics.add(generateFakeMetric());
+    }
+    OtlpGrpcMetricExporter exporter =
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setCompression("gzip")
+            .setMaxRequestSize(1)
+            .build();
+    try {
+      assertThat(exporter.export(metrics).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedMetrics()).hasSize(10);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetriesUnavailable() {
+    fakeCollector.failNextExports(Status.UNAVAILABLE, 2);
+    MetricData metric = generateFakeMetric();
+    OtlpGrpcMetricExporter exporter =
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(metric)).join(10, TimeUnit.SECONDS);
+      assertThat(result.isSuccess()).isTrue();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(3);
+      assertThat(fakeCollector.getReceivedMetrics())
+          .isEqualTo(MetricAdapter.toProtoResourceMetrics(Collections.singletonList(metric)));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetriesExhausted() {
+    fakeCollector.failNextExports(Status.RESOURCE_EXHAUSTED, 10);
+    OtlpGrpcMetricExporter exporter =
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter
+              .export(Collections.singletonList(generateFakeMetric()))
+              .join(10, TimeUnit.SECONDS);
+      assertThat(result.isDone()).isTrue();
+      assertThat(result.isSuccess()).isFalse();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(FAST_RETRIES.getMaxAttempts());
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_NotRetryable() {
+    fakeCollector.failNextExports(Status.INVALID_ARGUMENT, 1);
+    OtlpGrpcMetricExporter exporter =
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(generateFakeMetric()));
+      assertThat(result.isDone()).isTrue();
+      assertThat(result.isSuccess()).isFalse();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(1);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void testExport_DeadlineSetPerExport() throws InterruptedException {
     int deadlineMs = 500;
@@ -183,7 +278,10 @@ class OtlpGrpcMetricExporterTest {
   void testExport_ResourceExhausted() {
     fakeCollector.setReturnedStatus(Status.RESOURCE_EXHAUSTED);
     OtlpGrpcMetricExporter exporter =
-        OtlpGrpcMetricExporter.newBuilder().setChannel(inProcessChannel).build();
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(RetryPolicy.noRetry())
+            .build();
     try {
       assertThat(exporter.export(Collections.singletonList(generateFakeMetric())).isSuccess())
           .isFalse();
@@ -209,7 +307,10 @@ class OtlpGrpcMetricExporterTest {
   void testExport_Unavailable() {
     fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
     OtlpGrpcMetricExporter exporter =
-        OtlpGrpcMetricExporter.newBuilder().setChannel(inProcessChannel).build();
+        OtlpGrpcMetricExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(RetryPolicy.noRetry())
+            .build();
     try {
       assertThat(exporter.export(Collections.singletonList(generateFakeMetric())).isSuccess())
           .isFalse();
@@ -269,11 +370,20 @@ class OtlpGrpcMetricExporterTest {
   private static final class FakeCollector extends MetricsServiceGrpc.MetricsServiceImplBase {
     private final List<ResourceMetrics> receivedMetrics = new ArrayList<>();
     private Status returnedStatus = Status.OK;
+    private final AtomicInteger exportCalls = new AtomicInteger();
+    private Status failureStatus = Status.OK;
+    private int failuresLeft;
 
     @Override
     public void export(
         ExportMetricsServiceRequest request,
         StreamObserver<ExportMetricsServiceResponse> responseObserver) {
+      exportCalls.incrementAndGet();
+      if (failuresLeft > 0) {
+        failuresLeft--;
+        responseObserver.onError(failureStatus.asRuntimeException());
+        return;
+      }
       receivedMetrics.addAll(request.getResourceMetricsList());
       responseObserver.onNext(ExportMetricsServiceResponse.newBuilder().build());
       if (!returnedStatus.isOk()) {
@@ -294,5 +404,14 @@ class OtlpGrpcMetricExporterTest {
     void setReturnedStatus(Status returnedStatus) {
       this.returnedStatus = returnedStatus;
     }
+
+    void failNextExports(Status failureStatus, int count) {
+      this.failureStatus = failureStatus;
+      this.failuresLeft = count;
+    }
+
+    int getExportCalls() {
+      return exportCalls.get();
+    }
   }
 }
@@ -17,6 +17,7 @@
 package io.opentelemetry.exporters.otlp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.io.Closer;
 import io.grpc.ManagedChannel;
@@ -30,6 +31,8 @@ import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
 import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.trace.TestSpanData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.trace.Span.Kind;
@@ -41,6 +44,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,6 +61,13 @@ class OtlpGrpcSpanExporterTest {
 
   private final Closer closer = Closer.create();
 
+  private static final RetryPolicy FAST_RETRIES =
+      RetryPolicy.newBuilder()
+          .setMaxAttempts(3)
+          .setInitialBackoffMillis(1)
+          .setMaxBackoffMillis(1)
+          .build();
+
   @Test
   void configTest() {
     Map<String, String> options = new HashMap<>();
@@ -64,6 +75,8 @@ class OtlpGrpcSpanExporterTest {
     options.put("otel.otlp.endpoint", "http://localhost:6553");
     options.put("otel.otlp.use.tls", "true");
     options.put("otel.otlp.metadata", "key=value;key2=value2=;key3=val=ue3; key4 = value4 ;key5= ");
+    options.put("otel.otlp.compression", "gzip");
+    options.put("otel.otlp.max.request.size", "4096");
     OtlpGrpcSpanExporter.Builder config = OtlpGrpcSpanExporter.newBuilder();
     OtlpGrpcSpanExporter.Builder spy = Mockito.spy(config);
     spy.fromConfigMap(options, ConfigBuilderTest.getNaming());
@@ -75,6 +88,19 @@ class OtlpGrpcSpanExporterTest {
     Mockito.verify(spy).addHeader("key3", "val=ue3");
     Mockito.verify(spy).addHeader("key4", "value4");
     Mockito.verify(spy, Mockito.never()).addHeader("key5", "");
+    Mockito.verify(spy).setCompression("gzip");
+    Mockito.verify(spy).setMaxRequestSize(4096);
+  }
+
+  @Test
+  void unsupportedCompression() {
+    assertThatThrownBy(
+            () ->
+                OtlpGrpcSpanExporter.newBuilder()
+                    .setChannel(inProcessChannel)
+                    .setCompression("unknown")
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class);
   }
 
   @BeforeEach
@@ -125,6 +151,130 @@ class OtlpGrpcSpanExporterTest {
     }
   }
 
+  @Test
+  void testExport_Gzip() {
+    SpanData span = generateFakeSpan();
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(Collections.singletonList(span)).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpans())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(Collections.singletonList(span)));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_SplitsLargeBatch() {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(generateFakeSpan());
+    }
+    int spanRequestSize =
+        TraceRequestMarshaler.create(Collections.singletonList(spans.get(0))).getSerializedSize();
+    int maxRequestSize = 3 * spanRequestSize;
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setMaxRequestSize(maxRequestSize)
+            .build();
+    try {
+      assertThat(exporter.export(spans).isSuccess()).isTrue();
+      assertThat(fakeCollector.getRequestSizes().size()).isGreaterThan(1);
+      assertThat(fakeCollector.getRequestSizes()).allMatch(size -> size <= maxRequestSize);
+      int receivedSpans = 0;
+      for (ResourceSpans resourceSpans : fakeCollector.getReceivedSpans()) {
+        receivedSpans += resourceSpans.getInstrumentationLibrarySpans(0).getSpansCount();
+      }
+      assertThat(receivedSpans).isEqualTo(spans.size());
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_SplitBatchFailsIfAnyRequestFails() {
+    fakeCollector.setReturnedStatus(io.grpc.Status.UNAVAILABLE);
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(generateFakeSpan());
+    }
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setMaxRequestSize(1)
+            .setRetryPolicy(RetryPolicy.noRetry())
+            .build();
+    try {
+      assertThat(exporter.export(spans).isSuccess()).isFalse();
+      assertThat(fakeCollector.getRequestSizes()).hasSize(10);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetriesUnavailable() {
+    fakeCollector.failNextExports(io.grpc.Status.UNAVAILABLE, 2);
+    SpanData span = generateFakeSpan();
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(span)).join(10, TimeUnit.SECONDS);
+      assertThat(result.isSuccess()).isTrue();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(3);
+      assertThat(fakeCollector.getReceivedSpans())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(Collections.singletonList(span)));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_RetriesExhausted() {
+    fakeCollector.failNextExports(io.grpc.Status.RESOURCE_EXHAUSTED, 10);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(generateFakeSpan())).join(10, TimeUnit.SECONDS);
+      assertThat(result.isDone()).isTrue();
+      assertThat(result.isSuccess()).isFalse();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(FAST_RETRIES.getMaxAttempts());
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_NotRetryable() {
+    fakeCollector.failNextExports(io.grpc.Status.INVALID_ARGUMENT, 1);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(FAST_RETRIES)
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.isDone()).isTrue();
+      assertThat(result.isSuccess()).isFalse();
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(1);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void testExport_DeadlineSetPerExport() throws InterruptedException {
     int deadlineMs = 500;
@@ -187,7 +337,10 @@ class OtlpGrpcSpanExporterTest {
   void testExport_ResourceExhausted() {
     fakeCollector.setReturnedStatus(io.grpc.Status.RESOURCE_EXHAUSTED);
     OtlpGrpcSpanExporter exporter =
-        OtlpGrpcSpanExporter.newBuilder().setChannel(inProcessChannel).build();
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(RetryPolicy.noRetry())
+            .build();
     try {
       assertThat(exporter.export(Collections.singletonList(generateFakeSpan())).isSuccess())
           .isFalse();
@@ -213,7 +366,10 @@ class OtlpGrpcSpanExporterTest {
   void testExport_Unavailable() {
     fakeCollector.setReturnedStatus(io.grpc.Status.UNAVAILABLE);
     OtlpGrpcSpanExporter exporter =
-        OtlpGrpcSpanExporter.newBuilder().setChannel(inProcessChannel).build();
+        OtlpGrpcSpanExporter.newBuilder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(RetryPolicy.noRetry())
+            .build();
     try {
       assertThat(exporter.export(Collections.singletonList(generateFakeSpan())).isSuccess())
           .isFalse();
@@ -269,13 +425,24 @@ class OtlpGrpcSpanExporterTest {
 
   private static final class FakeCollector extends TraceServiceGrpc.TraceServiceImplBase {
     private final List<ResourceSpans> receivedSpans = new ArrayList<>();
+    private final List<Integer> requestSizes = new ArrayList<>();
     private io.grpc.Status returnedStatus = io.grpc.Status.OK;
+    private final AtomicInteger exportCalls = new AtomicInteger();
+    private io.grpc.Status failureStatus = io.grpc.Status.OK;
+    private int failuresLeft;
 
     @Override
     public void export(
         ExportTraceServiceRequest request,
         StreamObserver<ExportTraceServiceResponse> responseObserver) {
+      exportCalls.incrementAndGet();
+      if (failuresLeft > 0) {
+        failuresLeft--;
+        responseObserver.onError(failureStatus.asRuntimeException());
+        return;
+      }
       receivedSpans.addAll(request.getResourceSpansList());
+      requestSizes.add(request.getSerializedSize());
       responseObserver.onNext(ExportTraceServiceResponse.newBuilder().build());
       if (!returnedStatus.isOk()) {
         if (returnedStatus.getCode() == Code.DEADLINE_EXCEEDED) {
@@ -292,8 +459,21 @@ class OtlpGrpcSpanExporterTest {
       return receivedSpans;
     }
 
+    List<Integer> getRequestSizes() {
+      return requestSizes;
+    }
+
     void setReturnedStatus(io.grpc.Status returnedStatus) {
       this.returnedStatus = returnedStatus;
     }
+
+    void failNextExports(io.grpc.Status failureStatus, int count) {
+      this.failureStatus = failureStatus;
+      this.failuresLeft = count;
+    }
+
+    int getExportCalls() {
+      return exportCalls.get();
+    }
   }
 }
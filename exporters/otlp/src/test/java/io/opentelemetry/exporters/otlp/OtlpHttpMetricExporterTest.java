@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.exporters.otlp.FakeHttpCollector.ReceivedRequest;
+import io.opentelemetry.exporters.otlp.OtlpGrpcMetricExporterTest.ConfigBuilderTest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
+import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class OtlpHttpMetricExporterTest {
+
+  private FakeHttpCollector fakeCollector;
+
+  @BeforeEach
+  void setup() throws IOException {
+    fakeCollector = new FakeHttpCollector();
+  }
+
+  @AfterEach
+  void tearDown() {
+    fakeCollector.stop();
+  }
+
+  @Test
+  void configTest() {
+    Map<String, String> options = new HashMap<>();
+    options.put("otel.otlp.metric.timeout", "12");
+    options.put("otel.otlp.http.metric.endpoint", "http://localhost:6553/v1/metrics");
+    options.put("otel.otlp.http.gzip", "true");
+    options.put("otel.otlp.metadata", "key=value");
+    OtlpHttpMetricExporter.Builder config = OtlpHttpMetricExporter.newBuilder();
+    OtlpHttpMetricExporter.Builder spy = Mockito.spy(config);
+    spy.fromConfigMap(options, ConfigBuilderTest.getNaming());
+    Mockito.verify(spy).setDeadlineMs(12);
+    Mockito.verify(spy).setEndpoint("http://localhost:6553/v1/metrics");
+    Mockito.verify(spy).setUseGzip(true);
+    Mockito.verify(spy).addHeader("key", "value");
+  }
+
+  @Test
+  void testExport() throws IOException {
+    MetricData metric = generateFakeMetric();
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/metrics"))
+            .build();
+    assertThat(export(exporter, Collections.singletonList(metric))).isTrue();
+
+    List<ReceivedRequest> requests = fakeCollector.getRequests();
+    assertThat(requests).hasSize(1);
+    assertThat(requests.get(0).path).isEqualTo("/v1/metrics");
+    assertThat(requests.get(0).contentType).isEqualTo("application/x-protobuf");
+    assertThat(
+            ExportMetricsServiceRequest.parseFrom(requests.get(0).body).getResourceMetricsList())
+        .isEqualTo(MetricAdapter.toProtoResourceMetrics(Collections.singletonList(metric)));
+  }
+
+  @Test
+  void testExport_Gzip() throws IOException {
+    MetricData metric = generateFakeMetric();
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/metrics"))
+            .setUseGzip(true)
+            .build();
+    assertThat(export(exporter, Collections.singletonList(metric))).isTrue();
+
+    List<ReceivedRequest> requests = fakeCollector.getRequests();
+    assertThat(requests.get(0).contentEncoding).isEqualTo("gzip");
+    assertThat(
+            ExportMetricsServiceRequest.parseFrom(requests.get(0).body).getResourceMetricsList())
+        .isEqualTo(MetricAdapter.toProtoResourceMetrics(Collections.singletonList(metric)));
+  }
+
+  @Test
+  void testExport_ErrorResponse() {
+    fakeCollector.setResponseCode(400);
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/metrics"))
+            .build();
+    assertThat(export(exporter, Collections.singletonList(generateFakeMetric()))).isFalse();
+  }
+
+  @Test
+  void testExport_AfterShutdown() {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/metrics"))
+            .build();
+    exporter.shutdown();
+    assertThat(export(exporter, Collections.singletonList(generateFakeMetric()))).isFalse();
+    assertThat(fakeCollector.getRequests()).isEmpty();
+  }
+
+  // The requests are sent in the background.
+  private static boolean export(OtlpHttpMetricExporter exporter, List<MetricData> metrics) {
+    return exporter.export(metrics).join(10, TimeUnit.SECONDS).isSuccess();
+  }
+
+  private static MetricData generateFakeMetric() {
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    long endNs = startNs + TimeUnit.MILLISECONDS.toNanos(900);
+    return MetricData.create(
+        Descriptor.create(
+            "name", "description", "1", Descriptor.Type.MONOTONIC_LONG, Labels.empty()),
+        Resource.getEmpty(),
+        InstrumentationLibraryInfo.getEmpty(),
+        Collections.singletonList(LongPoint.create(startNs, endNs, Labels.of("k", "v"), 5)));
+  }
+}
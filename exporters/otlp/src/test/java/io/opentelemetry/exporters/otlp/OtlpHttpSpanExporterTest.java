@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.exporters.otlp.FakeHttpCollector.ReceivedRequest;
+import io.opentelemetry.exporters.otlp.OtlpGrpcMetricExporterTest.ConfigBuilderTest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.Span.Kind;
+import io.opentelemetry.trace.Status;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class OtlpHttpSpanExporterTest {
+  private static final String TRACE_ID = "00000000000000000000000000abc123";
+  private static final String SPAN_ID = "0000000000def456";
+
+  private FakeHttpCollector fakeCollector;
+
+  @BeforeEach
+  void setup() throws IOException {
+    fakeCollector = new FakeHttpCollector();
+  }
+
+  @AfterEach
+  void tearDown() {
+    fakeCollector.stop();
+  }
+
+  @Test
+  void configTest() {
+    Map<String, String> options = new HashMap<>();
+    options.put("otel.otlp.span.timeout", "12");
+    options.put("otel.otlp.http.span.endpoint", "http://localhost:6553/v1/traces");
+    options.put("otel.otlp.http.gzip", "true");
+    options.put("otel.otlp.metadata", "key=value;key2=value2=;key3=val=ue3; key4 = value4 ;key5= ");
+    OtlpHttpSpanExporter.Builder config = OtlpHttpSpanExporter.newBuilder();
+    OtlpHttpSpanExporter.Builder spy = Mockito.spy(config);
+    spy.fromConfigMap(options, ConfigBuilderTest.getNaming());
+    Mockito.verify(spy).setDeadlineMs(12);
+    Mockito.verify(spy).setEndpoint("http://localhost:6553/v1/traces");
+    Mockito.verify(spy).setUseGzip(true);
+    Mockito.verify(spy).addHeader("key", "value");
+    Mockito.verify(spy).addHeader("key2", "value2=");
+    Mockito.verify(spy).addHeader("key3", "val=ue3");
+    Mockito.verify(spy).addHeader("key4", "value4");
+    Mockito.verify(spy, Mockito.never()).addHeader("key5", "");
+  }
+
+  @Test
+  void invalidEndpoint() {
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.newBuilder().setEndpoint("localhost").build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testExport() throws IOException {
+    SpanData span = generateFakeSpan();
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    assertThat(export(exporter, Collections.singletonList(span))).isTrue();
+
+    List<ReceivedRequest> requests = fakeCollector.getRequests();
+    assertThat(requests).hasSize(1);
+    assertThat(requests.get(0).path).isEqualTo("/v1/traces");
+    assertThat(requests.get(0).contentType).isEqualTo("application/x-protobuf");
+    assertThat(requests.get(0).contentEncoding).isNull();
+    assertThat(ExportTraceServiceRequest.parseFrom(requests.get(0).body).getResourceSpansList())
+        .isEqualTo(SpanAdapter.toProtoResourceSpans(Collections.singletonList(span)));
+  }
+
+  @Test
+  void testExport_Gzip() throws IOException {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(generateFakeSpan());
+    }
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .setUseGzip(true)
+            .build();
+    assertThat(export(exporter, spans)).isTrue();
+
+    List<ReceivedRequest> requests = fakeCollector.getRequests();
+    assertThat(requests).hasSize(1);
+    assertThat(requests.get(0).contentEncoding).isEqualTo("gzip");
+    assertThat(ExportTraceServiceRequest.parseFrom(requests.get(0).body).getResourceSpansList())
+        .isEqualTo(SpanAdapter.toProtoResourceSpans(spans));
+  }
+
+  @Test
+  void testExport_Headers() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .addHeader("X-Test-Header", "value")
+            .build();
+    assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isTrue();
+    assertThat(fakeCollector.getRequests().get(0).header).isEqualTo("value");
+  }
+
+  @Test
+  void testExport_ReusesConnection() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    for (int i = 0; i < 3; i++) {
+      assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isTrue();
+    }
+    List<ReceivedRequest> requests = fakeCollector.getRequests();
+    assertThat(requests).hasSize(3);
+    assertThat(requests.get(1).remotePort).isEqualTo(requests.get(0).remotePort);
+    assertThat(requests.get(2).remotePort).isEqualTo(requests.get(0).remotePort);
+  }
+
+  @Test
+  void testExport_DoesNotBlock() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    CountDownLatch responses = fakeCollector.holdResponses();
+    CompletableResultCode result = exporter.export(Collections.singletonList(generateFakeSpan()));
+    CompletableResultCode shutdownResult = exporter.shutdown();
+    assertThat(result.isDone()).isFalse();
+    assertThat(shutdownResult.isDone()).isFalse();
+
+    responses.countDown();
+    assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(shutdownResult.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+  }
+
+  @Test
+  void testExport_TooManyRequests() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    CountDownLatch responses = fakeCollector.holdResponses();
+    List<CompletableResultCode> results = new ArrayList<>();
+    int accepted = OtlpHttpSender.MAX_CONCURRENT_REQUESTS + OtlpHttpSender.MAX_QUEUED_REQUESTS;
+    for (int i = 0; i < accepted; i++) {
+      results.add(exporter.export(Collections.singletonList(generateFakeSpan())));
+    }
+    CompletableResultCode rejected =
+        exporter.export(Collections.singletonList(generateFakeSpan()));
+    assertThat(rejected.isDone()).isTrue();
+    assertThat(rejected.isSuccess()).isFalse();
+
+    responses.countDown();
+    for (CompletableResultCode result : results) {
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    }
+    assertThat(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+  }
+
+  @Test
+  void testExport_ErrorResponse() {
+    fakeCollector.setResponseCode(503);
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isFalse();
+
+    // The connection is still usable after an error.
+    fakeCollector.setResponseCode(200);
+    assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isTrue();
+  }
+
+  @Test
+  void testExport_Unavailable() {
+    String endpoint = fakeCollector.getEndpoint("/v1/traces");
+    fakeCollector.stop();
+    OtlpHttpSpanExporter exporter = OtlpHttpSpanExporter.newBuilder().setEndpoint(endpoint).build();
+    assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isFalse();
+  }
+
+  @Test
+  void testExport_AfterShutdown() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.newBuilder()
+            .setEndpoint(fakeCollector.getEndpoint("/v1/traces"))
+            .build();
+    assertThat(exporter.shutdown().isSuccess()).isTrue();
+    assertThat(export(exporter, Collections.singletonList(generateFakeSpan()))).isFalse();
+    assertThat(fakeCollector.getRequests()).isEmpty();
+  }
+
+  // The requests are sent in the background.
+  private static boolean export(OtlpHttpSpanExporter exporter, List<SpanData> spans) {
+    return exporter.export(spans).join(10, TimeUnit.SECONDS).isSuccess();
+  }
+
+  private static SpanData generateFakeSpan() {
+    long duration = TimeUnit.MILLISECONDS.toNanos(900);
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    long endNs = startNs + duration;
+    return TestSpanData.newBuilder()
+        .setHasEnded(true)
+        .setTraceId(TRACE_ID)
+        .setSpanId(SPAN_ID)
+        .setName("GET /api/endpoint")
+        .setStartEpochNanos(startNs)
+        .setEndEpochNanos(endNs)
+        .setStatus(Status.OK)
+        .setKind(Kind.SERVER)
+        .setLinks(Collections.emptyList())
+        .setTotalRecordedLinks(0)
+        .setTotalRecordedEvents(0)
+        .build();
+  }
+}
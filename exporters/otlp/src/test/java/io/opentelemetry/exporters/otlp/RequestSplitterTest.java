@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RequestSplitter}. */
+class RequestSplitterTest {
+  // Each request has an overhead of 10 bytes, like the resource and library of a real request.
+  private static final RequestSplitter<String, List<String>> SPLITTER =
+      new RequestSplitter<String, List<String>>() {
+        @Override
+        List<String> createRequest(List<String> items) {
+          return new ArrayList<>(items);
+        }
+
+        @Override
+        int getSerializedSize(List<String> request) {
+          int size = 10;
+          for (String item : request) {
+            size += item.length();
+          }
+          return size;
+        }
+      };
+
+  @Test
+  void noLimit() {
+    List<String> items = items(100, 10);
+    assertThat(SPLITTER.split(items, 0)).containsExactly(items);
+  }
+
+  @Test
+  void underLimit() {
+    List<String> items = items(10, 10);
+    assertThat(SPLITTER.split(items, 110)).containsExactly(items);
+  }
+
+  @Test
+  void splitsInRequestsUnderLimit() {
+    List<String> items = items(100, 10);
+    List<List<String>> requests = SPLITTER.split(items, 100);
+    assertThat(requests.size()).isGreaterThan(1);
+    List<String> allItems = new ArrayList<>();
+    for (List<String> request : requests) {
+      assertThat(SPLITTER.getSerializedSize(request)).isLessThanOrEqualTo(100);
+      allItems.addAll(request);
+    }
+    assertThat(allItems).isEqualTo(items);
+  }
+
+  @Test
+  void itemOverLimitIsSentAlone() {
+    String large = repeat('x', 200);
+    List<List<String>> requests =
+        SPLITTER.split(new LinkedHashSet<>(Arrays.asList("a", large, "b")), 100);
+    assertThat(requests)
+        .containsExactly(
+            Collections.singletonList("a"),
+            Collections.singletonList(large),
+            Collections.singletonList("b"));
+  }
+
+  @Test
+  void emptyBatch() {
+    assertThat(SPLITTER.split(Collections.emptyList(), 100))
+        .containsExactly(Collections.emptyList());
+  }
+
+  private static List<String> items(int count, int length) {
+    List<String> items = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      items.add(i + repeat('x', length - String.valueOf(i).length()));
+    }
+    return items;
+  }
+
+  private static String repeat(char c, int count) {
+    char[] chars = new char[count];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+}
@@ -66,4 +66,20 @@ class ResourceAdapterTest {
     assertThat(ResourceAdapter.toProtoResource(Resource.getEmpty()))
         .isEqualTo(io.opentelemetry.proto.resource.v1.Resource.newBuilder().build());
   }
+
+  @Test
+  void toProtoResource_Cached() {
+    Resource resource =
+        Resource.create(Attributes.of("key", AttributeValue.stringAttributeValue("value")));
+    io.opentelemetry.proto.resource.v1.Resource resourceProto =
+        ResourceAdapter.toProtoResource(resource);
+    assertThat(ResourceAdapter.toProtoResource(resource)).isSameAs(resourceProto);
+    // Equal instances are cached separately.
+    assertThat(
+            ResourceAdapter.toProtoResource(
+                Resource.create(
+                    Attributes.of("key", AttributeValue.stringAttributeValue("value")))))
+        .isEqualTo(resourceProto)
+        .isNotSameAs(resourceProto);
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static io.opentelemetry.common.AttributeValue.stringAttributeValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ResourceAndLibraryGrouper}. */
+class ResourceAndLibraryGrouperTest {
+  private static final Resource RESOURCE =
+      Resource.create(Attributes.of("service.name", stringAttributeValue("first")));
+  private static final InstrumentationLibraryInfo LIBRARY =
+      InstrumentationLibraryInfo.create("library", "1.0");
+
+  @Test
+  void empty() {
+    assertThat(new ResourceAndLibraryGrouper<String>().getGroups()).isEmpty();
+  }
+
+  @Test
+  void keepsFirstSeenOrder() {
+    Resource other = Resource.create(Attributes.of("service.name", stringAttributeValue("other")));
+    InstrumentationLibraryInfo otherLibrary = InstrumentationLibraryInfo.create("other", null);
+    ResourceAndLibraryGrouper<String> grouper = new ResourceAndLibraryGrouper<>();
+    grouper.add(other, otherLibrary, "1");
+    grouper.add(RESOURCE, LIBRARY, "2");
+    grouper.add(other, LIBRARY, "3");
+    grouper.add(RESOURCE, LIBRARY, "4");
+    grouper.add(other, otherLibrary, "5");
+
+    Map<Resource, Map<InstrumentationLibraryInfo, List<String>>> groups = grouper.getGroups();
+    assertThat(groups.keySet()).containsExactly(other, RESOURCE);
+    assertThat(groups.get(other).keySet()).containsExactly(otherLibrary, LIBRARY);
+    assertThat(groups.get(other).get(otherLibrary)).containsExactly("1", "5");
+    assertThat(groups.get(other).get(LIBRARY)).containsExactly("3");
+    assertThat(groups.get(RESOURCE).keySet()).containsExactly(LIBRARY);
+    assertThat(groups.get(RESOURCE).get(LIBRARY)).containsExactly("2", "4");
+  }
+
+  @Test
+  void groupsEqualInstances() {
+    ResourceAndLibraryGrouper<String> grouper = new ResourceAndLibraryGrouper<>();
+    grouper.add(RESOURCE, LIBRARY, "1");
+    grouper.add(
+        Resource.create(Attributes.of("service.name", stringAttributeValue("first"))),
+        InstrumentationLibraryInfo.create("library", "1.0"),
+        "2");
+    grouper.add(RESOURCE, InstrumentationLibraryInfo.create("library", "1.0"), "3");
+
+    Map<Resource, Map<InstrumentationLibraryInfo, List<String>>> groups = grouper.getGroups();
+    assertThat(groups).hasSize(1);
+    assertThat(groups.get(RESOURCE)).hasSize(1);
+    assertThat(groups.get(RESOURCE).get(LIBRARY)).containsExactly("1", "2", "3");
+  }
+}
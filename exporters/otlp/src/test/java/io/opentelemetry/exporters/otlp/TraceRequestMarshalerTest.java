@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.exporters.otlp;
+
+import static io.opentelemetry.common.AttributeValue.arrayAttributeValue;
+import static io.opentelemetry.common.AttributeValue.booleanAttributeValue;
+import static io.opentelemetry.common.AttributeValue.doubleAttributeValue;
+import static io.opentelemetry.common.AttributeValue.longAttributeValue;
+import static io.opentelemetry.common.AttributeValue.stringAttributeValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.opentelemetry.common.Attributes;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventImpl;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.SpanData.Link;
+import io.opentelemetry.trace.Span.Kind;
+import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.Status;
+import io.opentelemetry.trace.TraceFlags;
+import io.opentelemetry.trace.TraceState;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TraceRequestMarshaler}. */
+class TraceRequestMarshalerTest {
+  private static final String TRACE_ID = "00000000000000000000000000abc123";
+  private static final String SPAN_ID = "0000000000def456";
+  private static final String PARENT_SPAN_ID = "0000000000aef789";
+  private static final SpanContext LINK_CONTEXT =
+      SpanContext.create(
+          "ff000000000000000000000000000001",
+          "8000000000000002",
+          TraceFlags.getDefault(),
+          TraceState.getDefault());
+
+  @Test
+  void emptyRequest() throws InvalidProtocolBufferException {
+    assertSameAsSpanAdapter(Collections.<SpanData>emptyList());
+    assertThat(TraceRequestMarshaler.create(Collections.<SpanData>emptyList()).toByteArray())
+        .isEmpty();
+  }
+
+  @Test
+  void minimalSpan() throws InvalidProtocolBufferException {
+    assertSameAsSpanAdapter(
+        Collections.<SpanData>singletonList(
+            TestSpanData.newBuilder()
+                .setHasEnded(true)
+                .setTraceId(TRACE_ID)
+                .setSpanId(SPAN_ID)
+                .setName("")
+                .setKind(Kind.INTERNAL)
+                .setStartEpochNanos(0)
+                .setEndEpochNanos(0)
+                .setStatus(Status.OK)
+                .build()));
+  }
+
+  @Test
+  void fullSpan() throws InvalidProtocolBufferException {
+    assertSameAsSpanAdapter(Collections.singletonList(fullSpan(Resource.getEmpty(), "lib")));
+  }
+
+  @Test
+  void allKinds() throws InvalidProtocolBufferException {
+    List<SpanData> spans = new ArrayList<>();
+    for (Kind kind : Kind.values()) {
+      spans.add(
+          TestSpanData.newBuilder()
+              .setHasEnded(true)
+              .setTraceId(TRACE_ID)
+              .setSpanId(SPAN_ID)
+              .setName(kind.name())
+              .setKind(kind)
+              .setStartEpochNanos(1)
+              .setEndEpochNanos(2)
+              .setStatus(Status.UNAVAILABLE.withDescription("unavailable"))
+              .build());
+    }
+    assertSameAsSpanAdapter(spans);
+  }
+
+  @Test
+  void groupsByResourceAndLibrary() throws InvalidProtocolBufferException {
+    Resource first = Resource.create(Attributes.of("service.name", stringAttributeValue("first")));
+    Resource second =
+        Resource.create(Attributes.of("service.name", stringAttributeValue("second")));
+    List<SpanData> spans =
+        Arrays.asList(
+            fullSpan(first, "a"),
+            fullSpan(second, "a"),
+            fullSpan(first, "b"),
+            fullSpan(first, "a"),
+            // Equal to the first resource but a different instance.
+            fullSpan(
+                Resource.create(Attributes.of("service.name", stringAttributeValue("first"))),
+                "b"));
+
+    ExportTraceServiceRequest request =
+        ExportTraceServiceRequest.parseFrom(TraceRequestMarshaler.create(spans).toByteArray());
+
+    // Resources and libraries keep the order in which they are first seen.
+    assertThat(request.getResourceSpansCount()).isEqualTo(2);
+    ResourceSpans firstSpans = request.getResourceSpans(0);
+    assertThat(firstSpans.getResource()).isEqualTo(ResourceAdapter.toProtoResource(first));
+    assertThat(firstSpans.getInstrumentationLibrarySpansCount()).isEqualTo(2);
+    assertThat(
+            firstSpans.getInstrumentationLibrarySpans(0).getInstrumentationLibrary().getName())
+        .isEqualTo("a");
+    assertThat(firstSpans.getInstrumentationLibrarySpans(0).getSpansCount()).isEqualTo(2);
+    assertThat(
+            firstSpans.getInstrumentationLibrarySpans(1).getInstrumentationLibrary().getName())
+        .isEqualTo("b");
+    assertThat(firstSpans.getInstrumentationLibrarySpans(1).getSpansCount()).isEqualTo(2);
+    ResourceSpans secondSpans = request.getResourceSpans(1);
+    assertThat(secondSpans.getResource()).isEqualTo(ResourceAdapter.toProtoResource(second));
+    assertThat(secondSpans.getInstrumentationLibrarySpansCount()).isEqualTo(1);
+
+    assertSameAsSpanAdapter(spans);
+  }
+
+  @Test
+  void stream_Drain() throws IOException {
+    List<SpanData> spans = Arrays.asList(fullSpan(Resource.getEmpty(), "lib"));
+    TraceRequestMarshaler marshaler = TraceRequestMarshaler.create(spans);
+    InputStream stream = TraceRequestMarshaler.MARSHALLER.stream(marshaler);
+    assertThat(stream).isInstanceOf(Drainable.class).isInstanceOf(KnownLength.class);
+    assertThat(stream.available()).isEqualTo(marshaler.getSerializedSize());
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertThat(((Drainable) stream).drainTo(output)).isEqualTo(marshaler.getSerializedSize());
+    assertThat(output.toByteArray()).isEqualTo(marshaler.toByteArray());
+    assertThat(stream.available()).isEqualTo(0);
+    assertThat(stream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  void stream_Read() throws IOException {
+    List<SpanData> spans = Arrays.asList(fullSpan(Resource.getEmpty(), "lib"));
+    TraceRequestMarshaler marshaler = TraceRequestMarshaler.create(spans);
+    InputStream stream = TraceRequestMarshaler.MARSHALLER.stream(marshaler);
+
+    assertThat(ExportTraceServiceRequest.parseFrom(stream))
+        .isEqualTo(ExportTraceServiceRequest.parseFrom(marshaler.toByteArray()));
+    assertThat(stream.available()).isEqualTo(0);
+  }
+
+  @Test
+  void parse_Unsupported() {
+    assertThatThrownBy(
+            () -> TraceRequestMarshaler.MARSHALLER.parse(new ByteArrayInputStream(new byte[0])))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private static SpanData fullSpan(Resource resource, String libraryName) {
+    return TestSpanData.newBuilder()
+        .setHasEnded(true)
+        .setTraceId(TRACE_ID)
+        .setSpanId(SPAN_ID)
+        .setParentSpanId(PARENT_SPAN_ID)
+        .setResource(resource)
+        .setInstrumentationLibraryInfo(InstrumentationLibraryInfo.create(libraryName, "1.0"))
+        .setName("GET /api/endpoint")
+        .setKind(Kind.SERVER)
+        .setStartEpochNanos(12345)
+        .setEndEpochNanos(12349)
+        .setAttributes(
+            Attributes.newBuilder()
+                .setAttribute("string", stringAttributeValue("value"))
+                .setAttribute("empty", stringAttributeValue(""))
+                .setAttribute("unicode", stringAttributeValue("été ☃"))
+                .setAttribute("boolean", booleanAttributeValue(true))
+                .setAttribute("long", longAttributeValue(-1))
+                .setAttribute("double", doubleAttributeValue(1.5))
+                .setAttribute("strings", arrayAttributeValue("a", "", "c"))
+                .setAttribute("booleans", arrayAttributeValue(true, false))
+                .setAttribute("longs", arrayAttributeValue(0L, Long.MAX_VALUE, -3L))
+                .setAttribute("doubles", arrayAttributeValue(0.0, -2.5))
+                .setAttribute("emptyArray", arrayAttributeValue(new String[0]))
+                .build())
+        .setTotalAttributeCount(14)
+        .setEvents(
+            Arrays.<SpanData.Event>asList(
+                EventImpl.create(12347, "event", Attributes.empty()),
+                EventImpl.create(
+                    12348, "other", Attributes.of("key", longAttributeValue(300)), 3)))
+        .setTotalRecordedEvents(5)
+        .setLinks(
+            Arrays.asList(
+                Link.create(LINK_CONTEXT),
+                Link.create(LINK_CONTEXT, Attributes.of("key", booleanAttributeValue(false)), 2)))
+        .setTotalRecordedLinks(2)
+        .setStatus(Status.NOT_FOUND.withDescription("not found"))
+        .build();
+  }
+
+  private static void assertSameAsSpanAdapter(Collection<SpanData> spans)
+      throws InvalidProtocolBufferException {
+    ExportTraceServiceRequest expected =
+        ExportTraceServiceRequest.newBuilder()
+            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
+            .build();
+    TraceRequestMarshaler marshaler = TraceRequestMarshaler.create(spans);
+    byte[] bytes = marshaler.toByteArray();
+    assertThat(marshaler.getSerializedSize()).isEqualTo(expected.getSerializedSize());
+    assertThat(ExportTraceServiceRequest.parseFrom(bytes)).isEqualTo(expected);
+    assertThat(bytes).isEqualTo(expected.toByteArray());
+  }
+}
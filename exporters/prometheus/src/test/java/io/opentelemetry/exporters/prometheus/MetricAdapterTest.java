@@ -47,6 +47,8 @@ class MetricAdapterTest {
         .isEqualTo(Collector.Type.COUNTER);
     assertThat(MetricAdapter.toMetricFamilyType(Descriptor.Type.SUMMARY))
         .isEqualTo(Collector.Type.SUMMARY);
+    assertThat(MetricAdapter.toMetricFamilyType(Descriptor.Type.HISTOGRAM))
+        .isEqualTo(Collector.Type.HISTOGRAM);
   }
 
   @Test
@@ -209,6 +211,44 @@ class MetricAdapterTest {
                 12.3));
   }
 
+  @Test
+  void toSamples_HistogramPoints() {
+    assertThat(
+            MetricAdapter.toSamples(
+                "full_name",
+                Descriptor.create(
+                    "name", "description", "1", Descriptor.Type.HISTOGRAM, Labels.of("kc", "vc")),
+                ImmutableList.of(
+                    MetricData.HistogramPoint.create(
+                        321,
+                        654,
+                        Labels.of("kp", "vp"),
+                        6,
+                        18.3,
+                        ImmutableList.of(1.0, 5.0),
+                        ImmutableList.of(2L, 0L, 4L)))))
+        .containsExactly(
+            new Sample(
+                "full_name_count", ImmutableList.of("kc", "kp"), ImmutableList.of("vc", "vp"), 6),
+            new Sample(
+                "full_name_sum", ImmutableList.of("kc", "kp"), ImmutableList.of("vc", "vp"), 18.3),
+            new Sample(
+                "full_name_bucket",
+                ImmutableList.of("kc", "kp", "le"),
+                ImmutableList.of("vc", "vp", "1.0"),
+                2),
+            new Sample(
+                "full_name_bucket",
+                ImmutableList.of("kc", "kp", "le"),
+                ImmutableList.of("vc", "vp", "5.0"),
+                2),
+            new Sample(
+                "full_name_bucket",
+                ImmutableList.of("kc", "kp", "le"),
+                ImmutableList.of("vc", "vp", "+Inf"),
+                6));
+  }
+
   @Test
   void toMetricFamilySamples() {
     Descriptor descriptor =
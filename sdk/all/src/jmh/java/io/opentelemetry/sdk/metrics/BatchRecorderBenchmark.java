@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.metrics.BatchRecorder;
+import io.opentelemetry.metrics.LongCounter;
+import io.opentelemetry.metrics.LongValueRecorder;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.MillisClock;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures recording the latency, size and count of a request with a {@link BatchRecorder},
+ * compared to recording them on each instrument.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BatchRecorderBenchmark {
+
+  private MeterSdk meter;
+  private LongValueRecorder latency;
+  private LongValueRecorder size;
+  private LongCounter count;
+  private BatchRecorder batchRecorder;
+  private final Labels labels = Labels.of("method", "GET", "status", "200");
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    meter =
+        new MeterSdk(
+            MeterProviderSharedState.create(MillisClock.getInstance(), Resource.getEmpty()),
+            InstrumentationLibraryInfo.create("io.opentelemetry.sdk.metrics", null),
+            new ViewRegistry());
+    latency = meter.longValueRecorderBuilder("latency").build();
+    size = meter.longValueRecorderBuilder("size").build();
+    count = meter.longCounterBuilder("count").build();
+    batchRecorder = meter.newBatchRecorder("method", "GET", "status", "200");
+  }
+
+  /** Records on each instrument. */
+  @Benchmark
+  @Threads(1)
+  public void recordEachInstrument() {
+    latency.record(42, labels);
+    size.record(1024, labels);
+    count.add(1, labels);
+  }
+
+  /** Records with a {@link BatchRecorder} created for each request. */
+  @Benchmark
+  @Threads(1)
+  public void newBatchRecorder() {
+    meter
+        .newBatchRecorder("method", "GET", "status", "200")
+        .put(latency, 42)
+        .put(size, 1024)
+        .put(count, 1)
+        .record();
+  }
+
+  /** Records with a {@link BatchRecorder} reused for each request. */
+  @Benchmark
+  @Threads(1)
+  public void reusedBatchRecorder() {
+    batchRecorder.put(latency, 42).put(size, 1024).put(count, 1).record();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.metrics.LongCounter;
+import io.opentelemetry.metrics.LongCounter.BoundLongCounter;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a collection of cumulative counters with {@code numSeries} label sets spread over {@code
+ * NUM_INSTRUMENTS} instruments, with the instruments collected by {@code parallelism} threads.
+ * {@link #collectRecorded()} collects after every series was recorded, {@link #collectIdle()}
+ * collects the same series again without new recordings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+  private static final int NUM_INSTRUMENTS = 50;
+
+  @Param({"1000", "10000", "100000"})
+  public int numSeries;
+
+  @Param({"1", "4"})
+  public int parallelism;
+
+  private MetricProducer metricProducer;
+  private BoundLongCounter[] boundCounters;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    MeterSdkProvider meterProvider =
+        MeterSdkProvider.builder()
+            .setResource(Resource.getEmpty())
+            .setCollectionParallelism(parallelism)
+            .build();
+    MeterSdk meter = meterProvider.get("io.opentelemetry.sdk.metrics");
+    LongCounter[] counters = new LongCounter[NUM_INSTRUMENTS];
+    for (int i = 0; i < NUM_INSTRUMENTS; i++) {
+      counters[i] = meter.longCounterBuilder("counter" + i).build();
+    }
+    boundCounters = new BoundLongCounter[numSeries];
+    for (int i = 0; i < numSeries; i++) {
+      boundCounters[i] = counters[i % NUM_INSTRUMENTS].bind(Labels.of("key", String.valueOf(i)));
+      boundCounters[i].add(1);
+    }
+    metricProducer = meterProvider.getMetricProducer();
+  }
+
+  /** Records once in each series, outside of the measurement. */
+  @State(Scope.Benchmark)
+  public static class Recorded {
+    @Setup(Level.Invocation)
+    public final void record(CollectionBenchmark benchmark) {
+      for (BoundLongCounter boundCounter : benchmark.boundCounters) {
+        boundCounter.add(1);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Collection<MetricData> collectRecorded(@SuppressWarnings("unused") Recorded recorded) {
+    return metricProducer.collectAllMetrics();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Collection<MetricData> collectIdle() {
+    return metricProducer.collectAllMetrics();
+  }
+}
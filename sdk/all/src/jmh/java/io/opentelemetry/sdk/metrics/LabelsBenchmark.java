@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.common.LabelsCache;
+import io.opentelemetry.metrics.LongCounter;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.MillisClock;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the unbound {@code add} of a counter with labels created on each call, with and without
+ * a {@link LabelsCache}. Run with {@code -prof gc} to see the allocation per operation, {@link
+ * #addWithCachedLabels()} should not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LabelsBenchmark {
+
+  @Param({"1", "16"})
+  public int numValues;
+
+  private final LabelsCache labelsCache = LabelsCache.create();
+  private LongCounter counter;
+  private String[] values;
+  private Labels[] labels;
+  private int next;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    MeterSdk meter =
+        new MeterSdk(
+            MeterProviderSharedState.create(MillisClock.getInstance(), Resource.getEmpty()),
+            InstrumentationLibraryInfo.create("io.opentelemetry.sdk.metrics", null),
+            new ViewRegistry());
+    counter = meter.longCounterBuilder("counter").build();
+    values = new String[numValues];
+    labels = new Labels[numValues];
+    for (int i = 0; i < numValues; i++) {
+      values[i] = "value" + i;
+      labels[i] = Labels.of("method", values[i], "status", "ok");
+    }
+  }
+
+  /** Records with labels created once, the lower bound of the other benchmarks. */
+  @Benchmark
+  @Threads(1)
+  public void addWithExistingLabels() {
+    counter.add(1, labels[nextIndex()]);
+  }
+
+  /** Records with labels created on each call. */
+  @Benchmark
+  @Threads(1)
+  public void addWithNewLabels() {
+    counter.add(1, Labels.of("method", values[nextIndex()], "status", "ok"));
+  }
+
+  /** Records with labels returned by a {@link LabelsCache}. */
+  @Benchmark
+  @Threads(1)
+  public void addWithCachedLabels() {
+    counter.add(1, labelsCache.of("method", values[nextIndex()], "status", "ok"));
+  }
+
+  private int nextIndex() {
+    int index = next;
+    next = index + 1 == numValues ? 0 : index + 1;
+    return index;
+  }
+}
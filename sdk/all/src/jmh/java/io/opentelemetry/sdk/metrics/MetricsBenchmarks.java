@@ -88,4 +88,22 @@ public class MetricsBenchmarks {
   public void eightThreadsBound(ThreadState threadState) {
     threadState.op.performBound();
   }
+
+  @Benchmark
+  @Threads(32)
+  public void thirtyTwoThreadsCommonLabelSet(ThreadState threadState) {
+    threadState.op.perform(threadState.sharedLabelSet);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void thirtyTwoThreadsSeparateLabelSets(ThreadState threadState) {
+    threadState.op.perform(threadState.threadUniqueLabelSet);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void thirtyTwoThreadsBound(ThreadState threadState) {
+    threadState.op.performBound();
+  }
 }
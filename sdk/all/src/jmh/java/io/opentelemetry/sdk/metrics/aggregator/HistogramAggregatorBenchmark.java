@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+public class HistogramAggregatorBenchmark {
+  // Enough distinct values to spread the recordings over all the buckets.
+  private static final int NUMBER_OF_VALUES = 1024;
+
+  @Param({"10", "50", "200"})
+  public int numberOfBuckets;
+
+  private Aggregator aggregator;
+  private double[] values;
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    List<Double> boundaries = new ArrayList<>(numberOfBuckets - 1);
+    for (int i = 1; i < numberOfBuckets; i++) {
+      boundaries.add((double) i);
+    }
+    aggregator = HistogramAggregator.getFactory(boundaries).getAggregator();
+    values = new double[NUMBER_OF_VALUES];
+    for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+      values[i] = (double) i * numberOfBuckets / NUMBER_OF_VALUES;
+    }
+  }
+
+  @Benchmark
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Threads(value = 1)
+  public void aggregate_1Threads(ThreadState threadState) {
+    record(threadState);
+  }
+
+  @Benchmark
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Threads(value = 5)
+  public void aggregate_5Threads(ThreadState threadState) {
+    record(threadState);
+  }
+
+  @Benchmark
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Threads(value = 10)
+  public void aggregate_10Threads(ThreadState threadState) {
+    record(threadState);
+  }
+
+  private void record(ThreadState threadState) {
+    int index = threadState.next;
+    aggregator.recordDouble(values[index]);
+    threadState.next = (index + 1) & (NUMBER_OF_VALUES - 1);
+  }
+}
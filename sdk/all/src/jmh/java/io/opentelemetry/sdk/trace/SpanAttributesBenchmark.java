@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of recording attributes on a span. Run with {@code -prof gc} to see the
+ * allocation per operation, {@link #setAttribute()} and {@link #setLongAttribute()} should allocate
+ * close to nothing since the string values are created up front and the primitives are not boxed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpanAttributesBenchmark {
+
+  private final TracerSdk tracerSdk = OpenTelemetrySdk.getTracerProvider().get("benchmarkTracer");
+
+  @Param({"4", "16"})
+  public int numAttributes;
+
+  private String[] keys;
+  private AttributeValue[] values;
+  private RecordEventsReadableSpan span;
+  private int next;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    keys = new String[numAttributes];
+    values = new AttributeValue[numAttributes];
+    for (int i = 0; i < numAttributes; i++) {
+      keys[i] = "key" + i;
+      values[i] = AttributeValue.stringAttributeValue("value" + i);
+    }
+    span = (RecordEventsReadableSpan) tracerSdk.spanBuilder("benchmarkSpan").startSpan();
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    span.end();
+  }
+
+  /** Updates an attribute of a long lived span, after the first round every key is present. */
+  @Benchmark
+  @Threads(1)
+  public void setAttribute() {
+    int index = next;
+    span.setAttribute(keys[index], values[index]);
+    next = index + 1 == numAttributes ? 0 : index + 1;
+  }
+
+  /** Updates a {@code long} attribute of a long lived span, the value is stored unboxed. */
+  @Benchmark
+  @Threads(1)
+  public void setLongAttribute() {
+    int index = next;
+    span.setAttribute(keys[index], (long) index);
+    next = index + 1 == numAttributes ? 0 : index + 1;
+  }
+
+  /** Starts a span, records all the attributes and ends it. */
+  @Benchmark
+  @Threads(1)
+  public RecordEventsReadableSpan startSpanAndSetAttributes() {
+    RecordEventsReadableSpan newSpan =
+        (RecordEventsReadableSpan) tracerSdk.spanBuilder("benchmarkSpan").startSpan();
+    for (int i = 0; i < numAttributes; i++) {
+      newSpan.setAttribute(keys[i], values[i]);
+    }
+    newSpan.end();
+    return newSpan;
+  }
+}
@@ -17,6 +17,7 @@
 package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Span.Kind;
 import io.opentelemetry.trace.Status;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +37,7 @@ public class SpanBenchmark {
 
   private final TracerSdk tracerSdk = OpenTelemetrySdk.getTracerProvider().get("benchmarkTracer");
   private RecordEventsReadableSpan span;
+  private Span parentSpan;
 
   @Setup(Level.Trial)
   public final void setup() {
@@ -46,6 +48,7 @@ public class SpanBenchmark {
                 .setSpanKind(Kind.CLIENT)
                 .setAttribute("key", "value");
     span = (RecordEventsReadableSpan) spanBuilderSdk.startSpan();
+    parentSpan = tracerSdk.spanBuilder("parentSpan").startSpan();
   }
 
   @Benchmark
@@ -88,6 +91,66 @@ public class SpanBenchmark {
     doSpanWork(span);
   }
 
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startRootSpan_01Thread() {
+    return tracerSdk.spanBuilder("benchmarkSpan").setNoParent().startSpan();
+  }
+
+  @Benchmark
+  @Threads(value = 5)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startRootSpan_05Threads() {
+    return tracerSdk.spanBuilder("benchmarkSpan").setNoParent().startSpan();
+  }
+
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startChildSpan_01Thread() {
+    return tracerSdk.spanBuilder("benchmarkSpan").setParent(parentSpan).startSpan();
+  }
+
+  @Benchmark
+  @Threads(value = 5)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startChildSpan_05Threads() {
+    return tracerSdk.spanBuilder("benchmarkSpan").setParent(parentSpan).startSpan();
+  }
+
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startAttributesStatusEndWithoutEvents_01Thread() {
+    return doSpanWorkWithoutEvents(tracerSdk);
+  }
+
+  @Benchmark
+  @Threads(value = 5)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Span startAttributesStatusEndWithoutEvents_05Threads() {
+    return doSpanWorkWithoutEvents(tracerSdk);
+  }
+
   private static void doSpanWork(RecordEventsReadableSpan span) {
     span.setAttribute("longAttribute", 33L);
     span.setAttribute("stringAttribute", "test_value");
@@ -96,4 +159,14 @@ public class SpanBenchmark {
     span.addEvent("testEvent");
     span.end();
   }
+
+  // Most spans never record an event, this measures them without any event storage allocated.
+  private static Span doSpanWorkWithoutEvents(TracerSdk tracerSdk) {
+    Span span = tracerSdk.spanBuilder("benchmarkSpan").setAttribute("key", "value").startSpan();
+    span.setAttribute("longAttribute", 33L);
+    span.setAttribute("stringAttribute", "test_value");
+    span.setStatus(Status.OK);
+    span.end();
+    return span;
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.CachedClock;
+import io.opentelemetry.sdk.internal.MillisClock;
+import io.opentelemetry.sdk.internal.MonotonicClock;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the default {@link MillisClock} to a {@link CachedClock} ticking every 100
+ * microseconds, both for reading the time the way a span does and for a whole span with an event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpanClockBenchmark {
+
+  @Param({"millis", "cached"})
+  public String clockType;
+
+  private TracerSdkProvider tracerProvider;
+  private Tracer tracer;
+  private Clock spanClock;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    Clock clock =
+        "cached".equals(clockType)
+            ? CachedClock.create(100, TimeUnit.MICROSECONDS)
+            : MillisClock.getInstance();
+    tracerProvider = TracerSdkProvider.builder().setClock(clock).build();
+    tracer = tracerProvider.get("benchmarkTracer");
+    // Root spans read the time through a MonotonicClock created on top of the configured clock.
+    spanClock = MonotonicClock.create(clock);
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    tracerProvider.shutdown();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long now_01Thread() {
+    return spanClock.now();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long now_04Threads() {
+    return spanClock.now();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Span startEventEnd_01Thread() {
+    return doSpanWork(tracer);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Span startEventEnd_04Threads() {
+    return doSpanWork(tracer);
+  }
+
+  private static Span doSpanWork(Tracer tracer) {
+    Span span = tracer.spanBuilder("benchmarkSpan").startSpan();
+    span.addEvent("testEvent");
+    span.end();
+    return span;
+  }
+}
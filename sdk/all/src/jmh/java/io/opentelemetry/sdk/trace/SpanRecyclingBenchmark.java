@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocations of a span with and without span recycling. Run with {@code -prof gc},
+ * {@code gc.alloc.rate.norm} is the number of bytes allocated per span. The runs with several
+ * threads show whether the pool, shared by all the threads, becomes a point of contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpanRecyclingBenchmark {
+
+  // Reads every attribute during the export, like a real exporter would, and then drops the data.
+  private static class ReadingSpanExporter implements SpanExporter {
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      for (SpanData span : spans) {
+        span.getAttributes().get("stringAttribute");
+      }
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  private static final AttributeValue STRING_VALUE = AttributeValue.stringAttributeValue("value");
+
+  @Param({"0", "1024"})
+  public int spanPoolSize;
+
+  private TracerSdkProvider tracerProvider;
+  private Tracer tracer;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    tracerProvider = TracerSdkProvider.builder().setSpanPoolSize(spanPoolSize).build();
+    tracerProvider.addSpanProcessor(
+        SimpleSpanProcessor.newBuilder(new ReadingSpanExporter()).build());
+    tracer = tracerProvider.get("benchmarkTracer");
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    tracerProvider.shutdown();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void startAndEnd_01Thread() {
+    doWork();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void startAndEnd_04Threads() {
+    doWork();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void startAndEnd_16Threads() {
+    doWork();
+  }
+
+  private void doWork() {
+    Span span = tracer.spanBuilder("span").setAttribute("builderAttribute", 1L).startSpan();
+    span.setAttribute("longAttribute", 33L);
+    span.setAttribute("stringAttribute", STRING_VALUE);
+    span.addEvent("event");
+    span.end();
+  }
+}
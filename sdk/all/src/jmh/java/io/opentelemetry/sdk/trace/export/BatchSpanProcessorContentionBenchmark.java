@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of {@link BatchSpanProcessor#onEnd(ReadableSpan)} when many application
+ * threads end spans at the same time, which is dominated by the contention on the span queue.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BatchSpanProcessorContentionBenchmark {
+
+  private static class NoopSpanExporter implements SpanExporter {
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    @Param({"ARRAY_BLOCKING", "MPSC_ARRAY"})
+    BatchSpanProcessor.QueueType queueType;
+
+    private BatchSpanProcessor processor;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      processor =
+          BatchSpanProcessor.newBuilder(new NoopSpanExporter())
+              .setQueueType(queueType)
+              .setMaxQueueSize(8192)
+              .build();
+    }
+
+    @TearDown(Level.Trial)
+    public final void tearDown() {
+      processor.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private ReadableSpan span;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      Tracer tracer = OpenTelemetry.getTracerProvider().get("benchmarkTracer");
+      Span span = tracer.spanBuilder("span").startSpan();
+      span.end();
+      this.span = (ReadableSpan) span;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void onEnd_01Thread(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(2)
+  public void onEnd_02Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void onEnd_04Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void onEnd_08Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void onEnd_16Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void onEnd_32Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void onEnd_64Threads(BenchmarkState benchmarkState, ThreadState threadState) {
+    benchmarkState.processor.onEnd(threadState.span);
+  }
+}
@@ -28,6 +28,8 @@ import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
@@ -37,6 +39,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -49,6 +52,8 @@ public class BatchSpanProcessorFlushBenchmark {
 
     private final int delayMs;
 
+    private final AtomicLong exportedSpans = new AtomicLong();
+
     private DelayingSpanExporter(int delayMs) {
       executor = Executors.newScheduledThreadPool(5);
       this.delayMs = delayMs;
@@ -57,6 +62,7 @@ public class BatchSpanProcessorFlushBenchmark {
     @SuppressWarnings("FutureReturnValueIgnored")
     @Override
     public CompletableResultCode export(Collection<SpanData> spans) {
+      exportedSpans.addAndGet(spans.size());
       final CompletableResultCode result = new CompletableResultCode();
       executor.schedule(
           new Runnable() {
@@ -91,9 +97,13 @@ public class BatchSpanProcessorFlushBenchmark {
 
   private BatchSpanProcessor processor;
 
+  private DelayingSpanExporter exporter;
+
+  private final WorkerCpuTime workerCpuTime = new WorkerCpuTime();
+
   @Setup(Level.Trial)
   public final void setup() {
-    SpanExporter exporter = new DelayingSpanExporter(delayMs);
+    exporter = new DelayingSpanExporter(delayMs);
     processor = BatchSpanProcessor.newBuilder(exporter).build();
 
     ImmutableList.Builder<Span> spans = ImmutableList.builderWithExpectedSize(spanCount);
@@ -104,6 +114,39 @@ public class BatchSpanProcessorFlushBenchmark {
     this.spans = spans.build();
   }
 
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    processor.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Setup(Level.Iteration)
+  public final void startIteration() {
+    workerCpuTime.start(exporter.exportedSpans.get());
+  }
+
+  @TearDown(Level.Iteration)
+  public final void stopIteration() {
+    workerCpuTime.stop(exporter.exportedSpans.get());
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class ThreadState {
+    private double workerCpuNanosPerSpan;
+
+    @TearDown(Level.Iteration)
+    public final void recordWorkerCpu(BatchSpanProcessorFlushBenchmark benchmark) {
+      workerCpuNanosPerSpan = benchmark.workerCpuTime.getCpuNanosPerSpan();
+    }
+
+    /** CPU time spent by the worker thread for each exported span. */
+    public double workerCpuNanosPerSpan() {
+      // Due to peculiarities of JMH reporting we have to divide this by the number of the
+      // concurrent threads running the actual benchmark.
+      return workerCpuNanosPerSpan / 5;
+    }
+  }
+
   /** Export spans through {@link io.opentelemetry.sdk.trace.export.BatchSpanProcessor}. */
   @Benchmark
   @Fork(1)
@@ -111,7 +154,7 @@ public class BatchSpanProcessorFlushBenchmark {
   @Warmup(iterations = 5, time = 1)
   @Measurement(iterations = 10, time = 1)
   @OutputTimeUnit(TimeUnit.SECONDS)
-  public void export() {
+  public void export(@SuppressWarnings("unused") ThreadState threadState) {
     for (Span span : spans) {
       processor.onEnd((ReadableSpan) span);
     }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static io.opentelemetry.common.AttributeValue.stringAttributeValue;
+
+import io.opentelemetry.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.TracerSdkProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Measures how many spans the {@link BatchSpanProcessor} exports when many application threads end
+ * spans, with the {@link SpanData} created either by the worker thread or by the application
+ * threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BatchSpanProcessorSnapshotBenchmark {
+
+  private static class CountingSpanExporter implements SpanExporter {
+    private final AtomicLong exportedSpans = new AtomicLong();
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      exportedSpans.addAndGet(spans.size());
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    @Param({"false", "true"})
+    boolean snapshotOnEnd;
+
+    private final CountingSpanExporter exporter = new CountingSpanExporter();
+    private final WorkerCpuTime workerCpuTime = new WorkerCpuTime();
+    private TracerSdkProvider tracerProvider;
+    private Tracer tracer;
+    private long iterationStartSpans;
+    private long iterationExportedSpans;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      tracerProvider = TracerSdkProvider.builder().build();
+      tracerProvider.addSpanProcessor(
+          BatchSpanProcessor.newBuilder(exporter)
+              .setQueueType(BatchSpanProcessor.QueueType.MPSC_ARRAY)
+              .setMaxQueueSize(8192)
+              .setSnapshotOnEnd(snapshotOnEnd)
+              .build());
+      tracer = tracerProvider.get("benchmarkTracer");
+    }
+
+    @TearDown(Level.Trial)
+    public final void tearDown() {
+      tracerProvider.shutdown();
+    }
+
+    @Setup(Level.Iteration)
+    public final void startIteration() {
+      iterationStartSpans = exporter.exportedSpans.get();
+      workerCpuTime.start(iterationStartSpans);
+    }
+
+    @TearDown(Level.Iteration)
+    public final void stopIteration() {
+      long exportedSpans = exporter.exportedSpans.get();
+      iterationExportedSpans = exportedSpans - iterationStartSpans;
+      workerCpuTime.stop(exportedSpans);
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class ThreadState {
+    private BenchmarkState benchmarkState;
+    private int threadCount;
+
+    @Setup(Level.Trial)
+    public final void setup(BenchmarkState benchmarkState, ThreadParams threadParams) {
+      this.benchmarkState = benchmarkState;
+      this.threadCount = threadParams.getThreadCount();
+    }
+
+    // Due to peculiarities of JMH reporting we have to divide these by the number of the
+    // concurrent threads running the actual benchmark.
+
+    /** Number of spans exported during the iteration. */
+    public long exportedSpans() {
+      return benchmarkState.iterationExportedSpans / threadCount;
+    }
+
+    /** CPU time spent by the worker thread for each exported span. */
+    public double workerCpuNanosPerSpan() {
+      return benchmarkState.workerCpuTime.getCpuNanosPerSpan() / threadCount;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void startAndEnd_01Thread(
+      BenchmarkState benchmarkState, @SuppressWarnings("unused") ThreadState threadState) {
+    doWork(benchmarkState.tracer);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void startAndEnd_04Threads(
+      BenchmarkState benchmarkState, @SuppressWarnings("unused") ThreadState threadState) {
+    doWork(benchmarkState.tracer);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void startAndEnd_16Threads(
+      BenchmarkState benchmarkState, @SuppressWarnings("unused") ThreadState threadState) {
+    doWork(benchmarkState.tracer);
+  }
+
+  private static void doWork(Tracer tracer) {
+    Span span = tracer.spanBuilder("span").setAttribute("key", "value").startSpan();
+    span.setAttribute("longAttribute", 33L);
+    span.setAttribute("stringAttribute", "test_value");
+    span.addEvent("event", Attributes.of("operation", stringAttributeValue("some_work")));
+    span.end();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Tracks the CPU time consumed by the {@link BatchSpanProcessor} worker threads between two calls
+ * to {@link #start(long)} and {@link #stop(long)}.
+ */
+final class WorkerCpuTime {
+
+  private static final String WORKER_THREAD_PREFIX =
+      BatchSpanProcessor.class.getSimpleName() + "_WorkerThread";
+
+  private long startCpuNanos;
+  private long startSpans;
+  private double cpuNanosPerSpan;
+
+  /** Records the starting point, to be called when an iteration starts. */
+  void start(long exportedSpans) {
+    startCpuNanos = totalCpuNanos();
+    startSpans = exportedSpans;
+  }
+
+  /** Computes the worker CPU time per exported span since the last {@link #start(long)}. */
+  void stop(long exportedSpans) {
+    long spans = exportedSpans - startSpans;
+    cpuNanosPerSpan = spans == 0 ? 0 : (double) (totalCpuNanos() - startCpuNanos) / spans;
+  }
+
+  double getCpuNanosPerSpan() {
+    return cpuNanosPerSpan;
+  }
+
+  private static long totalCpuNanos() {
+    ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith(WORKER_THREAD_PREFIX)) {
+        long cpuNanos = threadMxBean.getThreadCpuTime(thread.getId());
+        if (cpuNanos > 0) {
+          total += cpuNanos;
+        }
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import io.opentelemetry.OpenTelemetry;
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.metrics.AsynchronousInstrument;
+import io.opentelemetry.metrics.AsynchronousInstrument.LongResult;
+import io.opentelemetry.metrics.LongSumObserver;
+import io.opentelemetry.metrics.LongUpDownSumObserver;
+import io.opentelemetry.metrics.Meter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.DaemonThreadFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Sends the requests of an exporter, and retries the ones failing with a retryable error as
+ * configured by a {@link RetryPolicy}.
+ *
+ * <p>The requests waiting for their next attempt are kept in memory, up to {@link
+ * RetryPolicy#getMaxBufferedBytes()}. When a new request doesn't fit, the oldest ones are dropped
+ * first. The result returned by {@link #send(Object, long)} completes once the request is
+ * accepted, or once it is dropped: after a non-retryable error or its last attempt, to make room in
+ * the buffer, or on {@link #shutdown()}.
+ *
+ * <p>Since the result only completes after the last attempt, a caller that waits for it before
+ * sending the next request keeps at most one request in the buffer. For example a {@code
+ * BatchSpanProcessor} with a single concurrent export waits for the whole backoff, and its queue
+ * drops the newest spans during an outage while the buffer stays almost empty. Allow more
+ * concurrent exports to let the buffer hold the requests of several batches.
+ *
+ * <p>The retried, dropped and buffered bytes of each exporter are reported to the global meter,
+ * with an {@code exporter} label, and can also be read from this class.
+ *
+ * @param <R> the type of the requests.
+ */
+@ThreadSafe
+public final class RetryBuffer<R> {
+
+  /**
+   * Sends the requests of a {@link RetryBuffer}.
+   *
+   * @param <R> the type of the requests.
+   */
+  public interface Sender<R> {
+    /**
+     * Sends the request, and completes the callback once the outcome is known. The callback can
+     * be called from any thread.
+     *
+     * @param request the request to send.
+     * @param callback the callback to complete.
+     */
+    void send(R request, Callback callback);
+  }
+
+  /** Receives the outcome of an attempt to send a request. */
+  public interface Callback {
+    /** Called when the request was accepted. */
+    void onSuccess();
+
+    /**
+     * Called when the request failed.
+     *
+     * @param t the cause of the failure.
+     * @param retryable whether sending the request again could succeed.
+     */
+    void onFailure(Throwable t, boolean retryable);
+  }
+
+  private static final Logger logger = Logger.getLogger(RetryBuffer.class.getName());
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  // Weakly referenced, so that the exporters that are never shut down can still be collected.
+  private static final Set<RetryBuffer<?>> buffers =
+      Collections.newSetFromMap(new WeakHashMap<RetryBuffer<?>, Boolean>());
+
+  static {
+    Meter meter = OpenTelemetry.getMeter("io.opentelemetry.sdk.common");
+    LongSumObserver retriedBytes =
+        meter
+            .longSumObserverBuilder("retriedBytes")
+            .setUnit("By")
+            .setDescription("The number of bytes of the requests sent again by the exporters.")
+            .build();
+    retriedBytes.setCallback(
+        new AsynchronousInstrument.Callback<LongResult>() {
+          @Override
+          public void update(LongResult result) {
+            for (RetryBuffer<?> buffer : getBuffers()) {
+              result.observe(buffer.getRetriedBytes(), buffer.labels);
+            }
+          }
+        });
+    LongSumObserver droppedBytes =
+        meter
+            .longSumObserverBuilder("droppedBytes")
+            .setUnit("By")
+            .setDescription(
+                "The number of bytes of the requests the exporters gave up on, after an error, "
+                    + "to make room in their retry buffer or on shutdown.")
+            .build();
+    droppedBytes.setCallback(
+        new AsynchronousInstrument.Callback<LongResult>() {
+          @Override
+          public void update(LongResult result) {
+            for (RetryBuffer<?> buffer : getBuffers()) {
+              result.observe(buffer.getDroppedBytes(), buffer.labels);
+            }
+          }
+        });
+    LongUpDownSumObserver bufferedBytes =
+        meter
+            .longUpDownSumObserverBuilder("bufferedBytes")
+            .setUnit("By")
+            .setDescription("The number of bytes of the requests waiting to be retried.")
+            .build();
+    bufferedBytes.setCallback(
+        new AsynchronousInstrument.Callback<LongResult>() {
+          @Override
+          public void update(LongResult result) {
+            for (RetryBuffer<?> buffer : getBuffers()) {
+              result.observe(buffer.getBufferedBytes(), buffer.labels);
+            }
+          }
+        });
+  }
+
+  private final String exporterName;
+  private final Labels labels;
+  private final RetryPolicy retryPolicy;
+  private final Sender<R> sender;
+  private final ScheduledThreadPoolExecutor scheduler;
+  private final AtomicLong retriedBytes = new AtomicLong();
+  private final AtomicLong droppedBytes = new AtomicLong();
+
+  private final Object lock = new Object();
+
+  // The requests waiting for their next attempt, oldest first.
+  @GuardedBy("lock")
+  private final Set<Request> buffered = new LinkedHashSet<>();
+
+  @GuardedBy("lock")
+  private long bufferedBytes;
+
+  @GuardedBy("lock")
+  private boolean isShutdown;
+
+  private RetryBuffer(String exporterName, RetryPolicy retryPolicy, Sender<R> sender) {
+    this.exporterName = exporterName;
+    this.labels = Labels.of("exporter", exporterName);
+    this.retryPolicy = retryPolicy;
+    this.sender = sender;
+    // The thread is only started when the first retry is scheduled, and stops once idle.
+    this.scheduler =
+        new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory(exporterName + "_RetryBuffer"));
+    this.scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    this.scheduler.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Creates a new {@link RetryBuffer}.
+   *
+   * @param exporterName the name of the exporter, used for the metrics, the logs and the name of
+   *     the thread scheduling the retries.
+   * @param retryPolicy the retry policy.
+   * @param sender the sender of the requests.
+   * @param <R> the type of the requests.
+   * @return a new {@link RetryBuffer}.
+   */
+  public static <R> RetryBuffer<R> create(
+      String exporterName, RetryPolicy retryPolicy, Sender<R> sender) {
+    RetryBuffer<R> buffer = new RetryBuffer<>(exporterName, retryPolicy, sender);
+    synchronized (buffers) {
+      buffers.add(buffer);
+    }
+    return buffer;
+  }
+
+  private static List<RetryBuffer<?>> getBuffers() {
+    synchronized (buffers) {
+      return new ArrayList<>(buffers);
+    }
+  }
+
+  /**
+   * Sends the request, retrying it after a retryable error.
+   *
+   * @param request the request to send.
+   * @param size the serialized size of the request, in bytes.
+   * @return the result of the operation, which completes when the request is accepted or dropped.
+   */
+  public CompletableResultCode send(R request, long size) {
+    Request pending = new Request(request, size);
+    boolean shutdown;
+    synchronized (lock) {
+      shutdown = isShutdown;
+    }
+    if (shutdown) {
+      drop(pending);
+    } else {
+      attempt(pending);
+    }
+    return pending.result;
+  }
+
+  /**
+   * Returns the number of bytes of the requests sent again since this buffer was created.
+   *
+   * @return the number of bytes of the requests sent again.
+   */
+  public long getRetriedBytes() {
+    return retriedBytes.get();
+  }
+
+  /**
+   * Returns the number of bytes of the requests dropped since this buffer was created.
+   *
+   * @return the number of bytes of the requests dropped.
+   */
+  public long getDroppedBytes() {
+    return droppedBytes.get();
+  }
+
+  /**
+   * Returns the number of bytes of the requests currently waiting to be retried.
+   *
+   * @return the number of bytes of the requests waiting to be retried.
+   */
+  public long getBufferedBytes() {
+    synchronized (lock) {
+      return bufferedBytes;
+    }
+  }
+
+  /**
+   * Drops the requests waiting to be retried, and the requests failing from now on. The requests
+   * being sent are not cancelled.
+   */
+  public void shutdown() {
+    List<Request> dropped;
+    synchronized (lock) {
+      isShutdown = true;
+      dropped = new ArrayList<>(buffered);
+      buffered.clear();
+      bufferedBytes = 0;
+    }
+    scheduler.shutdownNow();
+    synchronized (buffers) {
+      buffers.remove(this);
+    }
+    for (Request request : dropped) {
+      drop(request);
+    }
+  }
+
+  private void attempt(Request request) {
+    request.attempts++;
+    try {
+      sender.send(request.request, request);
+    } catch (RuntimeException e) {
+      request.onFailure(e, false);
+    }
+  }
+
+  private void onFailure(Request request, Throwable t, boolean retryable) {
+    if (!retryable || request.attempts >= retryPolicy.getMaxAttempts()) {
+      logger.log(
+          Level.WARNING,
+          exporterName
+              + " failed to export a request of "
+              + request.size
+              + " bytes after "
+              + request.attempts
+              + (request.attempts == 1 ? " attempt" : " attempts"),
+          t);
+      drop(request);
+      return;
+    }
+
+    List<Request> evicted = new ArrayList<>();
+    boolean isBuffered = false;
+    synchronized (lock) {
+      if (!isShutdown && request.size <= retryPolicy.getMaxBufferedBytes()) {
+        Iterator<Request> oldest = buffered.iterator();
+        while (bufferedBytes + request.size > retryPolicy.getMaxBufferedBytes()) {
+          Request next = oldest.next();
+          oldest.remove();
+          bufferedBytes -= next.size;
+          evicted.add(next);
+        }
+        buffered.add(request);
+        bufferedBytes += request.size;
+        isBuffered = true;
+      }
+    }
+    if (!evicted.isEmpty()) {
+      logger.log(
+          Level.WARNING,
+          exporterName
+              + " dropped "
+              + evicted.size()
+              + " request(s) waiting to be retried, the retry buffer is full");
+      for (Request next : evicted) {
+        drop(next);
+      }
+    }
+    if (!isBuffered) {
+      logger.log(Level.WARNING, exporterName + " failed to export a request", t);
+      drop(request);
+      return;
+    }
+
+    long delayMillis = jitter(retryPolicy.getBackoffMillis(request.attempts));
+    logger.log(
+        Level.FINE,
+        exporterName + " failed to export a request, retrying in " + delayMillis + "ms",
+        t);
+    try {
+      scheduler.schedule(request, delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // Shut down concurrently, the request is dropped unless the shutdown already did it.
+      if (unbuffer(request)) {
+        drop(request);
+      }
+    }
+  }
+
+  private void retry(Request request) {
+    // The request may have been dropped while waiting.
+    if (unbuffer(request)) {
+      retriedBytes.addAndGet(request.size);
+      attempt(request);
+    }
+  }
+
+  private boolean unbuffer(Request request) {
+    synchronized (lock) {
+      if (!buffered.remove(request)) {
+        return false;
+      }
+      bufferedBytes -= request.size;
+      return true;
+    }
+  }
+
+  private void drop(Request request) {
+    droppedBytes.addAndGet(request.size);
+    request.result.fail();
+  }
+
+  private long jitter(long backoffMillis) {
+    double jitter = retryPolicy.getJitter();
+    double factor = 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+    return (long) (backoffMillis * factor);
+  }
+
+  private final class Request implements Callback, Runnable {
+    private final R request;
+    private final long size;
+    private final CompletableResultCode result = new CompletableResultCode();
+    private int attempts;
+
+    private Request(R request, long size) {
+      this.request = request;
+      this.size = size;
+    }
+
+    @Override
+    public void onSuccess() {
+      result.succeed();
+    }
+
+    @Override
+    public void onFailure(Throwable t, boolean retryable) {
+      RetryBuffer.this.onFailure(this, t, retryable);
+    }
+
+    @Override
+    public void run() {
+      retry(this);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Configures how an exporter retries the requests failing with a retryable error, with an
+ * exponential backoff and jitter, and how many bytes of requests waiting to be retried it keeps in
+ * memory. See {@link RetryBuffer}.
+ */
+@AutoValue
+@Immutable
+public abstract class RetryPolicy {
+  public static final int DEFAULT_MAX_ATTEMPTS = 5;
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500;
+  public static final long DEFAULT_MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(5);
+  public static final double DEFAULT_BACKOFF_MULTIPLIER = 2;
+  public static final double DEFAULT_JITTER = 0.2;
+  public static final long DEFAULT_MAX_BUFFERED_BYTES = 8 * 1024 * 1024;
+
+  private static final RetryPolicy DEFAULT = newBuilder().build();
+  private static final RetryPolicy NO_RETRY = newBuilder().setMaxAttempts(1).build();
+
+  /**
+   * Returns the default {@link RetryPolicy}, which makes up to 5 attempts, waiting from 500ms up to
+   * 5s between them, and keeps up to 8 MiB of requests waiting to be retried.
+   *
+   * @return the default {@link RetryPolicy}.
+   */
+  public static RetryPolicy getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns a {@link RetryPolicy} which never retries the requests.
+   *
+   * @return a {@link RetryPolicy} which never retries the requests.
+   */
+  public static RetryPolicy noRetry() {
+    return NO_RETRY;
+  }
+
+  /**
+   * Returns the max number of attempts to send a request, including the first one.
+   *
+   * @return the max number of attempts to send a request.
+   */
+  public abstract int getMaxAttempts();
+
+  /**
+   * Returns the time to wait before the first retry, in milliseconds.
+   *
+   * @return the time to wait before the first retry.
+   */
+  public abstract long getInitialBackoffMillis();
+
+  /**
+   * Returns the max time to wait before a retry, in milliseconds.
+   *
+   * @return the max time to wait before a retry.
+   */
+  public abstract long getMaxBackoffMillis();
+
+  /**
+   * Returns the factor by which the time to wait grows after each attempt.
+   *
+   * @return the factor by which the time to wait grows after each attempt.
+   */
+  public abstract double getBackoffMultiplier();
+
+  /**
+   * Returns the fraction of the time to wait which is randomized, so that the exporters failing at
+   * the same time don't retry at the same time. With a jitter of 0.2, the exporter waits between
+   * 80% and 120% of the backoff.
+   *
+   * @return the fraction of the time to wait which is randomized.
+   */
+  public abstract double getJitter();
+
+  /**
+   * Returns the max number of bytes of requests waiting to be retried. The oldest requests are
+   * dropped to make room for the new ones.
+   *
+   * @return the max number of bytes of requests waiting to be retried.
+   */
+  public abstract long getMaxBufferedBytes();
+
+  /**
+   * Returns the time to wait before the given retry, without the jitter.
+   *
+   * @param retry the number of the retry, starting at 1.
+   * @return the time to wait in milliseconds.
+   */
+  long getBackoffMillis(int retry) {
+    double backoff = getInitialBackoffMillis() * Math.pow(getBackoffMultiplier(), retry - 1);
+    return (long) Math.min(backoff, getMaxBackoffMillis());
+  }
+
+  /**
+   * Returns a new {@link Builder} with the default values.
+   *
+   * @return a new {@link Builder} with the default values.
+   */
+  public static Builder newBuilder() {
+    return new AutoValue_RetryPolicy.Builder()
+        .setMaxAttempts(DEFAULT_MAX_ATTEMPTS)
+        .setInitialBackoffMillis(DEFAULT_INITIAL_BACKOFF_MILLIS)
+        .setMaxBackoffMillis(DEFAULT_MAX_BACKOFF_MILLIS)
+        .setBackoffMultiplier(DEFAULT_BACKOFF_MULTIPLIER)
+        .setJitter(DEFAULT_JITTER)
+        .setMaxBufferedBytes(DEFAULT_MAX_BUFFERED_BYTES);
+  }
+
+  /**
+   * Returns a {@link Builder} initialized to the same property values as the current instance.
+   *
+   * @return a {@link Builder} initialized to the same property values as the current instance.
+   */
+  public abstract Builder toBuilder();
+
+  /** Builder for {@link RetryPolicy}. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    Builder() {}
+
+    /**
+     * Sets the max number of attempts to send a request, including the first one. 1 disables the
+     * retries.
+     *
+     * @param maxAttempts the max number of attempts, it must be positive.
+     * @return this.
+     */
+    public abstract Builder setMaxAttempts(int maxAttempts);
+
+    /**
+     * Sets the time to wait before the first retry.
+     *
+     * @param initialBackoffMillis the time to wait in milliseconds, it must be positive.
+     * @return this.
+     */
+    public abstract Builder setInitialBackoffMillis(long initialBackoffMillis);
+
+    /**
+     * Sets the max time to wait before a retry.
+     *
+     * @param maxBackoffMillis the max time to wait in milliseconds, it must not be less than the
+     *     initial backoff.
+     * @return this.
+     */
+    public abstract Builder setMaxBackoffMillis(long maxBackoffMillis);
+
+    /**
+     * Sets the factor by which the time to wait grows after each attempt.
+     *
+     * @param backoffMultiplier the factor, it must be at least 1.
+     * @return this.
+     */
+    public abstract Builder setBackoffMultiplier(double backoffMultiplier);
+
+    /**
+     * Sets the fraction of the time to wait which is randomized.
+     *
+     * @param jitter the fraction, between 0 and 1.
+     * @return this.
+     */
+    public abstract Builder setJitter(double jitter);
+
+    /**
+     * Sets the max number of bytes of requests waiting to be retried.
+     *
+     * @param maxBufferedBytes the max number of bytes, it must not be negative.
+     * @return this.
+     */
+    public abstract Builder setMaxBufferedBytes(long maxBufferedBytes);
+
+    abstract RetryPolicy autoBuild();
+
+    /**
+     * Builds and returns a {@code RetryPolicy} with the desired values.
+     *
+     * @return a {@code RetryPolicy} with the desired values.
+     * @throws IllegalArgumentException if any of the values is out of its range.
+     */
+    public RetryPolicy build() {
+      RetryPolicy retryPolicy = autoBuild();
+      Preconditions.checkArgument(retryPolicy.getMaxAttempts() > 0, "maxAttempts");
+      Preconditions.checkArgument(
+          retryPolicy.getInitialBackoffMillis() > 0, "initialBackoffMillis");
+      Preconditions.checkArgument(
+          retryPolicy.getMaxBackoffMillis() >= retryPolicy.getInitialBackoffMillis(),
+          "maxBackoffMillis");
+      Preconditions.checkArgument(retryPolicy.getBackoffMultiplier() >= 1, "backoffMultiplier");
+      Preconditions.checkArgument(
+          retryPolicy.getJitter() >= 0 && retryPolicy.getJitter() <= 1, "jitter");
+      Preconditions.checkArgument(retryPolicy.getMaxBufferedBytes() >= 0, "maxBufferedBytes");
+      return retryPolicy;
+    }
+  }
+}
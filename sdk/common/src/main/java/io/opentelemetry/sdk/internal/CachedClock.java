@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.internal.Utils;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.DaemonThreadFactory;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Clock} that returns a time cached by a background thread, which reads the underlying
+ * clock once per configured resolution. Reading the time is then a plain volatile read instead of a
+ * call to {@link System#nanoTime()} or {@link System#currentTimeMillis()}.
+ *
+ * <p>Both {@link #now()} and {@link #nanoTime()} only advance once per tick, so timestamps and
+ * durations recorded with this clock are only as precise as the resolution. It suits workloads
+ * that record many short spans and do not need their timings beyond that precision.
+ *
+ * <p>The epoch time is derived from the cached {@link System#nanoTime()} and an offset to the wall
+ * clock, which is corrected once it drifted by more than a millisecond (the granularity of {@link
+ * System#currentTimeMillis()}). A correction never moves the epoch time backwards, it stays at its
+ * last value until the corrected time catches up.
+ *
+ * <p>The background thread stops once the clock is no longer referenced.
+ */
+@ThreadSafe
+public final class CachedClock implements Clock {
+  private static final String TICKER_THREAD_NAME = "CachedClock_TickerThread";
+  private static final long SYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAX_DRIFT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final Clock clock;
+  private final long resolutionNanos;
+  private volatile long nanoTime;
+  // Computed by tick(), so that now() is a single read that is consistent with the last tick.
+  private volatile long epochNanos;
+  // Only accessed by the thread calling tick().
+  private long epochOffsetNanos;
+  private long lastSyncNanoTime;
+
+  CachedClock(Clock clock, long resolutionNanos) {
+    Utils.checkArgument(resolutionNanos > 0, "resolution must be positive.");
+    this.clock = clock;
+    this.resolutionNanos = resolutionNanos;
+    long currentNanoTime = clock.nanoTime();
+    this.epochOffsetNanos = clock.now() - currentNanoTime;
+    this.lastSyncNanoTime = currentNanoTime;
+    this.nanoTime = currentNanoTime;
+    this.epochNanos = currentNanoTime + epochOffsetNanos;
+  }
+
+  /**
+   * Returns a {@code CachedClock} that reads the {@link MillisClock} once every {@code resolution},
+   * for example every 100 microseconds.
+   *
+   * @param resolution the interval between two readings of the underlying clock.
+   * @param unit the unit of {@code resolution}.
+   * @return a {@code CachedClock}.
+   */
+  public static CachedClock create(long resolution, TimeUnit unit) {
+    CachedClock cachedClock = new CachedClock(MillisClock.getInstance(), unit.toNanos(resolution));
+    new DaemonThreadFactory(TICKER_THREAD_NAME).newThread(new Ticker(cachedClock)).start();
+    return cachedClock;
+  }
+
+  /**
+   * Returns the epoch timestamp in nanos of the last tick.
+   *
+   * @return the epoch timestamp in nanos of the last tick.
+   */
+  @Override
+  public long now() {
+    return epochNanos;
+  }
+
+  /**
+   * Returns the {@link System#nanoTime()} of the last tick.
+   *
+   * @return the {@link System#nanoTime()} of the last tick.
+   */
+  @Override
+  public long nanoTime() {
+    return nanoTime;
+  }
+
+  /** Returns the interval between two readings of the underlying clock, in nanos. */
+  public long getResolutionNanos() {
+    return resolutionNanos;
+  }
+
+  /** Reads the underlying clock, called by the ticker thread once per resolution. */
+  void tick() {
+    long currentNanoTime = clock.nanoTime();
+    if (currentNanoTime - lastSyncNanoTime >= SYNC_INTERVAL_NANOS) {
+      lastSyncNanoTime = currentNanoTime;
+      long offset = clock.now() - currentNanoTime;
+      if (Math.abs(offset - epochOffsetNanos) > MAX_DRIFT_NANOS) {
+        epochOffsetNanos = offset;
+      }
+    }
+    nanoTime = currentNanoTime;
+    epochNanos = Math.max(epochNanos, currentNanoTime + epochOffsetNanos);
+  }
+
+  // Only keeps a weak reference, so that an unused clock and its thread can go away.
+  private static final class Ticker implements Runnable {
+    private final WeakReference<CachedClock> clockReference;
+    private final long resolutionNanos;
+
+    private Ticker(CachedClock cachedClock) {
+      this.clockReference = new WeakReference<>(cachedClock);
+      this.resolutionNanos = cachedClock.resolutionNanos;
+    }
+
+    @Override
+    public void run() {
+      while (!Thread.currentThread().isInterrupted() && tick()) {
+        LockSupport.parkNanos(resolutionNanos);
+      }
+    }
+
+    // The strong reference only lives for the duration of the tick, not while parked.
+    private boolean tick() {
+      CachedClock cachedClock = clockReference.get();
+      if (cachedClock == null) {
+        return false;
+      }
+      cachedClock.tick();
+      return true;
+    }
+  }
+}
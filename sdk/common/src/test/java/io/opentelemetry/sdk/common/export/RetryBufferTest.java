@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RetryBuffer}. */
+class RetryBufferTest {
+  private static final RetryPolicy FAST_RETRIES =
+      RetryPolicy.newBuilder()
+          .setMaxAttempts(3)
+          .setInitialBackoffMillis(1)
+          .setMaxBackoffMillis(1)
+          .setJitter(0)
+          .build();
+  // Retries which don't happen during the test.
+  private static final RetryPolicy SLOW_RETRIES =
+      RetryPolicy.newBuilder()
+          .setInitialBackoffMillis(TimeUnit.MINUTES.toMillis(1))
+          .setMaxBackoffMillis(TimeUnit.MINUTES.toMillis(1))
+          .setMaxBufferedBytes(100)
+          .build();
+
+  private final FakeSender sender = new FakeSender();
+  private RetryBuffer<String> retryBuffer;
+
+  @AfterEach
+  void tearDown() {
+    if (retryBuffer != null) {
+      retryBuffer.shutdown();
+    }
+  }
+
+  @Test
+  void success() {
+    retryBuffer = RetryBuffer.create("test", FAST_RETRIES, sender);
+    CompletableResultCode result = retryBuffer.send("request", 10);
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(sender.attempts.get()).isEqualTo(1);
+    assertThat(retryBuffer.getRetriedBytes()).isEqualTo(0);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  void unreferencedBuffer_collected() {
+    final WeakReference<RetryBuffer<String>> reference =
+        new WeakReference<>(RetryBuffer.create("test", FAST_RETRIES, sender));
+    await()
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(reference.get()).isNull();
+            });
+  }
+
+  @Test
+  void retryableFailure_retried() {
+    retryBuffer = RetryBuffer.create("test", FAST_RETRIES, sender);
+    sender.outcomes.add(Outcome.RETRYABLE);
+    sender.outcomes.add(Outcome.RETRYABLE);
+    CompletableResultCode result = retryBuffer.send("request", 10).join(10, TimeUnit.SECONDS);
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(sender.attempts.get()).isEqualTo(3);
+    assertThat(retryBuffer.getRetriedBytes()).isEqualTo(20);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(0);
+    assertThat(retryBuffer.getBufferedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  void retryableFailure_droppedAfterMaxAttempts() {
+    retryBuffer = RetryBuffer.create("test", FAST_RETRIES, sender);
+    for (int i = 0; i < 3; i++) {
+      sender.outcomes.add(Outcome.RETRYABLE);
+    }
+    CompletableResultCode result = retryBuffer.send("request", 10).join(10, TimeUnit.SECONDS);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(sender.attempts.get()).isEqualTo(3);
+    assertThat(retryBuffer.getRetriedBytes()).isEqualTo(20);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(10);
+  }
+
+  @Test
+  void nonRetryableFailure_dropped() {
+    retryBuffer = RetryBuffer.create("test", FAST_RETRIES, sender);
+    sender.outcomes.add(Outcome.NOT_RETRYABLE);
+    CompletableResultCode result = retryBuffer.send("request", 10);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(sender.attempts.get()).isEqualTo(1);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(10);
+  }
+
+  @Test
+  void noRetry() {
+    retryBuffer = RetryBuffer.create("test", RetryPolicy.noRetry(), sender);
+    sender.outcomes.add(Outcome.RETRYABLE);
+    CompletableResultCode result = retryBuffer.send("request", 10);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(sender.attempts.get()).isEqualTo(1);
+  }
+
+  @Test
+  void fullBuffer_dropsOldestFirst() {
+    retryBuffer = RetryBuffer.create("test", SLOW_RETRIES, sender);
+    for (int i = 0; i < 3; i++) {
+      sender.outcomes.add(Outcome.RETRYABLE);
+    }
+    CompletableResultCode first = retryBuffer.send("first", 40);
+    CompletableResultCode second = retryBuffer.send("second", 40);
+    assertThat(retryBuffer.getBufferedBytes()).isEqualTo(80);
+    assertThat(first.isDone()).isFalse();
+
+    CompletableResultCode third = retryBuffer.send("third", 40);
+    assertThat(first.isDone()).isTrue();
+    assertThat(first.isSuccess()).isFalse();
+    assertThat(second.isDone()).isFalse();
+    assertThat(third.isDone()).isFalse();
+    assertThat(retryBuffer.getBufferedBytes()).isEqualTo(80);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(40);
+
+    retryBuffer.shutdown();
+    assertThat(second.isDone()).isTrue();
+    assertThat(second.isSuccess()).isFalse();
+    assertThat(third.isDone()).isTrue();
+    assertThat(third.isSuccess()).isFalse();
+    assertThat(retryBuffer.getBufferedBytes()).isEqualTo(0);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(120);
+  }
+
+  @Test
+  void requestLargerThanBuffer_dropped() {
+    retryBuffer = RetryBuffer.create("test", SLOW_RETRIES, sender);
+    sender.outcomes.add(Outcome.RETRYABLE);
+    CompletableResultCode result = retryBuffer.send("request", 101);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(retryBuffer.getBufferedBytes()).isEqualTo(0);
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(101);
+  }
+
+  @Test
+  void sendAfterShutdown_dropped() {
+    retryBuffer = RetryBuffer.create("test", FAST_RETRIES, sender);
+    retryBuffer.shutdown();
+    CompletableResultCode result = retryBuffer.send("request", 10);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(sender.attempts.get()).isEqualTo(0);
+  }
+
+  @Test
+  void senderThrows_dropped() {
+    retryBuffer =
+        RetryBuffer.create(
+            "test",
+            FAST_RETRIES,
+            (request, callback) -> {
+              throw new IllegalStateException("test");
+            });
+    CompletableResultCode result = retryBuffer.send("request", 10);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(retryBuffer.getDroppedBytes()).isEqualTo(10);
+  }
+
+  private enum Outcome {
+    RETRYABLE,
+    NOT_RETRYABLE
+  }
+
+  /** Fails the requests with the queued outcomes, and accepts them once the queue is empty. */
+  private static final class FakeSender implements RetryBuffer.Sender<String> {
+    private final Queue<Outcome> outcomes = new ArrayDeque<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Override
+    public void send(String request, RetryBuffer.Callback callback) {
+      attempts.incrementAndGet();
+      Outcome outcome;
+      synchronized (outcomes) {
+        outcome = outcomes.poll();
+      }
+      if (outcome == null) {
+        callback.onSuccess();
+      } else {
+        callback.onFailure(
+            new IllegalStateException("injected failure"), outcome == Outcome.RETRYABLE);
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RetryPolicy}. */
+class RetryPolicyTest {
+
+  @Test
+  void defaults() {
+    RetryPolicy retryPolicy = RetryPolicy.getDefault();
+    assertThat(retryPolicy.getMaxAttempts()).isEqualTo(RetryPolicy.DEFAULT_MAX_ATTEMPTS);
+    assertThat(retryPolicy.getInitialBackoffMillis())
+        .isEqualTo(RetryPolicy.DEFAULT_INITIAL_BACKOFF_MILLIS);
+    assertThat(retryPolicy.getMaxBackoffMillis()).isEqualTo(RetryPolicy.DEFAULT_MAX_BACKOFF_MILLIS);
+    assertThat(retryPolicy.getBackoffMultiplier())
+        .isEqualTo(RetryPolicy.DEFAULT_BACKOFF_MULTIPLIER);
+    assertThat(retryPolicy.getJitter()).isEqualTo(RetryPolicy.DEFAULT_JITTER);
+    assertThat(retryPolicy.getMaxBufferedBytes()).isEqualTo(RetryPolicy.DEFAULT_MAX_BUFFERED_BYTES);
+    assertThat(RetryPolicy.noRetry().getMaxAttempts()).isEqualTo(1);
+  }
+
+  @Test
+  void backoff_growsExponentiallyUpToMax() {
+    RetryPolicy retryPolicy =
+        RetryPolicy.newBuilder()
+            .setInitialBackoffMillis(100)
+            .setMaxBackoffMillis(1000)
+            .setBackoffMultiplier(3)
+            .build();
+    assertThat(retryPolicy.getBackoffMillis(1)).isEqualTo(100);
+    assertThat(retryPolicy.getBackoffMillis(2)).isEqualTo(300);
+    assertThat(retryPolicy.getBackoffMillis(3)).isEqualTo(900);
+    assertThat(retryPolicy.getBackoffMillis(4)).isEqualTo(1000);
+    assertThat(retryPolicy.getBackoffMillis(100)).isEqualTo(1000);
+  }
+
+  @Test
+  void toBuilder() {
+    RetryPolicy retryPolicy = RetryPolicy.getDefault().toBuilder().setMaxAttempts(2).build();
+    assertThat(retryPolicy.getMaxAttempts()).isEqualTo(2);
+    assertThat(retryPolicy.getMaxBufferedBytes()).isEqualTo(RetryPolicy.DEFAULT_MAX_BUFFERED_BYTES);
+  }
+
+  @Test
+  void invalidValues() {
+    assertThatThrownBy(() -> RetryPolicy.newBuilder().setMaxAttempts(0).build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.newBuilder().setInitialBackoffMillis(0).build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                RetryPolicy.newBuilder()
+                    .setInitialBackoffMillis(1000)
+                    .setMaxBackoffMillis(999)
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.newBuilder().setBackoffMultiplier(0.5).build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.newBuilder().setJitter(1.5).build())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.newBuilder().setMaxBufferedBytes(-1).build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
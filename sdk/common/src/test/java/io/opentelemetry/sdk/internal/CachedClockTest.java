@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link CachedClock}. */
+class CachedClockTest {
+  private static final long EPOCH_NANOS = 1234_000_005_678L;
+  private static final long NANO_TIME = 5_000L;
+
+  // A clock whose epoch time and nanoTime can be moved independently.
+  private static final class DriftingClock implements Clock {
+    private volatile long epochNanos = EPOCH_NANOS;
+    private volatile long nanoTime = NANO_TIME;
+
+    void advanceNanos(long nanos) {
+      epochNanos += nanos;
+      nanoTime += nanos;
+    }
+
+    @Override
+    public long now() {
+      return epochNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+      return nanoTime;
+    }
+  }
+
+  private final DriftingClock clock = new DriftingClock();
+
+  @Test
+  void invalidResolution() {
+    assertThatThrownBy(() -> new CachedClock(clock, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void onlyAdvancesOnTick() {
+    CachedClock cachedClock = new CachedClock(clock, 1000);
+    assertThat(cachedClock.now()).isEqualTo(EPOCH_NANOS);
+    assertThat(cachedClock.nanoTime()).isEqualTo(NANO_TIME);
+
+    clock.advanceNanos(2500);
+    assertThat(cachedClock.now()).isEqualTo(EPOCH_NANOS);
+    assertThat(cachedClock.nanoTime()).isEqualTo(NANO_TIME);
+
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(EPOCH_NANOS + 2500);
+    assertThat(cachedClock.nanoTime()).isEqualTo(NANO_TIME + 2500);
+  }
+
+  @Test
+  void correctsDriftFromWallClock() {
+    CachedClock cachedClock = new CachedClock(clock, 1000);
+    long second = TimeUnit.SECONDS.toNanos(1);
+
+    // Less than a millisecond of drift is within the granularity of the wall clock.
+    clock.epochNanos += 500_000;
+    clock.advanceNanos(second);
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(EPOCH_NANOS + second);
+
+    clock.epochNanos += 1_000_000;
+    clock.advanceNanos(second);
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(clock.now());
+  }
+
+  @Test
+  void correctsDriftWithoutGoingBackwards() {
+    CachedClock cachedClock = new CachedClock(clock, 1000);
+    long second = TimeUnit.SECONDS.toNanos(1);
+
+    clock.advanceNanos(second);
+    cachedClock.tick();
+    clock.advanceNanos(second - 1000);
+    cachedClock.tick();
+    long beforeCorrection = cachedClock.now();
+
+    // The wall clock is set back by 2ms, the epoch time waits for the corrected time to catch up.
+    clock.epochNanos -= 2_000_000;
+    clock.advanceNanos(1000);
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(beforeCorrection);
+
+    clock.advanceNanos(500_000);
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(beforeCorrection);
+
+    clock.advanceNanos(2_000_000);
+    cachedClock.tick();
+    assertThat(cachedClock.now()).isEqualTo(clock.now());
+  }
+
+  @Test
+  void create_ticksInBackground() {
+    CachedClock cachedClock = CachedClock.create(100, TimeUnit.MICROSECONDS);
+    assertThat(cachedClock.getResolutionNanos()).isEqualTo(100_000);
+    long start = cachedClock.nanoTime();
+    await().untilAsserted(() -> assertThat(cachedClock.nanoTime()).isGreaterThan(start));
+    assertThat(cachedClock.now())
+        .isCloseTo(MillisClock.getInstance().now(), within(TimeUnit.SECONDS.toNanos(1)));
+  }
+}
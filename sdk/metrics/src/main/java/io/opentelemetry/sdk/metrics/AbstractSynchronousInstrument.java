@@ -47,10 +47,18 @@ abstract class AbstractSynchronousInstrument<B extends AbstractBoundInstrument>
       return binding;
     }
 
-    // Missing entry or no longer mapped, try to add a new entry.
+    // Missing entry or no longer mapped, try to add a new entry, unless there are too many.
+    Labels seriesLabels = getActiveBatcher().getCardinalityLimiter().limit(labels, boundLabels);
+    if (seriesLabels != labels) {
+      // Folded into another series, usually the overflow one, which is most likely bound already.
+      binding = boundLabels.get(seriesLabels);
+      if (binding != null && binding.bind()) {
+        return binding;
+      }
+    }
     binding = newBinding(getActiveBatcher());
     while (true) {
-      B oldBound = boundLabels.putIfAbsent(labels, binding);
+      B oldBound = boundLabels.putIfAbsent(seriesLabels, binding);
       if (oldBound != null) {
         if (oldBound.bind()) {
           // At this moment it is guaranteed that the Bound is in the map and will not be removed.
@@ -58,7 +66,7 @@ abstract class AbstractSynchronousInstrument<B extends AbstractBoundInstrument>
         }
         // Try to remove the oldBound. This will race with the collect method, but only one will
         // succeed.
-        boundLabels.remove(labels, oldBound);
+        boundLabels.remove(seriesLabels, oldBound);
         continue;
       }
       return binding;
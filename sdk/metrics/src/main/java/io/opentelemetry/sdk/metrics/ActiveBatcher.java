@@ -41,6 +41,11 @@ final class ActiveBatcher implements Batcher {
     return batcher.getAggregator();
   }
 
+  @Override
+  public CardinalityLimiter getCardinalityLimiter() {
+    return batcher.getCardinalityLimiter();
+  }
+
   @Override
   public void batch(Labels labelSet, Aggregator aggregator, boolean mappedAggregator) {
     if (aggregator.hasRecordings()) {
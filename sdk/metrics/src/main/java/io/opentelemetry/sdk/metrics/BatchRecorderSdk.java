@@ -24,58 +24,127 @@ import io.opentelemetry.metrics.DoubleValueRecorder;
 import io.opentelemetry.metrics.LongCounter;
 import io.opentelemetry.metrics.LongUpDownCounter;
 import io.opentelemetry.metrics.LongValueRecorder;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
- * Minimal implementation of the {@link BatchRecorder} that simply redirects the calls to the
- * instruments.
+ * Implementation of the {@link BatchRecorder} that keeps the last value put for each instrument and
+ * records all of them on {@link #record()}.
  *
- * <p>TODO: Add an async queue processing to process batch records.
+ * <p>The values are validated when they are put, and {@link #record()} binds all the instruments
+ * to the shared label set before recording any value, so either all the values are recorded or
+ * none. The measurements are kept between two {@link #record()} calls, recording the same values
+ * again does not allocate.
  */
 final class BatchRecorderSdk implements BatchRecorder {
   private final Labels labelSet;
 
+  @GuardedBy("this")
+  private final List<Measurement> measurements = new ArrayList<>();
+
   BatchRecorderSdk(String... keyValuePairs) {
     this.labelSet = Labels.of(keyValuePairs);
   }
 
   @Override
   public BatchRecorder put(LongValueRecorder valueRecorder, long value) {
-    ((LongValueRecorderSdk) valueRecorder).record(value, labelSet);
+    putLong((LongValueRecorderSdk) valueRecorder, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleValueRecorder valueRecorder, double value) {
-    ((DoubleValueRecorderSdk) valueRecorder).record(value, labelSet);
+    putDouble((DoubleValueRecorderSdk) valueRecorder, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(LongCounter counter, long value) {
-    ((LongCounterSdk) counter).add(value, labelSet);
+    if (value < 0) {
+      throw new IllegalArgumentException("Counters can only increase");
+    }
+    putLong((LongCounterSdk) counter, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleCounter counter, double value) {
-    ((DoubleCounterSdk) counter).add(value, labelSet);
+    if (value < 0) {
+      throw new IllegalArgumentException("Counters can only increase");
+    }
+    putDouble((DoubleCounterSdk) counter, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(LongUpDownCounter upDownCounter, long value) {
-    ((LongUpDownCounterSdk) upDownCounter).add(value, labelSet);
+    putLong((LongUpDownCounterSdk) upDownCounter, value);
     return this;
   }
 
   @Override
   public BatchRecorder put(DoubleUpDownCounter upDownCounter, double value) {
-    ((DoubleUpDownCounterSdk) upDownCounter).add(value, labelSet);
+    putDouble((DoubleUpDownCounterSdk) upDownCounter, value);
     return this;
   }
 
   @Override
-  public void record() {
-    // No-op in this minimal implementation.
+  public synchronized void record() {
+    for (int i = 0; i < measurements.size(); i++) {
+      Measurement measurement = measurements.get(i);
+      measurement.bound = measurement.instrument.bind(labelSet);
+    }
+    for (int i = 0; i < measurements.size(); i++) {
+      Measurement measurement = measurements.get(i);
+      AbstractBoundInstrument bound = measurement.bound;
+      if (measurement.isDouble) {
+        bound.recordDouble(measurement.doubleValue);
+      } else {
+        bound.recordLong(measurement.longValue);
+      }
+      bound.unbind();
+      measurement.bound = null;
+    }
+  }
+
+  private synchronized void putLong(AbstractSynchronousInstrument<?> instrument, long value) {
+    Measurement measurement = getMeasurement(instrument, /* isDouble= */ false);
+    measurement.longValue = value;
+  }
+
+  private synchronized void putDouble(AbstractSynchronousInstrument<?> instrument, double value) {
+    Measurement measurement = getMeasurement(instrument, /* isDouble= */ true);
+    measurement.doubleValue = value;
+  }
+
+  @GuardedBy("this")
+  private Measurement getMeasurement(
+      AbstractSynchronousInstrument<?> instrument, boolean isDouble) {
+    // Batches have a handful of instruments, a linear search is faster than hashing them.
+    for (int i = 0; i < measurements.size(); i++) {
+      Measurement measurement = measurements.get(i);
+      if (measurement.instrument == instrument) {
+        return measurement;
+      }
+    }
+    Measurement measurement = new Measurement(instrument, isDouble);
+    measurements.add(measurement);
+    return measurement;
+  }
+
+  private static final class Measurement {
+    private final AbstractSynchronousInstrument<?> instrument;
+    private final boolean isDouble;
+    private long longValue;
+    private double doubleValue;
+    // Only set while recording.
+    @Nullable private AbstractBoundInstrument bound;
+
+    private Measurement(AbstractSynchronousInstrument<?> instrument, boolean isDouble) {
+      this.instrument = instrument;
+      this.isDouble = isDouble;
+    }
   }
 }
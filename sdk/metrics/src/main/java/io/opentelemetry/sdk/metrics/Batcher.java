@@ -39,6 +39,14 @@ interface Batcher {
    */
   Aggregator getAggregator();
 
+  /**
+   * Returns the {@link CardinalityLimiter} that limits the number of label sets bound to an {@code
+   * Aggregator} by the instrument.
+   *
+   * @return the {@link CardinalityLimiter} of the instrument.
+   */
+  CardinalityLimiter getCardinalityLimiter();
+
   /**
    * Batches multiple entries together that are part of the same metric. It may remove labels from
    * the {@link Labels} and merge aggregations together.
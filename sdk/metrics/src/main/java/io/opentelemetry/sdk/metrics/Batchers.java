@@ -17,6 +17,7 @@
 package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.common.Labels;
+import io.opentelemetry.common.ReadableKeyValuePairs.KeyValueConsumer;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.aggregator.Aggregator;
@@ -24,17 +25,23 @@ import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
 import io.opentelemetry.sdk.metrics.aggregator.NoopAggregator;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
+import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.Point;
 import io.opentelemetry.sdk.metrics.view.Aggregation;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /** A collection of available Batchers. */
 final class Batchers {
+  /** Suffix of the name of the metric counting the label sets over the time series limit. */
+  static final String REJECTED_LABEL_SETS_SUFFIX = ".rejected_label_sets";
 
   static Batcher getNoop() {
     return Noop.INSTANCE;
@@ -44,37 +51,62 @@ final class Batchers {
    * Create a Batcher that uses the "cumulative" Temporality and uses all labels for aggregation.
    * "Cumulative" means that all metrics that are generated will be considered for the lifetime of
    * the Instrument being aggregated.
+   *
+   * <p>The number of series is limited by the {@code cardinalityLimiter}. Unless {@code
+   * maxIdleCollections} is {@code 0}, the series that had no recordings for that many collection
+   * cycles are dropped, and start from zero with a new start time if they are recorded again.
    */
   static Batcher getCumulativeAllLabels(
       InstrumentDescriptor descriptor,
       MeterProviderSharedState meterProviderSharedState,
       MeterSharedState meterSharedState,
-      Aggregation aggregation) {
+      Aggregation aggregation,
+      CardinalityLimiter cardinalityLimiter,
+      int maxIdleCollections) {
     return new AllLabels(
+        descriptor,
         getDefaultMetricDescriptor(descriptor, aggregation),
         meterProviderSharedState.getResource(),
         meterSharedState.getInstrumentationLibraryInfo(),
         aggregation.getAggregatorFactory(descriptor.getValueType()),
         meterProviderSharedState.getClock(),
-        /* delta= */ false);
+        cardinalityLimiter,
+        /* delta= */ false,
+        maxIdleCollections);
   }
 
   /**
    * Create a Batcher that uses the "delta" Temporality and uses all labels for aggregation. "Delta"
    * means that all metrics that are generated are only for the most recent collection interval.
+   *
+   * <p>The number of series in every collection interval is limited by the {@code
+   * cardinalityLimiter}.
    */
   static Batcher getDeltaAllLabels(
       InstrumentDescriptor descriptor,
       MeterProviderSharedState meterProviderSharedState,
       MeterSharedState meterSharedState,
-      Aggregation aggregation) {
+      Aggregation aggregation,
+      CardinalityLimiter cardinalityLimiter) {
     return new AllLabels(
+        descriptor,
         getDefaultMetricDescriptor(descriptor, aggregation),
         meterProviderSharedState.getResource(),
         meterSharedState.getInstrumentationLibraryInfo(),
         aggregation.getAggregatorFactory(descriptor.getValueType()),
         meterProviderSharedState.getClock(),
-        /* delta= */ true);
+        cardinalityLimiter,
+        /* delta= */ true,
+        /* maxIdleCollections= */ 0);
+  }
+
+  /**
+   * Create a Batcher that drops all the labels but the given {@code labelKeys}, before batching the
+   * aggregations with the {@code delegate}. The aggregations of all the label sets that only differ
+   * by the dropped labels are merged together.
+   */
+  static Batcher getFilteredLabels(Set<String> labelKeys, Batcher delegate) {
+    return new FilteredLabels(labelKeys, delegate);
   }
 
   private static final class Noop implements Batcher {
@@ -85,6 +117,11 @@ final class Batchers {
       return NoopAggregator.getFactory().getAggregator();
     }
 
+    @Override
+    public CardinalityLimiter getCardinalityLimiter() {
+      return CardinalityLimiter.unlimited();
+    }
+
     @Override
     public void batch(Labels labelSet, Aggregator aggregator, boolean mappedAggregator) {}
 
@@ -96,29 +133,45 @@ final class Batchers {
 
   private static final class AllLabels implements Batcher {
     private final Descriptor descriptor;
+    private final Descriptor rejectedLabelSetsDescriptor;
     private final Resource resource;
     private final InstrumentationLibraryInfo instrumentationLibraryInfo;
     private final Clock clock;
     private final AggregatorFactory aggregatorFactory;
-    private Map<Labels, Aggregator> aggregatorMap;
-    private long startEpochNanos;
+    private final CardinalityLimiter cardinalityLimiter;
+    // Kept across the collections, and only cleared for delta, to not grow a new map each time.
+    private final Map<Labels, Series> aggregatorMap;
+    private final long creationEpochNanos;
+    // The start time of the new series, for cumulative series it stays the creation time until a
+    // series is evicted.
+    private long newSeriesStartEpochNanos;
+    private long collectionCount;
+    private boolean hasEvictedSeries;
     private final boolean delta;
+    private final int maxIdleCollections;
 
     private AllLabels(
+        InstrumentDescriptor instrumentDescriptor,
         Descriptor descriptor,
         Resource resource,
         InstrumentationLibraryInfo instrumentationLibraryInfo,
         AggregatorFactory aggregatorFactory,
         Clock clock,
-        boolean delta) {
+        CardinalityLimiter cardinalityLimiter,
+        boolean delta,
+        int maxIdleCollections) {
       this.descriptor = descriptor;
+      this.rejectedLabelSetsDescriptor = getRejectedLabelSetsDescriptor(instrumentDescriptor);
       this.resource = resource;
       this.instrumentationLibraryInfo = instrumentationLibraryInfo;
       this.clock = clock;
       this.aggregatorFactory = aggregatorFactory;
+      this.cardinalityLimiter = cardinalityLimiter;
       this.delta = delta;
+      this.maxIdleCollections = maxIdleCollections;
       this.aggregatorMap = new HashMap<>();
-      startEpochNanos = clock.now();
+      creationEpochNanos = clock.now();
+      newSeriesStartEpochNanos = creationEpochNanos;
     }
 
     @Override
@@ -126,40 +179,163 @@ final class Batchers {
       return aggregatorFactory.getAggregator();
     }
 
+    @Override
+    public final CardinalityLimiter getCardinalityLimiter() {
+      return cardinalityLimiter;
+    }
+
     @Override
     public final void batch(Labels labelSet, Aggregator aggregator, boolean unmappedAggregator) {
-      Aggregator currentAggregator = aggregatorMap.get(labelSet);
-      if (currentAggregator == null) {
-        // This aggregator is not mapped, we can use this instance.
-        if (unmappedAggregator) {
-          aggregatorMap.put(labelSet, aggregator);
-          return;
+      Series series = aggregatorMap.get(labelSet);
+      if (series == null) {
+        Labels seriesLabels = cardinalityLimiter.limit(labelSet, aggregatorMap);
+        series = seriesLabels == labelSet ? null : aggregatorMap.get(seriesLabels);
+        if (series == null) {
+          // This aggregator is not mapped, we can use this instance.
+          if (unmappedAggregator) {
+            addSeries(seriesLabels, aggregator);
+            return;
+          }
+          series = addSeries(seriesLabels, aggregatorFactory.getAggregator());
         }
-        currentAggregator = aggregatorFactory.getAggregator();
-        aggregatorMap.put(labelSet, currentAggregator);
       }
-      aggregator.mergeToAndReset(currentAggregator);
+      series.lastRecordedCollection = collectionCount;
+      aggregator.mergeToAndReset(series.aggregator);
+    }
+
+    private Series addSeries(Labels labelSet, Aggregator aggregator) {
+      Series series = new Series(aggregator, newSeriesStartEpochNanos, collectionCount);
+      aggregatorMap.put(labelSet, series);
+      return series;
     }
 
     @Override
     public final List<MetricData> completeCollectionCycle() {
       List<Point> points = new ArrayList<>(aggregatorMap.size());
       long epochNanos = clock.now();
-      for (Map.Entry<Labels, Aggregator> entry : aggregatorMap.entrySet()) {
-        Point point = entry.getValue().toPoint(startEpochNanos, epochNanos, entry.getKey());
+      Iterator<Map.Entry<Labels, Series>> iterator = aggregatorMap.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Labels, Series> entry = iterator.next();
+        Series series = entry.getValue();
+        if (maxIdleCollections > 0
+            && collectionCount - series.lastRecordedCollection >= maxIdleCollections) {
+          iterator.remove();
+          hasEvictedSeries = true;
+          continue;
+        }
+        Point point = series.aggregator.toPoint(series.startEpochNanos, epochNanos, entry.getKey());
         if (point != null) {
           points.add(point);
         }
       }
+      collectionCount++;
       if (delta) {
-        startEpochNanos = epochNanos;
-        aggregatorMap = new HashMap<>();
+        newSeriesStartEpochNanos = epochNanos;
+        aggregatorMap.clear();
+      } else if (hasEvictedSeries) {
+        // A series recorded again after being evicted must not cover the time before it was.
+        newSeriesStartEpochNanos = epochNanos;
+      }
+      MetricData metricData =
+          MetricData.create(descriptor, resource, instrumentationLibraryInfo, points);
+      long rejectedLabelSets = cardinalityLimiter.getRejectedLabelSets();
+      if (rejectedLabelSets == 0) {
+        return Collections.singletonList(metricData);
       }
-      return Collections.singletonList(
-          MetricData.create(descriptor, resource, instrumentationLibraryInfo, points));
+      return Arrays.asList(
+          metricData,
+          MetricData.create(
+              rejectedLabelSetsDescriptor,
+              resource,
+              instrumentationLibraryInfo,
+              Collections.<Point>singletonList(
+                  LongPoint.create(
+                      creationEpochNanos, epochNanos, Labels.empty(), rejectedLabelSets))));
+    }
+  }
+
+  private static final class Series {
+    private final Aggregator aggregator;
+    private final long startEpochNanos;
+    private long lastRecordedCollection;
+
+    private Series(Aggregator aggregator, long startEpochNanos, long lastRecordedCollection) {
+      this.aggregator = aggregator;
+      this.startEpochNanos = startEpochNanos;
+      this.lastRecordedCollection = lastRecordedCollection;
     }
   }
 
+  private static final class FilteredLabels implements Batcher {
+    private final Set<String> labelKeys;
+    private final Batcher delegate;
+
+    private FilteredLabels(Set<String> labelKeys, Batcher delegate) {
+      this.labelKeys = labelKeys;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Aggregator getAggregator() {
+      return delegate.getAggregator();
+    }
+
+    @Override
+    public CardinalityLimiter getCardinalityLimiter() {
+      return delegate.getCardinalityLimiter();
+    }
+
+    @Override
+    public void batch(Labels labelSet, Aggregator aggregator, boolean mappedAggregator) {
+      // The overflow series must stay distinct from the series without any of the kept labels.
+      Labels filtered =
+          CardinalityLimiter.OVERFLOW_LABELS.equals(labelSet)
+              ? labelSet
+              : filterLabels(labelSet, labelKeys);
+      delegate.batch(filtered, aggregator, mappedAggregator);
+    }
+
+    @Override
+    public List<MetricData> completeCollectionCycle() {
+      return delegate.completeCollectionCycle();
+    }
+  }
+
+  /**
+   * Returns the labels of {@code labelSet} whose key is one of the {@code labelKeys}, the {@code
+   * labelSet} itself if all of them are kept.
+   */
+  static Labels filterLabels(Labels labelSet, final Set<String> labelKeys) {
+    final Labels.Builder builder = Labels.newBuilder();
+    final int[] keptLabels = new int[1];
+    labelSet.forEach(
+        new KeyValueConsumer<String>() {
+          @Override
+          public void consume(String key, String value) {
+            if (labelKeys.contains(key)) {
+              builder.setLabel(key, value);
+              keptLabels[0]++;
+            }
+          }
+        });
+    // Most of the time all the labels are kept, or none of them, avoid copying them then.
+    if (keptLabels[0] == labelSet.size()) {
+      return labelSet;
+    }
+    return keptLabels[0] == 0 ? Labels.empty() : builder.build();
+  }
+
+  private static Descriptor getRejectedLabelSetsDescriptor(InstrumentDescriptor descriptor) {
+    return Descriptor.create(
+        descriptor.getName() + REJECTED_LABEL_SETS_SUFFIX,
+        "Number of label sets of "
+            + descriptor.getName()
+            + " that were over the time series limit, and recorded in the overflow series.",
+        "1",
+        Descriptor.Type.MONOTONIC_LONG,
+        descriptor.getConstantLabels());
+  }
+
   private static Descriptor getDefaultMetricDescriptor(
       InstrumentDescriptor descriptor, Aggregation aggregation) {
     return Descriptor.create(
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.common.Labels;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Limits the number of time series, or distinct label sets, of one instrument. The label sets that
+ * do not fit are folded into a single overflow series labelled with {@link #OVERFLOW_LABELS}, and
+ * counted.
+ *
+ * <p>The limit is applied both to the label sets bound by the recording threads, which bounds the
+ * memory used between two collections, and to the series kept by the {@link Batcher}, which bounds
+ * the memory of cumulative instruments and the size of the exported metrics.
+ *
+ * <p>The label sets folded into the overflow series are remembered, up to {@code maxTimeSeries} of
+ * them, so that recording them again neither counts them again nor filters their labels again.
+ */
+@ThreadSafe
+final class CardinalityLimiter {
+  /** The labels of the series that all the label sets over the limit are folded into. */
+  static final Labels OVERFLOW_LABELS = Labels.of("otel.metric.overflow", "true");
+
+  private static final CardinalityLimiter UNLIMITED = new CardinalityLimiter(0, null);
+
+  private final int maxTimeSeries;
+  @Nullable private final Set<String> labelKeys;
+  private final AtomicLong rejectedLabelSets = new AtomicLong();
+  // The label sets that were folded into the overflow series, only looked up once over the limit.
+  private final ConcurrentHashMap<Labels, Boolean> rejected = new ConcurrentHashMap<>();
+
+  /**
+   * Returns a {@link CardinalityLimiter} that allows at most {@code maxTimeSeries} label sets, or
+   * any number of them if {@code maxTimeSeries} is {@code 0}.
+   *
+   * <p>When the instrument only keeps the given {@code labelKeys}, the recording threads bind the
+   * label sets before the other labels are dropped, so there can be many more of them than time
+   * series. A label set over the limit is then bound with only the kept labels instead, and these
+   * are allowed up to twice the limit before using the overflow series.
+   */
+  static CardinalityLimiter create(int maxTimeSeries, @Nullable Set<String> labelKeys) {
+    return maxTimeSeries == 0 ? UNLIMITED : new CardinalityLimiter(maxTimeSeries, labelKeys);
+  }
+
+  static CardinalityLimiter unlimited() {
+    return UNLIMITED;
+  }
+
+  private CardinalityLimiter(int maxTimeSeries, @Nullable Set<String> labelKeys) {
+    this.maxTimeSeries = maxTimeSeries;
+    this.labelKeys = labelKeys;
+  }
+
+  /**
+   * Returns the labels of the series to record the measurements of a label set that is not in the
+   * {@code series} map yet: the {@code labels} themselves while the limit is not reached, otherwise
+   * the labels with only the kept keys as described in {@link #create(int, Set)}, or the overflow
+   * labels.
+   */
+  Labels limit(Labels labels, Map<Labels, ?> series) {
+    if (maxTimeSeries == 0 || series.size() < maxTimeSeries || OVERFLOW_LABELS.equals(labels)) {
+      return labels;
+    }
+    // The overflow series does not count in the limit.
+    int size = series.containsKey(OVERFLOW_LABELS) ? series.size() - 1 : series.size();
+    if (size < maxTimeSeries) {
+      return labels;
+    }
+    if (rejected.containsKey(labels)) {
+      return OVERFLOW_LABELS;
+    }
+    if (labelKeys != null) {
+      Labels filtered = Batchers.filterLabels(labels, labelKeys);
+      if (filtered != labels
+          && (series.containsKey(filtered) || size < 2 * (long) maxTimeSeries)) {
+        return filtered;
+      }
+    }
+    // Once the memory of the rejected label sets is full, the others are counted each time.
+    if (rejected.size() >= maxTimeSeries || rejected.putIfAbsent(labels, Boolean.TRUE) == null) {
+      rejectedLabelSets.incrementAndGet();
+    }
+    return OVERFLOW_LABELS;
+  }
+
+  /**
+   * Returns the number of label sets folded into the overflow series, each of them counted once as
+   * long as no more than {@code maxTimeSeries} label sets were rejected.
+   */
+  long getRejectedLabelSets() {
+    return rejectedLabelSets.get();
+  }
+}
@@ -126,6 +126,11 @@ final class MeterSdk implements Meter {
     return result;
   }
 
+  /** Returns the instruments created by this meter. */
+  Collection<AbstractInstrument> getInstruments() {
+    return meterSharedState.getInstrumentRegistry().getInstruments();
+  }
+
   /** Creates a {@link Batcher}, by using the {@link ViewRegistry} to do the actual work. */
   Batcher createBatcher(
       InstrumentDescriptor descriptor,
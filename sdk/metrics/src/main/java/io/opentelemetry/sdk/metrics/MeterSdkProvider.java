@@ -16,6 +16,7 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.internal.Utils;
 import io.opentelemetry.metrics.MeterProvider;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
@@ -23,6 +24,8 @@ import io.opentelemetry.sdk.internal.ComponentRegistry;
 import io.opentelemetry.sdk.internal.MillisClock;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -42,11 +45,13 @@ public final class MeterSdkProvider implements MeterProvider {
   private final MeterSdkComponentRegistry registry;
   private final MetricProducer metricProducer;
 
-  private MeterSdkProvider(Clock clock, Resource resource) {
+  private MeterSdkProvider(
+      Clock clock, Resource resource, ViewRegistry viewRegistry, int collectionParallelism) {
     this.registry =
         new MeterSdkComponentRegistry(
-            MeterProviderSharedState.create(clock, resource), new ViewRegistry());
-    this.metricProducer = new MetricProducerSdk(this.registry);
+            MeterProviderSharedState.create(clock, resource), viewRegistry);
+    this.metricProducer =
+        new MetricProducerSdk(this.registry, ParallelCollector.create(collectionParallelism));
   }
 
   @Override
@@ -94,6 +99,9 @@ public final class MeterSdkProvider implements MeterProvider {
 
     private Clock clock = MillisClock.getInstance();
     private Resource resource = Resource.getDefault();
+    private final List<InstrumentSelector> viewSelectors = new ArrayList<>();
+    private final List<View> views = new ArrayList<>();
+    private int collectionParallelism = 1;
 
     private Builder() {}
 
@@ -121,13 +129,50 @@ public final class MeterSdkProvider implements MeterProvider {
       return this;
     }
 
+    /**
+     * Registers a {@link View} for the instruments selected by the {@link InstrumentSelector}.
+     * Views are tried in the order they are registered, the first one that selects an instrument
+     * and whose aggregation is available for it is used.
+     *
+     * @param selector the {@link InstrumentSelector} for the instruments the view applies to.
+     * @param view the {@link View} to use for the selected instruments.
+     * @return this
+     */
+    public Builder registerView(@Nonnull InstrumentSelector selector, @Nonnull View view) {
+      Objects.requireNonNull(selector, "selector");
+      Objects.requireNonNull(view, "view");
+      viewSelectors.add(selector);
+      views.add(view);
+      return this;
+    }
+
+    /**
+     * Sets the number of threads that collect the metrics of the instruments in parallel, including
+     * the thread calling {@link MetricProducer#collectAllMetrics()}. The default is 1, the
+     * instruments are collected one after the other by the calling thread.
+     *
+     * <p>The callbacks of the asynchronous instruments are called from these threads too.
+     *
+     * @param collectionParallelism the maximum number of threads collecting the metrics.
+     * @return this
+     */
+    public Builder setCollectionParallelism(int collectionParallelism) {
+      Utils.checkArgument(collectionParallelism > 0, "collectionParallelism must be positive");
+      this.collectionParallelism = collectionParallelism;
+      return this;
+    }
+
     /**
      * Create a new TracerSdkFactory instance.
      *
      * @return An initialized TracerSdkFactory.
      */
     public MeterSdkProvider build() {
-      return new MeterSdkProvider(clock, resource);
+      ViewRegistry viewRegistry = new ViewRegistry();
+      for (int i = 0; i < views.size(); i++) {
+        viewRegistry.registerView(viewSelectors.get(i), views.get(i));
+      }
+      return new MeterSdkProvider(clock, resource, viewRegistry, collectionParallelism);
     }
   }
 
@@ -149,19 +194,20 @@ public final class MeterSdkProvider implements MeterProvider {
 
   private static final class MetricProducerSdk implements MetricProducer {
     private final MeterSdkComponentRegistry registry;
+    private final ParallelCollector collector;
 
-    private MetricProducerSdk(MeterSdkComponentRegistry registry) {
+    private MetricProducerSdk(MeterSdkComponentRegistry registry, ParallelCollector collector) {
       this.registry = registry;
+      this.collector = collector;
     }
 
     @Override
     public Collection<MetricData> collectAllMetrics() {
-      Collection<MeterSdk> meters = registry.getComponents();
-      List<MetricData> result = new ArrayList<>(meters.size());
-      for (MeterSdk meter : meters) {
-        result.addAll(meter.collectAll());
+      List<AbstractInstrument> instruments = new ArrayList<>();
+      for (MeterSdk meter : registry.getComponents()) {
+        instruments.addAll(meter.getInstruments());
       }
-      return Collections.unmodifiableCollection(result);
+      return Collections.unmodifiableCollection(collector.collectAll(instruments));
     }
   }
 }
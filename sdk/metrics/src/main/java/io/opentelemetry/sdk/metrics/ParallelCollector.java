@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.internal.Utils;
+import io.opentelemetry.sdk.common.DaemonThreadFactory;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Collects the metrics of the instruments with up to {@code parallelism} threads, the calling
+ * thread and {@code parallelism - 1} daemon threads that are only started when collecting and stop
+ * when idle.
+ *
+ * <p>Each thread takes the next instrument not collected yet, so a few instruments with many label
+ * sets do not delay the others. When no thread is available, for example while another collection
+ * is running, the calling thread collects the remaining instruments itself.
+ */
+@ThreadSafe
+final class ParallelCollector {
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final int parallelism;
+  @Nullable private final ThreadPoolExecutor executor;
+
+  static ParallelCollector create(int parallelism) {
+    Utils.checkArgument(parallelism > 0, "parallelism must be positive");
+    return new ParallelCollector(parallelism);
+  }
+
+  private ParallelCollector(int parallelism) {
+    this.parallelism = parallelism;
+    if (parallelism == 1) {
+      this.executor = null;
+    } else {
+      this.executor =
+          new ThreadPoolExecutor(
+              0,
+              parallelism - 1,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new SynchronousQueue<Runnable>(),
+              new DaemonThreadFactory("ParallelCollector"));
+    }
+  }
+
+  /**
+   * Collects all the given instruments and returns their metrics, in the order of the instruments.
+   */
+  List<MetricData> collectAll(List<AbstractInstrument> instruments) {
+    int numInstruments = instruments.size();
+    List<MetricData> result = new ArrayList<>(numInstruments);
+    if (executor == null || numInstruments < 2) {
+      for (int i = 0; i < numInstruments; i++) {
+        result.addAll(instruments.get(i).collectAll());
+      }
+      return result;
+    }
+
+    int numTasks = Math.min(parallelism, numInstruments) - 1;
+    CollectTask task = new CollectTask(instruments, numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // All the threads are busy, the calling thread does the work of this task.
+        task.done.countDown();
+      }
+    }
+    task.collect();
+    awaitUninterruptibly(task.done);
+
+    RuntimeException failure = task.failure.get();
+    if (failure != null) {
+      throw failure;
+    }
+    for (int i = 0; i < numInstruments; i++) {
+      result.addAll(task.results.get(i));
+    }
+    return result;
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          latch.await();
+          return;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class CollectTask implements Runnable {
+    private final List<AbstractInstrument> instruments;
+    // Each slot is written by a single thread before counting down, and read after the await.
+    private final List<List<MetricData>> results;
+    private final AtomicInteger nextInstrument = new AtomicInteger();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final CountDownLatch done;
+
+    private CollectTask(List<AbstractInstrument> instruments, int numTasks) {
+      this.instruments = instruments;
+      this.results =
+          new ArrayList<>(Collections.<List<MetricData>>nCopies(instruments.size(), null));
+      this.done = new CountDownLatch(numTasks);
+    }
+
+    @Override
+    public void run() {
+      try {
+        collect();
+      } finally {
+        done.countDown();
+      }
+    }
+
+    private void collect() {
+      int numInstruments = instruments.size();
+      for (int i = nextInstrument.getAndIncrement();
+          i < numInstruments;
+          i = nextInstrument.getAndIncrement()) {
+        try {
+          results.set(i, instruments.get(i).collectAll());
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+      }
+    }
+  }
+}
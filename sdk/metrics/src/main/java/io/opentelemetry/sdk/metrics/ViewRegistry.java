@@ -16,27 +16,33 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import io.opentelemetry.sdk.metrics.view.Aggregation;
 import io.opentelemetry.sdk.metrics.view.Aggregations;
-
-// notes:
-//  specify by pieces of the descriptor.
-//    instrument type
-//    instrument value type
-//    instrument name  (wildcards allowed?)
-//    constant labels (?)
-//    units (?)
-
-// what you can choose:
-//   aggregation
-//   all labels vs. a list of labels
-//   delta vs. cumulative
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Central location for Views to be registered. Registration of a view should eventually be done via
- * the {@link io.opentelemetry.sdk.metrics.MeterSdkProvider}.
+ * Central location for Views to be registered. Views are registered via the {@link
+ * MeterSdkProvider.Builder}, the first registered view that selects an instrument and whose
+ * aggregation is available for it is used. The options that the view does not set, or all of them
+ * if no view selects the instrument, use the defaults for the type of the instrument.
  */
 class ViewRegistry {
+  private static final View DEFAULT_VIEW = View.builder().build();
+
+  private final List<RegisteredView> views = new CopyOnWriteArrayList<>();
+
+  /**
+   * Registers a {@link View} for the instruments selected by the {@code selector}. The registration
+   * only applies to the instruments created after this call.
+   */
+  void registerView(InstrumentSelector selector, View view) {
+    views.add(new RegisteredView(selector, view));
+  }
 
   /**
    * Create a new {@link io.opentelemetry.sdk.metrics.Batcher} for use in metric recording
@@ -47,29 +53,53 @@ class ViewRegistry {
       MeterSharedState meterSharedState,
       InstrumentDescriptor descriptor) {
 
-    Aggregation aggregation = getRegisteredAggregation(descriptor);
+    View view = findView(descriptor);
+    Aggregation aggregation = view.getAggregation();
+    if (aggregation == null) {
+      aggregation = getDefaultAggregation(descriptor.getType());
+    }
+    Set<String> labelKeys = view.getLabelKeys();
+    CardinalityLimiter cardinalityLimiter =
+        CardinalityLimiter.create(view.getMaxTimeSeries(), labelKeys);
 
-    // todo: don't just use the defaults!
-    switch (descriptor.getType()) {
-      case COUNTER:
-      case UP_DOWN_COUNTER:
-      case SUM_OBSERVER:
-      case UP_DOWN_SUM_OBSERVER:
-        return Batchers.getCumulativeAllLabels(
-            descriptor, meterProviderSharedState, meterSharedState, aggregation);
-      case VALUE_RECORDER:
-        // TODO: Revisit the batcher used here for value observers,
-        // currently this does not remove duplicate records in the same cycle.
-      case VALUE_OBSERVER:
-        return Batchers.getDeltaAllLabels(
-            descriptor, meterProviderSharedState, meterSharedState, aggregation);
+    Batcher batcher;
+    // The temporality is not configurable, the exporters do not know about it and derive it from
+    // the type of the points.
+    if (isDelta(descriptor.getType())) {
+      batcher =
+          Batchers.getDeltaAllLabels(
+              descriptor,
+              meterProviderSharedState,
+              meterSharedState,
+              aggregation,
+              cardinalityLimiter);
+    } else {
+      batcher =
+          Batchers.getCumulativeAllLabels(
+              descriptor,
+              meterProviderSharedState,
+              meterSharedState,
+              aggregation,
+              cardinalityLimiter,
+              view.getMaxIdleCollections());
+    }
+    return labelKeys != null ? Batchers.getFilteredLabels(labelKeys, batcher) : batcher;
+  }
+
+  private View findView(InstrumentDescriptor descriptor) {
+    for (RegisteredView registeredView : views) {
+      Aggregation aggregation = registeredView.view.getAggregation();
+      if (registeredView.selector.matches(
+              descriptor.getName(), descriptor.getType(), descriptor.getValueType())
+          && (aggregation == null || aggregation.availableForInstrument(descriptor.getType()))) {
+        return registeredView.view;
+      }
     }
-    throw new IllegalArgumentException("Unknown descriptor type: " + descriptor.getType());
+    return DEFAULT_VIEW;
   }
 
-  private static Aggregation getRegisteredAggregation(InstrumentDescriptor descriptor) {
-    // todo look up based on fields of the descriptor.
-    switch (descriptor.getType()) {
+  private static Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+    switch (instrumentType) {
       case COUNTER:
       case UP_DOWN_COUNTER:
         return Aggregations.sum();
@@ -80,6 +110,32 @@ class ViewRegistry {
       case UP_DOWN_SUM_OBSERVER:
         return Aggregations.lastValue();
     }
-    throw new IllegalArgumentException("Unknown descriptor type: " + descriptor.getType());
+    throw new IllegalArgumentException("Unknown descriptor type: " + instrumentType);
+  }
+
+  private static boolean isDelta(InstrumentType instrumentType) {
+    switch (instrumentType) {
+      case COUNTER:
+      case UP_DOWN_COUNTER:
+      case SUM_OBSERVER:
+      case UP_DOWN_SUM_OBSERVER:
+        return false;
+      case VALUE_RECORDER:
+        // TODO: Revisit the batcher used here for value observers,
+        // currently this does not remove duplicate records in the same cycle.
+      case VALUE_OBSERVER:
+        return true;
+    }
+    throw new IllegalArgumentException("Unknown descriptor type: " + instrumentType);
+  }
+
+  private static final class RegisteredView {
+    private final InstrumentSelector selector;
+    private final View view;
+
+    private RegisteredView(InstrumentSelector selector, View view) {
+      this.selector = selector;
+      this.view = view;
+    }
   }
 }
@@ -46,7 +46,7 @@ abstract class AbstractAggregator implements Aggregator {
   @Override
   public final void recordLong(long value) {
     doRecordLong(value);
-    hasRecordings = true;
+    markRecorded();
   }
 
   /**
@@ -61,7 +61,7 @@ abstract class AbstractAggregator implements Aggregator {
   @Override
   public final void recordDouble(double value) {
     doRecordDouble(value);
-    hasRecordings = true;
+    markRecorded();
   }
 
   /**
@@ -73,6 +73,14 @@ abstract class AbstractAggregator implements Aggregator {
         "This aggregator does not support recording double values.");
   }
 
+  // Only writes the flag when it changes, a write on every recording would make all the threads
+  // recording to this aggregator contend on its cache line.
+  private void markRecorded() {
+    if (!hasRecordings) {
+      hasRecordings = true;
+    }
+  }
+
   @Override
   public boolean hasRecordings() {
     return hasRecordings;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+
+/**
+ * Aggregator that counts the recorded measurements, ignoring their values. Both long and double
+ * measurements are supported and the count is always reported as a {@link LongPoint}.
+ */
+public final class CountAggregator extends AbstractAggregator {
+
+  private static final AggregatorFactory AGGREGATOR_FACTORY =
+      new AggregatorFactory() {
+        @Override
+        public Aggregator getAggregator() {
+          return new CountAggregator();
+        }
+      };
+
+  // Striped, so that threads recording to the same labels do not all contend on one value.
+  private final StripedLongAdder current = new StripedLongAdder();
+
+  /**
+   * Returns an {@link AggregatorFactory} that produces {@link CountAggregator} instances.
+   *
+   * @return an {@link AggregatorFactory} that produces {@link CountAggregator} instances.
+   */
+  public static AggregatorFactory getFactory() {
+    return AGGREGATOR_FACTORY;
+  }
+
+  @Override
+  void doMergeAndReset(Aggregator aggregator) {
+    CountAggregator other = (CountAggregator) aggregator;
+    other.current.add(this.current.sumThenReset());
+  }
+
+  @Override
+  public Point toPoint(long startEpochNanos, long epochNanos, Labels labels) {
+    return LongPoint.create(startEpochNanos, epochNanos, labels, current.sum());
+  }
+
+  @Override
+  public void doRecordLong(long value) {
+    current.add(1);
+  }
+
+  @Override
+  public void doRecordDouble(double value) {
+    current.add(1);
+  }
+}
@@ -16,19 +16,24 @@
 
 package io.opentelemetry.sdk.metrics.aggregator;
 
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.opentelemetry.common.Labels;
 import io.opentelemetry.sdk.metrics.data.MetricData.Point;
 import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.ValueAtPercentile;
 import java.util.Arrays;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 @ThreadSafe
 public final class DoubleMinMaxSumCount extends AbstractAggregator {
 
+  private static final long POSITIVE_INFINITY_BITS =
+      Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+  private static final long NEGATIVE_INFINITY_BITS =
+      Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+
   private static final AggregatorFactory AGGREGATOR_FACTORY =
       new AggregatorFactory() {
         @Override
@@ -37,8 +42,7 @@ public final class DoubleMinMaxSumCount extends AbstractAggregator {
         }
       };
 
-  // The current value. This controls its own internal thread-safety via method access. Don't
-  // try to use its fields directly.
+  // The current value, updated without locks. Don't try to use its fields directly.
   private final DoubleSummary current = new DoubleSummary();
 
   public static AggregatorFactory getFactory() {
@@ -66,81 +70,92 @@ public final class DoubleMinMaxSumCount extends AbstractAggregator {
 
   private static final class DoubleSummary {
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-
-    @GuardedBy("lock")
-    private double sum = 0;
-
-    @GuardedBy("lock")
-    private long count = 0;
-
-    @GuardedBy("lock")
-    private double min = Double.POSITIVE_INFINITY;
-
-    @GuardedBy("lock")
-    private double max = Double.NEGATIVE_INFINITY;
+    // Updated and collected in the same order as in LongMinMaxSumCount, with the same caveat: an
+    // interval can report a sum that is ahead of its count, or a count without a min or max. The
+    // min and max hold the raw bits of the doubles.
+    private final AtomicLong min = new AtomicLong(POSITIVE_INFINITY_BITS);
+    private final AtomicLong max = new AtomicLong(NEGATIVE_INFINITY_BITS);
+    private final StripedDoubleAdder sum = new StripedDoubleAdder();
+    private final StripedLongAdder count = new StripedLongAdder();
 
     private void record(double value) {
-      lock.writeLock().lock();
-      try {
-        count++;
-        sum += value;
-        min = Math.min(value, min);
-        max = Math.max(value, max);
-      } finally {
-        lock.writeLock().unlock();
+      updateMin(value);
+      updateMax(value);
+      sum.add(value);
+      count.add(1);
+      // A no-op unless a collection reset the min and max since the first update. This narrows, but
+      // does not close, the window in which the count ends up in an interval without a min or max.
+      updateMin(value);
+      updateMax(value);
+    }
+
+    private void updateMin(double value) {
+      long currentMin = min.get();
+      while (value < Double.longBitsToDouble(currentMin)
+          && !min.compareAndSet(currentMin, Double.doubleToRawLongBits(value))) {
+        currentMin = min.get();
       }
     }
 
-    public void mergeAndReset(DoubleSummary other) {
-      long myCount;
-      double mySum;
-      double myMin;
-      double myMax;
-      lock.writeLock().lock();
-      try {
-        if (this.count == 0) {
-          return;
-        }
-        myCount = this.count;
-        mySum = this.sum;
-        myMin = this.min;
-        myMax = this.max;
-        this.count = 0;
-        this.sum = 0;
-        this.min = Double.POSITIVE_INFINITY;
-        this.max = Double.NEGATIVE_INFINITY;
-      } finally {
-        lock.writeLock().unlock();
+    private void updateMax(double value) {
+      long currentMax = max.get();
+      while (value > Double.longBitsToDouble(currentMax)
+          && !max.compareAndSet(currentMax, Double.doubleToRawLongBits(value))) {
+        currentMax = max.get();
       }
-      other.lock.writeLock().lock();
-      try {
-        other.count += myCount;
-        other.sum += mySum;
-        other.min = Math.min(myMin, other.min);
-        other.max = Math.max(myMax, other.max);
-      } finally {
-        other.lock.writeLock().unlock();
+    }
+
+    private void mergeAndReset(DoubleSummary other) {
+      long myCount = count.sumThenReset();
+      if (myCount == 0) {
+        return;
       }
+      double mySum = sum.sumThenReset();
+      double myMin = Double.longBitsToDouble(min.getAndSet(POSITIVE_INFINITY_BITS));
+      double myMax = Double.longBitsToDouble(max.getAndSet(NEGATIVE_INFINITY_BITS));
+      other.updateMin(myMin);
+      other.updateMax(myMax);
+      other.sum.add(mySum);
+      other.count.add(myCount);
     }
 
     @Nullable
     private SummaryPoint toPoint(long startEpochNanos, long epochNanos, Labels labels) {
-      lock.readLock().lock();
-      try {
-        return count == 0
-            ? null
-            : SummaryPoint.create(
-                startEpochNanos,
-                epochNanos,
-                labels,
-                count,
-                sum,
-                Arrays.asList(
-                    ValueAtPercentile.create(0.0, min), ValueAtPercentile.create(100.0, max)));
-      } finally {
-        lock.readLock().unlock();
+      long currentCount = count.sum();
+      if (currentCount == 0) {
+        return null;
+      }
+      double currentSum = sum.sum();
+      long currentMinBits = min.get();
+      long currentMaxBits = max.get();
+      double currentMin = Double.longBitsToDouble(currentMinBits);
+      double currentMax = Double.longBitsToDouble(currentMaxBits);
+      // Only possible when a racing recording left the min, the max or both unset, see
+      // LongMinMaxSumCount.
+      if (currentMin > currentMax) {
+        if (currentMinBits == POSITIVE_INFINITY_BITS && currentMaxBits == NEGATIVE_INFINITY_BITS) {
+          return SummaryPoint.create(
+              startEpochNanos,
+              epochNanos,
+              labels,
+              currentCount,
+              currentSum,
+              Collections.<ValueAtPercentile>emptyList());
+        } else if (currentMinBits == POSITIVE_INFINITY_BITS) {
+          currentMin = currentMax;
+        } else {
+          currentMax = currentMin;
+        }
       }
+      return SummaryPoint.create(
+          startEpochNanos,
+          epochNanos,
+          labels,
+          currentCount,
+          currentSum,
+          Arrays.asList(
+              ValueAtPercentile.create(0.0, currentMin),
+              ValueAtPercentile.create(100.0, currentMax)));
     }
   }
 }
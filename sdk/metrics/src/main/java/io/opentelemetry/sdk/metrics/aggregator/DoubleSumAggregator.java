@@ -16,14 +16,12 @@
 
 package io.opentelemetry.sdk.metrics.aggregator;
 
-import com.google.common.util.concurrent.AtomicDouble;
 import io.opentelemetry.common.Labels;
 import io.opentelemetry.sdk.metrics.data.MetricData.DoublePoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.Point;
 
 public final class DoubleSumAggregator extends AbstractAggregator {
 
-  private static final double DEFAULT_VALUE = 0.0;
   private static final AggregatorFactory AGGREGATOR_FACTORY =
       new AggregatorFactory() {
         @Override
@@ -32,8 +30,7 @@ public final class DoubleSumAggregator extends AbstractAggregator {
         }
       };
 
-  // TODO: Change to use DoubleAdder when changed to java8.
-  private final AtomicDouble current = new AtomicDouble(DEFAULT_VALUE);
+  private final StripedDoubleAdder current = new StripedDoubleAdder();
 
   /**
    * Returns an {@link AggregatorFactory} that produces {@link DoubleSumAggregator} instances.
@@ -47,16 +44,16 @@ public final class DoubleSumAggregator extends AbstractAggregator {
   @Override
   void doMergeAndReset(Aggregator aggregator) {
     DoubleSumAggregator other = (DoubleSumAggregator) aggregator;
-    other.current.getAndAdd(this.current.getAndSet(DEFAULT_VALUE));
+    other.current.add(this.current.sumThenReset());
   }
 
   @Override
   public Point toPoint(long startEpochNanos, long epochNanos, Labels labels) {
-    return DoublePoint.create(startEpochNanos, epochNanos, labels, current.get());
+    return DoublePoint.create(startEpochNanos, epochNanos, labels, current.sum());
   }
 
   @Override
   public void doRecordDouble(double value) {
-    current.getAndAdd(value);
+    current.add(value);
   }
 }
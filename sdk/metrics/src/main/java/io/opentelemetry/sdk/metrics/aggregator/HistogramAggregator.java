@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.internal.Utils;
+import io.opentelemetry.sdk.metrics.data.MetricData.HistogramPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Aggregator that counts the recorded values in buckets with explicit boundaries, see {@link
+ * HistogramPoint} for the bounds of each bucket. Both long and double values can be recorded.
+ */
+@ThreadSafe
+public final class HistogramAggregator extends AbstractAggregator {
+  // Up to this number of boundaries a linear scan, which the JIT unrolls, beats a binary search.
+  private static final int MAX_LINEAR_SEARCH_BOUNDARIES = 8;
+
+  private final double[] boundaries;
+  private final List<Double> boundaryList;
+  // Index i counts the values of bucket i, it has one element more than the boundaries.
+  private final AtomicLongArray counts;
+  private final StripedDoubleAdder sum = new StripedDoubleAdder();
+
+  private HistogramAggregator(double[] boundaries, List<Double> boundaryList) {
+    this.boundaries = boundaries;
+    this.boundaryList = boundaryList;
+    this.counts = new AtomicLongArray(boundaries.length + 1);
+  }
+
+  /**
+   * Returns an {@link AggregatorFactory} that produces {@link HistogramAggregator} instances with
+   * the given bucket boundaries.
+   *
+   * @param boundaries the upper boundaries of the buckets, which must be sorted in strictly
+   *     increasing order and not contain {@code NaN}.
+   * @return an {@link AggregatorFactory} that produces {@link HistogramAggregator} instances.
+   * @throws IllegalArgumentException if the boundaries are not sorted or contain {@code NaN}.
+   */
+  public static AggregatorFactory getFactory(List<Double> boundaries) {
+    final double[] boundaryArray = new double[boundaries.size()];
+    for (int i = 0; i < boundaryArray.length; i++) {
+      double boundary = boundaries.get(i);
+      Utils.checkArgument(!Double.isNaN(boundary), "boundaries must not contain NaN.");
+      Utils.checkArgument(
+          i == 0 || boundary > boundaryArray[i - 1],
+          "boundaries must be sorted in strictly increasing order.");
+      boundaryArray[i] = boundary;
+    }
+    final List<Double> boundaryList = Collections.unmodifiableList(new ArrayList<>(boundaries));
+    return new AggregatorFactory() {
+      @Override
+      public Aggregator getAggregator() {
+        return new HistogramAggregator(boundaryArray, boundaryList);
+      }
+    };
+  }
+
+  @Override
+  void doMergeAndReset(Aggregator aggregator) {
+    HistogramAggregator other = (HistogramAggregator) aggregator;
+    // The counts are collected before the sum, and recorded after it. A collected count therefore
+    // always comes with its value in the sum.
+    long totalCount = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      long count = counts.getAndSet(i, 0);
+      if (count != 0) {
+        other.counts.addAndGet(i, count);
+        totalCount += count;
+      }
+    }
+    if (totalCount != 0) {
+      other.sum.add(sum.sumThenReset());
+    }
+  }
+
+  @Nullable
+  @Override
+  public Point toPoint(long startEpochNanos, long epochNanos, Labels labels) {
+    List<Long> bucketCounts = new ArrayList<>(counts.length());
+    long totalCount = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      long count = counts.get(i);
+      bucketCounts.add(count);
+      totalCount += count;
+    }
+    return totalCount == 0
+        ? null
+        : HistogramPoint.create(
+            startEpochNanos,
+            epochNanos,
+            labels,
+            totalCount,
+            sum.sum(),
+            boundaryList,
+            Collections.unmodifiableList(bucketCounts));
+  }
+
+  @Override
+  public void doRecordLong(long value) {
+    record(value);
+  }
+
+  @Override
+  public void doRecordDouble(double value) {
+    record(value);
+  }
+
+  private void record(double value) {
+    sum.add(value);
+    counts.incrementAndGet(findBucket(value));
+  }
+
+  // Returns the index of the first boundary greater than or equal to the value, or the number of
+  // boundaries if there is none. NaN goes to the last bucket.
+  private int findBucket(double value) {
+    double[] localBoundaries = boundaries;
+    if (localBoundaries.length <= MAX_LINEAR_SEARCH_BOUNDARIES) {
+      for (int i = 0; i < localBoundaries.length; i++) {
+        if (value <= localBoundaries[i]) {
+          return i;
+        }
+      }
+      return localBoundaries.length;
+    }
+    int index = Arrays.binarySearch(localBoundaries, value);
+    return index >= 0 ? index : -index - 1;
+  }
+}
@@ -16,13 +16,13 @@
 
 package io.opentelemetry.sdk.metrics.aggregator;
 
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.opentelemetry.common.Labels;
 import io.opentelemetry.sdk.metrics.data.MetricData.Point;
 import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.ValueAtPercentile;
 import java.util.Arrays;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -37,8 +37,7 @@ public final class LongMinMaxSumCount extends AbstractAggregator {
         }
       };
 
-  // The current value. This controls its own internal thread-safety via method access. Don't
-  // try to use its fields directly.
+  // The current value, updated without locks. Don't try to use its fields directly.
   private final LongSummary current = new LongSummary();
 
   public static AggregatorFactory getFactory() {
@@ -67,81 +66,93 @@ public final class LongMinMaxSumCount extends AbstractAggregator {
 
   private static final class LongSummary {
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // record() updates the min and max, then the sum and the count, mergeAndReset() collects the
+    // count first. The fields are not updated atomically together: a recording racing with a
+    // collection may have its sum, min and max collected with one interval and its count with the
+    // next one, so an interval can report a sum that is ahead of its count. The totals over the
+    // intervals stay right, and a value is never counted before its sum is. Likewise an interval
+    // can have a count but no min or max, when a recording adds its count after the collection
+    // read the count and before it reset the min and max. toPoint() then reports the extreme that
+    // is set for both, or no extremes at all.
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+    private final StripedLongAdder sum = new StripedLongAdder();
+    private final StripedLongAdder count = new StripedLongAdder();
 
-    @GuardedBy("lock")
-    private long sum = 0;
-
-    @GuardedBy("lock")
-    private long count = 0;
-
-    @GuardedBy("lock")
-    private long min = Long.MAX_VALUE;
+    private void record(long value) {
+      updateMin(value);
+      updateMax(value);
+      sum.add(value);
+      count.add(1);
+      // Only reads, unless a collection reset the min and max in the meantime. This narrows, but
+      // does not close, the window in which the count ends up in an interval without a min or max.
+      updateMin(value);
+      updateMax(value);
+    }
 
-    @GuardedBy("lock")
-    private long max = Long.MIN_VALUE;
+    // Only writes when the value is a new minimum, which quickly becomes rare.
+    private void updateMin(long value) {
+      long currentMin = min.get();
+      while (value < currentMin && !min.compareAndSet(currentMin, value)) {
+        currentMin = min.get();
+      }
+    }
 
-    private void record(long value) {
-      lock.writeLock().lock();
-      try {
-        count++;
-        sum += value;
-        min = Math.min(value, min);
-        max = Math.max(value, max);
-      } finally {
-        lock.writeLock().unlock();
+    private void updateMax(long value) {
+      long currentMax = max.get();
+      while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+        currentMax = max.get();
       }
     }
 
     private void mergeAndReset(LongSummary other) {
-      long myCount;
-      long mySum;
-      long myMin;
-      long myMax;
-      lock.writeLock().lock();
-      try {
-        if (this.count == 0) {
-          return;
-        }
-        myCount = this.count;
-        mySum = this.sum;
-        myMin = this.min;
-        myMax = this.max;
-        this.count = 0;
-        this.sum = 0;
-        this.min = Long.MAX_VALUE;
-        this.max = Long.MIN_VALUE;
-      } finally {
-        lock.writeLock().unlock();
-      }
-      other.lock.writeLock().lock();
-      try {
-        other.count += myCount;
-        other.sum += mySum;
-        other.min = Math.min(myMin, other.min);
-        other.max = Math.max(myMax, other.max);
-      } finally {
-        other.lock.writeLock().unlock();
+      long myCount = count.sumThenReset();
+      if (myCount == 0) {
+        return;
       }
+      long mySum = sum.sumThenReset();
+      long myMin = min.getAndSet(Long.MAX_VALUE);
+      long myMax = max.getAndSet(Long.MIN_VALUE);
+      other.updateMin(myMin);
+      other.updateMax(myMax);
+      other.sum.add(mySum);
+      other.count.add(myCount);
     }
 
     @Nullable
     private SummaryPoint toPoint(long startEpochNanos, long epochNanos, Labels labels) {
-      lock.readLock().lock();
-      try {
-        return count == 0
-            ? null
-            : SummaryPoint.create(
-                startEpochNanos,
-                epochNanos,
-                labels,
-                count,
-                sum,
-                Arrays.asList(
-                    ValueAtPercentile.create(0.0, min), ValueAtPercentile.create(100.0, max)));
-      } finally {
-        lock.readLock().unlock();
+      long currentCount = count.sum();
+      if (currentCount == 0) {
+        return null;
+      }
+      long currentSum = sum.sum();
+      long currentMin = min.get();
+      long currentMax = max.get();
+      // Only possible when a racing recording left the min, the max or both unset, see above.
+      if (currentMin > currentMax) {
+        if (currentMin == Long.MAX_VALUE && currentMax == Long.MIN_VALUE) {
+          return SummaryPoint.create(
+              startEpochNanos,
+              epochNanos,
+              labels,
+              currentCount,
+              currentSum,
+              Collections.<ValueAtPercentile>emptyList());
+        } else if (currentMin == Long.MAX_VALUE) {
+          currentMin = currentMax;
+        } else {
+          currentMax = currentMin;
+        }
       }
+      return SummaryPoint.create(
+          startEpochNanos,
+          epochNanos,
+          labels,
+          currentCount,
+          currentSum,
+          Arrays.asList(
+              ValueAtPercentile.create(0.0, currentMin),
+              ValueAtPercentile.create(100.0, currentMax)));
     }
   }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.internal.Utils;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.ValueAtPercentile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Aggregator that estimates the 50th, 90th, 99th and 99.9th percentiles of the recorded values with
+ * a mergeable sketch, in the manner of DDSketch. It also reports the exact count, sum, minimum and
+ * maximum of the values.
+ *
+ * <p>The magnitudes of the values are counted in logarithmic bins, bin {@code i} holding the values
+ * in {@code (m * gamma^i, m * gamma^(i + 1)]} where {@code gamma = (1 + a) / (1 - a)}, {@code a}
+ * being the relative accuracy and {@code m} the {@link #MIN_INDEXABLE_VALUE}. Estimating every
+ * value of a bin by the same representative value is then off by at most {@code a} times the
+ * value.
+ *
+ * <p>The bins cover the magnitudes from {@link #MIN_INDEXABLE_VALUE} to {@link
+ * #MAX_INDEXABLE_VALUE}, about {@code ln(1e21) / ln(gamma)} of them, 2.4k for a relative accuracy
+ * of 1%. Values closer to zero are counted as zero and larger ones in the last bin, all the
+ * estimates are clamped to the exact minimum and maximum. The bins are allocated in pages of 64,
+ * each covering a factor of about 3.6 at 1%, when a value first falls in them. The memory therefore
+ * follows the range of the recorded magnitudes rather than the whole indexable range, and the
+ * collection only walks the allocated pages. Recording only allocates the first time it reaches a
+ * page.
+ */
+@ThreadSafe
+public final class QuantileSketchAggregator extends AbstractAggregator {
+  /** The smallest magnitude that is not counted as zero. */
+  public static final double MIN_INDEXABLE_VALUE = 1e-9;
+  /** The largest magnitude that is counted within the accuracy. */
+  public static final double MAX_INDEXABLE_VALUE = 1e12;
+
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+  private static final long POSITIVE_INFINITY_BITS =
+      Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+  private static final long NEGATIVE_INFINITY_BITS =
+      Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+  private static final int PAGE_SHIFT = 6;
+  private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+  private final BinMapping mapping;
+  private final Bins positiveBins;
+  private final Bins negativeBins;
+  private final AtomicLong zeroCount = new AtomicLong();
+  // The bins and the zero count are the count of the values. They are recorded after and collected
+  // before the sum, min and max, like in LongMinMaxSumCount.
+  private final StripedDoubleAdder sum = new StripedDoubleAdder();
+  private final AtomicLong min = new AtomicLong(POSITIVE_INFINITY_BITS);
+  private final AtomicLong max = new AtomicLong(NEGATIVE_INFINITY_BITS);
+
+  private QuantileSketchAggregator(BinMapping mapping) {
+    this.mapping = mapping;
+    this.positiveBins = new Bins(mapping.numberOfBins);
+    this.negativeBins = new Bins(mapping.numberOfBins);
+  }
+
+  /**
+   * Returns an {@link AggregatorFactory} that produces {@link QuantileSketchAggregator} instances.
+   *
+   * @param relativeAccuracy the maximum error of the percentiles, relative to their value, between
+   *     {@code 0.001} and {@code 0.5}. Smaller values use more memory.
+   * @return an {@link AggregatorFactory} that produces {@link QuantileSketchAggregator} instances.
+   * @throws IllegalArgumentException if the relative accuracy is out of range.
+   */
+  public static AggregatorFactory getFactory(double relativeAccuracy) {
+    Utils.checkArgument(
+        relativeAccuracy >= 0.001 && relativeAccuracy <= 0.5,
+        "relativeAccuracy must be between 0.001 and 0.5.");
+    final BinMapping mapping = new BinMapping(relativeAccuracy);
+    return new AggregatorFactory() {
+      @Override
+      public Aggregator getAggregator() {
+        return new QuantileSketchAggregator(mapping);
+      }
+    };
+  }
+
+  @Override
+  void doMergeAndReset(Aggregator aggregator) {
+    QuantileSketchAggregator other = (QuantileSketchAggregator) aggregator;
+    long totalCount = positiveBins.mergeAndReset(other.positiveBins);
+    totalCount += negativeBins.mergeAndReset(other.negativeBins);
+    long myZeroCount = zeroCount.getAndSet(0);
+    other.zeroCount.addAndGet(myZeroCount);
+    totalCount += myZeroCount;
+    if (totalCount == 0) {
+      return;
+    }
+    other.sum.add(sum.sumThenReset());
+    other.updateMin(Double.longBitsToDouble(min.getAndSet(POSITIVE_INFINITY_BITS)));
+    other.updateMax(Double.longBitsToDouble(max.getAndSet(NEGATIVE_INFINITY_BITS)));
+  }
+
+  @Nullable
+  @Override
+  public Point toPoint(long startEpochNanos, long epochNanos, Labels labels) {
+    BinCounts positiveCounts = positiveBins.snapshot();
+    BinCounts negativeCounts = negativeBins.snapshot();
+    long currentZeroCount = zeroCount.get();
+    long totalCount = currentZeroCount + positiveCounts.total + negativeCounts.total;
+    if (totalCount == 0) {
+      return null;
+    }
+    double currentMin = Double.longBitsToDouble(min.get());
+    double currentMax = Double.longBitsToDouble(max.get());
+    List<ValueAtPercentile> percentileValues = new ArrayList<>(PERCENTILES.length + 2);
+    percentileValues.add(ValueAtPercentile.create(0.0, currentMin));
+    for (double percentile : PERCENTILES) {
+      double value =
+          valueAtRank(
+              (long) (percentile / 100.0 * (totalCount - 1)),
+              negativeCounts,
+              currentZeroCount,
+              positiveCounts);
+      percentileValues.add(
+          ValueAtPercentile.create(percentile, Math.min(Math.max(value, currentMin), currentMax)));
+    }
+    percentileValues.add(ValueAtPercentile.create(100.0, currentMax));
+    return SummaryPoint.create(
+        startEpochNanos,
+        epochNanos,
+        labels,
+        totalCount,
+        sum.sum(),
+        Collections.unmodifiableList(percentileValues));
+  }
+
+  // Returns the estimated value of the value at the given rank, counting from the smallest one.
+  private double valueAtRank(
+      long rank, BinCounts negativeCounts, long currentZeroCount, BinCounts positiveCounts) {
+    long seen = 0;
+    // The most negative values are in the last negative bins.
+    long[] counts = negativeCounts.counts;
+    for (int i = counts.length - 1; i >= 0; i--) {
+      seen += counts[i];
+      if (seen > rank) {
+        return -mapping.value(negativeCounts.offset + i);
+      }
+    }
+    seen += currentZeroCount;
+    if (seen > rank) {
+      return 0;
+    }
+    counts = positiveCounts.counts;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen > rank) {
+        return mapping.value(positiveCounts.offset + i);
+      }
+    }
+    // Only reached when a concurrent recording made the bins inconsistent with the count, the
+    // estimate is then clamped to the maximum.
+    return Double.POSITIVE_INFINITY;
+  }
+
+  @Override
+  public void doRecordLong(long value) {
+    record(value);
+  }
+
+  @Override
+  public void doRecordDouble(double value) {
+    record(value);
+  }
+
+  private void record(double value) {
+    updateMin(value);
+    updateMax(value);
+    sum.add(value);
+    if (value > MIN_INDEXABLE_VALUE) {
+      positiveBins.add(mapping.index(value), 1);
+    } else if (value < -MIN_INDEXABLE_VALUE) {
+      negativeBins.add(mapping.index(-value), 1);
+    } else {
+      zeroCount.incrementAndGet();
+    }
+    // A no-op unless a collection reset the min and max since the first update.
+    updateMin(value);
+    updateMax(value);
+  }
+
+  private void updateMin(double value) {
+    long currentMin = min.get();
+    while (value < Double.longBitsToDouble(currentMin)
+        && !min.compareAndSet(currentMin, Double.doubleToRawLongBits(value))) {
+      currentMin = min.get();
+    }
+  }
+
+  private void updateMax(double value) {
+    long currentMax = max.get();
+    while (value > Double.longBitsToDouble(currentMax)
+        && !max.compareAndSet(currentMax, Double.doubleToRawLongBits(value))) {
+      currentMax = max.get();
+    }
+  }
+
+  // The counts of the bins of one sign, in pages of PAGE_SIZE bins allocated when a value first
+  // falls in them. The pages stay allocated once created, cumulative series keep recording in the
+  // same range.
+  private static final class Bins {
+    private final AtomicReferenceArray<AtomicLongArray> pages;
+
+    private Bins(int numberOfBins) {
+      this.pages = new AtomicReferenceArray<>((numberOfBins + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+    }
+
+    private void add(int index, long count) {
+      int pageIndex = index >>> PAGE_SHIFT;
+      AtomicLongArray page = pages.get(pageIndex);
+      if (page == null) {
+        pages.compareAndSet(pageIndex, null, new AtomicLongArray(PAGE_SIZE));
+        page = pages.get(pageIndex);
+      }
+      page.addAndGet(index & (PAGE_SIZE - 1), count);
+    }
+
+    // Moves the counts to the other bins, returns their total.
+    private long mergeAndReset(Bins other) {
+      long totalCount = 0;
+      for (int p = 0; p < pages.length(); p++) {
+        AtomicLongArray page = pages.get(p);
+        if (page == null) {
+          continue;
+        }
+        for (int i = 0; i < PAGE_SIZE; i++) {
+          long count = page.getAndSet(i, 0);
+          if (count != 0) {
+            other.add((p << PAGE_SHIFT) + i, count);
+            totalCount += count;
+          }
+        }
+      }
+      return totalCount;
+    }
+
+    // Copies the counts from the first to the last allocated page.
+    private BinCounts snapshot() {
+      int first = 0;
+      while (first < pages.length() && pages.get(first) == null) {
+        first++;
+      }
+      if (first == pages.length()) {
+        return BinCounts.EMPTY;
+      }
+      int last = pages.length() - 1;
+      while (pages.get(last) == null) {
+        last--;
+      }
+      long[] counts = new long[(last - first + 1) << PAGE_SHIFT];
+      long total = 0;
+      for (int p = first; p <= last; p++) {
+        AtomicLongArray page = pages.get(p);
+        if (page == null) {
+          continue;
+        }
+        int start = (p - first) << PAGE_SHIFT;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+          long count = page.get(i);
+          counts[start + i] = count;
+          total += count;
+        }
+      }
+      return new BinCounts(first << PAGE_SHIFT, counts, total);
+    }
+  }
+
+  // The counts of a range of bins, counts[i] being the count of bin offset + i.
+  private static final class BinCounts {
+    private static final BinCounts EMPTY = new BinCounts(0, new long[0], 0);
+
+    private final int offset;
+    private final long[] counts;
+    private final long total;
+
+    private BinCounts(int offset, long[] counts, long total) {
+      this.offset = offset;
+      this.counts = counts;
+      this.total = total;
+    }
+  }
+
+  // Maps the magnitudes to logarithmic bins, shared by all the aggregators of a factory.
+  private static final class BinMapping {
+    private final double gamma;
+    private final double inverseLogGamma;
+    private final int numberOfBins;
+
+    private BinMapping(double relativeAccuracy) {
+      this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+      this.inverseLogGamma = 1 / Math.log(gamma);
+      this.numberOfBins =
+          (int) Math.ceil(Math.log(MAX_INDEXABLE_VALUE / MIN_INDEXABLE_VALUE) * inverseLogGamma);
+    }
+
+    // The magnitude must be greater than MIN_INDEXABLE_VALUE.
+    private int index(double magnitude) {
+      int index =
+          (int) Math.ceil(Math.log(magnitude / MIN_INDEXABLE_VALUE) * inverseLogGamma) - 1;
+      return Math.max(0, Math.min(index, numberOfBins - 1));
+    }
+
+    // The value with the same relative distance to both bounds of the bin.
+    private double value(int index) {
+      return MIN_INDEXABLE_VALUE * Math.pow(gamma, index + 1) * 2 / (1 + gamma);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
+
+/**
+ * A backport of the Striped64 design behind {@code java.util.concurrent.atomic.LongAdder}, which is
+ * not available on Java 7.
+ *
+ * <p>Updates go to a single {@code base} value until two threads collide on it. From then on each
+ * thread updates one of a table of {@link Cell}s picked by a per-thread hash, and the table grows
+ * up to the number of CPUs while collisions keep happening. The cells are padded so that two of
+ * them do not share a cache line. Readers combine the base and all the cells.
+ *
+ * <p>Values are stored as {@code long}s, subclasses define how an update is combined with the
+ * current value in {@link #apply(long, long)}.
+ */
+abstract class Striped64 {
+  private static final int NUMBER_OF_CPUS = Runtime.getRuntime().availableProcessors();
+
+  private static final AtomicLongFieldUpdater<Striped64> BASE_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(Striped64.class, "base");
+  private static final AtomicIntegerFieldUpdater<Striped64> CELLS_BUSY_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(Striped64.class, "cellsBusy");
+
+  private static final Random HASH_SEED = new Random();
+  // Per-thread hash used to pick a cell, rehashed when the thread collides with another one.
+  private static final ThreadLocal<int[]> THREAD_HASH =
+      new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+          int hash = HASH_SEED.nextInt();
+          return new int[] {hash == 0 ? 1 : hash};
+        }
+      };
+
+  /**
+   * A cell whose value sits in the middle of an array of 17 longs, so that concurrently updated
+   * cells are not on the same cache line.
+   */
+  static final class Cell {
+    private static final int PADDED_LENGTH = 17;
+    private static final int VALUE_INDEX = 8;
+
+    private final AtomicLongArray padded = new AtomicLongArray(PADDED_LENGTH);
+
+    Cell(long value) {
+      padded.set(VALUE_INDEX, value);
+    }
+
+    long get() {
+      return padded.get(VALUE_INDEX);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+      return padded.compareAndSet(VALUE_INDEX, expected, newValue);
+    }
+
+    long getAndSet(long newValue) {
+      return padded.getAndSet(VALUE_INDEX, newValue);
+    }
+  }
+
+  // Power of two length once allocated.
+  @Nullable volatile Cell[] cells;
+  volatile long base;
+  // Spin lock taken while resizing or adding cells.
+  volatile int cellsBusy;
+
+  Striped64(long initialValue) {
+    this.base = initialValue;
+  }
+
+  /** Returns the result of combining the current value of a cell with the update {@code x}. */
+  abstract long apply(long currentValue, long x);
+
+  /** Combines {@code x} into the base or, under contention, into the cell of this thread. */
+  final void update(long x) {
+    Cell[] currentCells = cells;
+    if (currentCells == null) {
+      long currentBase = base;
+      if (casBase(currentBase, apply(currentBase, x))) {
+        return;
+      }
+    }
+    int[] hash = THREAD_HASH.get();
+    boolean uncontended = true;
+    if (currentCells != null) {
+      int length = currentCells.length;
+      Cell cell = currentCells[(length - 1) & hash[0]];
+      if (cell != null) {
+        long value = cell.get();
+        uncontended = cell.compareAndSet(value, apply(value, x));
+        if (uncontended) {
+          return;
+        }
+      }
+    }
+    retryUpdate(x, hash, uncontended);
+  }
+
+  /**
+   * Handles the updates that involve initialization, resizing, creating new cells or contention,
+   * see the {@code Striped64} class of the JDK for the details.
+   */
+  private void retryUpdate(long x, int[] hashHolder, boolean wasUncontended) {
+    int hash = hashHolder[0];
+    boolean collide = false;
+    while (true) {
+      Cell[] currentCells = cells;
+      if (currentCells != null && currentCells.length > 0) {
+        int length = currentCells.length;
+        Cell cell = currentCells[(length - 1) & hash];
+        if (cell == null) {
+          // Try to attach a new cell.
+          if (cellsBusy == 0) {
+            Cell newCell = new Cell(x);
+            if (cellsBusy == 0 && casCellsBusy()) {
+              boolean created = false;
+              try {
+                Cell[] lockedCells = cells;
+                if (lockedCells != null) {
+                  int index = (lockedCells.length - 1) & hash;
+                  if (lockedCells[index] == null) {
+                    lockedCells[index] = newCell;
+                    created = true;
+                  }
+                }
+              } finally {
+                cellsBusy = 0;
+              }
+              if (created) {
+                return;
+              }
+              // The slot is now non-empty.
+              continue;
+            }
+          }
+          collide = false;
+        } else if (!wasUncontended) {
+          // The CAS in update() already failed, continue after a rehash.
+          wasUncontended = true;
+        } else {
+          long value = cell.get();
+          if (cell.compareAndSet(value, apply(value, x))) {
+            return;
+          }
+          if (length >= NUMBER_OF_CPUS || cells != currentCells) {
+            // At max size or stale.
+            collide = false;
+          } else if (!collide) {
+            collide = true;
+          } else if (cellsBusy == 0 && casCellsBusy()) {
+            try {
+              if (cells == currentCells) {
+                Cell[] newCells = new Cell[length << 1];
+                System.arraycopy(currentCells, 0, newCells, 0, length);
+                cells = newCells;
+              }
+            } finally {
+              cellsBusy = 0;
+            }
+            collide = false;
+            // Retry with the expanded table.
+            continue;
+          }
+        }
+        // Xorshift rehash.
+        hash ^= hash << 13;
+        hash ^= hash >>> 17;
+        hash ^= hash << 5;
+        hashHolder[0] = hash;
+      } else if (cellsBusy == 0 && cells == currentCells && casCellsBusy()) {
+        boolean initialized = false;
+        try {
+          if (cells == currentCells) {
+            Cell[] newCells = new Cell[2];
+            newCells[hash & 1] = new Cell(x);
+            cells = newCells;
+            initialized = true;
+          }
+        } finally {
+          cellsBusy = 0;
+        }
+        if (initialized) {
+          return;
+        }
+      } else {
+        // Fall back on the base.
+        long currentBase = base;
+        if (casBase(currentBase, apply(currentBase, x))) {
+          return;
+        }
+      }
+    }
+  }
+
+  private boolean casBase(long expected, long newValue) {
+    return BASE_UPDATER.compareAndSet(this, expected, newValue);
+  }
+
+  private boolean casCellsBusy() {
+    return CELLS_BUSY_UPDATER.compareAndSet(this, 0, 1);
+  }
+
+  /** Atomically replaces the base by {@code resetValue} and returns its previous value. */
+  final long getAndResetBase(long resetValue) {
+    return BASE_UPDATER.getAndSet(this, resetValue);
+  }
+}
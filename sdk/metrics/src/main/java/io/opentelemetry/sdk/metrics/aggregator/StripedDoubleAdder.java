@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+/**
+ * A sum of {@code double} values that stays cheap to update when many threads add to it
+ * concurrently, like {@code java.util.concurrent.atomic.DoubleAdder}. The base and the cells hold
+ * the raw {@code long} bits of the partial sums.
+ *
+ * <p>As the partial sums are combined in no particular order, the result of adding the same values
+ * may differ in the last bits between two runs.
+ */
+final class StripedDoubleAdder extends Striped64 {
+  private static final long ZERO_BITS = Double.doubleToRawLongBits(0.0);
+
+  StripedDoubleAdder() {
+    super(ZERO_BITS);
+  }
+
+  void add(double x) {
+    update(Double.doubleToRawLongBits(x));
+  }
+
+  /** Returns the current sum, which does not include the concurrent updates that are in flight. */
+  double sum() {
+    double sum = Double.longBitsToDouble(base);
+    Cell[] currentCells = cells;
+    if (currentCells != null) {
+      for (Cell cell : currentCells) {
+        if (cell != null) {
+          sum += Double.longBitsToDouble(cell.get());
+        }
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the current sum and resets the adder to zero. Every update is either part of the
+   * returned sum or stays in the adder, since the base and each cell are swapped atomically.
+   */
+  double sumThenReset() {
+    double sum = Double.longBitsToDouble(getAndResetBase(ZERO_BITS));
+    Cell[] currentCells = cells;
+    if (currentCells != null) {
+      for (Cell cell : currentCells) {
+        if (cell != null) {
+          sum += Double.longBitsToDouble(cell.getAndSet(ZERO_BITS));
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  long apply(long currentValue, long x) {
+    return Double.doubleToRawLongBits(
+        Double.longBitsToDouble(currentValue) + Double.longBitsToDouble(x));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+/**
+ * A sum of {@code long} values that stays cheap to update when many threads add to it
+ * concurrently, like {@code java.util.concurrent.atomic.LongAdder}.
+ */
+final class StripedLongAdder extends Striped64 {
+
+  StripedLongAdder() {
+    super(0L);
+  }
+
+  void add(long x) {
+    update(x);
+  }
+
+  /** Returns the current sum, which does not include the concurrent updates that are in flight. */
+  long sum() {
+    long sum = base;
+    Cell[] currentCells = cells;
+    if (currentCells != null) {
+      for (Cell cell : currentCells) {
+        if (cell != null) {
+          sum += cell.get();
+        }
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the current sum and resets the adder to zero. Every update is either part of the
+   * returned sum or stays in the adder, since the base and each cell are swapped atomically.
+   */
+  long sumThenReset() {
+    long sum = getAndResetBase(0L);
+    Cell[] currentCells = cells;
+    if (currentCells != null) {
+      for (Cell cell : currentCells) {
+        if (cell != null) {
+          sum += cell.getAndSet(0L);
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  long apply(long currentValue, long x) {
+    return currentValue + x;
+  }
+}
@@ -197,6 +197,62 @@ public abstract class MetricData {
     }
   }
 
+  /**
+   * HistogramPoint is a single data point that counts the values of a time series in buckets with
+   * explicit boundaries.
+   *
+   * <p>The bucket at index {@code i} counts the values {@code v} with {@code boundaries[i - 1] < v
+   * <= boundaries[i]}, the first bucket has no lower bound and the last one, at index {@code
+   * boundaries.size()}, has no upper bound.
+   */
+  @Immutable
+  @AutoValue
+  public abstract static class HistogramPoint extends Point {
+
+    HistogramPoint() {}
+
+    /**
+     * The number of values in the histogram, which is the sum of the bucket counts.
+     *
+     * @return the number of values in the histogram.
+     */
+    public abstract long getCount();
+
+    /**
+     * The sum of all the values in the histogram.
+     *
+     * @return the sum of the values in the histogram.
+     */
+    public abstract double getSum();
+
+    /**
+     * The sorted upper boundaries of the buckets, except for the last bucket that has no upper
+     * boundary.
+     *
+     * @return the boundaries of the buckets.
+     */
+    public abstract List<Double> getBoundaries();
+
+    /**
+     * The number of values in each bucket, it has one element more than {@link #getBoundaries()}.
+     *
+     * @return the counts of the buckets.
+     */
+    public abstract List<Long> getCounts();
+
+    public static HistogramPoint create(
+        long startEpochNanos,
+        long epochNanos,
+        Labels labels,
+        long count,
+        double sum,
+        List<Double> boundaries,
+        List<Long> counts) {
+      return new AutoValue_MetricData_HistogramPoint(
+          startEpochNanos, epochNanos, labels, count, sum, boundaries, counts);
+    }
+  }
+
   @Immutable
   @AutoValue
   public abstract static class ValueAtPercentile {
@@ -273,6 +329,12 @@ public abstract class MetricData {
        * recorded.
        */
       SUMMARY,
+
+      /**
+       * A histogram of measurements of numeric values, counting the measurements in buckets with
+       * explicit boundaries. Reports {@link HistogramPoint} points.
+       */
+      HISTOGRAM,
     }
 
     /**
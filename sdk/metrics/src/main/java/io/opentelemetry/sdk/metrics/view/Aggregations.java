@@ -17,16 +17,19 @@
 package io.opentelemetry.sdk.metrics.view;
 
 import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.aggregator.CountAggregator;
 import io.opentelemetry.sdk.metrics.aggregator.DoubleLastValueAggregator;
 import io.opentelemetry.sdk.metrics.aggregator.DoubleMinMaxSumCount;
 import io.opentelemetry.sdk.metrics.aggregator.DoubleSumAggregator;
+import io.opentelemetry.sdk.metrics.aggregator.HistogramAggregator;
 import io.opentelemetry.sdk.metrics.aggregator.LongLastValueAggregator;
 import io.opentelemetry.sdk.metrics.aggregator.LongMinMaxSumCount;
 import io.opentelemetry.sdk.metrics.aggregator.LongSumAggregator;
-import io.opentelemetry.sdk.metrics.aggregator.NoopAggregator;
+import io.opentelemetry.sdk.metrics.aggregator.QuantileSketchAggregator;
 import io.opentelemetry.sdk.metrics.common.InstrumentType;
 import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
 import io.opentelemetry.sdk.metrics.data.MetricData;
+import java.util.Arrays;
 import javax.annotation.concurrent.Immutable;
 
 public class Aggregations {
@@ -46,7 +49,7 @@ public class Aggregations {
    * recorded measurements).
    *
    * @return an {@code Aggregation} that calculates count of recorded measurements (the number of
-   *     recorded * measurements).
+   *     recorded measurements).
    * @since 0.1.0
    */
   public static Aggregation count() {
@@ -55,9 +58,10 @@ public class Aggregations {
 
   /**
    * Returns an {@code Aggregation} that calculates distribution stats on recorded measurements.
-   * Distribution includes sum, count, histogram, and sum of squared deviations.
+   * Distribution includes sum, count and a histogram of the measurements.
    *
-   * <p>The boundaries for the buckets in the underlying histogram needs to be sorted.
+   * <p>The boundaries for the buckets in the underlying histogram need to be sorted in strictly
+   * increasing order.
    *
    * @param bucketBoundaries bucket boundaries to use for distribution.
    * @return an {@code Aggregation} that calculates distribution stats on recorded measurements.
@@ -89,6 +93,24 @@ public class Aggregations {
     return MinMaxSumCount.INSTANCE;
   }
 
+  /**
+   * Returns an {@code Aggregation} that calculates a summary of all recorded measurements with
+   * estimated percentiles. The summary consists of the count of measurements, the sum of all
+   * measurements, the minimum and maximum values recorded, and the 50th, 90th, 99th and 99.9th
+   * percentiles of the measurements.
+   *
+   * <p>The percentiles are estimated with a sketch that uses a fixed amount of memory per label
+   * set, see {@link QuantileSketchAggregator}.
+   *
+   * @param relativeAccuracy the maximum error of the percentiles, relative to their value, between
+   *     {@code 0.001} and {@code 0.5}.
+   * @return an {@code Aggregation} that calculates a summary of all recorded measurements with
+   *     estimated percentiles.
+   */
+  public static Aggregation quantileSketch(double relativeAccuracy) {
+    return new QuantileSketch(relativeAccuracy);
+  }
+
   private enum MinMaxSumCount implements Aggregation {
     INSTANCE;
 
@@ -117,6 +139,37 @@ public class Aggregations {
     }
   }
 
+  @Immutable
+  private static final class QuantileSketch implements Aggregation {
+    private final AggregatorFactory factory;
+
+    QuantileSketch(double relativeAccuracy) {
+      this.factory = QuantileSketchAggregator.getFactory(relativeAccuracy);
+    }
+
+    @Override
+    public AggregatorFactory getAggregatorFactory(InstrumentValueType instrumentValueType) {
+      return factory;
+    }
+
+    @Override
+    public MetricData.Descriptor.Type getDescriptorType(
+        InstrumentType instrumentType, InstrumentValueType instrumentValueType) {
+      return MetricData.Descriptor.Type.SUMMARY;
+    }
+
+    @Override
+    public String getUnit(String initialUnit) {
+      return initialUnit;
+    }
+
+    @Override
+    public boolean availableForInstrument(InstrumentType instrumentType) {
+      return instrumentType == InstrumentType.VALUE_OBSERVER
+          || instrumentType == InstrumentType.VALUE_RECORDER;
+    }
+  }
+
   @Immutable
   private enum Sum implements Aggregation {
     INSTANCE;
@@ -166,8 +219,7 @@ public class Aggregations {
 
     @Override
     public AggregatorFactory getAggregatorFactory(InstrumentValueType instrumentValueType) {
-      // TODO: Implement count aggregator and use it here.
-      return NoopAggregator.getFactory();
+      return CountAggregator.getFactory();
     }
 
     @Override
@@ -193,19 +245,19 @@ public class Aggregations {
     private final AggregatorFactory factory;
 
     Distribution(Double... bucketBoundaries) {
-      // TODO: Implement distribution aggregator and use it here.
-      this.factory = NoopAggregator.getFactory();
+      this.factory = HistogramAggregator.getFactory(Arrays.asList(bucketBoundaries));
     }
 
     @Override
     public AggregatorFactory getAggregatorFactory(InstrumentValueType instrumentValueType) {
+      // The same aggregator handles long and double values.
       return factory;
     }
 
     @Override
     public MetricData.Descriptor.Type getDescriptorType(
         InstrumentType instrumentType, InstrumentValueType instrumentValueType) {
-      throw new UnsupportedOperationException("Implement this");
+      return MetricData.Descriptor.Type.HISTOGRAM;
     }
 
     @Override
@@ -215,7 +267,8 @@ public class Aggregations {
 
     @Override
     public boolean availableForInstrument(InstrumentType instrumentType) {
-      throw new UnsupportedOperationException("Implement this");
+      return instrumentType == InstrumentType.VALUE_OBSERVER
+          || instrumentType == InstrumentType.VALUE_RECORDER;
     }
   }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Selects the instruments a {@link View} applies to, by name pattern, {@link InstrumentType} and
+ * {@link InstrumentValueType}. Criteria that are not set match all the instruments.
+ *
+ * <p>Example, selecting all the value recorders whose name starts with {@code "http."}:
+ *
+ * <pre>{@code
+ * InstrumentSelector selector =
+ *     InstrumentSelector.builder()
+ *         .setInstrumentNameRegex("http\\..*")
+ *         .setInstrumentType(InstrumentType.VALUE_RECORDER)
+ *         .build();
+ * }</pre>
+ */
+@AutoValue
+@Immutable
+public abstract class InstrumentSelector {
+
+  InstrumentSelector() {}
+
+  /**
+   * Returns the pattern that the whole instrument name must match, or {@code null} to match all the
+   * names.
+   *
+   * @return the pattern that the whole instrument name must match.
+   */
+  @Nullable
+  public abstract Pattern getInstrumentNamePattern();
+
+  /**
+   * Returns the type of the matched instruments, or {@code null} to match all the types.
+   *
+   * @return the type of the matched instruments.
+   */
+  @Nullable
+  public abstract InstrumentType getInstrumentType();
+
+  /**
+   * Returns the value type of the matched instruments, or {@code null} to match all the value
+   * types.
+   *
+   * @return the value type of the matched instruments.
+   */
+  @Nullable
+  public abstract InstrumentValueType getInstrumentValueType();
+
+  /**
+   * Returns {@code true} if the instrument with the given name and types is selected.
+   *
+   * @param instrumentName the name of the instrument.
+   * @param instrumentType the type of the instrument.
+   * @param instrumentValueType the value type of the instrument.
+   * @return {@code true} if the instrument with the given name and types is selected.
+   */
+  public boolean matches(
+      String instrumentName,
+      InstrumentType instrumentType,
+      InstrumentValueType instrumentValueType) {
+    Pattern namePattern = getInstrumentNamePattern();
+    InstrumentType type = getInstrumentType();
+    InstrumentValueType valueType = getInstrumentValueType();
+    return (type == null || type == instrumentType)
+        && (valueType == null || valueType == instrumentValueType)
+        && (namePattern == null || namePattern.matcher(instrumentName).matches());
+  }
+
+  /**
+   * Returns a new {@link Builder} for {@link InstrumentSelector}.
+   *
+   * @return a new {@link Builder} for {@link InstrumentSelector}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@link InstrumentSelector}. */
+  public static final class Builder {
+    @Nullable private Pattern instrumentNamePattern;
+    @Nullable private InstrumentType instrumentType;
+    @Nullable private InstrumentValueType instrumentValueType;
+
+    private Builder() {}
+
+    /**
+     * Selects the instruments whose whole name matches the given pattern.
+     *
+     * @param instrumentNamePattern the pattern that the instrument names must match.
+     * @return this.
+     */
+    public Builder setInstrumentNamePattern(Pattern instrumentNamePattern) {
+      this.instrumentNamePattern =
+          Objects.requireNonNull(instrumentNamePattern, "instrumentNamePattern");
+      return this;
+    }
+
+    /**
+     * Selects the instruments whose whole name matches the given regular expression.
+     *
+     * @param instrumentNameRegex the regular expression that the instrument names must match.
+     * @return this.
+     */
+    public Builder setInstrumentNameRegex(String instrumentNameRegex) {
+      Objects.requireNonNull(instrumentNameRegex, "instrumentNameRegex");
+      return setInstrumentNamePattern(Pattern.compile(instrumentNameRegex));
+    }
+
+    /**
+     * Selects the instruments of the given type.
+     *
+     * @param instrumentType the type of the selected instruments.
+     * @return this.
+     */
+    public Builder setInstrumentType(InstrumentType instrumentType) {
+      this.instrumentType = Objects.requireNonNull(instrumentType, "instrumentType");
+      return this;
+    }
+
+    /**
+     * Selects the instruments of the given value type.
+     *
+     * @param instrumentValueType the value type of the selected instruments.
+     * @return this.
+     */
+    public Builder setInstrumentValueType(InstrumentValueType instrumentValueType) {
+      this.instrumentValueType = Objects.requireNonNull(instrumentValueType, "instrumentValueType");
+      return this;
+    }
+
+    /**
+     * Returns the {@link InstrumentSelector} configured by this builder.
+     *
+     * @return the {@link InstrumentSelector} configured by this builder.
+     */
+    public InstrumentSelector build() {
+      return new AutoValue_InstrumentSelector(
+          instrumentNamePattern, instrumentType, instrumentValueType);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.internal.Utils;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Configures how the measurements of the instruments selected by an {@link InstrumentSelector} are
+ * turned into metrics: the {@link Aggregation}, the label keys that are kept and the limits on the
+ * number of time series. The options that are not set use the defaults for the type of the
+ * instrument.
+ *
+ * <p>Keeping only some of the label keys merges all the label sets that only differ by the dropped
+ * keys into a single time series, which is the main way to reduce the number of exported time
+ * series of an instrument. Limiting the number of time series protects from label values with an
+ * unbounded number of values, like user identifiers: once the limit is reached the new label sets
+ * are recorded in a single overflow series labelled with {@code otel.metric.overflow=true}, and
+ * counted by a {@code <instrument name>.rejected_label_sets} metric.
+ *
+ * <p>Example, counting the requests per HTTP method only:
+ *
+ * <pre>{@code
+ * View view =
+ *     View.builder()
+ *         .setAggregation(Aggregations.count())
+ *         .setLabelKeys("http.method")
+ *         .build();
+ * }</pre>
+ */
+@AutoValue
+@Immutable
+public abstract class View {
+
+  View() {}
+
+  /**
+   * Returns the {@link Aggregation} of the measurements, or {@code null} to use the default one for
+   * the type of the instrument.
+   *
+   * @return the {@link Aggregation} of the measurements.
+   */
+  @Nullable
+  public abstract Aggregation getAggregation();
+
+  /**
+   * Returns the label keys that are kept, or {@code null} to keep all of them.
+   *
+   * @return the label keys that are kept.
+   */
+  @Nullable
+  public abstract Set<String> getLabelKeys();
+
+  /**
+   * Returns the maximum number of time series of every instrument, or {@code 0} if it is not
+   * limited.
+   *
+   * @return the maximum number of time series of every instrument.
+   */
+  public abstract int getMaxTimeSeries();
+
+  /**
+   * Returns the number of collections without recordings after which a cumulative time series is
+   * dropped, or {@code 0} if the time series are never dropped.
+   *
+   * @return the number of collections without recordings after which a time series is dropped.
+   */
+  public abstract int getMaxIdleCollections();
+
+  /**
+   * Returns a new {@link Builder} for {@link View}.
+   *
+   * @return a new {@link Builder} for {@link View}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@link View}. */
+  public static final class Builder {
+    @Nullable private Aggregation aggregation;
+    @Nullable private Set<String> labelKeys;
+    private int maxTimeSeries;
+    private int maxIdleCollections;
+
+    private Builder() {}
+
+    /**
+     * Sets the {@link Aggregation} of the measurements. The aggregation must be available for the
+     * selected instruments, the view is ignored for the other ones.
+     *
+     * @param aggregation the {@link Aggregation} of the measurements.
+     * @return this.
+     */
+    public Builder setAggregation(Aggregation aggregation) {
+      this.aggregation = Objects.requireNonNull(aggregation, "aggregation");
+      return this;
+    }
+
+    /**
+     * Keeps only the given label keys, the other labels of the measurements are dropped. By
+     * default all the labels are kept.
+     *
+     * @param labelKeys the label keys to keep.
+     * @return this.
+     */
+    public Builder setLabelKeys(String... labelKeys) {
+      Objects.requireNonNull(labelKeys, "labelKeys");
+      return setLabelKeys(Arrays.asList(labelKeys));
+    }
+
+    /**
+     * Keeps only the given label keys, the other labels of the measurements are dropped. By
+     * default all the labels are kept.
+     *
+     * @param labelKeys the label keys to keep.
+     * @return this.
+     */
+    public Builder setLabelKeys(Collection<String> labelKeys) {
+      Objects.requireNonNull(labelKeys, "labelKeys");
+      for (String labelKey : labelKeys) {
+        Objects.requireNonNull(labelKey, "labelKey");
+      }
+      this.labelKeys = Collections.unmodifiableSet(new HashSet<>(labelKeys));
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of time series, or distinct label sets, of every selected instrument.
+     * Once it is reached, the measurements of the new label sets are recorded in a single overflow
+     * series. By default the number of time series is not limited.
+     *
+     * <p>For delta instruments the limit applies to the label sets recorded in every collection
+     * interval. For cumulative instruments it also applies to the label sets recorded since the
+     * instrument was created, see {@link #setMaxIdleCollections(int)} to drop the unused ones.
+     *
+     * @param maxTimeSeries the maximum number of time series, greater than {@code 0}.
+     * @return this.
+     */
+    public Builder setMaxTimeSeries(int maxTimeSeries) {
+      Utils.checkArgument(maxTimeSeries > 0, "maxTimeSeries must be greater than 0");
+      this.maxTimeSeries = maxTimeSeries;
+      return this;
+    }
+
+    /**
+     * Drops the time series of cumulative instruments that had no recordings for the given number
+     * of collections. A dropped time series that is recorded again starts from zero, with a new
+     * start time. By default the time series are never dropped.
+     *
+     * @param maxIdleCollections the number of collections without recordings after which a time
+     *     series is dropped, greater than {@code 0}.
+     * @return this.
+     */
+    public Builder setMaxIdleCollections(int maxIdleCollections) {
+      Utils.checkArgument(maxIdleCollections > 0, "maxIdleCollections must be greater than 0");
+      this.maxIdleCollections = maxIdleCollections;
+      return this;
+    }
+
+    /**
+     * Returns the {@link View} configured by this builder.
+     *
+     * @return the {@link View} configured by this builder.
+     */
+    public View build() {
+      return new AutoValue_View(aggregation, labelKeys, maxTimeSeries, maxIdleCollections);
+    }
+  }
+}
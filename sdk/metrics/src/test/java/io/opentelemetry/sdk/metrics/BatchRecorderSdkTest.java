@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.Attributes;
 import io.opentelemetry.common.Labels;
+import io.opentelemetry.metrics.BatchRecorder;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.TestClock;
 import io.opentelemetry.sdk.metrics.data.MetricData;
@@ -122,4 +123,49 @@ class BatchRecorderSdkTest {
                 Collections.singletonList(
                     LongPoint.create(testClock.now(), testClock.now(), labelSet, -12))));
   }
+
+  @Test
+  void batchRecorder_RecordsOnlyOnRecord() {
+    LongCounterSdk longCounter = testSdk.longCounterBuilder("testLongCounter").build();
+    LongValueRecorderSdk longValueRecorder =
+        testSdk.longValueRecorderBuilder("testLongValueRecorder").build();
+    BatchRecorder batchRecorder =
+        testSdk.newBatchRecorder("key", "value").put(longCounter, 12).put(longValueRecorder, 13);
+    assertThat(longCounter.collectAll().get(0).getPoints()).isEmpty();
+    assertThat(longValueRecorder.collectAll().get(0).getPoints()).isEmpty();
+
+    // The last value put for an instrument replaces the previous one.
+    batchRecorder.put(longCounter, 14).record();
+    assertThat(longCounter.collectAll().get(0).getPoints())
+        .containsExactly(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("key", "value"), 14));
+    assertThat(longValueRecorder.collectAll().get(0).getPoints()).hasSize(1);
+  }
+
+  @Test
+  void batchRecorder_RecordTwice() {
+    DoubleCounterSdk doubleCounter = testSdk.doubleCounterBuilder("testDoubleCounter").build();
+    BatchRecorder batchRecorder = testSdk.newBatchRecorder("key", "value").put(doubleCounter, 1.5);
+    batchRecorder.record();
+    batchRecorder.record();
+    assertThat(doubleCounter.collectAll().get(0).getPoints())
+        .containsExactly(
+            DoublePoint.create(testClock.now(), testClock.now(), Labels.of("key", "value"), 3));
+  }
+
+  @Test
+  void batchRecorder_NegativeCounterValue() {
+    LongCounterSdk longCounter = testSdk.longCounterBuilder("testLongCounter").build();
+    DoubleCounterSdk doubleCounter = testSdk.doubleCounterBuilder("testDoubleCounter").build();
+    BatchRecorder batchRecorder = testSdk.newBatchRecorder("key", "value").put(longCounter, 1);
+    assertThrows(IllegalArgumentException.class, () -> batchRecorder.put(longCounter, -1));
+    assertThrows(IllegalArgumentException.class, () -> batchRecorder.put(doubleCounter, -1.0));
+
+    // The rejected values do not replace the previous ones.
+    batchRecorder.record();
+    assertThat(longCounter.collectAll().get(0).getPoints())
+        .containsExactly(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("key", "value"), 1));
+    assertThat(doubleCounter.collectAll().get(0).getPoints()).isEmpty();
+  }
 }
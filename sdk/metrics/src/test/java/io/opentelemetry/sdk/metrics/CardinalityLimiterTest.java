@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.common.Labels;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link CardinalityLimiter}. */
+class CardinalityLimiterTest {
+
+  @Test
+  void unlimited() {
+    CardinalityLimiter limiter = CardinalityLimiter.create(0, null);
+    Map<Labels, Object> series = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      Labels labels = Labels.of("key", "value" + i);
+      assertThat(limiter.limit(labels, series)).isSameAs(labels);
+      series.put(labels, i);
+    }
+    assertThat(limiter.getRejectedLabelSets()).isEqualTo(0);
+  }
+
+  @Test
+  void overflow() {
+    CardinalityLimiter limiter = CardinalityLimiter.create(2, null);
+    Map<Labels, Object> series = new HashMap<>();
+    series.put(CardinalityLimiter.OVERFLOW_LABELS, 0);
+    series.put(Labels.of("key", "value1"), 1);
+    // The overflow series does not count in the limit.
+    assertThat(limiter.limit(Labels.of("key", "value2"), series))
+        .isEqualTo(Labels.of("key", "value2"));
+    series.put(Labels.of("key", "value2"), 2);
+
+    assertThat(limiter.limit(Labels.of("key", "value3"), series))
+        .isEqualTo(CardinalityLimiter.OVERFLOW_LABELS);
+    assertThat(limiter.limit(Labels.of("key", "value4"), series))
+        .isEqualTo(CardinalityLimiter.OVERFLOW_LABELS);
+    assertThat(limiter.getRejectedLabelSets()).isEqualTo(2);
+  }
+
+  @Test
+  void overflow_countsLabelSetsOnce() {
+    CardinalityLimiter limiter = CardinalityLimiter.create(1, null);
+    Map<Labels, Object> series = new HashMap<>();
+    series.put(Labels.of("key", "value1"), 1);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.limit(Labels.of("key", "value2"), series))
+          .isEqualTo(CardinalityLimiter.OVERFLOW_LABELS);
+    }
+    assertThat(limiter.getRejectedLabelSets()).isEqualTo(1);
+
+    // A rejected label set that fits again is not held back.
+    series.clear();
+    assertThat(limiter.limit(Labels.of("key", "value2"), series))
+        .isEqualTo(Labels.of("key", "value2"));
+  }
+
+  @Test
+  void overflow_FilteredLabels() {
+    CardinalityLimiter limiter = CardinalityLimiter.create(1, Collections.singleton("k1"));
+    Map<Labels, Object> series = new HashMap<>();
+    series.put(Labels.of("k1", "v1", "k2", "v1"), 0);
+
+    // Over the limit, the label sets with only the kept labels are used, up to twice the limit.
+    assertThat(limiter.limit(Labels.of("k1", "v1", "k2", "v2"), series))
+        .isEqualTo(Labels.of("k1", "v1"));
+    series.put(Labels.of("k1", "v1"), 1);
+    assertThat(limiter.limit(Labels.of("k1", "v1", "k2", "v3"), series))
+        .isEqualTo(Labels.of("k1", "v1"));
+    assertThat(limiter.limit(Labels.of("k1", "v2", "k2", "v3"), series))
+        .isEqualTo(CardinalityLimiter.OVERFLOW_LABELS);
+    // Labels that do not have any other key than the kept ones cannot be filtered.
+    assertThat(limiter.limit(Labels.of("k1", "v2"), series))
+        .isEqualTo(CardinalityLimiter.OVERFLOW_LABELS);
+    assertThat(limiter.getRejectedLabelSets()).isEqualTo(2);
+  }
+}
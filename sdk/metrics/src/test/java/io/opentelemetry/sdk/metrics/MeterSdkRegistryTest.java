@@ -27,7 +27,11 @@ import io.opentelemetry.sdk.internal.TestClock;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
+import io.opentelemetry.sdk.metrics.view.Aggregations;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.Collection;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +63,40 @@ class MeterSdkRegistryTest {
         NullPointerException.class, () -> MeterSdkProvider.builder().setResource(null), "resource");
   }
 
+  @Test
+  void builder_NullView() {
+    assertThrows(
+        NullPointerException.class,
+        () -> MeterSdkProvider.builder().registerView(InstrumentSelector.builder().build(), null),
+        "view");
+  }
+
+  @Test
+  void builder_RegisterView() {
+    MeterSdkProvider meterProvider =
+        MeterSdkProvider.builder()
+            .setClock(testClock)
+            .setResource(Resource.getEmpty())
+            .registerView(
+                InstrumentSelector.builder().setInstrumentNameRegex("test.*").build(),
+                View.builder().setAggregation(Aggregations.count()).setLabelKeys("k1").build())
+            .build();
+    MeterSdk meterSdk = meterProvider.get("io.opentelemetry.sdk.metrics.MeterSdkRegistryTest");
+    LongCounterSdk longCounter = meterSdk.longCounterBuilder("testLongCounter").build();
+    longCounter.add(10, Labels.of("k1", "v1", "k2", "v2"));
+    longCounter.add(10, Labels.of("k1", "v1", "k2", "v3"));
+
+    assertThat(meterProvider.getMetricProducer().collectAllMetrics())
+        .containsExactly(
+            MetricData.create(
+                Descriptor.create(
+                    "testLongCounter", "", "1", Descriptor.Type.MONOTONIC_LONG, Labels.empty()),
+                Resource.getEmpty(),
+                meterSdk.getInstrumentationLibraryInfo(),
+                Collections.singletonList(
+                    LongPoint.create(testClock.now(), testClock.now(), Labels.of("k1", "v1"), 2))));
+  }
+
   @Test
   void defaultGet() {
     assertThat(meterRegistry.get("test")).isInstanceOf(MeterSdk.class);
@@ -109,4 +147,35 @@ class MeterSdkRegistryTest {
                 Collections.singletonList(
                     LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 10))));
   }
+
+  @Test
+  void builder_InvalidCollectionParallelism() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> MeterSdkProvider.builder().setCollectionParallelism(0),
+        "collectionParallelism");
+  }
+
+  @Test
+  void metricProducer_ParallelCollection() {
+    MeterSdkProvider meterProvider =
+        MeterSdkProvider.builder()
+            .setClock(testClock)
+            .setResource(Resource.getEmpty())
+            .setCollectionParallelism(4)
+            .build();
+    MeterSdk meterSdk = meterProvider.get("io.opentelemetry.sdk.metrics.MeterSdkRegistryTest");
+    for (int i = 0; i < 20; i++) {
+      LongCounterSdk longCounter = meterSdk.longCounterBuilder("testLongCounter" + i).build();
+      for (int j = 0; j < 100; j++) {
+        longCounter.add(j, Labels.of("key", "value" + j));
+      }
+    }
+
+    Collection<MetricData> metrics = meterProvider.getMetricProducer().collectAllMetrics();
+    assertThat(metrics).hasSize(20);
+    for (MetricData metricData : metrics) {
+      assertThat(metricData.getPoints()).hasSize(100);
+    }
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.TestClock;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ParallelCollector}. */
+class ParallelCollectorTest {
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("io.opentelemetry.sdk.metrics.ParallelCollectorTest", null);
+  private final MeterSdk testSdk =
+      new MeterSdk(
+          MeterProviderSharedState.create(TestClock.create(), Resource.getEmpty()),
+          INSTRUMENTATION_LIBRARY_INFO,
+          new ViewRegistry());
+
+  @Test
+  void invalidParallelism() {
+    assertThatThrownBy(() -> ParallelCollector.create(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void collectAll_InOrder() {
+    List<AbstractInstrument> instruments = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      LongCounterSdk counter = testSdk.longCounterBuilder("counter" + i).build();
+      counter.add(i, Labels.empty());
+      instruments.add(counter);
+    }
+
+    List<MetricData> metrics = ParallelCollector.create(4).collectAll(instruments);
+    assertThat(metrics).hasSize(50);
+    for (int i = 0; i < 50; i++) {
+      assertThat(metrics.get(i).getDescriptor().getName()).isEqualTo("counter" + i);
+      assertThat(((MetricData.LongPoint) metrics.get(i).getPoints().iterator().next()).getValue())
+          .isEqualTo(i);
+    }
+  }
+
+  @Test
+  void collectAll_SingleThread() {
+    LongCounterSdk counter = testSdk.longCounterBuilder("counter").build();
+    counter.add(1, Labels.empty());
+    List<AbstractInstrument> instruments = new ArrayList<>();
+    instruments.add(counter);
+    instruments.add(testSdk.longCounterBuilder("other").build());
+
+    assertThat(ParallelCollector.create(1).collectAll(instruments)).hasSize(2);
+  }
+
+  @Test
+  void collectAll_Failure() {
+    LongSumObserverSdk observer = testSdk.longSumObserverBuilder("observer").build();
+    observer.setCallback(
+        result -> {
+          throw new IllegalStateException("callback failed");
+        });
+    List<AbstractInstrument> instruments = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      instruments.add(testSdk.longCounterBuilder("counter" + i).build());
+    }
+    instruments.add(observer);
+
+    assertThatThrownBy(() -> ParallelCollector.create(4).collectAll(instruments))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("callback failed");
+  }
+}
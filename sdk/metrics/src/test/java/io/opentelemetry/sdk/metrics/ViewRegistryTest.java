@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.TestClock;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
+import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
+import io.opentelemetry.sdk.metrics.view.Aggregations;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ViewRegistry}. */
+class ViewRegistryTest {
+  private static final long SECOND_NANOS = 1_000_000_000;
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("io.opentelemetry.sdk.metrics.ViewRegistryTest", null);
+  private final TestClock testClock = TestClock.create();
+  private final MeterProviderSharedState meterProviderSharedState =
+      MeterProviderSharedState.create(testClock, Resource.getEmpty());
+  private final ViewRegistry viewRegistry = new ViewRegistry();
+  private final MeterSdk testSdk =
+      new MeterSdk(meterProviderSharedState, INSTRUMENTATION_LIBRARY_INFO, viewRegistry);
+
+  @Test
+  void registeredView_Aggregation() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().setInstrumentType(InstrumentType.VALUE_RECORDER).build(),
+        View.builder().setAggregation(Aggregations.count()).build());
+    DoubleValueRecorderSdk recorder = testSdk.doubleValueRecorderBuilder("testRecorder").build();
+    recorder.record(12.1, Labels.of("K", "V"));
+    recorder.record(-1.5, Labels.of("K", "V"));
+    recorder.record(3, Labels.empty());
+
+    List<MetricData> metricDataList = recorder.collectAll();
+    assertThat(metricDataList).hasSize(1);
+    MetricData metricData = metricDataList.get(0);
+    assertThat(metricData.getDescriptor().getType()).isEqualTo(Descriptor.Type.MONOTONIC_LONG);
+    assertThat(metricData.getDescriptor().getUnit()).isEqualTo("1");
+    assertThat(metricData.getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V"), 2),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 1));
+  }
+
+  @Test
+  void registeredView_OnlyForSelectedInstruments() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder()
+            .setInstrumentNameRegex("other.*")
+            .setInstrumentValueType(InstrumentValueType.LONG)
+            .build(),
+        View.builder().setAggregation(Aggregations.count()).build());
+    LongValueRecorderSdk recorder = testSdk.longValueRecorderBuilder("testRecorder").build();
+    LongValueRecorderSdk otherRecorder = testSdk.longValueRecorderBuilder("otherRecorder").build();
+    DoubleValueRecorderSdk otherDoubleRecorder =
+        testSdk.doubleValueRecorderBuilder("otherDoubleRecorder").build();
+
+    assertThat(recorder.collectAll().get(0).getDescriptor().getType())
+        .isEqualTo(Descriptor.Type.SUMMARY);
+    assertThat(otherRecorder.collectAll().get(0).getDescriptor().getType())
+        .isEqualTo(Descriptor.Type.MONOTONIC_LONG);
+    assertThat(otherDoubleRecorder.collectAll().get(0).getDescriptor().getType())
+        .isEqualTo(Descriptor.Type.SUMMARY);
+  }
+
+  @Test
+  void registeredView_IgnoredWhenAggregationNotAvailable() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(),
+        View.builder().setAggregation(Aggregations.minMaxSumCount()).build());
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(),
+        View.builder().setAggregation(Aggregations.count()).build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    counter.add(10, Labels.empty());
+
+    assertThat(counter.collectAll().get(0).getPoints())
+        .containsExactly(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 1));
+  }
+
+  @Test
+  void registeredView_LabelKeys() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(),
+        View.builder().setAggregation(Aggregations.sum()).setLabelKeys("k1", "k2").build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    counter.add(1, Labels.of("k1", "v1", "k2", "v2"));
+    counter.add(2, Labels.of("k1", "v1", "k2", "v2", "k3", "v3"));
+    counter.add(3, Labels.of("k1", "v1", "k3", "v4"));
+    counter.bind(Labels.of("k3", "v5")).add(4);
+    counter.add(5, Labels.empty());
+
+    assertThat(counter.collectAll().get(0).getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(
+                testClock.now(), testClock.now(), Labels.of("k1", "v1", "k2", "v2"), 3),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("k1", "v1"), 3),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 9));
+
+    // The merged series keep accumulating across collections.
+    counter.add(1, Labels.of("k3", "v6"));
+    assertThat(counter.collectAll().get(0).getPoints())
+        .contains(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 10));
+  }
+
+  @Test
+  void registeredView_MaxTimeSeries() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(), View.builder().setMaxTimeSeries(2).build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    counter.add(1, Labels.of("K", "V1"));
+    counter.add(2, Labels.of("K", "V2"));
+    counter.add(3, Labels.of("K", "V3"));
+    counter.add(4, Labels.of("K", "V4"));
+
+    List<MetricData> metricDataList = counter.collectAll();
+    assertThat(metricDataList).hasSize(2);
+    assertThat(metricDataList.get(0).getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V1"), 1),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V2"), 2),
+            LongPoint.create(
+                testClock.now(), testClock.now(), CardinalityLimiter.OVERFLOW_LABELS, 7));
+    assertThat(metricDataList.get(1).getDescriptor().getName())
+        .isEqualTo("testCounter.rejected_label_sets");
+    assertThat(metricDataList.get(1).getPoints())
+        .containsExactly(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 2));
+
+    // Cumulative series stay over the collections, new label sets keep overflowing.
+    counter.add(5, Labels.of("K", "V5"));
+    counter.add(6, Labels.of("K", "V1"));
+    metricDataList = counter.collectAll();
+    assertThat(metricDataList.get(0).getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V1"), 7),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V2"), 2),
+            LongPoint.create(
+                testClock.now(), testClock.now(), CardinalityLimiter.OVERFLOW_LABELS, 12));
+    assertThat(metricDataList.get(1).getPoints())
+        .containsExactly(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 3));
+  }
+
+  @Test
+  void registeredView_MaxTimeSeries_CountsLabelSetsOnce() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(), View.builder().setMaxTimeSeries(1).build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    counter.add(1, Labels.of("K", "V1"));
+    counter.add(2, Labels.of("K", "V2"));
+    counter.add(3, Labels.of("K", "V2"));
+
+    List<MetricData> metricDataList = counter.collectAll();
+    assertThat(metricDataList.get(0).getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("K", "V1"), 1),
+            LongPoint.create(
+                testClock.now(), testClock.now(), CardinalityLimiter.OVERFLOW_LABELS, 5));
+    assertThat(metricDataList.get(1).getPoints())
+        .containsExactly(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 1));
+
+    // Rejected again by the batcher in the next collection, still the same label set.
+    counter.add(4, Labels.of("K", "V2"));
+    metricDataList = counter.collectAll();
+    assertThat(metricDataList.get(1).getPoints())
+        .containsExactly(LongPoint.create(testClock.now(), testClock.now(), Labels.empty(), 1));
+  }
+
+  @Test
+  void registeredView_MaxTimeSeries_WithLabelKeys() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(),
+        View.builder().setMaxTimeSeries(3).setLabelKeys("k1").build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    for (int i = 0; i < 10; i++) {
+      counter.add(1, Labels.of("k1", "v" + (i % 3), "k2", "unique" + i));
+    }
+
+    List<MetricData> metricDataList = counter.collectAll();
+    assertThat(metricDataList).hasSize(1);
+    assertThat(metricDataList.get(0).getPoints())
+        .containsExactlyInAnyOrder(
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("k1", "v0"), 4),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("k1", "v1"), 3),
+            LongPoint.create(testClock.now(), testClock.now(), Labels.of("k1", "v2"), 3));
+  }
+
+  @Test
+  void registeredView_MaxIdleCollections() {
+    viewRegistry.registerView(
+        InstrumentSelector.builder().build(), View.builder().setMaxIdleCollections(2).build());
+    LongCounterSdk counter = testSdk.longCounterBuilder("testCounter").build();
+    long startTime = testClock.now();
+    counter.add(1, Labels.of("K", "V1"));
+    counter.add(2, Labels.of("K", "V2"));
+    testClock.advanceNanos(SECOND_NANOS);
+    assertThat(counter.collectAll().get(0).getPoints()).hasSize(2);
+
+    counter.add(1, Labels.of("K", "V1"));
+    testClock.advanceNanos(SECOND_NANOS);
+    assertThat(counter.collectAll().get(0).getPoints()).hasSize(2);
+
+    // V2 had no recordings for 2 collections.
+    testClock.advanceNanos(SECOND_NANOS);
+    assertThat(counter.collectAll().get(0).getPoints())
+        .containsExactly(LongPoint.create(startTime, testClock.now(), Labels.of("K", "V1"), 2));
+
+    // Recorded again, V2 starts from zero and from the previous collection, while V1 is now idle
+    // for 2 collections.
+    long lastCollection = testClock.now();
+    counter.add(5, Labels.of("K", "V2"));
+    testClock.advanceNanos(SECOND_NANOS);
+    assertThat(counter.collectAll().get(0).getPoints())
+        .containsExactly(
+            LongPoint.create(lastCollection, testClock.now(), Labels.of("K", "V2"), 5));
+  }
+}
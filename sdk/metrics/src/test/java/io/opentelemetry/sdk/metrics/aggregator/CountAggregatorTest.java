@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link CountAggregator}. */
+class CountAggregatorTest {
+  @Test
+  void factoryAggregation() {
+    AggregatorFactory factory = CountAggregator.getFactory();
+    assertThat(factory.getAggregator()).isInstanceOf(CountAggregator.class);
+  }
+
+  @Test
+  void toPoint() {
+    Aggregator aggregator = CountAggregator.getFactory().getAggregator();
+    assertThat(getPoint(aggregator).getValue()).isEqualTo(0);
+  }
+
+  @Test
+  void multipleRecords() {
+    Aggregator aggregator = CountAggregator.getFactory().getAggregator();
+    aggregator.recordLong(12);
+    aggregator.recordLong(-23);
+    aggregator.recordDouble(1.5);
+    aggregator.recordDouble(-0.5);
+    aggregator.recordDouble(Double.NaN);
+    assertThat(getPoint(aggregator).getValue()).isEqualTo(5);
+  }
+
+  @Test
+  void mergeAndReset() {
+    Aggregator aggregator = CountAggregator.getFactory().getAggregator();
+    aggregator.recordLong(13);
+    aggregator.recordLong(12);
+    Aggregator mergedAggregator = CountAggregator.getFactory().getAggregator();
+    aggregator.mergeToAndReset(mergedAggregator);
+    assertThat(getPoint(aggregator).getValue()).isEqualTo(0);
+    assertThat(getPoint(mergedAggregator).getValue()).isEqualTo(2);
+    aggregator.recordDouble(12.1);
+    aggregator.mergeToAndReset(mergedAggregator);
+    assertThat(getPoint(aggregator).getValue()).isEqualTo(0);
+    assertThat(getPoint(mergedAggregator).getValue()).isEqualTo(3);
+  }
+
+  @Test
+  void multithreaded() throws InterruptedException {
+    final Aggregator aggregator = CountAggregator.getFactory().getAggregator();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10_000; j++) {
+                  aggregator.recordLong(j);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(getPoint(aggregator).getValue()).isEqualTo(80_000);
+  }
+
+  private static LongPoint getPoint(Aggregator aggregator) {
+    Point point = aggregator.toPoint(12345, 12358, Labels.of("key", "value"));
+    assertThat(point).isNotNull();
+    assertThat(point.getStartEpochNanos()).isEqualTo(12345);
+    assertThat(point.getEpochNanos()).isEqualTo(12358);
+    assertThat(point.getLabels().get("key")).isEqualTo("value");
+    assertThat(point).isInstanceOf(LongPoint.class);
+    return (LongPoint) point;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.metrics.data.MetricData.HistogramPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link HistogramAggregator}. */
+class HistogramAggregatorTest {
+  private static final AggregatorFactory FACTORY =
+      HistogramAggregator.getFactory(Arrays.asList(1.0, 5.0, 10.0));
+
+  @Test
+  void invalidBoundaries() {
+    assertThatThrownBy(() -> HistogramAggregator.getFactory(Arrays.asList(1.0, 1.0)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HistogramAggregator.getFactory(Arrays.asList(1.0, Double.NaN)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void toPoint_NoRecordings() {
+    assertThat(FACTORY.getAggregator().toPoint(0, 100, Labels.empty())).isNull();
+  }
+
+  @Test
+  void recordValues() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    aggregator.recordDouble(0.5);
+    aggregator.recordDouble(1.0);
+    aggregator.recordLong(3);
+    aggregator.recordLong(10);
+    aggregator.recordDouble(10.5);
+    aggregator.recordDouble(-7);
+
+    HistogramPoint point = getPoint(aggregator);
+    assertThat(point.getCount()).isEqualTo(6);
+    assertThat(point.getSum()).isEqualTo(18.0);
+    assertThat(point.getBoundaries()).containsExactly(1.0, 5.0, 10.0);
+    // The upper boundary of each bucket is inclusive.
+    assertThat(point.getCounts()).containsExactly(3L, 1L, 1L, 1L);
+  }
+
+  @Test
+  void recordValues_ManyBuckets() {
+    // Enough boundaries for the binary search.
+    List<Double> boundaries = new ArrayList<>();
+    for (int i = 1; i <= 20; i++) {
+      boundaries.add((double) i);
+    }
+    Aggregator aggregator = HistogramAggregator.getFactory(boundaries).getAggregator();
+    aggregator.recordDouble(0);
+    aggregator.recordDouble(7);
+    aggregator.recordDouble(7.5);
+    aggregator.recordDouble(20);
+    aggregator.recordDouble(21);
+
+    List<Long> expected = new ArrayList<>(Collections.nCopies(21, 0L));
+    expected.set(0, 1L);
+    expected.set(6, 1L);
+    expected.set(7, 1L);
+    expected.set(19, 1L);
+    expected.set(20, 1L);
+    assertThat(getPoint(aggregator).getCounts()).isEqualTo(expected);
+  }
+
+  @Test
+  void noBoundaries() {
+    Aggregator aggregator =
+        HistogramAggregator.getFactory(Collections.<Double>emptyList()).getAggregator();
+    aggregator.recordDouble(3);
+    assertThat(getPoint(aggregator).getCounts()).containsExactly(1L);
+  }
+
+  @Test
+  void mergeAndReset() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    aggregator.recordDouble(2);
+    aggregator.recordDouble(20);
+    Aggregator mergedToAggregator = FACTORY.getAggregator();
+    mergedToAggregator.recordDouble(3);
+    aggregator.mergeToAndReset(mergedToAggregator);
+
+    assertThat(aggregator.toPoint(0, 100, Labels.empty())).isNull();
+    HistogramPoint point = getPoint(mergedToAggregator);
+    assertThat(point.getCount()).isEqualTo(3);
+    assertThat(point.getSum()).isEqualTo(25.0);
+    assertThat(point.getCounts()).containsExactly(0L, 2L, 0L, 1L);
+  }
+
+  @Test
+  void multithreadedUpdates() throws Exception {
+    final Aggregator aggregator = FACTORY.getAggregator();
+    final Aggregator summarizer = FACTORY.getAggregator();
+    int numberOfThreads = 10;
+    final int numberOfUpdates = 1000;
+    final CountDownLatch startingGun = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < numberOfThreads; i++) {
+      final int index = i;
+      Thread t =
+          new Thread(
+              () -> {
+                try {
+                  startingGun.await();
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+                for (int j = 0; j < numberOfUpdates; j++) {
+                  aggregator.recordLong(index);
+                  if (j % 10 == 0) {
+                    aggregator.mergeToAndReset(summarizer);
+                  }
+                }
+              });
+      workers.add(t);
+      t.start();
+    }
+    startingGun.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    aggregator.mergeToAndReset(summarizer);
+
+    HistogramPoint point = getPoint(summarizer);
+    assertThat(point.getCount()).isEqualTo(numberOfThreads * numberOfUpdates);
+    assertThat(point.getSum()).isEqualTo(45.0 * numberOfUpdates);
+    // Values 0 and 1, then 2 to 5, then 6 to 9.
+    assertThat(point.getCounts())
+        .containsExactly(2L * numberOfUpdates, 4L * numberOfUpdates, 4L * numberOfUpdates, 0L);
+  }
+
+  private static HistogramPoint getPoint(Aggregator aggregator) {
+    Point point = aggregator.toPoint(12345, 12358, Labels.of("key", "value"));
+    assertThat(point).isInstanceOf(HistogramPoint.class);
+    return (HistogramPoint) point;
+  }
+}
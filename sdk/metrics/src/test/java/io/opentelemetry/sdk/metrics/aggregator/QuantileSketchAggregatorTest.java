@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.common.Labels;
+import io.opentelemetry.sdk.metrics.data.MetricData.Point;
+import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.ValueAtPercentile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link QuantileSketchAggregator}. */
+class QuantileSketchAggregatorTest {
+  private static final double RELATIVE_ACCURACY = 0.01;
+  private static final AggregatorFactory FACTORY =
+      QuantileSketchAggregator.getFactory(RELATIVE_ACCURACY);
+
+  @Test
+  void toPoint_NoRecordings() {
+    assertThat(FACTORY.getAggregator().toPoint(0, 100, Labels.empty())).isNull();
+  }
+
+  @Test
+  void percentilesWithinRelativeAccuracy() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    Aggregator mergedToAggregator = FACTORY.getAggregator();
+    // Log-normal values spanning several orders of magnitude, like latencies.
+    Random random = new Random(42);
+    double[] values = new double[100_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Math.exp(random.nextGaussian() * 3) * 1000;
+      aggregator.recordDouble(values[i]);
+      if (i % 1000 == 0) {
+        aggregator.mergeToAndReset(mergedToAggregator);
+      }
+    }
+    aggregator.mergeToAndReset(mergedToAggregator);
+    Arrays.sort(values);
+
+    SummaryPoint point = getPoint(mergedToAggregator);
+    assertThat(point.getCount()).isEqualTo(values.length);
+    assertThat(percentiles(point)).containsExactly(0.0, 50.0, 90.0, 99.0, 99.9, 100.0);
+    for (ValueAtPercentile valueAtPercentile : point.getPercentileValues()) {
+      double expected =
+          values[(int) (valueAtPercentile.getPercentile() / 100 * (values.length - 1))];
+      assertThat(valueAtPercentile.getValue())
+          .isCloseTo(expected, within(expected * RELATIVE_ACCURACY));
+    }
+  }
+
+  @Test
+  void negativeAndZeroValues() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    for (int i = -50; i <= 50; i++) {
+      aggregator.recordLong(i);
+    }
+
+    SummaryPoint point = getPoint(aggregator);
+    assertThat(point.getCount()).isEqualTo(101);
+    assertThat(point.getSum()).isEqualTo(0.0);
+    List<ValueAtPercentile> percentileValues = point.getPercentileValues();
+    assertThat(percentileValues.get(0).getValue()).isEqualTo(-50.0);
+    assertThat(percentileValues.get(1).getValue()).isEqualTo(0.0);
+    assertThat(percentileValues.get(2).getValue()).isCloseTo(40.0, within(0.4));
+    assertThat(percentileValues.get(5).getValue()).isEqualTo(50.0);
+  }
+
+  @Test
+  void distantMagnitudes() {
+    // The values fall in pages of bins far apart, with unallocated pages between them.
+    Aggregator aggregator = FACTORY.getAggregator();
+    for (int i = 0; i < 60; i++) {
+      aggregator.recordDouble(-1e6);
+    }
+    for (int i = 0; i < 30; i++) {
+      aggregator.recordDouble(1e-6);
+    }
+    for (int i = 0; i < 10; i++) {
+      aggregator.recordDouble(1e9);
+    }
+    Aggregator mergedToAggregator = FACTORY.getAggregator();
+    aggregator.mergeToAndReset(mergedToAggregator);
+
+    List<ValueAtPercentile> percentileValues = getPoint(mergedToAggregator).getPercentileValues();
+    assertThat(percentileValues.get(1).getValue()).isCloseTo(-1e6, within(1e6 * RELATIVE_ACCURACY));
+    assertThat(percentileValues.get(2).getValue())
+        .isCloseTo(1e-6, within(1e-6 * RELATIVE_ACCURACY));
+    assertThat(percentileValues.get(3).getValue()).isCloseTo(1e9, within(1e9 * RELATIVE_ACCURACY));
+  }
+
+  @Test
+  void estimatesClampedToMinAndMax() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    aggregator.recordDouble(1e15);
+    aggregator.recordDouble(2e15);
+
+    for (ValueAtPercentile valueAtPercentile : getPoint(aggregator).getPercentileValues()) {
+      assertThat(valueAtPercentile.getValue()).isBetween(1e15, 2e15);
+    }
+  }
+
+  @Test
+  void mergeAndReset() {
+    Aggregator aggregator = FACTORY.getAggregator();
+    aggregator.recordDouble(10);
+    aggregator.recordDouble(-3);
+    Aggregator mergedToAggregator = FACTORY.getAggregator();
+    mergedToAggregator.recordDouble(100);
+    aggregator.mergeToAndReset(mergedToAggregator);
+
+    assertThat(aggregator.toPoint(0, 100, Labels.empty())).isNull();
+    SummaryPoint point = getPoint(mergedToAggregator);
+    assertThat(point.getCount()).isEqualTo(3);
+    assertThat(point.getSum()).isEqualTo(107.0);
+    assertThat(point.getPercentileValues().get(0).getValue()).isEqualTo(-3.0);
+    assertThat(point.getPercentileValues().get(1).getValue()).isCloseTo(10.0, within(0.1));
+    assertThat(point.getPercentileValues().get(5).getValue()).isEqualTo(100.0);
+  }
+
+  private static List<Double> percentiles(SummaryPoint point) {
+    List<Double> percentiles = new ArrayList<>();
+    for (ValueAtPercentile valueAtPercentile : point.getPercentileValues()) {
+      percentiles.add(valueAtPercentile.getPercentile());
+    }
+    return percentiles;
+  }
+
+  private static SummaryPoint getPoint(Aggregator aggregator) {
+    Point point = aggregator.toPoint(12345, 12358, Labels.of("key", "value"));
+    assertThat(point).isInstanceOf(SummaryPoint.class);
+    return (SummaryPoint) point;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link StripedDoubleAdder}. */
+class StripedDoubleAdderTest {
+
+  @Test
+  void addAndSum() {
+    StripedDoubleAdder adder = new StripedDoubleAdder();
+    assertThat(adder.sum()).isEqualTo(0.0);
+    adder.add(1.5);
+    adder.add(-4.25);
+    assertThat(adder.sum()).isEqualTo(-2.75);
+  }
+
+  @Test
+  void sumThenReset() {
+    StripedDoubleAdder adder = new StripedDoubleAdder();
+    adder.add(1.5);
+    assertThat(adder.sumThenReset()).isEqualTo(1.5);
+    assertThat(adder.sum()).isEqualTo(0.0);
+    adder.add(2.5);
+    assertThat(adder.sumThenReset()).isEqualTo(2.5);
+  }
+
+  @Test
+  void concurrentAdds() throws Exception {
+    final StripedDoubleAdder adder = new StripedDoubleAdder();
+    int numberOfThreads = 8;
+    final int numberOfUpdates = 100_000;
+    final CountDownLatch startingGun = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < numberOfThreads; i++) {
+      Thread t =
+          new Thread(
+              () -> {
+                try {
+                  startingGun.await();
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+                for (int j = 0; j < numberOfUpdates; j++) {
+                  // Integral values, so that the sum is exact whatever the order of the additions.
+                  adder.add(2.0);
+                }
+              });
+      workers.add(t);
+      t.start();
+    }
+    startingGun.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    assertThat(adder.sum()).isEqualTo(2.0 * numberOfThreads * numberOfUpdates);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link StripedLongAdder}. */
+class StripedLongAdderTest {
+
+  @Test
+  void addAndSum() {
+    StripedLongAdder adder = new StripedLongAdder();
+    assertThat(adder.sum()).isEqualTo(0);
+    adder.add(12);
+    adder.add(-5);
+    assertThat(adder.sum()).isEqualTo(7);
+  }
+
+  @Test
+  void sumThenReset() {
+    StripedLongAdder adder = new StripedLongAdder();
+    adder.add(12);
+    assertThat(adder.sumThenReset()).isEqualTo(12);
+    assertThat(adder.sum()).isEqualTo(0);
+    adder.add(3);
+    assertThat(adder.sumThenReset()).isEqualTo(3);
+  }
+
+  @Test
+  void concurrentAddsAndResets() throws Exception {
+    final StripedLongAdder adder = new StripedLongAdder();
+    final AtomicLong collected = new AtomicLong();
+    int numberOfThreads = 8;
+    final int numberOfUpdates = 100_000;
+    final CountDownLatch startingGun = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < numberOfThreads; i++) {
+      final boolean resetting = i == 0;
+      Thread t =
+          new Thread(
+              () -> {
+                try {
+                  startingGun.await();
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+                for (int j = 0; j < numberOfUpdates; j++) {
+                  adder.add(1);
+                  if (resetting && j % 100 == 0) {
+                    collected.addAndGet(adder.sumThenReset());
+                  }
+                }
+              });
+      workers.add(t);
+      t.start();
+    }
+    startingGun.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    // No update is lost or counted twice by the concurrent resets.
+    assertThat(collected.get() + adder.sumThenReset())
+        .isEqualTo((long) numberOfThreads * numberOfUpdates);
+  }
+}
@@ -24,6 +24,7 @@ import io.opentelemetry.common.Labels;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData.DoublePoint;
+import io.opentelemetry.sdk.metrics.data.MetricData.HistogramPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.LongPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.SummaryPoint;
 import io.opentelemetry.sdk.metrics.data.MetricData.ValueAtPercentile;
@@ -188,4 +189,31 @@ class MetricDataTest {
             Collections.singletonList(DOUBLE_POINT));
     assertThat(metricData.getPoints()).containsExactly(DOUBLE_POINT);
   }
+
+  @Test
+  void metricData_HistogramPoints() {
+    HistogramPoint histogramPoint =
+        HistogramPoint.create(
+            START_EPOCH_NANOS,
+            EPOCH_NANOS,
+            Labels.of("key", "value"),
+            LONG_VALUE,
+            DOUBLE_VALUE,
+            Arrays.asList(1.0, 5.0),
+            Arrays.asList(3L, 7L, 0L));
+    assertThat(histogramPoint.getStartEpochNanos()).isEqualTo(START_EPOCH_NANOS);
+    assertThat(histogramPoint.getEpochNanos()).isEqualTo(EPOCH_NANOS);
+    assertThat(histogramPoint.getLabels().get("key")).isEqualTo("value");
+    assertThat(histogramPoint.getCount()).isEqualTo(LONG_VALUE);
+    assertThat(histogramPoint.getSum()).isEqualTo(DOUBLE_VALUE);
+    assertThat(histogramPoint.getBoundaries()).containsExactly(1.0, 5.0);
+    assertThat(histogramPoint.getCounts()).containsExactly(3L, 7L, 0L);
+    MetricData metricData =
+        MetricData.create(
+            DOUBLE_METRIC_DESCRIPTOR,
+            Resource.getEmpty(),
+            InstrumentationLibraryInfo.getEmpty(),
+            Collections.singletonList(histogramPoint));
+    assertThat(metricData.getPoints()).containsExactly(histogramPoint);
+  }
 }
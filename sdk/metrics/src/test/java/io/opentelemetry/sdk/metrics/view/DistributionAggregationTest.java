@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.metrics.aggregator.HistogramAggregator;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
+import org.junit.jupiter.api.Test;
+
+class DistributionAggregationTest {
+
+  @Test
+  void getDescriptorType() {
+    Aggregation distribution = Aggregations.distributionWithExplicitBounds(1.0, 5.0);
+    assertThat(
+            distribution.getDescriptorType(
+                InstrumentType.VALUE_RECORDER, InstrumentValueType.DOUBLE))
+        .isEqualTo(Descriptor.Type.HISTOGRAM);
+    assertThat(
+            distribution.getDescriptorType(InstrumentType.VALUE_RECORDER, InstrumentValueType.LONG))
+        .isEqualTo(Descriptor.Type.HISTOGRAM);
+  }
+
+  @Test
+  void getAggregatorFactory() {
+    Aggregation distribution = Aggregations.distributionWithExplicitBounds(1.0, 5.0);
+    assertThat(distribution.getAggregatorFactory(InstrumentValueType.LONG).getAggregator())
+        .isInstanceOf(HistogramAggregator.class);
+    assertThat(distribution.getAggregatorFactory(InstrumentValueType.DOUBLE).getAggregator())
+        .isInstanceOf(HistogramAggregator.class);
+  }
+
+  @Test
+  void unsortedBoundaries() {
+    assertThatThrownBy(() -> Aggregations.distributionWithExplicitBounds(5.0, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void availableForInstrument() {
+    Aggregation distribution = Aggregations.distributionWithExplicitBounds(1.0, 5.0);
+    for (InstrumentType type : InstrumentType.values()) {
+      if (type == InstrumentType.VALUE_OBSERVER || type == InstrumentType.VALUE_RECORDER) {
+        assertThat(distribution.availableForInstrument(type)).isTrue();
+      } else {
+        assertThat(distribution.availableForInstrument(type)).isFalse();
+      }
+    }
+  }
+}
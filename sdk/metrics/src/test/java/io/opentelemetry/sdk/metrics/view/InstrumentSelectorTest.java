@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link InstrumentSelector}. */
+class InstrumentSelectorTest {
+
+  @Test
+  void emptySelector_MatchesEverything() {
+    InstrumentSelector selector = InstrumentSelector.builder().build();
+    for (InstrumentType type : InstrumentType.values()) {
+      for (InstrumentValueType valueType : InstrumentValueType.values()) {
+        assertThat(selector.matches("name", type, valueType)).isTrue();
+      }
+    }
+  }
+
+  @Test
+  void matchesWholeName() {
+    InstrumentSelector selector =
+        InstrumentSelector.builder().setInstrumentNameRegex("http\\.[a-z]+").build();
+    assertThat(selector.matches("http.requests", InstrumentType.COUNTER, InstrumentValueType.LONG))
+        .isTrue();
+    assertThat(selector.matches("http.requests2", InstrumentType.COUNTER, InstrumentValueType.LONG))
+        .isFalse();
+    assertThat(
+            selector.matches(
+                "my.http.requests", InstrumentType.COUNTER, InstrumentValueType.LONG))
+        .isFalse();
+  }
+
+  @Test
+  void matchesAllCriteria() {
+    InstrumentSelector selector =
+        InstrumentSelector.builder()
+            .setInstrumentNameRegex("latency")
+            .setInstrumentType(InstrumentType.VALUE_RECORDER)
+            .setInstrumentValueType(InstrumentValueType.DOUBLE)
+            .build();
+    assertThat(
+            selector.matches("latency", InstrumentType.VALUE_RECORDER, InstrumentValueType.DOUBLE))
+        .isTrue();
+    assertThat(selector.matches("latency", InstrumentType.VALUE_RECORDER, InstrumentValueType.LONG))
+        .isFalse();
+    assertThat(selector.matches("latency", InstrumentType.COUNTER, InstrumentValueType.DOUBLE))
+        .isFalse();
+    assertThat(selector.matches("other", InstrumentType.VALUE_RECORDER, InstrumentValueType.DOUBLE))
+        .isFalse();
+  }
+
+  @Test
+  void preventNull() {
+    assertThatThrownBy(() -> InstrumentSelector.builder().setInstrumentNameRegex(null))
+        .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> InstrumentSelector.builder().setInstrumentType(null))
+        .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> InstrumentSelector.builder().setInstrumentValueType(null))
+        .isInstanceOf(NullPointerException.class);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.metrics.aggregator.QuantileSketchAggregator;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.common.InstrumentValueType;
+import io.opentelemetry.sdk.metrics.data.MetricData.Descriptor;
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchAggregationTest {
+
+  @Test
+  void getDescriptorType() {
+    Aggregation quantileSketch = Aggregations.quantileSketch(0.01);
+    assertThat(
+            quantileSketch.getDescriptorType(
+                InstrumentType.VALUE_RECORDER, InstrumentValueType.DOUBLE))
+        .isEqualTo(Descriptor.Type.SUMMARY);
+    assertThat(
+            quantileSketch.getDescriptorType(
+                InstrumentType.VALUE_OBSERVER, InstrumentValueType.LONG))
+        .isEqualTo(Descriptor.Type.SUMMARY);
+  }
+
+  @Test
+  void getAggregatorFactory() {
+    Aggregation quantileSketch = Aggregations.quantileSketch(0.01);
+    assertThat(quantileSketch.getAggregatorFactory(InstrumentValueType.LONG).getAggregator())
+        .isInstanceOf(QuantileSketchAggregator.class);
+    assertThat(quantileSketch.getAggregatorFactory(InstrumentValueType.DOUBLE).getAggregator())
+        .isInstanceOf(QuantileSketchAggregator.class);
+  }
+
+  @Test
+  void invalidRelativeAccuracy() {
+    assertThatThrownBy(() -> Aggregations.quantileSketch(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Aggregations.quantileSketch(0.9))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void availableForInstrument() {
+    Aggregation quantileSketch = Aggregations.quantileSketch(0.01);
+    for (InstrumentType type : InstrumentType.values()) {
+      if (type == InstrumentType.VALUE_OBSERVER || type == InstrumentType.VALUE_RECORDER) {
+        assertThat(quantileSketch.availableForInstrument(type)).isTrue();
+      } else {
+        assertThat(quantileSketch.availableForInstrument(type)).isFalse();
+      }
+    }
+  }
+}
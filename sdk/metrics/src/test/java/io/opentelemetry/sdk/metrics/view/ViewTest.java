@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.metrics.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link View}. */
+class ViewTest {
+
+  @Test
+  void defaults() {
+    View view = View.builder().build();
+    assertThat(view.getAggregation()).isNull();
+    assertThat(view.getLabelKeys()).isNull();
+    assertThat(view.getMaxTimeSeries()).isEqualTo(0);
+    assertThat(view.getMaxIdleCollections()).isEqualTo(0);
+  }
+
+  @Test
+  void allOptions() {
+    View view =
+        View.builder()
+            .setAggregation(Aggregations.count())
+            .setLabelKeys("k1", "k2", "k1")
+            .setMaxTimeSeries(100)
+            .setMaxIdleCollections(3)
+            .build();
+    assertThat(view.getAggregation()).isSameAs(Aggregations.count());
+    assertThat(view.getLabelKeys()).containsExactlyInAnyOrder("k1", "k2");
+    assertThat(view.getMaxTimeSeries()).isEqualTo(100);
+    assertThat(view.getMaxIdleCollections()).isEqualTo(3);
+  }
+
+  @Test
+  void labelKeysAreCopied() {
+    List<String> labelKeys = Arrays.asList("k1", "k2");
+    View view = View.builder().setAggregation(Aggregations.sum()).setLabelKeys(labelKeys).build();
+    labelKeys.set(0, "k3");
+    assertThat(view.getLabelKeys()).containsExactlyInAnyOrder("k1", "k2");
+    assertThatThrownBy(() -> view.getLabelKeys().add("k4"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void emptyLabelKeys() {
+    View view =
+        View.builder()
+            .setAggregation(Aggregations.sum())
+            .setLabelKeys(Collections.<String>emptyList())
+            .build();
+    assertThat(view.getLabelKeys()).isEmpty();
+  }
+
+  @Test
+  void invalidLimits() {
+    assertThatThrownBy(() -> View.builder().setMaxTimeSeries(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> View.builder().setMaxIdleCollections(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void preventNull() {
+    assertThatThrownBy(() -> View.builder().setAggregation(null))
+        .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> View.builder().setLabelKeys("k1", null))
+        .isInstanceOf(NullPointerException.class);
+  }
+}
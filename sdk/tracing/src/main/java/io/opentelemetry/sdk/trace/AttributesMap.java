@@ -18,83 +18,345 @@ package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.ReadableAttributes;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import javax.annotation.Nullable;
 
 /**
- * A map implementation with a fixed capacity that drops attributes when the map gets full.
+ * A compact map with a fixed capacity that drops attributes when the map gets full.
+ *
+ * <p>Keys and values are stored next to each other in a single open-addressed array with linear
+ * probing, so recording an attribute does not allocate an entry object like a {@link
+ * java.util.HashMap} does. The array starts small and is doubled when needed, up to the size needed
+ * to hold {@code capacity} attributes, so spans with few attributes stay small.
+ *
+ * <p>{@code long}, {@code double} and {@code boolean} values added through {@link #putLong(String,
+ * long)}, {@link #putDouble(String, double)} and {@link #putBoolean(String, boolean)} are kept
+ * unboxed in a parallel {@code long[]}, with the {@link AttributeValue.Type} as a marker in the
+ * value slot. The {@link AttributeValue} is only created when the value is read through {@link
+ * #get(String)} or {@link #forEach(KeyValueConsumer)}, {@link #visit(AttributeVisitor)} passes the
+ * primitive as is.
  *
  * <p>Some APIs may have slightly different behaviors, like `put` which returns null if out of
  * capacity.
+ *
+ * <p>This class is not thread-safe, callers must synchronize the access to it.
  */
-final class AttributesMap extends HashMap<String, AttributeValue> implements ReadableAttributes {
+final class AttributesMap implements ReadableAttributes {
 
-  private final long capacity;
+  private static final int INITIAL_SLOTS = 8;
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE / 8;
+  private static final Object[] EMPTY_TABLE = new Object[0];
+
+  private final int capacity;
+  private final int maxSlots;
+  // Key of slot i at index 2 * i, its value at index 2 * i + 1. Empty slots have a null key.
+  private Object[] table = EMPTY_TABLE;
+  // Primitive value of slot i at index i, allocated with the first primitive value.
+  @Nullable private long[] primitives;
+  private int size = 0;
   private int totalAddedValues = 0;
-  // Here because -Werror complains about this: [serial] serializable class AttributesWithCapacity
-  // has no definition of serialVersionUID. This class shouldn't be serialized.
-  private static final long serialVersionUID = 42L;
+  // Incremented every time the map is recycled by the SpanStatePool.
+  private int generation = 0;
 
   AttributesMap(long capacity) {
-    this.capacity = capacity;
+    this.capacity = (int) Math.min(capacity, MAX_CAPACITY);
+    // Keep the load factor at or below 0.5 to keep the probe sequences short.
+    this.maxSlots = this.capacity == 0 ? 0 : roundToPowerOfTwo(2 * this.capacity);
   }
 
+  /**
+   * Adds the attribute, replacing any value already associated with the key.
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no value or
+   *     if the map is full.
+   */
   @Nullable
-  @Override
-  public AttributeValue put(String key, AttributeValue value) {
-    totalAddedValues++;
-    if (size() >= capacity && !containsKey(key)) {
+  AttributeValue put(String key, AttributeValue value) {
+    int index = findOrInsert(key);
+    if (index < 0) {
       return null;
     }
-    return super.put(key, value);
+    AttributeValue previous = table[index + 1] == null ? null : valueAt(index);
+    table[index + 1] = value;
+    return previous;
   }
 
-  @Override
-  public void putAll(Map<? extends String, ? extends AttributeValue> values) {
+  /** Adds a {@code long} attribute without boxing it, replacing any value of the key. */
+  void putLong(String key, long value) {
+    putPrimitive(key, AttributeValue.Type.LONG, value);
+  }
+
+  /** Adds a {@code double} attribute without boxing it, replacing any value of the key. */
+  void putDouble(String key, double value) {
+    putPrimitive(key, AttributeValue.Type.DOUBLE, Double.doubleToRawLongBits(value));
+  }
+
+  /** Adds a {@code boolean} attribute without boxing it, replacing any value of the key. */
+  void putBoolean(String key, boolean value) {
+    putPrimitive(key, AttributeValue.Type.BOOLEAN, value ? 1 : 0);
+  }
+
+  private void putPrimitive(String key, AttributeValue.Type type, long bits) {
+    int index = findOrInsert(key);
+    if (index < 0) {
+      return;
+    }
+    if (primitives == null) {
+      primitives = new long[table.length / 2];
+    }
+    table[index + 1] = type;
+    primitives[index >> 1] = bits;
+  }
+
+  // Returns the index of the key in the table, inserting the key with a null value if it is not
+  // present yet, or -1 if the key is not present and the map is full.
+  private int findOrInsert(String key) {
+    totalAddedValues++;
+    int index = indexOf(key);
+    if (index >= 0) {
+      return index;
+    }
+    if (size >= capacity) {
+      return -1;
+    }
+    if (2 * (size + 1) > table.length / 2) {
+      // The new attribute would take the load factor above 0.5.
+      grow();
+    }
+    size++;
+    return insert(key);
+  }
+
+  void putAll(Map<? extends String, ? extends AttributeValue> values) {
     for (Map.Entry<? extends String, ? extends AttributeValue> entry : values.entrySet()) {
       put(entry.getKey(), entry.getValue());
     }
   }
 
+  /**
+   * Removes the attribute with the given key.
+   *
+   * @return the value that was associated with the key, or {@code null} if there was none.
+   */
   @Nullable
-  @Override
-  public AttributeValue remove(Object key) {
-    return super.remove(key);
+  AttributeValue remove(String key) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    AttributeValue previous = valueAt(index);
+    deleteAt(index);
+    size--;
+    return previous;
   }
 
-  // Added as public to override the newly added methods in java8, so when we do the switch and
-  // start using them we remember to fix them and count the number of attributes added.
+  int getTotalAddedValues() {
+    return totalAddedValues;
+  }
 
-  @SuppressWarnings("MissingOverride")
-  public AttributeValue putIfAbsent(String key, AttributeValue value) {
-    throw new UnsupportedOperationException("Do not call methods on the map");
+  /** Returns whether this map was created with the given capacity. */
+  boolean hasCapacity(long capacity) {
+    return this.capacity == Math.min(capacity, MAX_CAPACITY);
   }
 
-  @SuppressWarnings("MissingOverride")
-  public AttributeValue replace(String key, AttributeValue value) {
-    throw new UnsupportedOperationException("Do not call methods on the map");
+  /** Returns the number of times this map was recycled. */
+  int getGeneration() {
+    return generation;
   }
 
-  @SuppressWarnings("MissingOverride")
-  public boolean replace(String key, AttributeValue oldValue, AttributeValue newValue) {
-    throw new UnsupportedOperationException("Do not call methods on the map");
+  /** Removes all the attributes, keeping the table, so that the map can be used by another span. */
+  void recycle() {
+    Arrays.fill(table, null);
+    size = 0;
+    totalAddedValues = 0;
+    generation++;
   }
 
-  int getTotalAddedValues() {
-    return totalAddedValues;
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
   }
 
   @Override
   public void forEach(KeyValueConsumer<AttributeValue> consumer) {
-    for (Entry<String, AttributeValue> entry : entrySet()) {
-      consumer.consume(entry.getKey(), entry.getValue());
+    Object[] table = this.table;
+    for (int i = 0; i < table.length; i += 2) {
+      Object key = table[i];
+      if (key != null) {
+        consumer.consume((String) key, valueAt(i));
+      }
+    }
+  }
+
+  @Override
+  public void visit(AttributeVisitor visitor) {
+    Object[] table = this.table;
+    for (int i = 0; i < table.length; i += 2) {
+      Object key = table[i];
+      if (key == null) {
+        continue;
+      }
+      Object value = table[i + 1];
+      if (value == AttributeValue.Type.LONG) {
+        visitor.visitLong((String) key, primitives[i >> 1]);
+      } else if (value == AttributeValue.Type.DOUBLE) {
+        visitor.visitDouble((String) key, Double.longBitsToDouble(primitives[i >> 1]));
+      } else if (value == AttributeValue.Type.BOOLEAN) {
+        visitor.visitBoolean((String) key, primitives[i >> 1] != 0);
+      } else {
+        visitor.visitAttributeValue((String) key, (AttributeValue) value);
+      }
     }
   }
 
   @Nullable
   @Override
   public AttributeValue get(String key) {
-    return super.get(key);
+    int index = indexOf(key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  // Returns the index of the key in the table, or -1 if the key is not present.
+  private int indexOf(String key) {
+    if (size == 0) {
+      return -1;
+    }
+    int mask = table.length - 1;
+    for (int i = (hash(key) << 1) & mask; ; i = (i + 2) & mask) {
+      Object candidate = table[i];
+      if (candidate == null) {
+        return -1;
+      }
+      if (candidate.equals(key)) {
+        return i;
+      }
+    }
+  }
+
+  // Stores the key in its first free slot and returns the index of the slot.
+  private int insert(String key) {
+    int mask = table.length - 1;
+    int i = (hash(key) << 1) & mask;
+    while (table[i] != null) {
+      i = (i + 2) & mask;
+    }
+    table[i] = key;
+    return i;
+  }
+
+  // Backward shift deletion, moves the following entries of the probe sequence into the freed slot
+  // so that lookups never need tombstones.
+  private void deleteAt(int index) {
+    int mask = table.length - 1;
+    int free = index;
+    for (int i = (free + 2) & mask; table[i] != null; i = (i + 2) & mask) {
+      int home = (hash((String) table[i]) << 1) & mask;
+      // Move the entry unless its home slot is cyclically in (free, i].
+      boolean stays = free <= i ? (free < home && home <= i) : (free < home || home <= i);
+      if (!stays) {
+        table[free] = table[i];
+        table[free + 1] = table[i + 1];
+        if (primitives != null) {
+          primitives[free >> 1] = primitives[i >> 1];
+        }
+        free = i;
+      }
+    }
+    table[free] = null;
+    table[free + 1] = null;
+  }
+
+  private void grow() {
+    Object[] oldTable = table;
+    long[] oldPrimitives = primitives;
+    int oldSlots = oldTable.length / 2;
+    int slots = Math.min(oldSlots == 0 ? INITIAL_SLOTS : 2 * oldSlots, maxSlots);
+    table = new Object[2 * slots];
+    primitives = oldPrimitives == null ? null : new long[slots];
+    for (int i = 0; i < oldTable.length; i += 2) {
+      if (oldTable[i] != null) {
+        int index = insert((String) oldTable[i]);
+        table[index + 1] = oldTable[i + 1];
+        if (oldPrimitives != null) {
+          primitives[index >> 1] = oldPrimitives[i >> 1];
+        }
+      }
+    }
+  }
+
+  // Returns the value of the slot at the given index, creating the AttributeValue for primitives.
+  private AttributeValue valueAt(int index) {
+    Object value = table[index + 1];
+    if (value == AttributeValue.Type.LONG) {
+      return AttributeValue.longAttributeValue(primitives[index >> 1]);
+    }
+    if (value == AttributeValue.Type.DOUBLE) {
+      return AttributeValue.doubleAttributeValue(Double.longBitsToDouble(primitives[index >> 1]));
+    }
+    if (value == AttributeValue.Type.BOOLEAN) {
+      return AttributeValue.booleanAttributeValue(primitives[index >> 1] != 0);
+    }
+    return (AttributeValue) value;
+  }
+
+  private static int hash(String key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int roundToPowerOfTwo(int value) {
+    return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof AttributesMap)) {
+      return false;
+    }
+    AttributesMap that = (AttributesMap) o;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < table.length; i += 2) {
+      if (table[i] != null && !valueAt(i).equals(that.get((String) table[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as Map.hashCode(), independent of the order of the entries.
+    int h = 0;
+    for (int i = 0; i < table.length; i += 2) {
+      if (table[i] != null) {
+        h += table[i].hashCode() ^ valueAt(i).hashCode();
+      }
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int i = 0; i < table.length; i += 2) {
+      if (table[i] != null) {
+        if (sb.length() > 1) {
+          sb.append(", ");
+        }
+        sb.append(table[i]).append('=').append(valueAt(i));
+      }
+    }
+    return sb.append('}').toString();
   }
 }
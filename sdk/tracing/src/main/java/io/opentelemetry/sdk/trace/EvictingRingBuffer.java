@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.internal.Utils;
+
+/**
+ * A queue with a fixed capacity that evicts its oldest element when a new element is added while
+ * it is full.
+ *
+ * <p>The elements are kept in a single array used as a ring. The array starts small and is doubled
+ * when needed, up to {@code capacity} elements, so that spans with few events stay small.
+ *
+ * <p>This class is not thread-safe, callers must synchronize the access to it.
+ *
+ * @param <E> the type of the elements.
+ */
+final class EvictingRingBuffer<E> {
+
+  private static final int INITIAL_LENGTH = 4;
+  private static final Object[] EMPTY_ELEMENTS = new Object[0];
+
+  private final int capacity;
+  private Object[] elements = EMPTY_ELEMENTS;
+  // Index of the oldest element.
+  private int head = 0;
+  private int size = 0;
+
+  EvictingRingBuffer(int capacity) {
+    Utils.checkArgument(capacity >= 0, "capacity must be non-negative.");
+    this.capacity = capacity;
+  }
+
+  /** Adds the element, evicting the oldest element if the buffer is full. */
+  void add(E element) {
+    if (capacity == 0) {
+      return;
+    }
+    if (size == elements.length && size < capacity) {
+      grow();
+    }
+    if (size < elements.length) {
+      elements[index(size)] = element;
+      size++;
+    } else {
+      // Full, the new element takes the place of the oldest one.
+      elements[head] = element;
+      head = index(1);
+    }
+  }
+
+  /** Returns the element at the given position, {@code 0} being the oldest element. */
+  @SuppressWarnings("unchecked")
+  E get(int position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("position: " + position + ", size: " + size);
+    }
+    return (E) elements[index(position)];
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  /** Removes all the elements, keeping the array. */
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      elements[index(i)] = null;
+    }
+    head = 0;
+    size = 0;
+  }
+
+  private int index(int position) {
+    int index = head + position;
+    return index < elements.length ? index : index - elements.length;
+  }
+
+  private void grow() {
+    Object[] newElements =
+        new Object[(int) Math.min(Math.max(2L * elements.length, INITIAL_LENGTH), capacity)];
+    for (int i = 0; i < size; i++) {
+      newElements[i] = elements[index(i)];
+    }
+    elements = newElements;
+    head = 0;
+  }
+}
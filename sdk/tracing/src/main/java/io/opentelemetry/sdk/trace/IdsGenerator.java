@@ -19,19 +19,33 @@ package io.opentelemetry.sdk.trace;
 import io.opentelemetry.trace.SpanId;
 import io.opentelemetry.trace.TraceId;
 
-/** Interface used by the {@link TracerSdk} to generate new {@link SpanId}s and {@link TraceId}s. */
+/**
+ * Interface used by the {@link TracerSdk} to generate new {@link SpanId}s and {@link TraceId}s.
+ *
+ * <p>Identifiers are generated as {@code long}s, the {@link io.opentelemetry.trace.SpanContext}
+ * only converts them to their base16 representation when needed.
+ */
 public interface IdsGenerator {
   /**
-   * Generates a new valid {@code SpanId}.
+   * Generates a new valid {@code SpanId}, which must not be {@code 0}.
    *
    * @return a new valid {@code SpanId}.
    */
-  String generateSpanId();
+  long generateSpanId();
+
+  /**
+   * Generates the higher 8 bytes of a new {@code TraceId}. The SDK calls {@link
+   * #generateTraceIdHigh()} and {@link #generateTraceIdLow()} again if both return {@code 0}.
+   *
+   * @return the higher 8 bytes of a new {@code TraceId}.
+   */
+  long generateTraceIdHigh();
 
   /**
-   * Generates a new valid {@code TraceId}.
+   * Generates the lower 8 bytes of a new {@code TraceId}. The SDK calls {@link
+   * #generateTraceIdHigh()} and {@link #generateTraceIdLow()} again if both return {@code 0}.
    *
-   * @return a new valid {@code TraceId}.
+   * @return the lower 8 bytes of a new {@code TraceId}.
    */
-  String generateTraceId();
+  long generateTraceIdLow();
 }
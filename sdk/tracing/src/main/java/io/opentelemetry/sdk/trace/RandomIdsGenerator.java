@@ -16,8 +16,6 @@
 
 package io.opentelemetry.sdk.trace;
 
-import io.opentelemetry.trace.SpanId;
-import io.opentelemetry.trace.TraceId;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -29,24 +27,22 @@ public final class RandomIdsGenerator implements IdsGenerator {
   private static final long INVALID_ID = 0;
 
   @Override
-  public String generateSpanId() {
+  public long generateSpanId() {
     long id;
     ThreadLocalRandom random = ThreadLocalRandom.current();
     do {
       id = random.nextLong();
     } while (id == INVALID_ID);
-    return SpanId.fromLong(id);
+    return id;
   }
 
   @Override
-  public String generateTraceId() {
-    long idHi;
-    long idLo;
-    ThreadLocalRandom random = ThreadLocalRandom.current();
-    do {
-      idHi = random.nextLong();
-      idLo = random.nextLong();
-    } while (idHi == INVALID_ID && idLo == INVALID_ID);
-    return TraceId.fromLongs(idHi, idLo);
+  public long generateTraceIdHigh() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  @Override
+  public long generateTraceIdLow() {
+    return ThreadLocalRandom.current().nextLong();
   }
 }
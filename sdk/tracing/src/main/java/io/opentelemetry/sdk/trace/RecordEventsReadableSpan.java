@@ -16,7 +16,6 @@
 
 package io.opentelemetry.sdk.trace;
 
-import com.google.common.collect.EvictingQueue;
 import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.Attributes;
 import io.opentelemetry.common.ReadableAttributes;
@@ -41,7 +40,7 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -50,9 +49,11 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /** Implementation for the {@link Span} class that records trace events. */
 @ThreadSafe
-final class RecordEventsReadableSpan implements ReadWriteSpan {
+final class RecordEventsReadableSpan implements ReadWriteSpan, RecyclableSpan {
 
   private static final Logger logger = Logger.getLogger(Tracer.class.getName());
+  private static final AtomicIntegerFieldUpdater<RecordEventsReadableSpan> REFERENCES =
+      AtomicIntegerFieldUpdater.newUpdater(RecordEventsReadableSpan.class, "references");
 
   // The config used when constructing this Span.
   private final TraceConfig traceConfig;
@@ -89,9 +90,10 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
   @GuardedBy("lock")
   @Nullable
   private AttributesMap attributes;
-  // List of recorded events.
+  // List of recorded events, allocated with the first event. Null again once the span was recycled.
   @GuardedBy("lock")
-  private final EvictingQueue<TimedEvent> events;
+  @Nullable
+  private EvictingRingBuffer<TimedEvent> events;
   // Number of events recorded.
   @GuardedBy("lock")
   private int totalRecordedEvents = 0;
@@ -105,6 +107,18 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
   // True if the span is ended.
   @GuardedBy("lock")
   private boolean hasEnded;
+  // Immutable snapshot of this span, created by the first call to toSpanData() after the span has
+  // ended. The state cannot change anymore at that point, so the snapshot is shared by all callers.
+  @Nullable private volatile SpanData endedSpanData;
+  // Pool the attributes and events are returned to when the span is recycled, null if span
+  // recycling is disabled.
+  @Nullable private final SpanStatePool statePool;
+  // References to the span that delay its recycling, the span holds one until it ended and the
+  // span processor was notified. See RecyclableSpan.
+  private volatile int references = 1;
+  // True once the attributes and events were returned to the pool.
+  @GuardedBy("lock")
+  private boolean recycled;
 
   private RecordEventsReadableSpan(
       SpanContext context,
@@ -120,7 +134,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       @Nullable AttributesMap attributes,
       List<io.opentelemetry.trace.Link> links,
       int totalRecordedLinks,
-      long startEpochNanos) {
+      long startEpochNanos,
+      @Nullable SpanStatePool statePool) {
     this.context = context;
     this.instrumentationLibraryInfo = instrumentationLibraryInfo;
     this.parentSpanId = parentSpanId;
@@ -135,8 +150,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     this.clock = clock;
     this.startEpochNanos = startEpochNanos;
     this.attributes = attributes;
-    this.events = EvictingQueue.create(traceConfig.getMaxNumberOfEvents());
     this.traceConfig = traceConfig;
+    this.statePool = statePool;
   }
 
   /**
@@ -155,6 +170,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
    * @param resource the resource associated with this span.
    * @param attributes the attributes set during span creation.
    * @param links the links set during span creation, may be truncated.
+   * @param statePool the pool the state of the span is returned to once the span was released, or
+   *     {@code null} if span recycling is disabled.
    * @return a new and started span.
    */
   static RecordEventsReadableSpan startSpan(
@@ -171,7 +188,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       AttributesMap attributes,
       List<io.opentelemetry.trace.Link> links,
       int totalRecordedLinks,
-      long startEpochNanos) {
+      long startEpochNanos,
+      @Nullable SpanStatePool statePool) {
     RecordEventsReadableSpan span =
         new RecordEventsReadableSpan(
             context,
@@ -187,7 +205,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
             attributes,
             links,
             totalRecordedLinks,
-            startEpochNanos == 0 ? clock.now() : startEpochNanos);
+            startEpochNanos == 0 ? clock.now() : startEpochNanos,
+            statePool);
     // Call onStart here instead of calling in the constructor to make sure the span is completely
     // initialized.
     spanProcessor.onStart(span);
@@ -196,19 +215,33 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
 
   @Override
   public SpanData toSpanData() {
+    SpanData spanData = endedSpanData;
+    // The snapshot shares the attributes of the span, so it is not handed out once they were
+    // returned to the pool. recycle() clears it, the reference count covers the window before.
+    if (spanData != null && references > 0) {
+      return spanData;
+    }
     // Copy within synchronized context
     synchronized (lock) {
-      return SpanWrapper.create(
-          this,
-          getImmutableLinks(),
-          getImmutableTimedEvents(),
-          getImmutableAttributes(),
-          (attributes == null) ? 0 : attributes.getTotalAddedValues(),
-          totalRecordedEvents,
-          getStatusWithDefault(),
-          name,
-          endEpochNanos,
-          hasEnded);
+      if (recycled) {
+        throw new IllegalStateException("toSpanData() called on a span that was recycled.");
+      }
+      spanData =
+          SpanWrapper.create(
+              this,
+              getImmutableLinks(),
+              getImmutableTimedEvents(),
+              getImmutableAttributes(),
+              (attributes == null) ? 0 : attributes.getTotalAddedValues(),
+              totalRecordedEvents,
+              getStatusWithDefault(),
+              name,
+              endEpochNanos,
+              hasEnded);
+      if (hasEnded) {
+        endedSpanData = spanData;
+      }
+      return spanData;
     }
   }
 
@@ -289,17 +322,41 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
 
   @Override
   public void setAttribute(String key, long value) {
-    setAttribute(key, AttributeValue.longAttributeValue(value));
+    if (key == null || key.length() == 0) {
+      return;
+    }
+    synchronized (lock) {
+      AttributesMap map = attributesForUpdate();
+      if (map != null) {
+        map.putLong(key, value);
+      }
+    }
   }
 
   @Override
   public void setAttribute(String key, double value) {
-    setAttribute(key, AttributeValue.doubleAttributeValue(value));
+    if (key == null || key.length() == 0) {
+      return;
+    }
+    synchronized (lock) {
+      AttributesMap map = attributesForUpdate();
+      if (map != null) {
+        map.putDouble(key, value);
+      }
+    }
   }
 
   @Override
   public void setAttribute(String key, boolean value) {
-    setAttribute(key, AttributeValue.booleanAttributeValue(value));
+    if (key == null || key.length() == 0) {
+      return;
+    }
+    synchronized (lock) {
+      AttributesMap map = attributesForUpdate();
+      if (map != null) {
+        map.putBoolean(key, value);
+      }
+    }
   }
 
   @Override
@@ -319,7 +376,7 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
         return;
       }
       if (attributes == null) {
-        attributes = new AttributesMap(traceConfig.getMaxNumberOfAttributes());
+        attributes = createAttributes();
       }
 
       if (traceConfig.shouldTruncateStringAttributeValues()) {
@@ -330,6 +387,26 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     }
   }
 
+  // Returns the attributes to add a primitive value to, or null if the span has already ended.
+  @GuardedBy("lock")
+  @Nullable
+  private AttributesMap attributesForUpdate() {
+    if (hasEnded) {
+      logger.log(Level.FINE, "Calling setAttribute() on an ended Span.");
+      return null;
+    }
+    if (attributes == null) {
+      attributes = createAttributes();
+    }
+    return attributes;
+  }
+
+  private AttributesMap createAttributes() {
+    return statePool == null
+        ? new AttributesMap(traceConfig.getMaxNumberOfAttributes())
+        : statePool.acquireAttributes(traceConfig.getMaxNumberOfAttributes());
+  }
+
   @Override
   public void addEvent(String name) {
     if (name == null) {
@@ -406,6 +483,12 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
         logger.log(Level.FINE, "Calling addEvent() on an ended Span.");
         return;
       }
+      if (events == null) {
+        events =
+            statePool == null
+                ? new EvictingRingBuffer<TimedEvent>(traceConfig.getMaxNumberOfEvents())
+                : statePool.acquireEvents(traceConfig.getMaxNumberOfEvents());
+      }
       events.add(timedEvent);
       totalRecordedEvents++;
     }
@@ -486,7 +569,57 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       this.endEpochNanos = endEpochNanos;
       hasEnded = true;
     }
-    spanProcessor.onEnd(this);
+    try {
+      spanProcessor.onEnd(this);
+    } finally {
+      release();
+    }
+  }
+
+  @Override
+  public void retain() {
+    if (statePool == null) {
+      return;
+    }
+    int current;
+    do {
+      current = references;
+      if (current <= 0) {
+        throw new IllegalStateException("retain() called on a span that was recycled.");
+      }
+    } while (!REFERENCES.compareAndSet(this, current, current + 1));
+  }
+
+  @Override
+  public void release() {
+    if (statePool == null) {
+      return;
+    }
+    int remaining = REFERENCES.decrementAndGet(this);
+    if (remaining == 0) {
+      recycle(statePool);
+    } else if (remaining < 0) {
+      throw new IllegalStateException("release() called more times than retain().");
+    }
+  }
+
+  private void recycle(SpanStatePool statePool) {
+    AttributesMap attributes;
+    EvictingRingBuffer<TimedEvent> events;
+    synchronized (lock) {
+      recycled = true;
+      endedSpanData = null;
+      attributes = this.attributes;
+      events = this.events;
+      this.attributes = null;
+      this.events = null;
+    }
+    if (attributes != null) {
+      statePool.releaseAttributes(attributes);
+    }
+    if (events != null) {
+      statePool.releaseEvents(events);
+    }
   }
 
   @Override
@@ -552,28 +685,33 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
 
   @GuardedBy("lock")
   private List<Event> getImmutableTimedEvents() {
-    if (events.isEmpty()) {
+    if (events == null || events.isEmpty()) {
       return Collections.emptyList();
     }
+    if (events.size() == 1) {
+      return Collections.singletonList(toImmutableEvent(events.get(0)));
+    }
 
     List<Event> results = new ArrayList<>(events.size());
-    for (TimedEvent event : events) {
-      if (event instanceof RawTimedEventWithEvent) {
-        // make sure to copy the data if the event is wrapping another one,
-        // so we don't hold on the caller's memory
-        results.add(
-            TimedEvent.create(
-                event.getEpochNanos(),
-                event.getName(),
-                event.getAttributes(),
-                event.getTotalAttributeCount()));
-      } else {
-        results.add(event);
-      }
+    for (int i = 0; i < events.size(); i++) {
+      results.add(toImmutableEvent(events.get(i)));
     }
     return Collections.unmodifiableList(results);
   }
 
+  private static Event toImmutableEvent(TimedEvent event) {
+    if (event instanceof RawTimedEventWithEvent) {
+      // make sure to copy the data if the event is wrapping another one,
+      // so we don't hold on the caller's memory
+      return TimedEvent.create(
+          event.getEpochNanos(),
+          event.getName(),
+          event.getAttributes(),
+          event.getTotalAttributeCount());
+    }
+    return event;
+  }
+
   @GuardedBy("lock")
   private ReadableAttributes getImmutableAttributes() {
     if (attributes == null || attributes.isEmpty()) {
@@ -585,10 +723,14 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
       return attributes;
     }
     // otherwise, make a copy of the data into an immutable container.
-    Attributes.Builder builder = Attributes.newBuilder();
-    for (Map.Entry<String, AttributeValue> entry : attributes.entrySet()) {
-      builder.setAttribute(entry.getKey(), entry.getValue());
-    }
+    final Attributes.Builder builder = Attributes.newBuilder();
+    attributes.forEach(
+        new KeyValueConsumer<AttributeValue>() {
+          @Override
+          public void consume(String key, AttributeValue value) {
+            builder.setAttribute(key, value);
+          }
+        });
     return builder.build();
   }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * A {@link ReadableSpan} whose internal state is returned to a pool once it is not used anymore,
+ * when span recycling is enabled with {@link TracerSdkProvider.Builder#setSpanPoolSize(int)}.
+ *
+ * <p>A {@link SpanProcessor} that uses an ended span, or the {@link SpanData} created from it,
+ * after {@link SpanProcessor#onEnd(ReadableSpan)} returns must call {@link #retain()} from {@code
+ * onEnd} and {@link #release()} once it is done, for example when the {@link
+ * io.opentelemetry.sdk.trace.export.SpanExporter} completed the export. The state of the span is
+ * recycled when the last reference is released, using the span or its {@link SpanData} after that
+ * throws an {@link IllegalStateException}.
+ *
+ * <p>Both methods do nothing when span recycling is disabled.
+ */
+public interface RecyclableSpan extends ReadableSpan {
+
+  /**
+   * Adds a reference to this ended span, which keeps its state until the matching {@link
+   * #release()}.
+   *
+   * @throws IllegalStateException if the span was already recycled.
+   */
+  void retain();
+
+  /** Removes a reference added by {@link #retain()}, recycling the span if it was the last one. */
+  void release();
+}
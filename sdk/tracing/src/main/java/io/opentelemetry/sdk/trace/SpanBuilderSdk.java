@@ -35,6 +35,7 @@ import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.Span.Kind;
 import io.opentelemetry.trace.SpanContext;
 import io.opentelemetry.trace.TraceFlags;
+import io.opentelemetry.trace.TraceId;
 import io.opentelemetry.trace.TraceState;
 import io.opentelemetry.trace.TracingContextUtils;
 import java.util.ArrayList;
@@ -57,6 +58,7 @@ final class SpanBuilderSdk implements Span.Builder {
   private final Resource resource;
   private final IdsGenerator idsGenerator;
   private final Clock clock;
+  @Nullable private final SpanStatePool statePool;
 
   @Nullable private Span parent;
   @Nullable private SpanContext remoteParent;
@@ -74,7 +76,8 @@ final class SpanBuilderSdk implements Span.Builder {
       TraceConfig traceConfig,
       Resource resource,
       IdsGenerator idsGenerator,
-      Clock clock) {
+      Clock clock,
+      @Nullable SpanStatePool statePool) {
     this.spanName = spanName;
     this.instrumentationLibraryInfo = instrumentationLibraryInfo;
     this.spanProcessor = spanProcessor;
@@ -82,6 +85,7 @@ final class SpanBuilderSdk implements Span.Builder {
     this.resource = resource;
     this.idsGenerator = idsGenerator;
     this.clock = clock;
+    this.statePool = statePool;
   }
 
   @Override
@@ -163,17 +167,23 @@ final class SpanBuilderSdk implements Span.Builder {
 
   @Override
   public Span.Builder setAttribute(String key, long value) {
-    return setAttribute(key, AttributeValue.longAttributeValue(value));
+    Objects.requireNonNull(key, "key");
+    getOrCreateAttributes().putLong(key, value);
+    return this;
   }
 
   @Override
   public Span.Builder setAttribute(String key, double value) {
-    return setAttribute(key, AttributeValue.doubleAttributeValue(value));
+    Objects.requireNonNull(key, "key");
+    getOrCreateAttributes().putDouble(key, value);
+    return this;
   }
 
   @Override
   public Span.Builder setAttribute(String key, boolean value) {
-    return setAttribute(key, AttributeValue.booleanAttributeValue(value));
+    Objects.requireNonNull(key, "key");
+    getOrCreateAttributes().putBoolean(key, value);
+    return this;
   }
 
   @Override
@@ -186,18 +196,25 @@ final class SpanBuilderSdk implements Span.Builder {
       }
       return this;
     }
-    if (attributes == null) {
-      attributes = new AttributesMap(traceConfig.getMaxNumberOfAttributes());
-    }
 
     if (traceConfig.shouldTruncateStringAttributeValues()) {
       value = StringUtils.truncateToSize(value, traceConfig.getMaxLengthOfAttributeValues());
     }
 
-    attributes.put(key, value);
+    getOrCreateAttributes().put(key, value);
     return this;
   }
 
+  private AttributesMap getOrCreateAttributes() {
+    if (attributes == null) {
+      attributes =
+          statePool == null
+              ? new AttributesMap(traceConfig.getMaxNumberOfAttributes())
+              : statePool.acquireAttributes(traceConfig.getMaxNumberOfAttributes());
+    }
+    return attributes;
+  }
+
   @Override
   public Span.Builder setStartTimestamp(long startTimestamp) {
     Utils.checkArgument(startTimestamp >= 0, "Negative startTimestamp");
@@ -208,14 +225,20 @@ final class SpanBuilderSdk implements Span.Builder {
   @Override
   public Span startSpan() {
     SpanContext parentContext = parent(parentType, parent, remoteParent);
+    long traceIdHigh = 0;
+    long traceIdLow = 0;
     String traceId;
-    String spanId = idsGenerator.generateSpanId();
+    long spanId = idsGenerator.generateSpanId();
     TraceState traceState = TraceState.getDefault();
     if (!parentContext.isValid()) {
       // New root span.
-      traceId = idsGenerator.generateTraceId();
+      do {
+        traceIdHigh = idsGenerator.generateTraceIdHigh();
+        traceIdLow = idsGenerator.generateTraceIdLow();
+      } while (traceIdHigh == 0 && traceIdLow == 0);
+      traceId = TraceId.fromLongs(traceIdHigh, traceIdLow);
     } else {
-      // New child span.
+      // New child span, the hex trace id is created once per trace and shared by its spans.
       traceId = parentContext.getTraceIdAsHexString();
       traceState = parentContext.getTraceState();
     }
@@ -236,21 +259,27 @@ final class SpanBuilderSdk implements Span.Builder {
 
     TraceFlags traceFlags =
         Samplers.isSampled(samplingDecision) ? TRACE_OPTIONS_SAMPLED : TRACE_OPTIONS_NOT_SAMPLED;
-    SpanContext spanContext = createSpanContext(traceId, spanId, traceState, traceFlags);
+    SpanContext spanContext =
+        parentContext.isValid()
+            ? SpanContext.createInSameTrace(parentContext, spanId, traceFlags, traceState)
+            : SpanContext.create(traceIdHigh, traceIdLow, traceId, spanId, traceFlags, traceState);
 
     if (!Samplers.isRecording(samplingDecision)) {
+      if (statePool != null && attributes != null) {
+        // The attributes of a span that is not recorded are not used anymore.
+        statePool.releaseAttributes(attributes);
+        attributes = null;
+      }
       return DefaultSpan.create(spanContext);
     }
     ReadableAttributes samplingAttributes = samplingResult.getAttributes();
     if (!samplingAttributes.isEmpty()) {
-      if (attributes == null) {
-        attributes = new AttributesMap(traceConfig.getMaxNumberOfAttributes());
-      }
+      final AttributesMap spanAttributes = getOrCreateAttributes();
       samplingAttributes.forEach(
           new KeyValueConsumer<AttributeValue>() {
             @Override
             public void consume(String key, AttributeValue value) {
-              attributes.put(key, value);
+              spanAttributes.put(key, value);
             }
           });
     }
@@ -274,12 +303,8 @@ final class SpanBuilderSdk implements Span.Builder {
         recordedAttributes,
         immutableLinks,
         totalNumberOfLinksAdded,
-        startEpochNanos);
-  }
-
-  private static SpanContext createSpanContext(
-      String traceId, String spanId, TraceState traceState, TraceFlags traceFlags) {
-    return SpanContext.create(traceId, spanId, traceFlags, traceState);
+        startEpochNanos,
+        statePool);
   }
 
   private static Clock getClock(Span parent, Clock clock) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded pool of the containers that hold the attributes and the events of the spans, used when
+ * span recycling is enabled in the {@link TracerSdkProvider}.
+ *
+ * <p>The containers are acquired when a span starts and returned by {@link
+ * RecordEventsReadableSpan} once every reference to the ended span was released, see {@link
+ * RecyclableSpan}. The attributes are cleared and their generation incremented when they are
+ * returned, which lets a {@link io.opentelemetry.sdk.trace.data.SpanData} that still refers to
+ * them detect the reuse. Containers created for a different {@link
+ * io.opentelemetry.sdk.trace.config.TraceConfig} limit are dropped instead of being reused.
+ *
+ * <p>The pool is shared by all the threads since spans usually end on application threads and are
+ * released on the exporter thread. It is lock free: each container is kept in a slot of an array,
+ * and a thread claims or fills a slot with a compare and set, probing a few slots from a random
+ * index. A thread that finds no container allocates a new one and a container that finds no free
+ * slot is dropped, so a busy pool degrades into plain allocations instead of blocking the span.
+ */
+final class SpanStatePool {
+
+  // Slots probed by each acquire or release before giving up.
+  private static final int MAX_PROBES = 8;
+
+  private final Slots<AttributesMap> attributes;
+  private final Slots<EvictingRingBuffer<TimedEvent>> events;
+
+  SpanStatePool(int maxPooledSpans) {
+    this.attributes = new Slots<>(maxPooledSpans);
+    this.events = new Slots<>(maxPooledSpans);
+  }
+
+  AttributesMap acquireAttributes(long capacity) {
+    AttributesMap pooled = attributes.poll();
+    if (pooled == null || !pooled.hasCapacity(capacity)) {
+      return new AttributesMap(capacity);
+    }
+    return pooled;
+  }
+
+  void releaseAttributes(AttributesMap attributesMap) {
+    attributesMap.recycle();
+    attributes.offer(attributesMap);
+  }
+
+  EvictingRingBuffer<TimedEvent> acquireEvents(int maxEvents) {
+    EvictingRingBuffer<TimedEvent> pooled = events.poll();
+    if (pooled == null || pooled.getCapacity() != maxEvents) {
+      return new EvictingRingBuffer<>(maxEvents);
+    }
+    return pooled;
+  }
+
+  void releaseEvents(EvictingRingBuffer<TimedEvent> eventBuffer) {
+    eventBuffer.clear();
+    events.offer(eventBuffer);
+  }
+
+  private static final class Slots<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int probes;
+
+    private Slots(int capacity) {
+      this.slots = new AtomicReferenceArray<>(capacity);
+      this.probes = Math.min(MAX_PROBES, capacity);
+    }
+
+    @Nullable
+    private T poll() {
+      int length = slots.length();
+      int index = ThreadLocalRandom.current().nextInt(length);
+      for (int i = 0; i < probes; i++) {
+        T element = slots.get(index);
+        if (element != null && slots.compareAndSet(index, element, null)) {
+          return element;
+        }
+        index = index + 1 == length ? 0 : index + 1;
+      }
+      return null;
+    }
+
+    private void offer(T element) {
+      int length = slots.length();
+      int index = ThreadLocalRandom.current().nextInt(length);
+      for (int i = 0; i < probes; i++) {
+        if (slots.get(index) == null && slots.compareAndSet(index, null, element)) {
+          return;
+        }
+        index = index + 1 == length ? 0 : index + 1;
+      }
+    }
+  }
+}
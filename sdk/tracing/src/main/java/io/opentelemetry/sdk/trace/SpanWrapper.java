@@ -37,6 +37,10 @@ import javax.annotation.concurrent.Immutable;
  * <p>When adding a new field to {@link RecordEventsReadableSpan}, store a copy if and only if the
  * field is mutable in the {@link RecordEventsReadableSpan}. Otherwise retrieve it from the
  * referenced {@link RecordEventsReadableSpan}.
+ *
+ * <p>The attributes of an ended span are not copied, the {@link AttributesMap} cannot change
+ * anymore. When span recycling is enabled the map goes back to the {@link SpanStatePool} once the
+ * span is released, its generation at the time of the snapshot is kept to detect the reuse.
  */
 @Immutable
 @AutoValue
@@ -49,6 +53,8 @@ abstract class SpanWrapper implements SpanData {
 
   abstract ReadableAttributes attributes();
 
+  abstract int attributesGeneration();
+
   abstract int totalAttributeCount();
 
   abstract int totalRecordedEvents();
@@ -76,11 +82,14 @@ abstract class SpanWrapper implements SpanData {
       String name,
       long endEpochNanos,
       boolean hasEnded) {
+    int attributesGeneration =
+        attributes instanceof AttributesMap ? ((AttributesMap) attributes).getGeneration() : 0;
     return new AutoValue_SpanWrapper(
         delegate,
         links,
         events,
         attributes,
+        attributesGeneration,
         totalAttributeCount,
         totalRecordedEvents,
         status,
@@ -141,7 +150,12 @@ abstract class SpanWrapper implements SpanData {
 
   @Override
   public ReadableAttributes getAttributes() {
-    return attributes();
+    ReadableAttributes attributes = attributes();
+    if (attributes instanceof AttributesMap
+        && ((AttributesMap) attributes).getGeneration() != attributesGeneration()) {
+      throw new IllegalStateException("SpanData used after its span was recycled.");
+    }
+    return attributes;
   }
 
   @Override
@@ -55,7 +55,8 @@ final class TracerSdk implements Tracer {
         sharedState.getActiveTraceConfig(),
         sharedState.getResource(),
         sharedState.getIdsGenerator(),
-        sharedState.getClock());
+        sharedState.getClock(),
+        sharedState.getStatePool());
   }
 
   /**
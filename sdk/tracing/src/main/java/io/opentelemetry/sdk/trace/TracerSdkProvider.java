@@ -16,6 +16,7 @@
 
 package io.opentelemetry.sdk.trace;
 
+import io.opentelemetry.internal.Utils;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.ComponentRegistry;
@@ -49,8 +50,14 @@ public class TracerSdkProvider implements TracerProvider {
     return new Builder();
   }
 
-  private TracerSdkProvider(Clock clock, IdsGenerator idsGenerator, Resource resource) {
-    this.sharedState = new TracerSharedState(clock, idsGenerator, resource);
+  private TracerSdkProvider(
+      Clock clock, IdsGenerator idsGenerator, Resource resource, int spanPoolSize) {
+    this.sharedState =
+        new TracerSharedState(
+            clock,
+            idsGenerator,
+            resource,
+            spanPoolSize == 0 ? null : new SpanStatePool(spanPoolSize));
     this.tracerSdkComponentRegistry = new TracerSdkComponentRegistry(sharedState);
   }
 
@@ -138,10 +145,15 @@ public class TracerSdkProvider implements TracerProvider {
     private Clock clock = MillisClock.getInstance();
     private IdsGenerator idsGenerator = new RandomIdsGenerator();
     private Resource resource = Resource.getDefault();
+    private int spanPoolSize = 0;
 
     /**
      * Assign a {@link Clock}.
      *
+     * <p>A {@link io.opentelemetry.sdk.internal.CachedClock} avoids reading the system clock for
+     * every span start, span end and event, at the cost of timestamps that are only as precise as
+     * its resolution.
+     *
      * @param clock The clock to use for all temporal needs.
      * @return this
      */
@@ -176,13 +188,35 @@ public class TracerSdkProvider implements TracerProvider {
       return this;
     }
 
+    /**
+     * Enables span recycling, which reuses the containers of the attributes and events of the
+     * spans instead of allocating new ones for every span. Disabled by default.
+     *
+     * <p>The state of a span is recycled once it ended and every {@link SpanProcessor} that keeps
+     * it after {@link SpanProcessor#onEnd(ReadableSpan)} released it, see {@link RecyclableSpan}.
+     * The {@link io.opentelemetry.sdk.trace.export.SimpleSpanProcessor} and the {@link
+     * io.opentelemetry.sdk.trace.export.BatchSpanProcessor} release the spans once their export
+     * completed. Custom processors and exporters must not keep the {@link
+     * io.opentelemetry.sdk.trace.data.SpanData} of a span after that, and application code must not
+     * call {@link ReadableSpan#toSpanData()} on ended spans.
+     *
+     * @param spanPoolSize the maximum number of recycled span states kept in the pool, or {@code 0}
+     *     to disable span recycling.
+     * @return this
+     */
+    public Builder setSpanPoolSize(int spanPoolSize) {
+      Utils.checkArgument(spanPoolSize >= 0, "spanPoolSize must be non-negative.");
+      this.spanPoolSize = spanPoolSize;
+      return this;
+    }
+
     /**
      * Create a new TracerSdkFactory instance.
      *
      * @return An initialized TracerSdkFactory.
      */
     public TracerSdkProvider build() {
-      return new TracerSdkProvider(clock, idsGenerator, resource);
+      return new TracerSdkProvider(clock, idsGenerator, resource, spanPoolSize);
     }
 
     private Builder() {}
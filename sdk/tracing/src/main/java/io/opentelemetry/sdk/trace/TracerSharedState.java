@@ -22,6 +22,7 @@ import io.opentelemetry.sdk.trace.config.TraceConfig;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 // Represents the shared state/config between all Tracers created by the same TracerProvider.
@@ -30,6 +31,7 @@ final class TracerSharedState {
   private final Clock clock;
   private final IdsGenerator idsGenerator;
   private final Resource resource;
+  @Nullable private final SpanStatePool statePool;
 
   // Reads and writes are atomic for reference variables. Use volatile to ensure that these
   // operations are visible on other CPUs as well.
@@ -40,10 +42,15 @@ final class TracerSharedState {
   @GuardedBy("lock")
   private final List<SpanProcessor> registeredSpanProcessors = new ArrayList<>();
 
-  TracerSharedState(Clock clock, IdsGenerator idsGenerator, Resource resource) {
+  TracerSharedState(
+      Clock clock,
+      IdsGenerator idsGenerator,
+      Resource resource,
+      @Nullable SpanStatePool statePool) {
     this.clock = clock;
     this.idsGenerator = idsGenerator;
     this.resource = resource;
+    this.statePool = statePool;
   }
 
   Clock getClock() {
@@ -58,6 +65,12 @@ final class TracerSharedState {
     return resource;
   }
 
+  /** Returns the pool of the span state, or {@code null} if span recycling is disabled. */
+  @Nullable
+  SpanStatePool getStatePool() {
+    return statePool;
+  }
+
   /**
    * Returns the active {@code TraceConfig}.
    *
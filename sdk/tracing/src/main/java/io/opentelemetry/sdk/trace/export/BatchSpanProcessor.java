@@ -28,28 +28,42 @@ import io.opentelemetry.sdk.common.DaemonThreadFactory;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.RecyclableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link SpanProcessor} that batches spans exported by the SDK then pushes
  * them to the exporter pipeline.
  *
- * <p>All spans reported by the SDK implementation are first added to a synchronized queue (with a
+ * <p>All spans reported by the SDK implementation are first added to a bounded queue (with a
  * {@code maxQueueSize} maximum size, if queue is full spans are dropped). Spans are exported either
  * when there are {@code maxExportBatchSize} pending spans or {@code scheduleDelayMillis} has passed
- * since the last export finished.
+ * since the last export finished. Up to {@code maxConcurrentExports} exports can be in flight at
+ * the same time, each of them owns its batch of spans.
  *
- * <p>This batch {@link SpanProcessor} can cause high contention in a very high traffic service.
- * TODO: Add a link to the SpanProcessor that uses Disruptor as alternative with low contention.
+ * <p>With the default {@link QueueType#ARRAY_BLOCKING} queue this batch {@link SpanProcessor} can
+ * cause high contention in a very high traffic service, because every ended span takes the queue
+ * lock. {@link QueueType#MPSC_ARRAY} uses a lock-free queue instead.
+ *
+ * <p>By default the {@link SpanData} of every span is created by the single worker thread, which
+ * can limit the throughput of the processor to what one core can convert. With {@code
+ * snapshotOnEnd} enabled the conversion happens on the thread that ends the span instead, and the
+ * worker only picks up the already created immutable snapshot.
  *
  * <p>Configuration options for {@link BatchSpanProcessor} can be read from system properties,
  * environment variables, or {@link java.util.Properties} objects.
@@ -62,7 +76,12 @@ import java.util.logging.Logger;
  *   <li>{@code otel.bsp.max.queue}: sets the maximum queue size.
  *   <li>{@code otel.bsp.max.export.batch}: sets the maximum batch size.
  *   <li>{@code otel.bsp.export.timeout}: sets the maximum allowed time to export data.
+ *   <li>{@code otel.bsp.max.concurrent.exports}: sets the maximum number of exports in flight.
  *   <li>{@code otel.bsp.export.sampled}: sets whether only sampled spans should be exported.
+ *   <li>{@code otel.bsp.queue.type}: sets the type of the queue, {@code array_blocking} or {@code
+ *       mpsc_array}.
+ *   <li>{@code otel.bsp.snapshot.on.end}: sets whether spans are converted to {@link SpanData} on
+ *       the thread that ends them.
  * </ul>
  *
  * <p>For environment variables, {@link BatchSpanProcessor} will look for the following names:
@@ -72,7 +91,12 @@ import java.util.logging.Logger;
  *   <li>{@code OTEL_BSP_MAX_QUEUE}: sets the maximum queue size.
  *   <li>{@code OTEL_BSP_MAX_EXPORT_BATCH}: sets the maximum batch size.
  *   <li>{@code OTEL_BSP_EXPORT_TIMEOUT}: sets the maximum allowed time to export data.
+ *   <li>{@code OTEL_BSP_MAX_CONCURRENT_EXPORTS}: sets the maximum number of exports in flight.
  *   <li>{@code OTEL_BSP_EXPORT_SAMPLED}: sets whether only sampled spans should be exported.
+ *   <li>{@code OTEL_BSP_QUEUE_TYPE}: sets the type of the queue, {@code array_blocking} or {@code
+ *       mpsc_array}.
+ *   <li>{@code OTEL_BSP_SNAPSHOT_ON_END}: sets whether spans are converted to {@link SpanData} on
+ *       the thread that ends them.
  * </ul>
  */
 public final class BatchSpanProcessor implements SpanProcessor {
@@ -81,6 +105,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
       BatchSpanProcessor.class.getSimpleName() + "_WorkerThread";
   private final Worker worker;
   private final boolean sampled;
+  private final boolean snapshotOnEnd;
 
   private BatchSpanProcessor(
       SpanExporter spanExporter,
@@ -88,17 +113,22 @@ public final class BatchSpanProcessor implements SpanProcessor {
       long scheduleDelayMillis,
       int maxQueueSize,
       int maxExportBatchSize,
-      int exporterTimeoutMillis) {
+      int exporterTimeoutMillis,
+      int maxConcurrentExports,
+      QueueType queueType,
+      boolean snapshotOnEnd) {
     this.worker =
         new Worker(
             spanExporter,
             scheduleDelayMillis,
             maxExportBatchSize,
             exporterTimeoutMillis,
-            new ArrayBlockingQueue<ReadableSpan>(maxQueueSize));
+            maxConcurrentExports,
+            queueType.<ReadableSpan>newQueue(maxQueueSize));
     Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
     workerThread.start();
     this.sampled = sampled;
+    this.snapshotOnEnd = snapshotOnEnd;
   }
 
   @Override
@@ -114,6 +144,14 @@ public final class BatchSpanProcessor implements SpanProcessor {
     if (sampled && !span.getSpanContext().getTraceFlags().isSampled()) {
       return;
     }
+    if (span instanceof RecyclableSpan) {
+      // Released by the worker once the export of the span completed.
+      ((RecyclableSpan) span).retain();
+    }
+    if (snapshotOnEnd) {
+      // Ended spans keep their SpanData, so the worker gets this snapshot back without copying.
+      span.toSpanData();
+    }
     worker.addSpan(span);
   }
 
@@ -132,6 +170,32 @@ public final class BatchSpanProcessor implements SpanProcessor {
     return worker.forceFlush();
   }
 
+  /** The type of the queue that holds the ended spans until the worker thread exports them. */
+  public enum QueueType {
+    /**
+     * An {@link java.util.concurrent.ArrayBlockingQueue}, which takes a single lock for every
+     * insertion and removal.
+     */
+    ARRAY_BLOCKING {
+      @Override
+      <E> BoundedQueue<E> newQueue(int capacity) {
+        return new BoundedQueue.ArrayBlockingBoundedQueue<>(capacity);
+      }
+    },
+    /**
+     * A lock-free multi-producer single-consumer array queue. Recommended when many application
+     * threads end spans concurrently.
+     */
+    MPSC_ARRAY {
+      @Override
+      <E> BoundedQueue<E> newQueue(int capacity) {
+        return new MpscArrayQueue<>(capacity);
+      }
+    };
+
+    abstract <E> BoundedQueue<E> newQueue(int capacity);
+  }
+
   // Worker is a thread that batches multiple spans and calls the registered SpanExporter to export
   // the data.
   private static final class Worker implements Runnable {
@@ -159,38 +223,79 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final SpanExporter spanExporter;
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
-    private final int exporterTimeoutMillis;
+    private final long exporterTimeoutNanos;
 
     private long nextExportTime;
 
-    private final BlockingQueue<ReadableSpan> queue;
+    private final BoundedQueue<ReadableSpan> queue;
+    private final ArrayList<ReadableSpan> drained;
+
+    // Number of spans that must be added while the worker thread is parked before a producer wakes
+    // it up, or Integer.MAX_VALUE while the worker thread is not parked. While the worker runs,
+    // producers only read this value, so waking it up costs nothing on the hot path.
+    private final AtomicInteger spansNeeded = new AtomicInteger(Integer.MAX_VALUE);
+    // Spans added since the worker thread parked. Only updated while it is parked, and approximate:
+    // spans added right before it parked may or may not be counted, which at worst wakes the worker
+    // up early or leaves it parked until the schedule delay expires.
+    private final AtomicInteger spansAdded = new AtomicInteger();
+    @Nullable private volatile Thread workerThread;
 
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
-    private final ArrayList<SpanData> batch;
+    private Batch batch;
+
+    // One permit per export that is allowed to be in flight, released when the export completes.
+    private final Semaphore exportPermits;
+    // Exports in flight, oldest first. Only accessed by the worker thread.
+    private final ArrayDeque<PendingExport> pendingExports = new ArrayDeque<>();
+    // Exports that exceeded the export timeout. They keep their permit until the exporter completes
+    // them, so that no more than maxConcurrentExports exports are ever in flight. Only accessed by
+    // the worker thread.
+    private final ArrayDeque<PendingExport> timedOutExports = new ArrayDeque<>();
+    // Batches of completed exports, ready to be reused. Only accessed by the worker thread.
+    private final ArrayDeque<Batch> freeBatches = new ArrayDeque<>();
 
     private Worker(
         SpanExporter spanExporter,
         long scheduleDelayMillis,
         int maxExportBatchSize,
         int exporterTimeoutMillis,
-        BlockingQueue<ReadableSpan> queue) {
+        int maxConcurrentExports,
+        BoundedQueue<ReadableSpan> queue) {
       this.spanExporter = spanExporter;
       this.scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(scheduleDelayMillis);
       this.maxExportBatchSize = maxExportBatchSize;
-      this.exporterTimeoutMillis = exporterTimeoutMillis;
+      this.exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(exporterTimeoutMillis);
+      this.exportPermits = new Semaphore(maxConcurrentExports);
       this.queue = queue;
-      this.batch = new ArrayList<>(this.maxExportBatchSize);
+      this.batch = new Batch(this.maxExportBatchSize);
+      this.drained = new ArrayList<>(this.maxExportBatchSize);
     }
 
     private void addSpan(ReadableSpan span) {
       if (!queue.offer(span)) {
         droppedSpans.add(1);
+        if (span instanceof RecyclableSpan) {
+          ((RecyclableSpan) span).release();
+        }
+      } else {
+        int needed = spansNeeded.get();
+        if (needed != Integer.MAX_VALUE
+            && spansAdded.incrementAndGet() >= needed
+            && spansNeeded.compareAndSet(needed, Integer.MAX_VALUE)) {
+          LockSupport.unpark(workerThread);
+        }
       }
     }
 
+    private void wakeUp() {
+      spansNeeded.set(Integer.MAX_VALUE);
+      LockSupport.unpark(workerThread);
+    }
+
     @Override
     public void run() {
+      workerThread = Thread.currentThread();
       updateNextExportTime();
 
       while (continueWork) {
@@ -198,39 +303,115 @@ public final class BatchSpanProcessor implements SpanProcessor {
           flush();
         }
 
-        try {
-          ReadableSpan lastElement = queue.poll(100, TimeUnit.MILLISECONDS);
-          if (lastElement != null) {
-            batch.add(lastElement.toSpanData());
-          }
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          return;
-        }
+        drainToBatch(maxExportBatchSize - batch.size());
 
         if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
           exportCurrentBatch();
           updateNextExportTime();
         }
+
+        completePendingExports();
+
+        if (queue.size() == 0) {
+          try {
+            awaitSpans();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+
+    // Sleeps until the queue holds enough spans to complete the current batch, a flush is
+    // requested, the schedule delay expires or the oldest export times out, whichever comes first.
+    private void awaitSpans() throws InterruptedException {
+      long wakeUpTime = nextExportTime;
+      PendingExport oldest = pendingExports.peekFirst();
+      if (oldest != null && oldest.deadline - wakeUpTime < 0) {
+        wakeUpTime = oldest.deadline;
+      }
+      long waitNanos = wakeUpTime - System.nanoTime();
+      if (waitNanos <= 0) {
+        return;
+      }
+      int needed = maxExportBatchSize - batch.size();
+      spansAdded.set(0);
+      spansNeeded.set(needed);
+      try {
+        // Re-check after publishing the threshold, a producer may have missed it. A wake up that
+        // happens before parking makes parkNanos return immediately.
+        if (queue.size() < needed && flushRequested.get() == null && continueWork) {
+          LockSupport.parkNanos(this, waitNanos);
+        }
+      } finally {
+        spansNeeded.set(Integer.MAX_VALUE);
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
       }
     }
 
+    // Moves at most limit spans from the queue to the current batch, returns the number of spans
+    // moved.
+    private int drainToBatch(int limit) {
+      int count = queue.drainTo(drained, limit);
+      for (int i = 0; i < count; i++) {
+        batch.add(drained.get(i));
+      }
+      drained.clear();
+      return count;
+    }
+
     private void flush() {
       int spansToFlush = queue.size();
       while (spansToFlush > 0) {
-        ReadableSpan span = queue.poll();
-        assert span != null;
-        batch.add(span.toSpanData());
-        spansToFlush--;
+        int count = drainToBatch(Math.min(spansToFlush, maxExportBatchSize - batch.size()));
+        if (count == 0) {
+          // The remaining spans are still being published, they will be part of the next batch.
+          break;
+        }
+        spansToFlush -= count;
         if (batch.size() >= maxExportBatchSize) {
           exportCurrentBatch();
         }
       }
       exportCurrentBatch();
+      // The flush is complete only once every export in flight has completed or timed out.
+      for (PendingExport pendingExport : pendingExports) {
+        if (!awaitExport(pendingExport)) {
+          break;
+        }
+      }
+      completePendingExports();
       flushRequested.get().succeed();
       flushRequested.set(null);
     }
 
+    // Waits until the export completed or its deadline passed. Unlike CompletableResultCode.join,
+    // this does not fail the result on timeout, the exporter keeps the batch and the permit until
+    // it completes the export. Returns false if the thread was interrupted.
+    private static boolean awaitExport(PendingExport pendingExport) {
+      if (pendingExport.result.isDone()) {
+        return true;
+      }
+      final CountDownLatch latch = new CountDownLatch(1);
+      pendingExport.result.whenComplete(
+          new Runnable() {
+            @Override
+            public void run() {
+              latch.countDown();
+            }
+          });
+      try {
+        latch.await(pendingExport.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+
     private void updateNextExportTime() {
       nextExportTime = System.nanoTime() + scheduleDelayNanos;
     }
@@ -244,6 +425,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
             @Override
             public void run() {
               continueWork = false;
+              wakeUp();
               final CompletableResultCode shutdownResult = spanExporter.shutdown();
               shutdownResult.whenComplete(
                   new Runnable() {
@@ -264,8 +446,18 @@ public final class BatchSpanProcessor implements SpanProcessor {
 
     private CompletableResultCode forceFlush() {
       CompletableResultCode flushResult = new CompletableResultCode();
-      this.flushRequested.compareAndSet(null, flushResult);
-      return this.flushRequested.get();
+      // Join the flush in progress if there is one. Keep the result instead of reading it back,
+      // the woken up worker may complete the flush and clear it right away.
+      while (!flushRequested.compareAndSet(null, flushResult)) {
+        CompletableResultCode pendingFlush = flushRequested.get();
+        if (pendingFlush != null) {
+          flushResult = pendingFlush;
+          break;
+        }
+      }
+      // Wake up the worker thread, it may be waiting for the schedule delay to expire.
+      wakeUp();
+      return flushResult;
     }
 
     private void exportCurrentBatch() {
@@ -274,18 +466,150 @@ public final class BatchSpanProcessor implements SpanProcessor {
       }
 
       try {
-        final CompletableResultCode result = spanExporter.export(batch);
-        result.join(exporterTimeoutMillis, TimeUnit.MILLISECONDS);
-        if (result.isSuccess()) {
-          exportedSpans.add(batch.size());
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
+        if (!acquireExportPermit()) {
+          logger.log(
+              Level.WARNING,
+              "Dropping " + batch.size() + " spans, no export in flight completed in time");
+          droppedSpans.add(batch.size());
+          batch.clear();
+          return;
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        batch.clear();
+        return;
+      }
+
+      // The exporter owns the batch until the export completes, so the next batch needs a new list.
+      final Batch exportBatch = batch;
+      Batch nextBatch = freeBatches.pollFirst();
+      batch = nextBatch != null ? nextBatch : new Batch(maxExportBatchSize);
+
+      CompletableResultCode result;
+      try {
+        result = spanExporter.export(exportBatch.spanData);
       } catch (Exception e) {
         logger.log(Level.WARNING, "Exporter threw an Exception", e);
-      } finally {
-        batch.clear();
+        result = CompletableResultCode.ofFailure();
       }
+      final CompletableResultCode exportResult = result;
+      final int exportSize = exportBatch.size();
+      pendingExports.addLast(
+          new PendingExport(exportResult, exportBatch, System.nanoTime() + exporterTimeoutNanos));
+      exportResult.whenComplete(
+          new Runnable() {
+            @Override
+            public void run() {
+              if (exportResult.isSuccess()) {
+                exportedSpans.add(exportSize);
+              } else {
+                logger.log(Level.FINE, "Exporter failed");
+              }
+              exportPermits.release();
+            }
+          });
+    }
+
+    // Waits until fewer than maxConcurrentExports exports are in flight. Returns false if only
+    // timed out exports are in flight and none of them completed within the export timeout.
+    private boolean acquireExportPermit() throws InterruptedException {
+      while (!exportPermits.tryAcquire()) {
+        completePendingExports();
+        PendingExport oldest = pendingExports.peekFirst();
+        if (oldest == null) {
+          if (timedOutExports.isEmpty()) {
+            // All the permits were released since the last check.
+            continue;
+          }
+          return exportPermits.tryAcquire(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        long waitNanos = oldest.deadline - System.nanoTime();
+        if (waitNanos > 0 && exportPermits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+          return true;
+        }
+      }
+      return true;
+    }
+
+    // Removes completed exports from the pending lists, recycling their batches and releasing their
+    // spans, and stops waiting for the exports that exceeded the export timeout.
+    private void completePendingExports() {
+      long now = System.nanoTime();
+      Iterator<PendingExport> iterator = pendingExports.iterator();
+      while (iterator.hasNext()) {
+        PendingExport pendingExport = iterator.next();
+        if (pendingExport.result.isDone()) {
+          iterator.remove();
+          recycle(pendingExport.batch);
+        } else if (now - pendingExport.deadline >= 0) {
+          // The exporter may still be sending the batch, so the batch, its spans and the permit of
+          // the export are only released once the exporter completes the result.
+          logger.log(Level.FINE, "Exporter timed out");
+          iterator.remove();
+          timedOutExports.addLast(pendingExport);
+        }
+      }
+      iterator = timedOutExports.iterator();
+      while (iterator.hasNext()) {
+        PendingExport timedOutExport = iterator.next();
+        if (timedOutExport.result.isDone()) {
+          iterator.remove();
+          recycle(timedOutExport.batch);
+        }
+      }
+    }
+
+    private void recycle(Batch batch) {
+      batch.clear();
+      freeBatches.addLast(batch);
+    }
+  }
+
+  // The SpanData exported together, and the spans they were created from, which are released once
+  // the export completed.
+  private static final class Batch {
+    private final ArrayList<SpanData> spanData;
+    private final ArrayList<RecyclableSpan> recyclableSpans;
+
+    private Batch(int capacity) {
+      this.spanData = new ArrayList<>(capacity);
+      this.recyclableSpans = new ArrayList<>(capacity);
+    }
+
+    private void add(ReadableSpan span) {
+      spanData.add(span.toSpanData());
+      if (span instanceof RecyclableSpan) {
+        recyclableSpans.add((RecyclableSpan) span);
+      }
+    }
+
+    private int size() {
+      return spanData.size();
+    }
+
+    private boolean isEmpty() {
+      return spanData.isEmpty();
+    }
+
+    // Releases the spans and empties the batch so that it can be reused.
+    private void clear() {
+      for (int i = 0; i < recyclableSpans.size(); i++) {
+        recyclableSpans.get(i).release();
+      }
+      recyclableSpans.clear();
+      spanData.clear();
+    }
+  }
+
+  private static final class PendingExport {
+    private final CompletableResultCode result;
+    private final Batch batch;
+    private final long deadline;
+
+    private PendingExport(CompletableResultCode result, Batch batch, long deadline) {
+      this.result = result;
+      this.batch = batch;
+      this.deadline = deadline;
     }
   }
 
@@ -307,20 +631,29 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private static final String KEY_MAX_QUEUE_SIZE = "otel.bsp.max.queue";
     private static final String KEY_MAX_EXPORT_BATCH_SIZE = "otel.bsp.max.export.batch";
     private static final String KEY_EXPORT_TIMEOUT_MILLIS = "otel.bsp.export.timeout";
+    private static final String KEY_MAX_CONCURRENT_EXPORTS = "otel.bsp.max.concurrent.exports";
     private static final String KEY_SAMPLED = "otel.bsp.export.sampled";
+    private static final String KEY_QUEUE_TYPE = "otel.bsp.queue.type";
+    private static final String KEY_SNAPSHOT_ON_END = "otel.bsp.snapshot.on.end";
 
     @VisibleForTesting static final long DEFAULT_SCHEDULE_DELAY_MILLIS = 5000;
     @VisibleForTesting static final int DEFAULT_MAX_QUEUE_SIZE = 2048;
     @VisibleForTesting static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
     @VisibleForTesting static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+    @VisibleForTesting static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
     @VisibleForTesting static final boolean DEFAULT_EXPORT_ONLY_SAMPLED = true;
+    @VisibleForTesting static final QueueType DEFAULT_QUEUE_TYPE = QueueType.ARRAY_BLOCKING;
+    @VisibleForTesting static final boolean DEFAULT_SNAPSHOT_ON_END = false;
 
     private final SpanExporter spanExporter;
     private long scheduleDelayMillis = DEFAULT_SCHEDULE_DELAY_MILLIS;
     private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
     private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
     private int exporterTimeoutMillis = DEFAULT_EXPORT_TIMEOUT_MILLIS;
+    private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
     private boolean exportOnlySampled = DEFAULT_EXPORT_ONLY_SAMPLED;
+    private QueueType queueType = DEFAULT_QUEUE_TYPE;
+    private boolean snapshotOnEnd = DEFAULT_SNAPSHOT_ON_END;
 
     private Builder(SpanExporter spanExporter) {
       this.spanExporter = Utils.checkNotNull(spanExporter, "spanExporter");
@@ -352,10 +685,22 @@ public final class BatchSpanProcessor implements SpanProcessor {
       if (intValue != null) {
         this.setExporterTimeoutMillis(intValue);
       }
+      intValue = getIntProperty(KEY_MAX_CONCURRENT_EXPORTS, configMap);
+      if (intValue != null) {
+        this.setMaxConcurrentExports(intValue);
+      }
       Boolean boolValue = getBooleanProperty(KEY_SAMPLED, configMap);
       if (boolValue != null) {
         this.setExportOnlySampled(boolValue);
       }
+      String stringValue = getStringProperty(KEY_QUEUE_TYPE, configMap);
+      if (stringValue != null) {
+        this.setQueueType(QueueType.valueOf(stringValue.toUpperCase(Locale.ROOT)));
+      }
+      boolValue = getBooleanProperty(KEY_SNAPSHOT_ON_END, configMap);
+      if (boolValue != null) {
+        this.setSnapshotOnEnd(boolValue);
+      }
       return this;
     }
 
@@ -401,7 +746,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
     }
 
     /**
-     * Sets the maximum time an exporter will be allowed to run before being cancelled.
+     * Sets the maximum time an exporter will be allowed to run before the processor stops waiting
+     * for it. A timed out export is not cancelled and still counts towards the maximum number of
+     * concurrent exports until the exporter completes it. If only timed out exports are in flight
+     * and none of them completes within this timeout, the next batch is dropped.
      *
      * <p>Default value is {@code 30000}ms
      *
@@ -419,6 +767,30 @@ public final class BatchSpanProcessor implements SpanProcessor {
       return exporterTimeoutMillis;
     }
 
+    /**
+     * Sets the maximum number of exports that can be in flight at the same time. When all of them
+     * are in flight, the worker thread waits for one of them to complete before exporting the next
+     * batch, and spans are dropped once the queue is full. Values greater than {@code 1} only help
+     * with exporters that complete their {@link CompletableResultCode} asynchronously, and require
+     * an exporter that supports concurrent calls to {@link SpanExporter#export}.
+     *
+     * <p>Default value is {@code 1}.
+     *
+     * @param maxConcurrentExports the maximum number of exports in flight.
+     * @return this.
+     * @see BatchSpanProcessor.Builder#DEFAULT_MAX_CONCURRENT_EXPORTS
+     */
+    public Builder setMaxConcurrentExports(int maxConcurrentExports) {
+      Utils.checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+      this.maxConcurrentExports = maxConcurrentExports;
+      return this;
+    }
+
+    @VisibleForTesting
+    int getMaxConcurrentExports() {
+      return maxConcurrentExports;
+    }
+
     /**
      * Sets the maximum number of Spans that are kept in the queue before start dropping.
      *
@@ -463,6 +835,47 @@ public final class BatchSpanProcessor implements SpanProcessor {
       return maxExportBatchSize;
     }
 
+    /**
+     * Sets the type of the queue that holds the ended spans until they are exported.
+     *
+     * <p>Default value is {@link QueueType#ARRAY_BLOCKING}.
+     *
+     * @param queueType the type of the queue.
+     * @return this.
+     * @see BatchSpanProcessor.Builder#DEFAULT_QUEUE_TYPE
+     */
+    public Builder setQueueType(QueueType queueType) {
+      this.queueType = Utils.checkNotNull(queueType, "queueType");
+      return this;
+    }
+
+    @VisibleForTesting
+    QueueType getQueueType() {
+      return queueType;
+    }
+
+    /**
+     * Sets whether the immutable {@link SpanData} of a span is created on the thread that ends the
+     * span instead of on the worker thread. This spreads the cost of the conversion across all the
+     * application threads, so that the throughput of the processor is not limited by the single
+     * worker thread, at the cost of a slightly more expensive {@code Span.end()}.
+     *
+     * <p>Default value is {@code false}.
+     *
+     * @param snapshotOnEnd if {@code true} convert spans on the thread that ends them.
+     * @return this.
+     * @see BatchSpanProcessor.Builder#DEFAULT_SNAPSHOT_ON_END
+     */
+    public Builder setSnapshotOnEnd(boolean snapshotOnEnd) {
+      this.snapshotOnEnd = snapshotOnEnd;
+      return this;
+    }
+
+    @VisibleForTesting
+    boolean getSnapshotOnEnd() {
+      return snapshotOnEnd;
+    }
+
     /**
      * Returns a new {@link BatchSpanProcessor} that batches, then converts spans to proto and
      * forwards them to the given {@code spanExporter}.
@@ -477,7 +890,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
           scheduleDelayMillis,
           maxQueueSize,
           maxExportBatchSize,
-          exporterTimeoutMillis);
+          exporterTimeoutMillis,
+          maxConcurrentExports,
+          queueType,
+          snapshotOnEnd);
     }
   }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded queue that is written by any number of threads and read by a single consumer thread,
+ * which is the only access pattern used by the {@link BatchSpanProcessor}.
+ *
+ * @param <E> the type of the queued elements.
+ */
+interface BoundedQueue<E> {
+
+  /**
+   * Inserts the element if there is space available.
+   *
+   * @param element the element to add.
+   * @return {@code false} if the queue is full, {@code true} otherwise.
+   */
+  boolean offer(E element);
+
+  /**
+   * Removes at most {@code limit} available elements and adds them to the given collection. Must
+   * only be called from the consumer thread.
+   *
+   * @param sink the collection to transfer elements into.
+   * @param limit the maximum number of elements to transfer.
+   * @return the number of elements transferred.
+   */
+  int drainTo(Collection<? super E> sink, int limit);
+
+  /**
+   * Returns an estimate of the number of elements in the queue.
+   *
+   * @return an estimate of the number of elements in the queue.
+   */
+  int size();
+
+  /** A {@link BoundedQueue} backed by an {@link ArrayBlockingQueue}. */
+  final class ArrayBlockingBoundedQueue<E> implements BoundedQueue<E> {
+    private final ArrayBlockingQueue<E> queue;
+
+    ArrayBlockingBoundedQueue(int capacity) {
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(E element) {
+      return queue.offer(element);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> sink, int limit) {
+      return queue.drainTo(sink, limit);
+    }
+
+    @Override
+    public int size() {
+      return queue.size();
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.internal.Utils;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer array queue.
+ *
+ * <p>This is a simplified port of the JCTools {@code MpscArrayQueue} that only relies on the
+ * {@code java.util.concurrent.atomic} classes. Producers claim a slot with a CAS on the producer
+ * index and then publish the element with an ordered store, the single consumer reads the slot and
+ * then advances the consumer index with an ordered store. The producer and consumer indices are
+ * padded to fill their own cache lines, to avoid false sharing between producers and the consumer.
+ *
+ * @param <E> the type of the queued elements.
+ */
+final class MpscArrayQueue<E> implements BoundedQueue<E> {
+
+  // Pad the array on both sides so that the elements at the edges do not share a cache line with
+  // the array header or with other objects.
+  private static final int BUFFER_PAD = 16;
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<E> buffer;
+  private final PaddedIndex producerIndex = new PaddedIndex(0);
+  // First index that producers cannot claim without re-reading the consumer index.
+  private final PaddedIndex producerLimit;
+  private final PaddedIndex consumerIndex = new PaddedIndex(0);
+
+  MpscArrayQueue(int capacity) {
+    Utils.checkArgument(capacity > 0, "capacity must be positive.");
+    Utils.checkArgument(capacity <= (1 << 30), "capacity is too large.");
+    int actualCapacity = roundToPowerOfTwo(capacity);
+    this.capacity = capacity;
+    this.mask = actualCapacity - 1;
+    this.buffer = new AtomicReferenceArray<>(actualCapacity + 2 * BUFFER_PAD);
+    this.producerLimit = new PaddedIndex(capacity);
+  }
+
+  @Override
+  public boolean offer(E element) {
+    Utils.checkNotNull(element, "element");
+    long limit = producerLimit.get();
+    long index;
+    do {
+      index = producerIndex.get();
+      if (index >= limit) {
+        // The cached limit may be stale, refresh it from the consumer index.
+        limit = consumerIndex.get() + capacity;
+        if (index >= limit) {
+          return false;
+        }
+        producerLimit.set(limit);
+      }
+    } while (!producerIndex.compareAndSet(index, index + 1));
+    buffer.lazySet(offset(index), element);
+    return true;
+  }
+
+  @Override
+  public int drainTo(Collection<? super E> sink, int limit) {
+    long index = consumerIndex.get();
+    int drained = 0;
+    while (drained < limit) {
+      int offset = offset(index);
+      E element = buffer.get(offset);
+      if (element == null) {
+        // Either the queue is empty or the next element is not published yet, in which case the
+        // next drain will pick it up.
+        break;
+      }
+      buffer.lazySet(offset, null);
+      index++;
+      consumerIndex.lazySet(index);
+      sink.add(element);
+      drained++;
+    }
+    return drained;
+  }
+
+  @Override
+  public int size() {
+    // Read the consumer index twice to get a consistent snapshot of the producer index.
+    long after = consumerIndex.get();
+    while (true) {
+      long before = after;
+      long currentProducerIndex = producerIndex.get();
+      after = consumerIndex.get();
+      if (before == after) {
+        long size = currentProducerIndex - after;
+        return (int) Math.max(0, Math.min(size, capacity));
+      }
+    }
+  }
+
+  private int offset(long index) {
+    return BUFFER_PAD + (int) (index & mask);
+  }
+
+  private static int roundToPowerOfTwo(int value) {
+    return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+  }
+
+  // Same layout trick as the LMAX Disruptor Sequence: the JVM lays out the fields of a superclass
+  // before the fields of its subclasses, so the value ends up between two blocks of padding.
+
+  @SuppressWarnings("unused")
+  private static class LeftPadding {
+    long p1;
+    long p2;
+    long p3;
+    long p4;
+    long p5;
+    long p6;
+    long p7;
+  }
+
+  private static class Index extends LeftPadding {
+    private static final AtomicLongFieldUpdater<Index> VALUE =
+        AtomicLongFieldUpdater.newUpdater(Index.class, "value");
+
+    volatile long value;
+
+    long get() {
+      return value;
+    }
+
+    void set(long newValue) {
+      value = newValue;
+    }
+
+    void lazySet(long newValue) {
+      VALUE.lazySet(this, newValue);
+    }
+
+    boolean compareAndSet(long expect, long update) {
+      return VALUE.compareAndSet(this, expect, update);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private static final class PaddedIndex extends Index {
+    long p9;
+    long p10;
+    long p11;
+    long p12;
+    long p13;
+    long p14;
+    long p15;
+
+    PaddedIndex(long initialValue) {
+      this.value = initialValue;
+    }
+  }
+}
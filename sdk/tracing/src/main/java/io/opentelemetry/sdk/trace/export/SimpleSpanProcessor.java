@@ -21,6 +21,7 @@ import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.ConfigBuilder;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.RecyclableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.Collections;
@@ -79,6 +80,12 @@ public final class SimpleSpanProcessor implements SpanProcessor {
     if (sampled && !span.getSpanContext().getTraceFlags().isSampled()) {
       return;
     }
+    // The export may complete asynchronously, keep the span from being recycled until then.
+    final RecyclableSpan recyclableSpan =
+        span instanceof RecyclableSpan ? (RecyclableSpan) span : null;
+    if (recyclableSpan != null) {
+      recyclableSpan.retain();
+    }
     try {
       List<SpanData> spans = Collections.singletonList(span.toSpanData());
       final CompletableResultCode result = spanExporter.export(spans);
@@ -89,10 +96,16 @@ public final class SimpleSpanProcessor implements SpanProcessor {
               if (!result.isSuccess()) {
                 logger.log(Level.FINE, "Exporter failed");
               }
+              if (recyclableSpan != null) {
+                recyclableSpan.release();
+              }
             }
           });
     } catch (Exception e) {
       logger.log(Level.WARNING, "Exporter threw an Exception", e);
+      if (recyclableSpan != null) {
+        recyclableSpan.release();
+      }
     }
   }
 
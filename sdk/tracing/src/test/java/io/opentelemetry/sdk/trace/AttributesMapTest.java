@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static io.opentelemetry.common.AttributeValue.booleanAttributeValue;
+import static io.opentelemetry.common.AttributeValue.doubleAttributeValue;
+import static io.opentelemetry.common.AttributeValue.longAttributeValue;
+import static io.opentelemetry.common.AttributeValue.stringAttributeValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.opentelemetry.common.AttributeValue;
+import io.opentelemetry.common.ReadableAttributes.AttributeVisitor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AttributesMap}. */
+class AttributesMapTest {
+
+  @Test
+  void putAndGet() {
+    AttributesMap attributes = new AttributesMap(32);
+    assertThat(attributes.isEmpty()).isTrue();
+    assertThat(attributes.get("key")).isNull();
+
+    assertThat(attributes.put("key", stringAttributeValue("value"))).isNull();
+    assertThat(attributes.put("key", stringAttributeValue("other")))
+        .isEqualTo(stringAttributeValue("value"));
+    assertThat(attributes.size()).isEqualTo(1);
+    assertThat(attributes.get("key")).isEqualTo(stringAttributeValue("other"));
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(2);
+  }
+
+  @Test
+  void dropsWhenFull() {
+    AttributesMap attributes = new AttributesMap(2);
+    attributes.put("a", longAttributeValue(1));
+    attributes.put("b", longAttributeValue(2));
+    assertThat(attributes.put("c", longAttributeValue(3))).isNull();
+    assertThat(attributes.get("c")).isNull();
+    // Existing keys can still be updated.
+    attributes.put("a", longAttributeValue(4));
+    assertThat(attributes.get("a")).isEqualTo(longAttributeValue(4));
+    assertThat(attributes.size()).isEqualTo(2);
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(4);
+  }
+
+  @Test
+  void zeroCapacity() {
+    AttributesMap attributes = new AttributesMap(0);
+    assertThat(attributes.put("a", longAttributeValue(1))).isNull();
+    assertThat(attributes.isEmpty()).isTrue();
+    assertThat(attributes.remove("a")).isNull();
+  }
+
+  @Test
+  void primitives() {
+    AttributesMap attributes = new AttributesMap(32);
+    attributes.putLong("long", 1);
+    attributes.putDouble("double", 1.5);
+    attributes.putBoolean("boolean", true);
+    assertThat(attributes.size()).isEqualTo(3);
+    assertThat(attributes.get("long")).isEqualTo(longAttributeValue(1));
+    assertThat(attributes.get("double")).isEqualTo(doubleAttributeValue(1.5));
+    assertThat(attributes.get("boolean")).isEqualTo(booleanAttributeValue(true));
+
+    // Replacing a primitive by an object value and the other way around.
+    assertThat(attributes.put("long", stringAttributeValue("value")))
+        .isEqualTo(longAttributeValue(1));
+    attributes.putLong("double", 2);
+    assertThat(attributes.get("long")).isEqualTo(stringAttributeValue("value"));
+    assertThat(attributes.get("double")).isEqualTo(longAttributeValue(2));
+    assertThat(attributes.remove("boolean")).isEqualTo(booleanAttributeValue(true));
+    assertThat(attributes.size()).isEqualTo(2);
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(5);
+  }
+
+  @Test
+  void primitives_dropsWhenFull() {
+    AttributesMap attributes = new AttributesMap(1);
+    attributes.putLong("a", 1);
+    attributes.putLong("b", 2);
+    assertThat(attributes.get("b")).isNull();
+    assertThat(attributes.size()).isEqualTo(1);
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(2);
+  }
+
+  @Test
+  void visit() {
+    AttributesMap attributes = new AttributesMap(32);
+    attributes.put("string", stringAttributeValue("value"));
+    attributes.putLong("long", 1);
+    attributes.putDouble("double", 1.5);
+    attributes.putBoolean("boolean", false);
+    attributes.put("boxedLong", longAttributeValue(2));
+
+    final Map<String, Object> entriesSeen = new HashMap<>();
+    attributes.visit(
+        new AttributeVisitor() {
+          @Override
+          public void visitString(String key, String value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitBoolean(String key, boolean value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitLong(String key, long value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitDouble(String key, double value) {
+            entriesSeen.put(key, value);
+          }
+
+          @Override
+          public void visitArray(String key, AttributeValue value) {
+            entriesSeen.put(key, value);
+          }
+        });
+    assertThat(entriesSeen)
+        .containsOnly(
+            entry("string", "value"),
+            entry("long", 1L),
+            entry("double", 1.5),
+            entry("boolean", false),
+            entry("boxedLong", 2L));
+  }
+
+  @Test
+  void remove() {
+    AttributesMap attributes = new AttributesMap(32);
+    attributes.put("a", longAttributeValue(1));
+    attributes.put("b", longAttributeValue(2));
+    assertThat(attributes.remove("a")).isEqualTo(longAttributeValue(1));
+    assertThat(attributes.remove("a")).isNull();
+    assertThat(attributes.get("b")).isEqualTo(longAttributeValue(2));
+    assertThat(attributes.size()).isEqualTo(1);
+  }
+
+  @Test
+  void behavesLikeHashMap() {
+    // Random operations on a small key space, which exercise collisions, growth and the backward
+    // shift on removal.
+    Random random = new Random(42);
+    AttributesMap attributes = new AttributesMap(64);
+    Map<String, AttributeValue> expected = new HashMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      String key = "key" + random.nextInt(100);
+      if (random.nextInt(3) == 0) {
+        assertThat(attributes.remove(key)).isEqualTo(expected.remove(key));
+      } else if (expected.size() < 64 || expected.containsKey(key)) {
+        if (random.nextBoolean()) {
+          attributes.putLong(key, i);
+          expected.put(key, longAttributeValue(i));
+        } else {
+          AttributeValue value = stringAttributeValue("value" + i);
+          assertThat(attributes.put(key, value)).isEqualTo(expected.put(key, value));
+        }
+      }
+      assertThat(attributes.size()).isEqualTo(expected.size());
+    }
+    Map<String, AttributeValue> actual = new HashMap<>();
+    attributes.forEach(actual::put);
+    assertThat(actual).isEqualTo(expected);
+    for (Map.Entry<String, AttributeValue> entry : expected.entrySet()) {
+      assertThat(attributes.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    AttributesMap first = new AttributesMap(8);
+    first.put("a", longAttributeValue(1));
+    first.put("b", longAttributeValue(2));
+    AttributesMap second = new AttributesMap(32);
+    second.put("b", longAttributeValue(2));
+    second.put("a", longAttributeValue(1));
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    second.put("a", longAttributeValue(3));
+    assertThat(first).isNotEqualTo(second);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link EvictingRingBuffer}. */
+class EvictingRingBufferTest {
+
+  @Test
+  void invalidCapacity() {
+    assertThatThrownBy(() -> new EvictingRingBuffer<Integer>(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void addAndGet() {
+    EvictingRingBuffer<Integer> buffer = new EvictingRingBuffer<>(8);
+    assertThat(buffer.isEmpty()).isTrue();
+    buffer.add(1);
+    buffer.add(2);
+    assertThat(buffer.size()).isEqualTo(2);
+    assertThat(buffer.get(0)).isEqualTo(1);
+    assertThat(buffer.get(1)).isEqualTo(2);
+    assertThatThrownBy(() -> buffer.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void evictsOldest() {
+    EvictingRingBuffer<Integer> buffer = new EvictingRingBuffer<>(3);
+    for (int i = 0; i < 5; i++) {
+      buffer.add(i);
+    }
+    assertThat(toList(buffer)).containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void zeroCapacity() {
+    EvictingRingBuffer<Integer> buffer = new EvictingRingBuffer<>(0);
+    buffer.add(1);
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void clear() {
+    EvictingRingBuffer<Integer> buffer = new EvictingRingBuffer<>(3);
+    for (int i = 0; i < 5; i++) {
+      buffer.add(i);
+    }
+    buffer.clear();
+    assertThat(buffer.isEmpty()).isTrue();
+    buffer.add(7);
+    assertThat(toList(buffer)).containsExactly(7);
+  }
+
+  @Test
+  void behavesLikeEvictingDeque() {
+    // Growth happens at different points of the rotation depending on the capacity.
+    for (int capacity = 1; capacity <= 20; capacity++) {
+      EvictingRingBuffer<Integer> buffer = new EvictingRingBuffer<>(capacity);
+      ArrayDeque<Integer> expected = new ArrayDeque<>();
+      for (int i = 0; i < 3 * capacity; i++) {
+        buffer.add(i);
+        expected.addLast(i);
+        if (expected.size() > capacity) {
+          expected.removeFirst();
+        }
+        assertThat(toList(buffer)).containsExactlyElementsOf(expected);
+      }
+    }
+  }
+
+  private static List<Integer> toList(EvictingRingBuffer<Integer> buffer) {
+    List<Integer> result = new ArrayList<>();
+    for (int i = 0; i < buffer.size(); i++) {
+      result.add(buffer.get(i));
+    }
+    return result;
+  }
+}
@@ -30,11 +30,12 @@ class RandomIdsGeneratorTest {
 
     // Can't assert values but can assert they're valid, try a lot as a sort of fuzz check.
     for (int i = 0; i < 1000; i++) {
-      CharSequence traceId = generator.generateTraceId();
-      assertThat(traceId.toString()).isNotEqualTo(TraceId.getInvalid());
+      String traceId =
+          TraceId.fromLongs(generator.generateTraceIdHigh(), generator.generateTraceIdLow());
+      assertThat(traceId).isNotEqualTo(TraceId.getInvalid());
 
-      CharSequence spanId = generator.generateSpanId();
-      assertThat(spanId.toString()).isNotEqualTo(SpanId.getInvalid());
+      String spanId = SpanId.fromLong(generator.generateSpanId());
+      assertThat(spanId).isNotEqualTo(SpanId.getInvalid());
     }
   }
 }
@@ -36,6 +36,7 @@ import io.opentelemetry.trace.SpanContext;
 import io.opentelemetry.trace.SpanId;
 import io.opentelemetry.trace.Status;
 import io.opentelemetry.trace.TraceFlags;
+import io.opentelemetry.trace.TraceId;
 import io.opentelemetry.trace.TraceState;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -65,9 +66,10 @@ class RecordEventsReadableSpanTest {
   private static final long START_EPOCH_NANOS = 1000_123_789_654L;
 
   private final IdsGenerator idsGenerator = new RandomIdsGenerator();
-  private final String traceId = idsGenerator.generateTraceId();
-  private final String spanId = idsGenerator.generateSpanId();
-  private final String parentSpanId = idsGenerator.generateSpanId();
+  private final String traceId =
+      TraceId.fromLongs(idsGenerator.generateTraceIdHigh(), idsGenerator.generateTraceIdLow());
+  private final String spanId = SpanId.fromLong(idsGenerator.generateSpanId());
+  private final String parentSpanId = SpanId.fromLong(idsGenerator.generateSpanId());
   private final SpanContext spanContext =
       SpanContext.create(traceId, spanId, TraceFlags.getDefault(), TraceState.getDefault());
   private final Resource resource = Resource.getEmpty();
@@ -206,6 +208,100 @@ class RecordEventsReadableSpanTest {
         /*hasEnded=*/ true);
   }
 
+  @Test
+  void toSpanData_EndedSpanIsSnapshottedOnce() {
+    RecordEventsReadableSpan span = createTestSpan(Kind.INTERNAL);
+    SpanData activeSpanData = span.toSpanData();
+    assertThat(span.toSpanData()).isNotSameAs(activeSpanData);
+    span.end();
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getHasEnded()).isTrue();
+    assertThat(span.toSpanData()).isSameAs(spanData);
+    // Changes after the end are ignored, so the snapshot stays valid.
+    span.setAttribute("afterEnd", "value");
+    assertThat(span.toSpanData()).isSameAs(spanData);
+  }
+
+  @Test
+  void recycling_stateIsReturnedAfterLastRelease() {
+    SpanStatePool statePool = new SpanStatePool(4);
+    AttributesMap attributes =
+        new AttributesMap(TraceConfig.getDefault().getMaxNumberOfAttributes());
+    RecordEventsReadableSpan span =
+        createTestSpan(
+            Kind.INTERNAL,
+            TraceConfig.getDefault(),
+            parentSpanId,
+            attributes,
+            Collections.singletonList(link),
+            statePool);
+    span.setAttribute("key", 1L);
+    span.retain();
+    span.end();
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().get("key"))
+        .isEqualTo(AttributeValue.longAttributeValue(1));
+
+    span.release();
+    assertThrows(IllegalStateException.class, spanData::getAttributes);
+    assertThrows(IllegalStateException.class, span::toSpanData);
+    assertThrows(IllegalStateException.class, span::retain);
+    assertThrows(IllegalStateException.class, span::release);
+    AttributesMap reused =
+        statePool.acquireAttributes(TraceConfig.getDefault().getMaxNumberOfAttributes());
+    assertThat(reused).isSameAs(attributes);
+    assertThat(reused.isEmpty()).isTrue();
+  }
+
+  @Test
+  void recycling_attributesSetAfterStartArePooled() {
+    SpanStatePool statePool = new SpanStatePool(4);
+    int maxAttributes = TraceConfig.getDefault().getMaxNumberOfAttributes();
+    AttributesMap pooled = new AttributesMap(maxAttributes);
+    statePool.releaseAttributes(pooled);
+    RecordEventsReadableSpan span =
+        createTestSpan(
+            Kind.INTERNAL,
+            TraceConfig.getDefault(),
+            parentSpanId,
+            null,
+            Collections.singletonList(link),
+            statePool);
+
+    span.setAttribute("key", 1L);
+    // The span took the only pooled map, so the pool creates a new one.
+    assertThat(statePool.acquireAttributes(maxAttributes)).isNotSameAs(pooled);
+
+    span.end();
+    assertThat(statePool.acquireAttributes(maxAttributes)).isSameAs(pooled);
+  }
+
+  @Test
+  void recycling_toSpanDataAfterRecycling() {
+    RecordEventsReadableSpan span =
+        createTestSpan(
+            Kind.INTERNAL,
+            TraceConfig.getDefault(),
+            parentSpanId,
+            null,
+            Collections.singletonList(link),
+            new SpanStatePool(4));
+    span.end();
+    assertThrows(IllegalStateException.class, span::toSpanData);
+  }
+
+  @Test
+  void recycling_disabled() {
+    RecordEventsReadableSpan span = createTestSpan(Kind.INTERNAL);
+    span.setAttribute("key", 1L);
+    span.retain();
+    span.end();
+    span.release();
+    span.release();
+    assertThat(span.toSpanData().getAttributes().get("key"))
+        .isEqualTo(AttributeValue.longAttributeValue(1));
+  }
+
   @Test
   void toSpanData_immutableLinks() {
     RecordEventsReadableSpan span = createTestSpan(Kind.INTERNAL);
@@ -816,6 +912,16 @@ class RecordEventsReadableSpanTest {
       @Nullable String parentSpanId,
       @Nullable AttributesMap attributes,
       List<io.opentelemetry.trace.Link> links) {
+    return createTestSpan(kind, config, parentSpanId, attributes, links, null);
+  }
+
+  private RecordEventsReadableSpan createTestSpan(
+      Kind kind,
+      TraceConfig config,
+      @Nullable String parentSpanId,
+      @Nullable AttributesMap attributes,
+      List<io.opentelemetry.trace.Link> links,
+      @Nullable SpanStatePool statePool) {
 
     RecordEventsReadableSpan span =
         RecordEventsReadableSpan.startSpan(
@@ -832,7 +938,8 @@ class RecordEventsReadableSpanTest {
             attributes,
             links,
             1,
-            0);
+            0,
+            statePool);
     Mockito.verify(spanProcessor, Mockito.times(1)).onStart(span);
     return span;
   }
@@ -918,7 +1025,8 @@ class RecordEventsReadableSpanTest {
             attributesWithCapacity,
             Collections.singletonList(link1),
             1,
-            0);
+            0,
+            null);
     long startEpochNanos = clock.now();
     clock.advanceMillis(4);
     long firstEventEpochNanos = clock.now();
@@ -27,6 +27,7 @@ import io.opentelemetry.sdk.trace.Sampler.SamplingResult;
 import io.opentelemetry.sdk.trace.data.SpanData.Link;
 import io.opentelemetry.trace.Span;
 import io.opentelemetry.trace.SpanContext;
+import io.opentelemetry.trace.SpanId;
 import io.opentelemetry.trace.TraceFlags;
 import io.opentelemetry.trace.TraceId;
 import io.opentelemetry.trace.TraceState;
@@ -40,8 +41,9 @@ class SamplersTest {
   private static final Span.Kind SPAN_KIND = Span.Kind.INTERNAL;
   private static final int NUM_SAMPLE_TRIES = 1000;
   private final IdsGenerator idsGenerator = new RandomIdsGenerator();
-  private final String traceId = idsGenerator.generateTraceId();
-  private final String parentSpanId = idsGenerator.generateSpanId();
+  private final String traceId =
+      TraceId.fromLongs(idsGenerator.generateTraceIdHigh(), idsGenerator.generateTraceIdLow());
+  private final String parentSpanId = SpanId.fromLong(idsGenerator.generateSpanId());
   private final TraceState traceState = TraceState.builder().build();
   private final SpanContext sampledSpanContext =
       SpanContext.create(
@@ -596,7 +598,8 @@ class SamplersTest {
           sampler
               .shouldSample(
                   parent,
-                  idsGenerator.generateTraceId(),
+                  TraceId.fromLongs(
+                      idsGenerator.generateTraceIdHigh(), idsGenerator.generateTraceIdLow()),
                   SPAN_NAME,
                   SPAN_KIND,
                   Attributes.empty(),
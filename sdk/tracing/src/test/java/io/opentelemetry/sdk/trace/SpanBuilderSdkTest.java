@@ -25,6 +25,9 @@ import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.common.Attributes;
 import io.opentelemetry.common.ReadableAttributes;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.MillisClock;
+import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.config.TraceConfig;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.SpanData.Link;
@@ -39,6 +42,7 @@ import io.opentelemetry.trace.TraceState;
 import io.opentelemetry.trace.TracingContextUtils;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 
@@ -588,6 +592,67 @@ class SpanBuilderSdkTest {
     }
   }
 
+  @Test
+  void sampler_rootSpanReusesTraceId() {
+    final AtomicReference<String> sampledTraceId = new AtomicReference<>();
+    Span span =
+        TestUtils.startSpanWithSampler(
+                tracerSdkFactory,
+                tracerSdk,
+                SPAN_NAME,
+                new Sampler() {
+                  @Override
+                  public SamplingResult shouldSample(
+                      @Nullable SpanContext parentContext,
+                      String traceId,
+                      String name,
+                      Kind spanKind,
+                      ReadableAttributes attributes,
+                      List<io.opentelemetry.trace.Link> parentLinks) {
+                    sampledTraceId.set(traceId);
+                    return Samplers.alwaysOn()
+                        .shouldSample(
+                            parentContext, traceId, name, spanKind, attributes, parentLinks);
+                  }
+
+                  @Override
+                  public String getDescription() {
+                    return "test sampler";
+                  }
+                })
+            .startSpan();
+    try {
+      // The hex trace id formatted for the sampler is the one kept by the span context.
+      assertThat(span.getContext().getTraceIdAsHexString()).isSameAs(sampledTraceId.get());
+    } finally {
+      span.end();
+    }
+  }
+
+  @Test
+  void sampler_notRecorded_releasesPooledAttributes() {
+    SpanStatePool statePool = new SpanStatePool(4);
+    TraceConfig traceConfig =
+        TraceConfig.getDefault().toBuilder().setSampler(Samplers.alwaysOff()).build();
+    SpanBuilderSdk spanBuilder =
+        new SpanBuilderSdk(
+            SPAN_NAME,
+            InstrumentationLibraryInfo.getEmpty(),
+            NoopSpanProcessor.getInstance(),
+            traceConfig,
+            Resource.getDefault(),
+            new RandomIdsGenerator(),
+            MillisClock.getInstance(),
+            statePool);
+    spanBuilder.setAttribute("key", 1L);
+    Span span = spanBuilder.startSpan();
+    assertThat(span).isInstanceOf(DefaultSpan.class);
+
+    AttributesMap released = statePool.acquireAttributes(traceConfig.getMaxNumberOfAttributes());
+    assertThat(released.isEmpty()).isTrue();
+    assertThat(released.getGeneration()).isEqualTo(1);
+  }
+
   @Test
   void sampledViaParentLinks() {
     Span span =
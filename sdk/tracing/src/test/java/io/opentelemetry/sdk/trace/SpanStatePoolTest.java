@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** Unit tests for {@link SpanStatePool}. */
+class SpanStatePoolTest {
+
+  @Test
+  void reusesReleasedContainers() {
+    SpanStatePool pool = new SpanStatePool(4);
+    AttributesMap attributes = pool.acquireAttributes(32);
+    attributes.putLong("key", 1);
+    pool.releaseAttributes(attributes);
+    AttributesMap reused = pool.acquireAttributes(32);
+    assertThat(reused).isSameAs(attributes);
+    assertThat(reused.isEmpty()).isTrue();
+    assertThat(reused.getGeneration()).isEqualTo(1);
+
+    EvictingRingBuffer<TimedEvent> events = pool.acquireEvents(8);
+    pool.releaseEvents(events);
+    assertThat(pool.acquireEvents(8)).isSameAs(events);
+  }
+
+  @Test
+  void dropsContainersOfAnotherLimit() {
+    SpanStatePool pool = new SpanStatePool(4);
+    AttributesMap attributes = pool.acquireAttributes(4);
+    pool.releaseAttributes(attributes);
+    assertThat(pool.acquireAttributes(32)).isNotSameAs(attributes);
+
+    EvictingRingBuffer<TimedEvent> events = pool.acquireEvents(8);
+    pool.releaseEvents(events);
+    assertThat(pool.acquireEvents(16)).isNotSameAs(events);
+  }
+
+  @Test
+  void isBounded() {
+    SpanStatePool pool = new SpanStatePool(2);
+    Set<AttributesMap> released = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int i = 0; i < 3; i++) {
+      AttributesMap attributes = new AttributesMap(32);
+      released.add(attributes);
+      pool.releaseAttributes(attributes);
+    }
+    // Only two of the three containers were kept. Empty maps are equal, so check their identity.
+    assertThat(released.contains(pool.acquireAttributes(32))).isTrue();
+    assertThat(released.contains(pool.acquireAttributes(32))).isTrue();
+    assertThat(released.contains(pool.acquireAttributes(32))).isFalse();
+  }
+
+  @Test
+  @Timeout(10)
+  void neverHandsOutAContainerTwice() throws InterruptedException {
+    final SpanStatePool pool = new SpanStatePool(16);
+    final Set<AttributesMap> inUse =
+        Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    final AtomicBoolean duplicate = new AtomicBoolean();
+    final int numThreads = 8;
+    final CountDownLatch done = new CountDownLatch(numThreads);
+    for (int t = 0; t < numThreads; t++) {
+      new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  AttributesMap attributes = pool.acquireAttributes(32);
+                  if (!inUse.add(attributes)) {
+                    duplicate.set(true);
+                  }
+                  inUse.remove(attributes);
+                  pool.releaseAttributes(attributes);
+                }
+                done.countDown();
+              })
+          .start();
+    }
+    done.await();
+    assertThat(duplicate.get()).isFalse();
+  }
+}
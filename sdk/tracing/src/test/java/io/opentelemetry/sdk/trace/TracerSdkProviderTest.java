@@ -21,13 +21,21 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.opentelemetry.common.AttributeValue;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.config.TraceConfig;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.trace.DefaultSpan;
 import io.opentelemetry.trace.Span;
+import io.opentelemetry.trace.Tracer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -84,6 +92,55 @@ class TracerSdkProviderTest {
         "idsGenerator");
   }
 
+  @Test
+  void builder_NegativeSpanPoolSize() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> TracerSdkProvider.builder().setSpanPoolSize(-1),
+        "spanPoolSize");
+  }
+
+  @Test
+  void spanRecycling() {
+    TracerSdkProvider recyclingProvider = TracerSdkProvider.builder().setSpanPoolSize(16).build();
+    final List<AttributeValue> exportedValues = new ArrayList<>();
+    recyclingProvider.addSpanProcessor(
+        SimpleSpanProcessor.newBuilder(
+                new SpanExporter() {
+                  @Override
+                  public CompletableResultCode export(Collection<SpanData> spans) {
+                    for (SpanData span : spans) {
+                      exportedValues.add(span.getAttributes().get("key"));
+                    }
+                    return CompletableResultCode.ofSuccess();
+                  }
+
+                  @Override
+                  public CompletableResultCode flush() {
+                    return CompletableResultCode.ofSuccess();
+                  }
+
+                  @Override
+                  public CompletableResultCode shutdown() {
+                    return CompletableResultCode.ofSuccess();
+                  }
+                })
+            .build());
+    Tracer tracer = recyclingProvider.get("test");
+
+    Span first = tracer.spanBuilder("first").setAttribute("key", 1L).startSpan();
+    first.end();
+    // The span was released once exported, so its attributes were recycled.
+    assertThrows(IllegalStateException.class, ((ReadableSpan) first)::toSpanData);
+
+    Span second = tracer.spanBuilder("second").setAttribute("key", 2L).startSpan();
+    second.end();
+    assertThat(exportedValues)
+        .containsExactly(
+            AttributeValue.longAttributeValue(1), AttributeValue.longAttributeValue(2));
+    recyclingProvider.shutdown();
+  }
+
   @Test
   void defaultGet() {
     assertThat(tracerFactory.get("test")).isInstanceOf(TracerSdk.class);
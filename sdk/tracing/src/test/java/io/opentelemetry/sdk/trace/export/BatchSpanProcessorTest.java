@@ -17,6 +17,7 @@
 package io.opentelemetry.sdk.trace.export;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -102,7 +103,10 @@ class BatchSpanProcessorTest {
     options.put("otel.bsp.max.queue", "34");
     options.put("otel.bsp.max.export.batch", "56");
     options.put("otel.bsp.export.timeout", "78");
+    options.put("otel.bsp.max.concurrent.exports", "9");
     options.put("otel.bsp.export.sampled", "false");
+    options.put("otel.bsp.queue.type", "mpsc_array");
+    options.put("otel.bsp.snapshot.on.end", "true");
     BatchSpanProcessor.Builder config =
         BatchSpanProcessor.newBuilder(new WaitingSpanExporter(0, CompletableResultCode.ofSuccess()))
             .fromConfigMap(options, ConfigTester.getNamingDot());
@@ -110,7 +114,10 @@ class BatchSpanProcessorTest {
     assertThat(config.getMaxQueueSize()).isEqualTo(34);
     assertThat(config.getMaxExportBatchSize()).isEqualTo(56);
     assertThat(config.getExporterTimeoutMillis()).isEqualTo(78);
+    assertThat(config.getMaxConcurrentExports()).isEqualTo(9);
     assertThat(config.getExportOnlySampled()).isEqualTo(false);
+    assertThat(config.getQueueType()).isEqualTo(BatchSpanProcessor.QueueType.MPSC_ARRAY);
+    assertThat(config.getSnapshotOnEnd()).isEqualTo(true);
   }
 
   @Test
@@ -126,8 +133,13 @@ class BatchSpanProcessorTest {
         .isEqualTo(BatchSpanProcessor.Builder.DEFAULT_MAX_EXPORT_BATCH_SIZE);
     assertThat(config.getExporterTimeoutMillis())
         .isEqualTo(BatchSpanProcessor.Builder.DEFAULT_EXPORT_TIMEOUT_MILLIS);
+    assertThat(config.getMaxConcurrentExports())
+        .isEqualTo(BatchSpanProcessor.Builder.DEFAULT_MAX_CONCURRENT_EXPORTS);
     assertThat(config.getExportOnlySampled())
         .isEqualTo(BatchSpanProcessor.Builder.DEFAULT_EXPORT_ONLY_SAMPLED);
+    assertThat(config.getQueueType()).isEqualTo(BatchSpanProcessor.Builder.DEFAULT_QUEUE_TYPE);
+    assertThat(config.getSnapshotOnEnd())
+        .isEqualTo(BatchSpanProcessor.Builder.DEFAULT_SNAPSHOT_ON_END);
   }
 
   @Test
@@ -154,6 +166,67 @@ class BatchSpanProcessorTest {
     assertThat(exported).containsExactly(span1.toSpanData(), span2.toSpanData());
   }
 
+  @Test
+  void exportDifferentSampledSpans_mpscQueue() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(2, CompletableResultCode.ofSuccess());
+    tracerSdkFactory.addSpanProcessor(
+        BatchSpanProcessor.newBuilder(waitingSpanExporter)
+            .setQueueType(BatchSpanProcessor.QueueType.MPSC_ARRAY)
+            .setScheduleDelayMillis(MAX_SCHEDULE_DELAY_MILLIS)
+            .build());
+
+    ReadableSpan span1 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createSampledEndedSpan(SPAN_NAME_2);
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactly(span1.toSpanData(), span2.toSpanData());
+  }
+
+  @Test
+  void exportDifferentSampledSpans_snapshotOnEnd() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(2, CompletableResultCode.ofSuccess());
+    tracerSdkFactory.addSpanProcessor(
+        BatchSpanProcessor.newBuilder(waitingSpanExporter)
+            .setSnapshotOnEnd(true)
+            .setScheduleDelayMillis(MAX_SCHEDULE_DELAY_MILLIS)
+            .build());
+
+    ReadableSpan span1 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createSampledEndedSpan(SPAN_NAME_2);
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).hasSize(2);
+    // The snapshot created when the span ended is exported as is.
+    assertThat(exported.get(0)).isSameAs(span1.toSpanData());
+    assertThat(exported.get(1)).isSameAs(span2.toSpanData());
+  }
+
+  @Test
+  void forceExport_mpscQueue() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(100, CompletableResultCode.ofSuccess(), 1);
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.newBuilder(waitingSpanExporter)
+            .setQueueType(BatchSpanProcessor.QueueType.MPSC_ARRAY)
+            .setMaxQueueSize(10_000)
+            .setMaxExportBatchSize(49)
+            .setScheduleDelayMillis(10_000) // 10s
+            .build();
+
+    tracerSdkFactory.addSpanProcessor(batchSpanProcessor);
+    for (int i = 0; i < 100; i++) {
+      createSampledEndedSpan("notExported");
+    }
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).isNotNull();
+    assertThat(exported.size()).isEqualTo(98);
+
+    batchSpanProcessor.forceFlush().join(10, TimeUnit.SECONDS);
+    exported = waitingSpanExporter.getExported();
+    assertThat(exported).isNotNull();
+    assertThat(exported.size()).isEqualTo(2);
+  }
+
   @Test
   void exportMoreSpansThanTheBufferSize() {
     CompletableSpanExporter spanExporter = new CompletableSpanExporter();
@@ -188,6 +261,47 @@ class BatchSpanProcessorTest {
                         span6.toSpanData()));
   }
 
+  @Test
+  void concurrentExports() {
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.newBuilder(spanExporter)
+            .setMaxConcurrentExports(2)
+            .setMaxExportBatchSize(1)
+            .setScheduleDelayMillis(MAX_SCHEDULE_DELAY_MILLIS)
+            .build();
+
+    tracerSdkFactory.addSpanProcessor(batchSpanProcessor);
+
+    ReadableSpan span1 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span3 = createSampledEndedSpan(SPAN_NAME_1);
+
+    // Two exports are in flight without completing, the third one must wait for a free slot.
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getExported())
+                    .containsExactly(span1.toSpanData(), span2.toSpanData()));
+    assertThat(spanExporter.getExported()).hasSize(2);
+
+    spanExporter.succeed();
+
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getExported())
+                    .containsExactly(span1.toSpanData(), span2.toSpanData(), span3.toSpanData()));
+  }
+
+  @Test
+  void setMaxConcurrentExports_invalid() {
+    WaitingSpanExporter exporter = new WaitingSpanExporter(0, CompletableResultCode.ofSuccess());
+    BatchSpanProcessor.Builder builder = BatchSpanProcessor.newBuilder(exporter);
+    assertThatThrownBy(() -> builder.setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void forceExport() {
     WaitingSpanExporter waitingSpanExporter =
@@ -215,6 +329,27 @@ class BatchSpanProcessorTest {
     assertThat(exported.size()).isEqualTo(2);
   }
 
+  @Test
+  void fullBatchWakesUpWorker() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(4, CompletableResultCode.ofSuccess(), 1);
+    tracerSdkFactory.addSpanProcessor(
+        BatchSpanProcessor.newBuilder(waitingSpanExporter)
+            .setMaxExportBatchSize(2)
+            .setScheduleDelayMillis(10_000) // 10s
+            .build());
+
+    // The worker is waiting for the schedule delay, a full batch must wake it up earlier.
+    ReadableSpan span1 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createSampledEndedSpan(SPAN_NAME_2);
+    ReadableSpan span3 = createSampledEndedSpan(SPAN_NAME_1);
+    ReadableSpan span4 = createSampledEndedSpan(SPAN_NAME_2);
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported)
+        .containsExactly(
+            span1.toSpanData(), span2.toSpanData(), span3.toSpanData(), span4.toSpanData());
+  }
+
   @Test
   void exportSpansToMultipleServices() {
     WaitingSpanExporter waitingSpanExporter =
@@ -323,56 +458,63 @@ class BatchSpanProcessorTest {
   @Test
   @Timeout(5)
   public void exporterTimesOut() throws InterruptedException {
-    final CountDownLatch interruptMarker = new CountDownLatch(1);
-    WaitingSpanExporter waitingSpanExporter =
-        new WaitingSpanExporter(1, new CompletableResultCode()) {
-          @Override
-          public CompletableResultCode export(Collection<SpanData> spans) {
-            CompletableResultCode result = super.export(spans);
-            Thread exporterThread =
-                new Thread(
-                    new Runnable() {
-                      @Override
-                      public void run() {
-                        try {
-                          // sleep longer than the configured timeout of 100ms
-                          Thread.sleep(1000);
-                        } catch (InterruptedException e) {
-                          interruptMarker.countDown();
-                        }
-                      }
-                    });
-            exporterThread.start();
-            result.whenComplete(
-                new Runnable() {
-                  @Override
-                  public void run() {
-                    if (!result.isSuccess()) {
-                      exporterThread.interrupt();
-                    }
-                  }
-                });
-            return result;
-          }
-        };
-
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
     int exporterTimeoutMillis = 100;
     BatchSpanProcessor batchSpanProcessor =
-        BatchSpanProcessor.newBuilder(waitingSpanExporter)
+        BatchSpanProcessor.newBuilder(spanExporter)
             .setExporterTimeoutMillis(exporterTimeoutMillis)
+            .setMaxExportBatchSize(1)
             .setScheduleDelayMillis(1)
-            .setMaxQueueSize(1)
             .build();
 
     tracerSdkFactory.addSpanProcessor(batchSpanProcessor);
 
-    ReadableSpan span = createSampledEndedSpan(SPAN_NAME_1);
-    List<SpanData> exported = waitingSpanExporter.waitForExport();
-    assertThat(exported).containsExactly(span.toSpanData());
+    ReadableSpan span1 = createSampledEndedSpan(SPAN_NAME_1);
+    await().untilAsserted(() -> assertThat(spanExporter.getExported()).hasSize(1));
+    createSampledEndedSpan(SPAN_NAME_2);
+
+    // The first export timed out but the exporter did not complete it, so it still holds the only
+    // export permit and the second batch must not be exported concurrently.
+    Thread.sleep(exporterTimeoutMillis * 3 / 2);
+    assertThat(spanExporter.getExported()).containsExactly(span1.toSpanData());
+
+    spanExporter.succeed();
+
+    ReadableSpan span3 = createSampledEndedSpan(SPAN_NAME_1);
+    await()
+        .untilAsserted(() -> assertThat(spanExporter.getExported()).contains(span3.toSpanData()));
+    assertThat(spanExporter.getExported()).startsWith(span1.toSpanData());
+  }
 
-    // since the interrupt happens outside the execution of the test method, we'll block to make
-    // sure that the thread was actually interrupted due to the timeout.
-    interruptMarker.await();
+  @Test
+  @Timeout(5)
+  void forceFlush_keepsTimedOutExport() {
+    TracerSdkProvider recyclingProvider = TracerSdkProvider.builder().setSpanPoolSize(16).build();
+    Tracer recyclingTracer = recyclingProvider.get("BatchSpanProcessorTest");
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.newBuilder(spanExporter)
+            .setExporterTimeoutMillis(100)
+            .setMaxExportBatchSize(1)
+            .setScheduleDelayMillis(MAX_SCHEDULE_DELAY_MILLIS)
+            .build();
+    recyclingProvider.addSpanProcessor(batchSpanProcessor);
+
+    Span span1 = recyclingTracer.spanBuilder(SPAN_NAME_1).startSpan();
+    span1.end();
+    assertThat(batchSpanProcessor.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(spanExporter.getExported()).hasSize(1);
+
+    // The flush stopped waiting for the export, but the exporter still owns the span.
+    assertThat(((ReadableSpan) span1).toSpanData().getName()).isEqualTo(SPAN_NAME_1);
+
+    // The export still holds the only permit, so the next batch is not exported concurrently.
+    recyclingTracer.spanBuilder(SPAN_NAME_2).startSpan().end();
+    batchSpanProcessor.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(spanExporter.getExported()).hasSize(1);
+
+    spanExporter.succeed();
+    recyclingProvider.shutdown();
   }
 
   @Test
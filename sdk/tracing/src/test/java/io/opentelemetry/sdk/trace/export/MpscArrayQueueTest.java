@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020, OpenTelemetry Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** Unit tests for {@link MpscArrayQueue}. */
+class MpscArrayQueueTest {
+
+  @Test
+  void invalidCapacity() {
+    assertThatThrownBy(() -> new MpscArrayQueue<Integer>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void offerAndDrain_fifo() {
+    MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(4);
+    List<Integer> sink = new ArrayList<>();
+    assertThat(queue.drainTo(sink, 10)).isEqualTo(0);
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.size()).isEqualTo(2);
+    assertThat(queue.drainTo(sink, 10)).isEqualTo(2);
+    assertThat(sink).containsExactly(1, 2);
+    assertThat(queue.drainTo(sink, 10)).isEqualTo(0);
+    assertThat(queue.size()).isEqualTo(0);
+  }
+
+  @Test
+  void offer_respectsExactCapacity() {
+    // 3 is rounded up to a buffer of 4 internally, but only 3 elements must be accepted.
+    MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(3);
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.offer(3)).isTrue();
+    assertThat(queue.offer(4)).isFalse();
+    assertThat(queue.size()).isEqualTo(3);
+
+    List<Integer> sink = new ArrayList<>();
+    assertThat(queue.drainTo(sink, 1)).isEqualTo(1);
+    assertThat(sink).containsExactly(1);
+    assertThat(queue.offer(4)).isTrue();
+    assertThat(queue.offer(5)).isFalse();
+  }
+
+  @Test
+  void drainTo_limit() {
+    MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(8);
+    for (int i = 0; i < 5; i++) {
+      queue.offer(i);
+    }
+    List<Integer> sink = new ArrayList<>();
+    assertThat(queue.drainTo(sink, 3)).isEqualTo(3);
+    assertThat(sink).containsExactly(0, 1, 2);
+    assertThat(queue.drainTo(sink, 10)).isEqualTo(2);
+    assertThat(sink).containsExactly(0, 1, 2, 3, 4);
+    assertThat(queue.drainTo(sink, 10)).isEqualTo(0);
+  }
+
+  @Test
+  void wrapsAround() {
+    MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(2);
+    List<Integer> sink = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      assertThat(queue.offer(i)).isTrue();
+      assertThat(queue.drainTo(sink, 1)).isEqualTo(1);
+    }
+    assertThat(sink).hasSize(100);
+    assertThat(sink.get(99)).isEqualTo(99);
+  }
+
+  @Test
+  @Timeout(10)
+  void multipleProducers() throws InterruptedException {
+    final int numThreads = 8;
+    final int perThread = 10_000;
+    final MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(1024);
+    final CountDownLatch done = new CountDownLatch(numThreads);
+    for (int t = 0; t < numThreads; t++) {
+      final int thread = t;
+      new Thread(
+              () -> {
+                for (int i = 0; i < perThread; i++) {
+                  while (!queue.offer(thread * perThread + i)) {
+                    Thread.yield();
+                  }
+                }
+                done.countDown();
+              })
+          .start();
+    }
+
+    boolean[] seen = new boolean[numThreads * perThread];
+    int[] lastPerThread = new int[numThreads];
+    Arrays.fill(lastPerThread, -1);
+    List<Integer> sink = new ArrayList<>();
+    int received = 0;
+    while (received < seen.length) {
+      sink.clear();
+      int count = queue.drainTo(sink, 128);
+      if (count == 0) {
+        Thread.yield();
+      }
+      for (int value : sink) {
+        assertThat(seen[value]).isFalse();
+        seen[value] = true;
+        // Elements of a single producer must keep their order.
+        int thread = value / perThread;
+        assertThat(value).isGreaterThan(lastPerThread[thread]);
+        lastPerThread[thread] = value;
+      }
+      received += count;
+    }
+    done.await();
+    assertThat(queue.size()).isEqualTo(0);
+  }
+}
@@ -18,7 +18,6 @@ package io.opentelemetry.sdk.extensions.trace.aws;
 
 import io.opentelemetry.sdk.trace.IdsGenerator;
 import io.opentelemetry.sdk.trace.RandomIdsGenerator;
-import io.opentelemetry.trace.TraceId;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -37,22 +36,25 @@ public class AwsXRayIdsGenerator implements IdsGenerator {
   private static final RandomIdsGenerator RANDOM_IDS_GENERATOR = new RandomIdsGenerator();
 
   @Override
-  public String generateSpanId() {
+  public long generateSpanId() {
     return RANDOM_IDS_GENERATOR.generateSpanId();
   }
 
   @Override
-  public String generateTraceId() {
+  public long generateTraceIdHigh() {
     // hi - 4 bytes timestamp, 4 bytes random
-    // low - 8 bytes random.
     // Since we include timestamp, impossible to be invalid.
 
     Random random = ThreadLocalRandom.current();
     long timestampSecs = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
     long hiRandom = random.nextInt() & 0xFFFFFFFFL;
 
-    long lowRandom = random.nextLong();
+    return timestampSecs << 32 | hiRandom;
+  }
 
-    return TraceId.fromLongs(timestampSecs << 32 | hiRandom, lowRandom);
+  @Override
+  public long generateTraceIdLow() {
+    // low - 8 bytes random.
+    return ThreadLocalRandom.current().nextLong();
   }
 }
@@ -36,9 +36,9 @@ class AwsXRayIdsGeneratorTest {
   void shouldGenerateValidIds() {
     AwsXRayIdsGenerator generator = new AwsXRayIdsGenerator();
     for (int i = 0; i < 1000; i++) {
-      String traceId = generator.generateTraceId();
+      String traceId = generateTraceId(generator);
       assertThat(TraceId.isValid(traceId)).isTrue();
-      String spanId = generator.generateSpanId();
+      String spanId = SpanId.fromLong(generator.generateSpanId());
       assertThat(SpanId.isValid(spanId)).isTrue();
     }
   }
@@ -47,7 +47,7 @@ class AwsXRayIdsGeneratorTest {
   void shouldGenerateTraceIdsWithTimestampsWithAllowedXrayTimeRange() {
     AwsXRayIdsGenerator generator = new AwsXRayIdsGenerator();
     for (int i = 0; i < 1000; i++) {
-      String traceId = generator.generateTraceId();
+      String traceId = generateTraceId(generator);
       long unixSeconds = Long.valueOf(traceId.subSequence(0, 8).toString(), 16);
       long ts = unixSeconds * 1000L;
       long currentTs = System.currentTimeMillis();
@@ -76,6 +76,10 @@ class AwsXRayIdsGeneratorTest {
     assertThat(spanIds).hasSize(threads * generations);
   }
 
+  private static String generateTraceId(IdsGenerator idsGenerator) {
+    return TraceId.fromLongs(idsGenerator.generateTraceIdHigh(), idsGenerator.generateTraceIdLow());
+  }
+
   static class GenerateRunner implements Runnable {
 
     private final int generations;
@@ -102,8 +106,8 @@ class AwsXRayIdsGeneratorTest {
       try {
         barrier.await();
         for (int i = 0; i < generations; i++) {
-          traceIds.add(idsGenerator.generateTraceId());
-          spanIds.add(idsGenerator.generateSpanId());
+          traceIds.add(generateTraceId(idsGenerator));
+          spanIds.add(SpanId.fromLong(idsGenerator.generateSpanId()));
         }
         barrier.await();
       } catch (InterruptedException | BrokenBarrierException cause) {
@@ -21,6 +21,7 @@ import io.opentelemetry.proto.trace.v1.ConstantSampler;
 import io.opentelemetry.sdk.trace.Sampler;
 import io.opentelemetry.sdk.trace.Samplers;
 import io.opentelemetry.sdk.trace.config.TraceConfig;
+import io.opentelemetry.trace.SpanContext;
 import io.opentelemetry.trace.SpanId;
 import io.opentelemetry.trace.TraceId;
 
@@ -48,6 +49,28 @@ public final class TraceProtoUtils {
     return ByteString.copyFrom(TraceId.bytesFromHex(traceId, 0));
   }
 
+  /**
+   * Converts the SpanId of a SpanContext into a protobuf ByteString, without going through its hex
+   * representation.
+   *
+   * @param spanContext the spanContext holding the spanId to convert.
+   * @return a ByteString representation.
+   */
+  public static ByteString toProtoSpanId(SpanContext spanContext) {
+    return ByteString.copyFrom(spanContext.getSpanIdBytes());
+  }
+
+  /**
+   * Converts the TraceId of a SpanContext into a protobuf ByteString, without going through its hex
+   * representation.
+   *
+   * @param spanContext the spanContext holding the traceId to convert.
+   * @return a ByteString representation.
+   */
+  public static ByteString toProtoTraceId(SpanContext spanContext) {
+    return ByteString.copyFrom(spanContext.getTraceIdBytes());
+  }
+
   /**
    * Returns a {@code TraceConfig} from the given proto.
    *